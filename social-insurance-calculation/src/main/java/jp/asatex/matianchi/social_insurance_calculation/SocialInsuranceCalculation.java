@@ -0,0 +1,209 @@
+package jp.asatex.matianchi.social_insurance_calculation;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CalculationStage;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CalculationStageTimer;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledEmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledPremiumBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledWithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.SocialInsuranceCalculator;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxColumn;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxMethod;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+import jp.asatex.matianchi.social_insurance_calculation.rate.RateSnapshot;
+import jp.asatex.matianchi.social_insurance_calculation.rate.RateSnapshotIndex;
+import jp.asatex.matianchi.social_insurance_calculation.table.EmploymentInsuranceRateRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.PremiumBracketRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.WithholdingTaxBracketRow;
+
+/**
+ * 社会保险费计算库的入口
+ * 以普通数据传入三张费率表（包括所有生效期间），构建时一次性预编译为按生效日期索引的费率快照；
+ * 构建后不可变，可以在多个线程之间无锁共享，所有方法同步执行，不访问数据库，也不依赖Spring和Reactor
+ * WebFlux服务的费率快照路径也通过本类的静态方法计算，进程内计算和HTTP查询的结果一致
+ */
+public final class SocialInsuranceCalculation {
+
+    /**
+     * 未指定事业类型时使用的事业类型
+     */
+    public static final String DEFAULT_BUSINESS_TYPE = "一般の事業";
+
+    private final RateSnapshotIndex index;
+
+    private SocialInsuranceCalculation(RateSnapshotIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * 根据三张费率表的全部记录构建计算器
+     *
+     * @param premiumBrackets 保险费等级记录
+     * @param withholdingTaxBrackets 源泉征收税等级记录
+     * @param employmentInsuranceRates 雇佣保险费率记录
+     * @return 计算器
+     * @throws IllegalStateException 同一期间内同一事业类型存在多条雇佣保险费率记录时
+     */
+    public static SocialInsuranceCalculation of(List<? extends PremiumBracketRow> premiumBrackets,
+                                                List<? extends WithholdingTaxBracketRow> withholdingTaxBrackets,
+                                                List<? extends EmploymentInsuranceRateRow> employmentInsuranceRates) {
+        return new SocialInsuranceCalculation(
+                RateSnapshotIndex.of(0L, premiumBrackets, withholdingTaxBrackets, employmentInsuranceRates));
+    }
+
+    /**
+     * 根据已构建的费率快照索引创建计算器
+     *
+     * @param index 费率快照索引
+     * @return 计算器
+     */
+    public static SocialInsuranceCalculation of(RateSnapshotIndex index) {
+        return new SocialInsuranceCalculation(index);
+    }
+
+    public RateSnapshotIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * 计算社会保险金额（源泉征收税按税额表甲栏、扶养亲属0人计算）
+     *
+     * @param effectiveDate 生效日期
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @param businessType 事业类型（为null时使用"一般の事業"）
+     * @return 社会保险金额计算结果
+     * @throws IllegalArgumentException 该日期没有有效的费率表或找不到对应的等级时
+     */
+    public SocialInsuranceDomainDto calculate(LocalDate effectiveDate, int monthlySalary, int age,
+                                              String businessType) {
+        return calculate(effectiveDate, monthlySalary, age >= 40, businessType,
+                WithholdingTaxMethod.TABLE, WithholdingTaxColumn.KO, 0);
+    }
+
+    /**
+     * 计算社会保险金额（指定源泉征收税的计算方式）
+     *
+     * @param effectiveDate 生效日期
+     * @param monthlySalary 月薪
+     * @param careApplicable 是否缴纳介护保险
+     * @param businessType 事业类型（为null时使用"一般の事業"）
+     * @param taxMethod 源泉征收税的计算方法
+     * @param taxColumn 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数
+     * @return 社会保险金额计算结果
+     * @throws IllegalArgumentException 参数不合法、该日期没有有效的费率表或找不到对应的等级时
+     */
+    public SocialInsuranceDomainDto calculate(LocalDate effectiveDate, int monthlySalary, boolean careApplicable,
+                                              String businessType, WithholdingTaxMethod taxMethod,
+                                              WithholdingTaxColumn taxColumn, int dependents) {
+        if (dependents < 0) {
+            throw new IllegalArgumentException("扶养亲属人数不能为负数");
+        }
+        if (taxMethod == WithholdingTaxMethod.ELECTRONIC && taxColumn != WithholdingTaxColumn.KO) {
+            throw new IllegalArgumentException("源泉征收税的电算机特例只适用于甲栏");
+        }
+        return calculate(snapshotAt(index, effectiveDate), monthlySalary, careApplicable,
+                businessType != null && !businessType.isEmpty() ? businessType : DEFAULT_BUSINESS_TYPE,
+                taxMethod, taxColumn, dependents, CalculationStageTimer.NONE);
+    }
+
+    /**
+     * 从快照索引中取得生效日期所属期间的快照
+     *
+     * @param index 费率快照索引
+     * @param effectiveDate 生效日期
+     * @return 费率快照
+     * @throws IllegalArgumentException 该日期没有有效的费率表时
+     */
+    public static RateSnapshot snapshotAt(RateSnapshotIndex index, LocalDate effectiveDate) {
+        RateSnapshot snapshot = index.snapshotAt(effectiveDate);
+        if (snapshot == null) {
+            throw new IllegalArgumentException("未找到生效日期 " + effectiveDate + " 有效的费率表");
+        }
+        return snapshot;
+    }
+
+    /**
+     * 检查源泉征收税额表能否按甲栏计算扶养亲属的税额
+     * 按税额表甲栏计算扶养亲属1人以上的税额时，费率表必须登记tax_amount_ko_dependents，
+     * 未登记时在查找等级之前报错，而不是在计算到具体等级时才失败
+     *
+     * @param koDependentsTabulated 费率表是否登记了甲栏扶养亲属的税额
+     * @param taxMethod 源泉征收税的计算方法
+     * @param taxColumn 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数
+     * @throws IllegalArgumentException 费率表未登记甲栏扶养亲属的税额时
+     */
+    public static void requireKoDependentsTabulated(boolean koDependentsTabulated, WithholdingTaxMethod taxMethod,
+                                                    WithholdingTaxColumn taxColumn, int dependents) {
+        if (taxMethod == WithholdingTaxMethod.TABLE && taxColumn == WithholdingTaxColumn.KO && dependents > 0
+                && !koDependentsTabulated) {
+            throw new IllegalArgumentException("源泉征收税额表未登记甲栏扶养亲属的税额，扶养亲属人数为 " + dependents
+                    + " 时请按电算机特例（taxMethod=electronic）或乙栏（taxColumn=otsu）计算");
+        }
+    }
+
+    /**
+     * 基于费率快照计算社会保险金额
+     * 按电算机特例计算时跳过源泉征收税等级的查找
+     *
+     * @param snapshot 费率快照
+     * @param monthlySalary 月薪
+     * @param careApplicable 是否缴纳介护保险
+     * @param businessType 事业类型
+     * @param taxMethod 源泉征收税的计算方法
+     * @param taxColumn 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数
+     * @param timer 各阶段的计时器
+     * @return 社会保险金额计算结果
+     * @throws IllegalArgumentException 找不到对应的等级或费率表未登记甲栏扶养亲属的税额时
+     */
+    public static SocialInsuranceDomainDto calculate(RateSnapshot snapshot, int monthlySalary,
+                                                     boolean careApplicable, String businessType,
+                                                     WithholdingTaxMethod taxMethod,
+                                                     WithholdingTaxColumn taxColumn, int dependents,
+                                                     CalculationStageTimer timer) {
+        requireKoDependentsTabulated(snapshot.isKoDependentsTabulated(), taxMethod, taxColumn, dependents);
+        long stageStart = timer.start();
+
+        // 查询社会保险费等级
+        CompiledPremiumBracket bracket = snapshot.findPremiumBracket(monthlySalary);
+        stageStart = timer.record(CalculationStage.PREMIUM_LOOKUP, stageStart);
+        if (bracket == null) {
+            throw new IllegalArgumentException("未找到月薪 " + monthlySalary + " 对应的保险费等级记录");
+        }
+
+        // 查询雇佣保险费率
+        CompiledEmploymentInsuranceRate employmentInsuranceRate = snapshot.findEmploymentInsuranceRate(businessType);
+        stageStart = timer.record(CalculationStage.EMPLOYMENT_RATE_LOOKUP, stageStart);
+        if (employmentInsuranceRate == null) {
+            throw new IllegalArgumentException("未找到事业类型 " + businessType + " 对应的雇佣保险费率记录");
+        }
+
+        if (taxMethod == WithholdingTaxMethod.ELECTRONIC) {
+            SocialInsuranceDomainDto result = SocialInsuranceCalculator.calculateElectronic(
+                    bracket, employmentInsuranceRate, monthlySalary, careApplicable, dependents);
+            timer.record(CalculationStage.ARITHMETIC, stageStart);
+            return result;
+        }
+
+        // 计算扣除社会保险费和雇佣保险后的工资金额，查询源泉征收税等级
+        int salaryAfter = SocialInsuranceCalculator.salaryAfterSocialInsurance(
+                bracket, employmentInsuranceRate, monthlySalary, careApplicable);
+        CompiledWithholdingTaxBracket withholdingTaxBracket = snapshot.findWithholdingTaxBracket(salaryAfter);
+        stageStart = timer.record(CalculationStage.WITHHOLDING_LOOKUP, stageStart);
+        if (withholdingTaxBracket == null) {
+            throw new IllegalArgumentException(
+                    "未找到扣除社会保险费和雇佣保险后工资金额 " + salaryAfter + " 对应的源泉征收税等级记录");
+        }
+
+        SocialInsuranceDomainDto result = SocialInsuranceCalculator.calculate(
+                bracket, withholdingTaxBracket, employmentInsuranceRate, monthlySalary, careApplicable,
+                taxColumn, dependents);
+        timer.record(CalculationStage.ARITHMETIC, stageStart);
+        return result;
+    }
+}
@@ -0,0 +1,114 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 賞与（奖金）的社会保险费率
+ * 保险费等级表只保存各等级的保险费金额，奖金的保险费按「标准奖金额 × 费率」计算，因此从等级表反推费率：
+ * 健康保险和介护保险的金额与标准报酬成正比，使用标准报酬最高的等级计算；
+ * 厚生年金的标准报酬有上限，使用达到最高保险费金额的最低等级（即上限等级）计算
+ * 费率保留6位小数，与等级表中的金额在1钱以内一致
+ */
+public final class BonusPremiumRates {
+
+    private static final int RATE_SCALE = 6;
+
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+
+    private final BigDecimal healthNoCareRate;
+    private final BigDecimal careRate;
+    private final BigDecimal pensionRate;
+
+    private BonusPremiumRates(BigDecimal healthNoCareRate, BigDecimal careRate, BigDecimal pensionRate) {
+        this.healthNoCareRate = healthNoCareRate;
+        this.careRate = careRate;
+        this.pensionRate = pensionRate;
+    }
+
+    /**
+     * 从一个生效期间的保险费等级反推奖金的社会保险费率
+     *
+     * @param brackets 预编译的保险费等级
+     * @return 奖金的社会保险费率，等级为空或标准报酬不是正数时返回null
+     */
+    public static BonusPremiumRates of(CompiledPremiumBracket[] brackets) {
+        CompiledPremiumBracket healthBase = null;
+        CompiledPremiumBracket pensionBase = null;
+        for (CompiledPremiumBracket bracket : brackets) {
+            int stdRem = bracket.getSource().getStdRem();
+            if (healthBase == null || stdRem > healthBase.getSource().getStdRem()) {
+                healthBase = bracket;
+            }
+            if (pensionBase == null) {
+                pensionBase = bracket;
+                continue;
+            }
+            int compare = bracket.getSource().getPension().compareTo(pensionBase.getSource().getPension());
+            if (compare > 0 || (compare == 0 && stdRem < pensionBase.getSource().getStdRem())) {
+                pensionBase = bracket;
+            }
+        }
+        if (healthBase == null || healthBase.getSource().getStdRem() <= 0
+                || pensionBase.getSource().getStdRem() <= 0) {
+            return null;
+        }
+
+        BigDecimal healthStdRem = BigDecimal.valueOf(healthBase.getSource().getStdRem());
+        BigDecimal healthNoCareRate = healthBase.getSource().getHealthNoCare()
+                .divide(healthStdRem, RATE_SCALE, RoundingMode.HALF_UP);
+        BigDecimal careRate = healthBase.getSource().getHealthCare()
+                .subtract(healthBase.getSource().getHealthNoCare())
+                .divide(healthStdRem, RATE_SCALE, RoundingMode.HALF_UP);
+        BigDecimal pensionRate = pensionBase.getSource().getPension()
+                .divide(BigDecimal.valueOf(pensionBase.getSource().getStdRem()), RATE_SCALE, RoundingMode.HALF_UP);
+        return new BonusPremiumRates(healthNoCareRate, careRate, pensionRate);
+    }
+
+    /**
+     * 雇员和雇主各自承担的无介护健康保险金额
+     *
+     * @param healthStandardBonus 健康保险的标准奖金额
+     * @return 保险费金额（2位小数）
+     */
+    public BigDecimal healthCostHalf(long healthStandardBonus) {
+        return half(healthStandardBonus, healthNoCareRate);
+    }
+
+    /**
+     * 雇员和雇主各自承担的介护保险金额
+     *
+     * @param healthStandardBonus 健康保险的标准奖金额
+     * @param careApplicable 是否缴纳介护保险
+     * @return 保险费金额（2位小数）
+     */
+    public BigDecimal careCostHalf(long healthStandardBonus, boolean careApplicable) {
+        return careApplicable ? half(healthStandardBonus, careRate) : half(0, careRate);
+    }
+
+    /**
+     * 雇员和雇主各自承担的厚生年金金额
+     *
+     * @param pensionStandardBonus 厚生年金的标准奖金额
+     * @return 保险费金额（2位小数）
+     */
+    public BigDecimal pensionHalf(long pensionStandardBonus) {
+        return half(pensionStandardBonus, pensionRate);
+    }
+
+    public BigDecimal getHealthNoCareRate() {
+        return healthNoCareRate;
+    }
+
+    public BigDecimal getCareRate() {
+        return careRate;
+    }
+
+    public BigDecimal getPensionRate() {
+        return pensionRate;
+    }
+
+    private static BigDecimal half(long standardBonus, BigDecimal rate) {
+        return BigDecimal.valueOf(standardBonus).multiply(rate).multiply(HALF).setScale(2, RoundingMode.HALF_UP);
+    }
+}
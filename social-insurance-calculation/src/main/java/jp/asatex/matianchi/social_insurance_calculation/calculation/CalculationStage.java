@@ -0,0 +1,23 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+/**
+ * 基于费率快照计算社会保险金额的各阶段
+ */
+public enum CalculationStage {
+    /**
+     * 保险费等级查找
+     */
+    PREMIUM_LOOKUP,
+    /**
+     * 雇佣保险费率查找
+     */
+    EMPLOYMENT_RATE_LOOKUP,
+    /**
+     * 源泉征收税等级查找
+     */
+    WITHHOLDING_LOOKUP,
+    /**
+     * 金额计算和结果组装
+     */
+    ARITHMETIC
+}
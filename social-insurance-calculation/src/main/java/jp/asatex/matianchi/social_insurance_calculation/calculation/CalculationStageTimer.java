@@ -0,0 +1,40 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+/**
+ * 计算各阶段的计时器
+ * 计算库本身不依赖任何指标库，需要分阶段耗时的调用方（例如WebFlux服务）实现该接口
+ */
+public interface CalculationStageTimer {
+
+    /**
+     * 不计时
+     */
+    CalculationStageTimer NONE = new CalculationStageTimer() {
+        @Override
+        public long start() {
+            return 0L;
+        }
+
+        @Override
+        public long record(CalculationStage stage, long startNanos) {
+            return 0L;
+        }
+    };
+
+    /**
+     * 开始计时
+     *
+     * @return 当前时刻（纳秒），不计时时返回0
+     */
+    long start();
+
+    /**
+     * 记录一个阶段的耗时
+     * 返回值可以直接作为下一个阶段的开始时刻
+     *
+     * @param stage 阶段
+     * @param startNanos 阶段开始时刻（start或上一次record的返回值）
+     * @return 当前时刻（纳秒），不计时时返回0
+     */
+    long record(CalculationStage stage, long startNanos);
+}
@@ -0,0 +1,51 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+import jp.asatex.matianchi.social_insurance_calculation.table.EmploymentInsuranceRateRow;
+
+/**
+ * 预编译的雇佣保险费率
+ * 构建时把千分比费率换算为定点数（千分比的1/1000）
+ */
+public final class CompiledEmploymentInsuranceRate {
+
+    private final EmploymentInsuranceRateRow source;
+
+    /**
+     * 雇员负担率（千分比的1/1000）
+     */
+    private final long employeeRateMilliPermille;
+
+    /**
+     * 雇主负担率 = 失業等給付率 + 雇用保険二事業率（千分比的1/1000）
+     */
+    private final long employerRateMilliPermille;
+
+    private CompiledEmploymentInsuranceRate(EmploymentInsuranceRateRow source) {
+        this.source = source;
+        this.employeeRateMilliPermille = FixedPointKernel.toMilliPermille(source.getEmployeeRate());
+        this.employerRateMilliPermille = FixedPointKernel.toMilliPermille(source.getEmployerUnemploymentRate())
+                + FixedPointKernel.toMilliPermille(source.getEmployerTwoUndertakingsRate());
+    }
+
+    /**
+     * 预编译雇佣保险费率
+     *
+     * @param source 雇佣保险费率实体
+     * @return 预编译的雇佣保险费率
+     */
+    public static CompiledEmploymentInsuranceRate of(EmploymentInsuranceRateRow source) {
+        return new CompiledEmploymentInsuranceRate(source);
+    }
+
+    public EmploymentInsuranceRateRow getSource() {
+        return source;
+    }
+
+    public long getEmployeeRateMilliPermille() {
+        return employeeRateMilliPermille;
+    }
+
+    public long getEmployerRateMilliPermille() {
+        return employerRateMilliPermille;
+    }
+}
@@ -0,0 +1,113 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+import java.math.BigDecimal;
+
+import jp.asatex.matianchi.social_insurance_calculation.table.PremiumBracketRow;
+
+/**
+ * 预编译的保险费等级
+ * 构建时把雇员承担部分换算为定点数，并预先生成结果中不随月薪变化的BigDecimal金额
+ * 这些BigDecimal与原实现使用相同的表达式生成，标度和数值完全一致，计算时直接复用
+ */
+public final class CompiledPremiumBracket {
+
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+
+    /**
+     * 未满40岁时的介护保险金额（与原实现的BigDecimal.ZERO.multiply(0.5)一致）
+     */
+    private static final BigDecimal NO_CARE_COST_HALF = BigDecimal.ZERO.multiply(HALF);
+
+    private final PremiumBracketRow source;
+    private final int minAmount;
+    private final int maxAmount;
+
+    /**
+     * 雇员承担的健康保险（无介护）与厚生年金合计（厘）
+     */
+    private final long employeeSocialInsuranceWithoutCareMilliYen;
+
+    /**
+     * 雇员承担的介护保险（厘）
+     */
+    private final long employeeCareMilliYen;
+
+    private final BigDecimal healthCostHalf;
+    private final BigDecimal careCostHalf;
+    private final BigDecimal pensionHalf;
+
+    private CompiledPremiumBracket(PremiumBracketRow source) {
+        this.source = source;
+        this.minAmount = source.getMinAmount();
+        this.maxAmount = source.getMaxAmount();
+
+        long healthNoCareSen = FixedPointKernel.toSen(source.getHealthNoCare());
+        long healthCareSen = FixedPointKernel.toSen(source.getHealthCare());
+        long pensionSen = FixedPointKernel.toSen(source.getPension());
+        // 0.5 × 钱 = 5 × 厘
+        this.employeeSocialInsuranceWithoutCareMilliYen = (healthNoCareSen + pensionSen) * 5;
+        this.employeeCareMilliYen = (healthCareSen - healthNoCareSen) * 5;
+
+        this.healthCostHalf = source.getHealthNoCare().multiply(HALF);
+        this.careCostHalf = source.getHealthCare().subtract(source.getHealthNoCare()).multiply(HALF);
+        this.pensionHalf = source.getPension().multiply(HALF);
+    }
+
+    /**
+     * 预编译保险费等级
+     *
+     * @param source 保险费等级实体
+     * @return 预编译的保险费等级
+     */
+    public static CompiledPremiumBracket of(PremiumBracketRow source) {
+        return new CompiledPremiumBracket(source);
+    }
+
+    public PremiumBracketRow getSource() {
+        return source;
+    }
+
+    public int getMinAmount() {
+        return minAmount;
+    }
+
+    public int getMaxAmount() {
+        return maxAmount;
+    }
+
+    /**
+     * 雇员承担的健康保险、介护保险、厚生年金合计（厘）
+     *
+     * @param careApplicable 是否缴纳介护保险（年满40岁）
+     * @return 合计金额（厘）
+     */
+    public long employeeSocialInsuranceMilliYen(boolean careApplicable) {
+        return careApplicable
+                ? employeeSocialInsuranceWithoutCareMilliYen + employeeCareMilliYen
+                : employeeSocialInsuranceWithoutCareMilliYen;
+    }
+
+    /**
+     * 雇员和雇主各自承担的无介护健康保险金额
+     */
+    public BigDecimal getHealthCostHalf() {
+        return healthCostHalf;
+    }
+
+    /**
+     * 雇员和雇主各自承担的介护保险金额
+     *
+     * @param careApplicable 是否缴纳介护保险（年满40岁）
+     * @return 介护保险金额
+     */
+    public BigDecimal careCostHalf(boolean careApplicable) {
+        return careApplicable ? careCostHalf : NO_CARE_COST_HALF;
+    }
+
+    /**
+     * 雇员和雇主各自承担的厚生年金金额
+     */
+    public BigDecimal getPensionHalf() {
+        return pensionHalf;
+    }
+}
@@ -0,0 +1,77 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import jp.asatex.matianchi.social_insurance_calculation.table.WithholdingTaxBracketRow;
+
+/**
+ * 预编译的源泉征收税等级
+ * 税额保存在所属的WithholdingTaxTable中，本对象只记录行下标，
+ * 按栏和扶养亲属人数取税额时不再查找等级
+ */
+public final class CompiledWithholdingTaxBracket {
+
+    private final WithholdingTaxBracketRow source;
+    private final int minAmount;
+    private final int maxAmount;
+    private final WithholdingTaxTable table;
+    private final int row;
+
+    CompiledWithholdingTaxBracket(WithholdingTaxBracketRow source, WithholdingTaxTable table, int row) {
+        this.source = source;
+        this.minAmount = source.getMinAmount();
+        this.maxAmount = source.getMaxAmount();
+        this.table = table;
+        this.row = row;
+    }
+
+    /**
+     * 单独预编译一个源泉征收税等级
+     * 只有这一行，计算公式的基数引用其他金额的税额时无法计算
+     *
+     * @param source 源泉征收税等级实体
+     * @return 预编译的源泉征收税等级
+     */
+    public static CompiledWithholdingTaxBracket of(WithholdingTaxBracketRow source) {
+        return WithholdingTaxTable.compile(List.of(source))[0];
+    }
+
+    public WithholdingTaxBracketRow getSource() {
+        return source;
+    }
+
+    public int getMinAmount() {
+        return minAmount;
+    }
+
+    public int getMaxAmount() {
+        return maxAmount;
+    }
+
+    /**
+     * 计算源泉征收税金额（日元），用于定点数运算
+     *
+     * @param amount 社会保险费等扣除后的工资金额（日元）
+     * @param column 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数（不能为负数）
+     * @return 源泉征收税金额（日元）
+     * @throws IllegalArgumentException 该栏的税额未登记且无法按公式计算时
+     */
+    public long withholdingTaxYen(int amount, WithholdingTaxColumn column, int dependents) {
+        return table.taxYen(row, amount, column, dependents);
+    }
+
+    /**
+     * 计算源泉征收税金额（仅雇员负担）
+     *
+     * @param amount 社会保险费等扣除后的工资金额（日元）
+     * @param column 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数（不能为负数）
+     * @return 源泉征收税金额
+     * @throws IllegalArgumentException 该栏的税额未登记且无法按公式计算时
+     */
+    public BigDecimal withholdingTax(int amount, WithholdingTaxColumn column, int dependents) {
+        return BigDecimal.valueOf(withholdingTaxYen(amount, column, dependents));
+    }
+}
@@ -0,0 +1,95 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+/**
+ * 源泉征收税的电算机特例（令和2年分以后的月額表の特例，甲栏）
+ * 由社会保险费等扣除后的工资金额依次减去给与所得控除、配偶者（特别）控除和扶养控除、基础控除，
+ * 对课税工资所得金额按别表第四的税率（含复兴特别所得税）计算，不访问源泉征收税额表
+ * 全部运算使用long，不创建对象；结果与税额表的差额在几十日元以内，可由差异报告确认
+ */
+public final class ElectronicWithholdingTax {
+
+    /**
+     * 配偶者（特别）控除额和每名扶养亲属的扶养控除额（别表第二，月额）
+     */
+    public static final long DEPENDENT_DEDUCTION_YEN = 31_667L;
+
+    /**
+     * 别表第一：给与所得控除额的各区间上限（日元），最后一个区间为固定金额162,500日元
+     */
+    private static final long[] EMPLOYMENT_DEDUCTION_LIMITS = {135_416L, 149_999L, 299_999L, 549_999L, 708_330L};
+    private static final long[] EMPLOYMENT_DEDUCTION_RATE_PERCENT = {0L, 40L, 30L, 20L, 10L};
+    private static final long[] EMPLOYMENT_DEDUCTION_ADDITION = {45_834L, -8_333L, 6_667L, 36_667L, 91_667L};
+    private static final long EMPLOYMENT_DEDUCTION_MAX = 162_500L;
+
+    /**
+     * 别表第三：基础控除额的各区间上限（日元），超过最后一个上限时为0
+     */
+    private static final long[] BASIC_DEDUCTION_LIMITS = {2_162_499L, 2_204_166L, 2_245_833L};
+    private static final long[] BASIC_DEDUCTION = {40_000L, 26_667L, 13_334L};
+
+    /**
+     * 别表第四：课税工资所得金额的各区间上限（日元）、税率（百分比的1/1000）和扣除额（日元）
+     */
+    private static final long[] TAX_LIMITS = {162_500L, 275_000L, 579_166L, 750_000L, 1_500_000L, 3_333_333L};
+    private static final long[] TAX_RATE_MILLI_PERCENT = {5_105L, 10_210L, 20_420L, 23_483L, 33_693L, 40_840L, 45_945L};
+    private static final long[] TAX_DEDUCTION = {0L, 8_296L, 36_374L, 54_113L, 130_688L, 237_893L, 408_061L};
+
+    /**
+     * 税率的分母（百分比的1/1000）
+     */
+    private static final long RATE_SCALE = 100_000L;
+
+    private ElectronicWithholdingTax() {
+    }
+
+    /**
+     * 按电算机特例计算甲栏的源泉征收税额
+     *
+     * @param amount 社会保险费等扣除后的工资金额（日元）
+     * @param dependents 扶养亲属等的人数（含源泉控除对象配偶者，不能为负数）
+     * @return 源泉征收税额（日元，10日元未满四舍五入）
+     */
+    public static long taxYen(int amount, int dependents) {
+        long salary = Math.max(amount, 0);
+        long taxable = salary - employmentIncomeDeduction(salary) - DEPENDENT_DEDUCTION_YEN * dependents
+                - basicDeduction(salary);
+        if (taxable <= 0) {
+            return 0L;
+        }
+        int bracket = 0;
+        while (bracket < TAX_LIMITS.length && taxable > TAX_LIMITS[bracket]) {
+            bracket++;
+        }
+        // 以1/100000日元为单位计算，再按10日元四舍五入
+        long scaled = taxable * TAX_RATE_MILLI_PERCENT[bracket] - TAX_DEDUCTION[bracket] * RATE_SCALE;
+        if (scaled <= 0) {
+            return 0L;
+        }
+        long tenYen = 10L * RATE_SCALE;
+        return (scaled + tenYen / 2) / tenYen * 10L;
+    }
+
+    /**
+     * 别表第一：给与所得控除额，1日元未满的尾数进位
+     */
+    static long employmentIncomeDeduction(long salary) {
+        for (int i = 0; i < EMPLOYMENT_DEDUCTION_LIMITS.length; i++) {
+            if (salary <= EMPLOYMENT_DEDUCTION_LIMITS[i]) {
+                return Math.ceilDiv(salary * EMPLOYMENT_DEDUCTION_RATE_PERCENT[i], 100L) + EMPLOYMENT_DEDUCTION_ADDITION[i];
+            }
+        }
+        return EMPLOYMENT_DEDUCTION_MAX;
+    }
+
+    /**
+     * 别表第三：基础控除额
+     */
+    static long basicDeduction(long salary) {
+        for (int i = 0; i < BASIC_DEDUCTION_LIMITS.length; i++) {
+            if (salary <= BASIC_DEDUCTION_LIMITS[i]) {
+                return BASIC_DEDUCTION[i];
+            }
+        }
+        return 0L;
+    }
+}
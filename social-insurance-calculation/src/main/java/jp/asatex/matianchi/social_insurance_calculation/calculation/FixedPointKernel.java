@@ -0,0 +1,108 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+import java.math.BigDecimal;
+
+/**
+ * 定点数计算内核
+ * 热路径上的全部运算都使用long定点数完成，不创建任何对象
+ * 金额单位：钱（1/100日元）或厘（1/1000日元）；费率单位：千分比的1/1000（5.500‰记为5500）
+ * 舍入规则与原BigDecimal实现完全一致：
+ * 雇佣保险按2位小数HALF_UP舍入，扣除总额的整数部分向零截断
+ */
+public final class FixedPointKernel {
+
+    /**
+     * 1日元 = 1000厘
+     */
+    public static final long MILLI_YEN_PER_YEN = 1000L;
+
+    /**
+     * 1钱 = 10厘
+     */
+    public static final long MILLI_YEN_PER_SEN = 10L;
+
+    private FixedPointKernel() {
+    }
+
+    /**
+     * 计算雇佣保险金额（单位：钱）
+     * 等价于 月薪 × 费率 / 1000 按2位小数HALF_UP舍入
+     *
+     * @param monthlySalary 月薪（日元）
+     * @param rateMilliPermille 费率（千分比的1/1000）
+     * @return 雇佣保险金额（钱）
+     */
+    public static long employmentInsuranceSen(int monthlySalary, long rateMilliPermille) {
+        // 月薪 × 费率 / 1000 日元 = 月薪 × rateMilliPermille / 10000 钱
+        long scaled = monthlySalary * rateMilliPermille;
+        return scaled >= 0
+                ? (scaled + 5_000L) / 10_000L
+                : -((-scaled + 5_000L) / 10_000L);
+    }
+
+    /**
+     * 计算扣除雇员承担的社会保险费和雇佣保险后的工资金额
+     * 扣除总额的小数部分向零截断，与BigDecimal.intValue一致
+     *
+     * @param monthlySalary 月薪（日元）
+     * @param employeeSocialInsuranceMilliYen 雇员承担的健康保险、介护保险、厚生年金合计（厘）
+     * @param employeeEmploymentInsuranceSen 雇员承担的雇佣保险（钱）
+     * @return 扣除后的工资金额（日元）
+     */
+    public static int salaryAfterSocialInsurance(int monthlySalary, long employeeSocialInsuranceMilliYen,
+                                                 long employeeEmploymentInsuranceSen) {
+        long totalDeductionMilliYen = employeeSocialInsuranceMilliYen
+                + employeeEmploymentInsuranceSen * MILLI_YEN_PER_SEN;
+        return monthlySalary - (int) (totalDeductionMilliYen / MILLI_YEN_PER_YEN);
+    }
+
+    /**
+     * 计算实发工资（单位：厘）
+     * 实发工资 = 月薪 - 雇员承担的社会保险费 - 雇员承担的雇佣保险 - 源泉征收税
+     *
+     * @param monthlySalary 月薪（日元）
+     * @param employeeSocialInsuranceMilliYen 雇员承担的健康保险、介护保险、厚生年金合计（厘）
+     * @param employeeEmploymentInsuranceSen 雇员承担的雇佣保险（钱）
+     * @param withholdingTaxYen 源泉征收税（日元）
+     * @return 实发工资（厘）
+     */
+    public static long netPayMilliYen(int monthlySalary, long employeeSocialInsuranceMilliYen,
+                                      long employeeEmploymentInsuranceSen, long withholdingTaxYen) {
+        return monthlySalary * MILLI_YEN_PER_YEN
+                - employeeSocialInsuranceMilliYen
+                - employeeEmploymentInsuranceSen * MILLI_YEN_PER_SEN
+                - withholdingTaxYen * MILLI_YEN_PER_YEN;
+    }
+
+    /**
+     * 将金额转换为钱（1/100日元）
+     * 仅在构建快照时调用
+     *
+     * @param amount 金额（最多2位小数）
+     * @return 以钱为单位的金额
+     * @throws IllegalStateException 金额超过2位小数时
+     */
+    public static long toSen(BigDecimal amount) {
+        return toFixedPoint(amount, 2);
+    }
+
+    /**
+     * 将千分比费率转换为千分比的1/1000
+     * 仅在构建快照时调用
+     *
+     * @param ratePermille 千分比费率（最多3位小数）
+     * @return 以千分比的1/1000为单位的费率
+     * @throws IllegalStateException 费率超过3位小数时
+     */
+    public static long toMilliPermille(BigDecimal ratePermille) {
+        return toFixedPoint(ratePermille, 3);
+    }
+
+    private static long toFixedPoint(BigDecimal value, int scale) {
+        try {
+            return value.movePointRight(scale).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalStateException("数值 " + value + " 无法无损转换为" + scale + "位小数的定点数", e);
+        }
+    }
+}
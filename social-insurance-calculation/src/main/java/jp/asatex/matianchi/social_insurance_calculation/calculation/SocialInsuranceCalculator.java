@@ -0,0 +1,271 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+import java.math.BigDecimal;
+
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+import jp.asatex.matianchi.social_insurance_calculation.table.EmploymentInsuranceRateRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.PremiumBracketRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.WithholdingTaxBracketRow;
+
+/**
+ * 社会保险费计算器
+ * 根据已查询到的保险费等级、源泉征收税等级和雇佣保险费率进行纯计算
+ * 不访问数据库，也不依赖Reactor，内存快照路径和数据库路径共用同一套计算规则
+ * 算术部分由FixedPointKernel以long定点数完成，只有组装结果DTO时才创建对象
+ */
+public final class SocialInsuranceCalculator {
+
+    private SocialInsuranceCalculator() {
+    }
+
+    /**
+     * 计算扣除雇员承担的社会保险费和雇佣保险后的工资金额（用于源泉征收税计算）
+     *
+     * @param bracket 预编译的保险费等级
+     * @param employmentInsuranceRate 预编译的雇佣保险费率
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @return 扣除后的工资金额
+     */
+    public static int salaryAfterSocialInsurance(CompiledPremiumBracket bracket,
+                                                 CompiledEmploymentInsuranceRate employmentInsuranceRate,
+                                                 int monthlySalary, int age) {
+        return salaryAfterSocialInsurance(bracket, employmentInsuranceRate, monthlySalary, age >= 40);
+    }
+
+    /**
+     * 计算扣除雇员承担的社会保险费和雇佣保险后的工资金额（直接指定是否缴纳介护保险）
+     *
+     * @param bracket 预编译的保险费等级
+     * @param employmentInsuranceRate 预编译的雇佣保险费率
+     * @param monthlySalary 月薪
+     * @param careApplicable 是否缴纳介护保险
+     * @return 扣除后的工资金额
+     */
+    public static int salaryAfterSocialInsurance(CompiledPremiumBracket bracket,
+                                                 CompiledEmploymentInsuranceRate employmentInsuranceRate,
+                                                 int monthlySalary, boolean careApplicable) {
+        // 雇员承担的社会保险费（总额的50%）
+        long employeeSocialInsurance = bracket.employeeSocialInsuranceMilliYen(careApplicable);
+        // 雇员承担的雇佣保险 = 月薪 × 雇员费率 / 1000
+        long employeeEmploymentInsurance = FixedPointKernel.employmentInsuranceSen(
+                monthlySalary, employmentInsuranceRate.getEmployeeRateMilliPermille());
+        return FixedPointKernel.salaryAfterSocialInsurance(
+                monthlySalary, employeeSocialInsurance, employeeEmploymentInsurance);
+    }
+
+    /**
+     * 计算雇员和雇主各自承担的费用
+     * 雇员和雇主各承担50%的社会保险费，源泉征收税仅雇员负担
+     *
+     * @param bracket 预编译的保险费等级
+     * @param withholdingTaxBracket 预编译的源泉征收税等级
+     * @param employmentInsuranceRate 预编译的雇佣保险费率
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @return 社会保险金额查询结果
+     */
+    public static SocialInsuranceDomainDto calculate(CompiledPremiumBracket bracket,
+                                                     CompiledWithholdingTaxBracket withholdingTaxBracket,
+                                                     CompiledEmploymentInsuranceRate employmentInsuranceRate,
+                                                     int monthlySalary, int age) {
+        // 年龄小于40岁时介护保险金额为0
+        return calculate(bracket, withholdingTaxBracket, employmentInsuranceRate, monthlySalary, age >= 40);
+    }
+
+    /**
+     * 计算雇员和雇主各自承担的费用（直接指定是否缴纳介护保险）
+     * 按月模拟时介护保险的适用期间以40岁和65岁到达日所在的月份为界，不能只用年龄判断
+     *
+     * @param bracket 预编译的保险费等级
+     * @param withholdingTaxBracket 预编译的源泉征收税等级
+     * @param employmentInsuranceRate 预编译的雇佣保险费率
+     * @param monthlySalary 月薪
+     * @param careApplicable 是否缴纳介护保险
+     * @return 社会保险金额查询结果
+     */
+    public static SocialInsuranceDomainDto calculate(CompiledPremiumBracket bracket,
+                                                     CompiledWithholdingTaxBracket withholdingTaxBracket,
+                                                     CompiledEmploymentInsuranceRate employmentInsuranceRate,
+                                                     int monthlySalary, boolean careApplicable) {
+        return calculate(bracket, withholdingTaxBracket, employmentInsuranceRate, monthlySalary, careApplicable,
+                WithholdingTaxColumn.KO, 0);
+    }
+
+    /**
+     * 计算雇员和雇主各自承担的费用（指定源泉征收税额表的栏和扶养亲属人数）
+     *
+     * @param bracket 预编译的保险费等级
+     * @param withholdingTaxBracket 预编译的源泉征收税等级
+     * @param employmentInsuranceRate 预编译的雇佣保险费率
+     * @param monthlySalary 月薪
+     * @param careApplicable 是否缴纳介护保险
+     * @param column 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数（不能为负数）
+     * @return 社会保险金额查询结果
+     * @throws IllegalArgumentException 该栏的源泉征收税额未登记且无法按公式计算时
+     */
+    public static SocialInsuranceDomainDto calculate(CompiledPremiumBracket bracket,
+                                                     CompiledWithholdingTaxBracket withholdingTaxBracket,
+                                                     CompiledEmploymentInsuranceRate employmentInsuranceRate,
+                                                     int monthlySalary, boolean careApplicable,
+                                                     WithholdingTaxColumn column, int dependents) {
+        // 雇员负担的雇佣保险 = 月薪 × 雇员费率 / 1000
+        long employeeEmploymentInsurance = FixedPointKernel.employmentInsuranceSen(
+                monthlySalary, employmentInsuranceRate.getEmployeeRateMilliPermille());
+        // 按公式计算的源泉征收税额取决于扣除社会保险费和雇佣保险后的工资金额
+        int salaryAfter = FixedPointKernel.salaryAfterSocialInsurance(
+                monthlySalary, bracket.employeeSocialInsuranceMilliYen(careApplicable), employeeEmploymentInsurance);
+        BigDecimal withholdingTax = withholdingTaxBracket.withholdingTax(salaryAfter, column, dependents);
+        return assemble(bracket, employmentInsuranceRate, monthlySalary, careApplicable,
+                employeeEmploymentInsurance, withholdingTax);
+    }
+
+    /**
+     * 计算雇员和雇主各自承担的费用（源泉征收税按电算机特例计算，适用甲栏）
+     * 不需要源泉征收税等级，由扣除社会保险费和雇佣保险后的工资金额直接算出税额
+     *
+     * @param bracket 预编译的保险费等级
+     * @param employmentInsuranceRate 预编译的雇佣保险费率
+     * @param monthlySalary 月薪
+     * @param careApplicable 是否缴纳介护保险
+     * @param dependents 扶养亲属人数（不能为负数）
+     * @return 社会保险金额查询结果
+     */
+    public static SocialInsuranceDomainDto calculateElectronic(CompiledPremiumBracket bracket,
+                                                               CompiledEmploymentInsuranceRate employmentInsuranceRate,
+                                                               int monthlySalary, boolean careApplicable,
+                                                               int dependents) {
+        long employeeEmploymentInsurance = FixedPointKernel.employmentInsuranceSen(
+                monthlySalary, employmentInsuranceRate.getEmployeeRateMilliPermille());
+        int salaryAfter = FixedPointKernel.salaryAfterSocialInsurance(
+                monthlySalary, bracket.employeeSocialInsuranceMilliYen(careApplicable), employeeEmploymentInsurance);
+        BigDecimal withholdingTax = BigDecimal.valueOf(ElectronicWithholdingTax.taxYen(salaryAfter, dependents));
+        return assemble(bracket, employmentInsuranceRate, monthlySalary, careApplicable,
+                employeeEmploymentInsurance, withholdingTax);
+    }
+
+    /**
+     * 组装雇员和雇主各自承担的费用
+     *
+     * @param employeeEmploymentInsurance 雇员负担的雇佣保险（钱）
+     * @param withholdingTax 源泉征收税金额
+     */
+    private static SocialInsuranceDomainDto assemble(CompiledPremiumBracket bracket,
+                                                     CompiledEmploymentInsuranceRate employmentInsuranceRate,
+                                                     int monthlySalary, boolean careApplicable,
+                                                     long employeeEmploymentInsurance, BigDecimal withholdingTax) {
+        // 雇主负担的雇佣保险 = 月薪 × (失業等給付率 + 雇用保険二事業率) / 1000
+        long employerEmploymentInsurance = FixedPointKernel.employmentInsuranceSen(
+                monthlySalary, employmentInsuranceRate.getEmployerRateMilliPermille());
+
+        // 雇员承担的费用（50%的社会保险 + 源泉征收税 + 雇佣保险）
+        SocialInsuranceDomainDto.CostDetail employeeCost = new SocialInsuranceDomainDto.CostDetail(
+                bracket.getHealthCostHalf(),
+                bracket.careCostHalf(careApplicable),
+                bracket.getPensionHalf(),
+                withholdingTax, // 源泉征收税仅雇员负担
+                BigDecimal.valueOf(employeeEmploymentInsurance, 2) // 雇员负担的雇佣保险
+        );
+
+        // 雇主承担的费用（50%的社会保险 + 雇佣保险）
+        SocialInsuranceDomainDto.CostDetail employerCost = new SocialInsuranceDomainDto.CostDetail(
+                bracket.getHealthCostHalf(),
+                bracket.careCostHalf(careApplicable),
+                bracket.getPensionHalf(),
+                BigDecimal.ZERO, // 雇主不负担源泉征收税
+                BigDecimal.valueOf(employerEmploymentInsurance, 2) // 雇主负担的雇佣保险
+        );
+
+        return new SocialInsuranceDomainDto(employeeCost, employerCost);
+    }
+
+    /**
+     * 计算奖金的雇员和雇主各自承担的费用
+     * 健康保险、介护保险和厚生年金按标准奖金额（奖金的千日元以下部分舍去，并受上限限制）× 费率计算，
+     * 雇佣保险按奖金金额计算，舍入规则与月薪相同
+     * 奖金的源泉征收税需要「賞与に対する源泉徴収税額の算出率の表」，费率表中没有收录，结果中为0
+     *
+     * @param bonusPremiumRates 奖金的社会保险费率
+     * @param employmentInsuranceRate 预编译的雇佣保险费率
+     * @param bonus 奖金金额
+     * @param healthStandardBonus 健康保险和介护保险的标准奖金额
+     * @param pensionStandardBonus 厚生年金的标准奖金额
+     * @param careApplicable 是否缴纳介护保险
+     * @return 奖金的社会保险金额
+     */
+    public static SocialInsuranceDomainDto calculateBonus(BonusPremiumRates bonusPremiumRates,
+                                                          CompiledEmploymentInsuranceRate employmentInsuranceRate,
+                                                          int bonus, long healthStandardBonus,
+                                                          long pensionStandardBonus, boolean careApplicable) {
+        BigDecimal healthCostHalf = bonusPremiumRates.healthCostHalf(healthStandardBonus);
+        BigDecimal careCostHalf = bonusPremiumRates.careCostHalf(healthStandardBonus, careApplicable);
+        BigDecimal pensionHalf = bonusPremiumRates.pensionHalf(pensionStandardBonus);
+        long employeeEmploymentInsurance = FixedPointKernel.employmentInsuranceSen(
+                bonus, employmentInsuranceRate.getEmployeeRateMilliPermille());
+        long employerEmploymentInsurance = FixedPointKernel.employmentInsuranceSen(
+                bonus, employmentInsuranceRate.getEmployerRateMilliPermille());
+
+        SocialInsuranceDomainDto.CostDetail employeeCost = new SocialInsuranceDomainDto.CostDetail(
+                healthCostHalf,
+                careCostHalf,
+                pensionHalf,
+                BigDecimal.ZERO,
+                BigDecimal.valueOf(employeeEmploymentInsurance, 2)
+        );
+        SocialInsuranceDomainDto.CostDetail employerCost = new SocialInsuranceDomainDto.CostDetail(
+                healthCostHalf,
+                careCostHalf,
+                pensionHalf,
+                BigDecimal.ZERO,
+                BigDecimal.valueOf(employerEmploymentInsurance, 2)
+        );
+        return new SocialInsuranceDomainDto(employeeCost, employerCost);
+    }
+
+    /**
+     * 根据数据库查询到的实体计算雇员和雇主各自承担的费用
+     * 实体在调用时预编译，适用于不经过费率快照的数据库路径
+     *
+     * @param bracket 保险费等级
+     * @param withholdingTaxBracket 源泉征收税等级
+     * @param employmentInsuranceRate 雇佣保险费率
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @return 社会保险金额查询结果
+     */
+    public static SocialInsuranceDomainDto calculate(PremiumBracketRow bracket, WithholdingTaxBracketRow withholdingTaxBracket,
+                                                     EmploymentInsuranceRateRow employmentInsuranceRate,
+                                                     int monthlySalary, int age) {
+        return calculate(bracket, withholdingTaxBracket, employmentInsuranceRate, monthlySalary, age,
+                WithholdingTaxColumn.KO, 0);
+    }
+
+    /**
+     * 根据数据库查询到的实体计算雇员和雇主各自承担的费用（指定源泉征收税额表的栏和扶养亲属人数）
+     * 源泉征收税等级单独预编译，计算公式的基数引用其他金额的税额时无法计算，需要使用费率快照
+     *
+     * @param bracket 保险费等级
+     * @param withholdingTaxBracket 源泉征收税等级
+     * @param employmentInsuranceRate 雇佣保险费率
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @param column 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数（不能为负数）
+     * @return 社会保险金额查询结果
+     * @throws IllegalArgumentException 该栏的源泉征收税额未登记且无法按公式计算时
+     */
+    public static SocialInsuranceDomainDto calculate(PremiumBracketRow bracket, WithholdingTaxBracketRow withholdingTaxBracket,
+                                                     EmploymentInsuranceRateRow employmentInsuranceRate,
+                                                     int monthlySalary, int age,
+                                                     WithholdingTaxColumn column, int dependents) {
+        return calculate(
+                CompiledPremiumBracket.of(bracket),
+                CompiledWithholdingTaxBracket.of(withholdingTaxBracket),
+                CompiledEmploymentInsuranceRate.of(employmentInsuranceRate),
+                monthlySalary,
+                age >= 40,
+                column,
+                dependents);
+    }
+}
@@ -0,0 +1,36 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+/**
+ * 源泉征收税额表的栏
+ * 甲栏适用于提交了「扶養控除等申告書」的雇员，按扶养亲属人数区分税额；
+ * 乙栏适用于其他雇员（副业等），扶养亲属每1人扣减1,610日元
+ */
+public enum WithholdingTaxColumn {
+
+    /**
+     * 甲栏
+     */
+    KO,
+
+    /**
+     * 乙栏
+     */
+    OTSU;
+
+    /**
+     * 根据请求参数解析源泉征收税额表的栏
+     *
+     * @param value ko、甲、otsu或乙（不区分大小写），为空时使用甲栏
+     * @return 源泉征收税额表的栏
+     * @throws IllegalArgumentException 不支持的值
+     */
+    public static WithholdingTaxColumn of(String value) {
+        if (value == null || value.isEmpty() || "ko".equalsIgnoreCase(value) || "甲".equals(value)) {
+            return KO;
+        }
+        if ("otsu".equalsIgnoreCase(value) || "乙".equals(value)) {
+            return OTSU;
+        }
+        throw new IllegalArgumentException("不支持的源泉征收税额栏: " + value + "（可选值：ko、otsu）");
+    }
+}
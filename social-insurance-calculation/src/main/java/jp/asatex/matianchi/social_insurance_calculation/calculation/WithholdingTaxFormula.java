@@ -0,0 +1,114 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+import java.math.BigDecimal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 预编译的源泉征收税计算公式
+ * 把calculation_formula中的文字说明解析为「基数 + 超过阈值部分 × 边际税率」的系数，计算时只做long运算
+ * 支持税额表中出现的两种写法：
+ * 「A円に、…うちT円を超える金額のR％に相当する金額を加算した金額」（基数为固定金额A）
+ * 「X円の場合の税額に、…うちT円を超える金額のR％に相当する金額を加算した金額」（基数为金额X在税额表中的税额）
+ * 边际部分的1日元未满的尾数舍去
+ */
+public final class WithholdingTaxFormula {
+
+    private static final Pattern FORMULA = Pattern.compile(
+            "([0-9,]+)円(の場合の税額)?に、.*?うち([0-9,]+)円を超える金額の([0-9]+(?:\\.[0-9]{1,3})?)[％%]"
+                    + "に相当する金額を加算した金額");
+
+    /**
+     * 税率的分母：税率以百分比的1/1000保存（45.945％记为45945）
+     */
+    private static final long RATE_SCALE = 100_000L;
+
+    /**
+     * 基数为税额表中的税额时，查找税额的金额；基数为固定金额时为-1
+     */
+    private final int baseReferenceAmount;
+
+    /**
+     * 固定基数（日元），基数为税额表中的税额时为0
+     */
+    private final long baseYen;
+
+    /**
+     * 开始加算边际部分的金额（日元）
+     */
+    private final int thresholdAmount;
+
+    /**
+     * 边际税率（百分比的1/1000）
+     */
+    private final long rateMilliPercent;
+
+    private WithholdingTaxFormula(int baseReferenceAmount, long baseYen, int thresholdAmount, long rateMilliPercent) {
+        this.baseReferenceAmount = baseReferenceAmount;
+        this.baseYen = baseYen;
+        this.thresholdAmount = thresholdAmount;
+        this.rateMilliPercent = rateMilliPercent;
+    }
+
+    /**
+     * 解析计算公式的文字说明
+     *
+     * @param text calculation_formula的内容
+     * @return 预编译的计算公式
+     * @throws IllegalStateException 无法解析时（费率表数据错误）
+     */
+    public static WithholdingTaxFormula parse(String text) {
+        Matcher matcher = FORMULA.matcher(text.strip());
+        if (!matcher.matches()) {
+            throw new IllegalStateException("无法解析源泉征收税计算公式: " + text);
+        }
+        int base = parseAmount(matcher.group(1));
+        int threshold = parseAmount(matcher.group(3));
+        long rate = new BigDecimal(matcher.group(4)).movePointRight(3).longValueExact();
+        return matcher.group(2) != null
+                ? new WithholdingTaxFormula(base, 0L, threshold, rate)
+                : new WithholdingTaxFormula(-1, base, threshold, rate);
+    }
+
+    private static int parseAmount(String text) {
+        try {
+            return Integer.parseInt(text.replace(",", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("源泉征收税计算公式中的金额超出范围: " + text, e);
+        }
+    }
+
+    /**
+     * 基数是否为税额表中的税额
+     */
+    public boolean hasTableBase() {
+        return baseReferenceAmount >= 0;
+    }
+
+    public int getBaseReferenceAmount() {
+        return baseReferenceAmount;
+    }
+
+    public long getBaseYen() {
+        return baseYen;
+    }
+
+    public int getThresholdAmount() {
+        return thresholdAmount;
+    }
+
+    public long getRateMilliPercent() {
+        return rateMilliPercent;
+    }
+
+    /**
+     * 计算边际部分的税额
+     *
+     * @param amount 社会保险费等扣除后的工资金额（日元）
+     * @return 超过阈值部分 × 边际税率，1日元未满舍去
+     */
+    public long marginalYen(int amount) {
+        long excess = Math.max(0L, (long) amount - thresholdAmount);
+        return excess * rateMilliPercent / RATE_SCALE;
+    }
+}
@@ -0,0 +1,34 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+/**
+ * 源泉征收税的计算方法
+ */
+public enum WithholdingTaxMethod {
+
+    /**
+     * 按源泉征收税额表（月額表）查找等级
+     */
+    TABLE,
+
+    /**
+     * 电算机特例（月額表の甲欄を適用する給与等に対する源泉徴収税額の電算機計算の特例），
+     * 直接由扣除后的工资金额算出税额，不查找源泉征收税额表
+     */
+    ELECTRONIC;
+
+    /**
+     * 根据请求参数或配置解析计算方法
+     *
+     * @param value table或electronic（不区分大小写）
+     * @return 计算方法
+     * @throws IllegalArgumentException 不支持的值
+     */
+    public static WithholdingTaxMethod of(String value) {
+        for (WithholdingTaxMethod method : values()) {
+            if (method.name().equalsIgnoreCase(value)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException("不支持的源泉征收税计算方法: " + value + "（可选值：table、electronic）");
+    }
+}
@@ -0,0 +1,190 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+import java.util.Arrays;
+import java.util.List;
+
+import jp.asatex.matianchi.social_insurance_calculation.table.WithholdingTaxBracketRow;
+
+/**
+ * 列式保存的源泉征收税额表
+ * 甲栏扶养亲属0～7人和乙栏共9栏，每栏是一个按等级顺序排列的long数组，
+ * 一次等级查找得到的行下标可以直接索引任何一栏，不需要再次查找
+ * 税额为NULL且该行有calculation_formula的栏在构建时解析为「基数 + 边际税率」的系数，
+ * 基数引用其他金额的税额时也在构建时求出，计算时只做一次乘除法
+ * 甲栏扶养亲属超过7人时按7人的税额每多1人扣减1,610日元，乙栏每1人扣减1,610日元，结果不低于0
+ * 构建后不再修改，可以在多个线程之间无锁共享
+ */
+public final class WithholdingTaxTable {
+
+    /**
+     * 税额表中登记了甲栏税额的最大扶养亲属人数
+     */
+    public static final int MAX_TABULATED_DEPENDENTS = 7;
+
+    /**
+     * 超出税额表的扶养亲属每1人扣减的税额（日元）
+     */
+    public static final long DEPENDENT_DEDUCTION_YEN = 1_610L;
+
+    /**
+     * 乙栏在列数组中的下标（甲栏扶养亲属n人的下标为n）
+     */
+    private static final int OTSU_COLUMN = MAX_TABULATED_DEPENDENTS + 1;
+
+    private static final int COLUMN_COUNT = OTSU_COLUMN + 1;
+
+    /**
+     * 未登记税额的标记
+     */
+    private static final long MISSING = Long.MIN_VALUE;
+
+    private final int[] minAmounts;
+    private final int[] maxAmounts;
+
+    /**
+     * 登记的税额（日元）：taxYen[栏][行]，未登记时为MISSING
+     */
+    private final long[][] taxYen;
+
+    /**
+     * 按公式计算的栏的基数（日元）：formulaBaseYen[栏][行]，不适用公式时为MISSING
+     */
+    private final long[][] formulaBaseYen;
+
+    /**
+     * 各行的计算公式，没有公式时为null
+     */
+    private final WithholdingTaxFormula[] formulas;
+
+    private WithholdingTaxTable(int rowCount) {
+        this.minAmounts = new int[rowCount];
+        this.maxAmounts = new int[rowCount];
+        this.taxYen = new long[COLUMN_COUNT][rowCount];
+        this.formulaBaseYen = new long[COLUMN_COUNT][rowCount];
+        this.formulas = new WithholdingTaxFormula[rowCount];
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            Arrays.fill(taxYen[column], MISSING);
+            Arrays.fill(formulaBaseYen[column], MISSING);
+        }
+    }
+
+    /**
+     * 预编译源泉征收税等级表
+     * 公式的基数引用「X円の場合の税額」时，在min_amount较小的等级中查找包含X的等级，
+     * 引用本行或之后的等级时视为未登记
+     *
+     * @param rows 按min_amount升序排列的源泉征收税等级实体
+     * @return 与rows顺序相同的预编译源泉征收税等级
+     * @throws IllegalStateException 计算公式或甲栏扶养亲属税额的数据错误时
+     */
+    public static CompiledWithholdingTaxBracket[] compile(List<? extends WithholdingTaxBracketRow> rows) {
+        WithholdingTaxTable table = new WithholdingTaxTable(rows.size());
+        CompiledWithholdingTaxBracket[] compiled = new CompiledWithholdingTaxBracket[rows.size()];
+        for (int row = 0; row < rows.size(); row++) {
+            WithholdingTaxBracketRow source = rows.get(row);
+            table.load(row, source);
+            compiled[row] = new CompiledWithholdingTaxBracket(source, table, row);
+        }
+        return compiled;
+    }
+
+    private void load(int row, WithholdingTaxBracketRow source) {
+        minAmounts[row] = source.getMinAmount();
+        maxAmounts[row] = source.getMaxAmount();
+        taxYen[0][row] = toYen(source.getTaxAmountKo());
+        taxYen[OTSU_COLUMN][row] = toYen(source.getTaxAmountOtsu());
+        Integer[] dependents = source.getTaxAmountKoDependents();
+        if (dependents != null) {
+            if (dependents.length != MAX_TABULATED_DEPENDENTS) {
+                throw new IllegalStateException("源泉征收税等级 " + describe(row)
+                        + " 的甲栏扶养亲属税额应为" + MAX_TABULATED_DEPENDENTS + "个，实际为" + dependents.length + "个");
+            }
+            for (int i = 0; i < dependents.length; i++) {
+                taxYen[i + 1][row] = toYen(dependents[i]);
+            }
+        }
+
+        if (source.getCalculationFormula() == null || source.getCalculationFormula().isBlank()) {
+            return;
+        }
+        WithholdingTaxFormula formula = WithholdingTaxFormula.parse(source.getCalculationFormula());
+        formulas[row] = formula;
+        int referenceRow = formula.hasTableBase() ? rowContaining(formula.getBaseReferenceAmount(), row) : -1;
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            // 公式只适用于税额为NULL的栏；甲栏扶养亲属1～7人的税额整体未登记时不适用
+            boolean applicable = taxYen[column][row] == MISSING
+                    && (column == 0 || column == OTSU_COLUMN || dependents != null);
+            if (!applicable) {
+                continue;
+            }
+            if (!formula.hasTableBase()) {
+                formulaBaseYen[column][row] = formula.getBaseYen();
+            } else if (referenceRow >= 0) {
+                formulaBaseYen[column][row] = valueOrMissing(column, referenceRow, formula.getBaseReferenceAmount());
+            }
+        }
+    }
+
+    /**
+     * 在row之前的等级中查找包含amount的第一个等级
+     *
+     * @return 行下标，不存在时返回-1
+     */
+    private int rowContaining(int amount, int row) {
+        for (int i = 0; i < row; i++) {
+            if (minAmounts[i] <= amount && amount <= maxAmounts[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 计算源泉征收税额
+     *
+     * @param row 等级的行下标
+     * @param amount 社会保险费等扣除后的工资金额（日元）
+     * @param column 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数（不能为负数）
+     * @return 源泉征收税额（日元）
+     * @throws IllegalArgumentException 该栏的税额未登记且无法按公式计算时
+     */
+    long taxYen(int row, int amount, WithholdingTaxColumn column, int dependents) {
+        long tax;
+        if (column == WithholdingTaxColumn.KO) {
+            int tabulated = Math.min(dependents, MAX_TABULATED_DEPENDENTS);
+            tax = value(tabulated, row, amount, column, dependents)
+                    - DEPENDENT_DEDUCTION_YEN * (dependents - tabulated);
+        } else {
+            tax = value(OTSU_COLUMN, row, amount, column, dependents) - DEPENDENT_DEDUCTION_YEN * dependents;
+        }
+        return Math.max(tax, 0L);
+    }
+
+    private long value(int columnIndex, int row, int amount, WithholdingTaxColumn column, int dependents) {
+        long value = valueOrMissing(columnIndex, row, amount);
+        if (value == MISSING) {
+            throw new IllegalArgumentException("源泉征收税等级 " + describe(row) + " 未登记"
+                    + (column == WithholdingTaxColumn.KO ? "甲栏扶养亲属" + dependents + "人" : "乙栏")
+                    + "的税额");
+        }
+        return value;
+    }
+
+    private long valueOrMissing(int columnIndex, int row, int amount) {
+        long value = taxYen[columnIndex][row];
+        if (value != MISSING) {
+            return value;
+        }
+        long base = formulaBaseYen[columnIndex][row];
+        return base != MISSING ? base + formulas[row].marginalYen(amount) : MISSING;
+    }
+
+    private String describe(int row) {
+        return "[" + minAmounts[row] + ", " + maxAmounts[row] + "]";
+    }
+
+    private static long toYen(Integer amount) {
+        return amount != null ? amount : MISSING;
+    }
+}
@@ -1,4 +1,4 @@
-package jp.asatex.matianchi.social_insurance_backend_service.domain.dto;
+package jp.asatex.matianchi.social_insurance_calculation.dto;
 
 import java.math.BigDecimal;
 import java.util.Objects;
@@ -7,22 +7,20 @@ import java.util.Objects;
  * 社会保险金额查询结果DTO
  * 用于返回社会保险费用计算结果
  * 包含雇员和雇主各自承担的费用（各50%）
+ * 创建后不可修改，计算结果缓存中的同一个对象可以被多个请求共享，
+ * 并作为SocialInsuranceResult一直传到Controller层序列化，各层之间不复制
  */
-public class SocialInsuranceDomainDto {
+public final class SocialInsuranceDomainDto implements SocialInsuranceResult {
 
     /**
      * 雇员承担的费用
      */
-    private CostDetail employeeCost;
+    private final CostDetail employeeCost;
 
     /**
      * 雇主承担的费用
      */
-    private CostDetail employerCost;
-
-    // 默认构造函数
-    public SocialInsuranceDomainDto() {
-    }
+    private final CostDetail employerCost;
 
     // 全参构造函数
     public SocialInsuranceDomainDto(CostDetail employeeCost, CostDetail employerCost) {
@@ -30,23 +28,17 @@ public class SocialInsuranceDomainDto {
         this.employerCost = employerCost;
     }
 
-    // Getter和Setter方法
+    // Getter方法
+    @Override
     public CostDetail getEmployeeCost() {
         return employeeCost;
     }
 
-    public void setEmployeeCost(CostDetail employeeCost) {
-        this.employeeCost = employeeCost;
-    }
-
+    @Override
     public CostDetail getEmployerCost() {
         return employerCost;
     }
 
-    public void setEmployerCost(CostDetail employerCost) {
-        this.employerCost = employerCost;
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -73,35 +65,31 @@ public class SocialInsuranceDomainDto {
      * 费用明细结构体
      * 包含健康保险、介护保险、厚生年金、源泉征收税、雇佣保险的费用
      */
-    public static class CostDetail {
+    public static final class CostDetail implements SocialInsuranceResult.CostDetail {
         /**
          * 无介护健康保险金额
          */
-        private BigDecimal healthCostWithNoCare;
+        private final BigDecimal healthCostWithNoCare;
 
         /**
          * 介护保险金额
          */
-        private BigDecimal careCost;
+        private final BigDecimal careCost;
 
         /**
          * 厚生年金金额
          */
-        private BigDecimal pension;
+        private final BigDecimal pension;
 
         /**
          * 源泉征收税金额（仅雇员负担）
          */
-        private BigDecimal withholdingTax;
+        private final BigDecimal withholdingTax;
 
         /**
          * 雇佣保险金额
          */
-        private BigDecimal employmentInsurance;
-
-        // 默认构造函数
-        public CostDetail() {
-        }
+        private final BigDecimal employmentInsurance;
 
         // 全参构造函数
         public CostDetail(BigDecimal healthCostWithNoCare, BigDecimal careCost, BigDecimal pension, 
@@ -113,47 +101,32 @@ public class SocialInsuranceDomainDto {
             this.employmentInsurance = employmentInsurance;
         }
 
-        // Getter和Setter方法
+        // Getter方法
+        @Override
         public BigDecimal getHealthCostWithNoCare() {
             return healthCostWithNoCare;
         }
 
-        public void setHealthCostWithNoCare(BigDecimal healthCostWithNoCare) {
-            this.healthCostWithNoCare = healthCostWithNoCare;
-        }
-
+        @Override
         public BigDecimal getCareCost() {
             return careCost;
         }
 
-        public void setCareCost(BigDecimal careCost) {
-            this.careCost = careCost;
-        }
-
+        @Override
         public BigDecimal getPension() {
             return pension;
         }
 
-        public void setPension(BigDecimal pension) {
-            this.pension = pension;
-        }
-
+        @Override
         public BigDecimal getWithholdingTax() {
             return withholdingTax;
         }
 
-        public void setWithholdingTax(BigDecimal withholdingTax) {
-            this.withholdingTax = withholdingTax;
-        }
-
+        @Override
         public BigDecimal getEmploymentInsurance() {
             return employmentInsurance;
         }
 
-        public void setEmploymentInsurance(BigDecimal employmentInsurance) {
-            this.employmentInsurance = employmentInsurance;
-        }
-
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -0,0 +1,54 @@
+package jp.asatex.matianchi.social_insurance_calculation.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * 社会保险金额查询结果的只读视图
+ * Domain层计算出的不可变结果通过该接口直接传给Application层和Controller层，
+ * 各层之间不再逐字段复制，Controller层返回的对象由Jackson按getter直接序列化
+ * 包含雇员和雇主各自承担的费用（各50%）
+ */
+public interface SocialInsuranceResult {
+
+    /**
+     * 雇员承担的费用
+     */
+    CostDetail getEmployeeCost();
+
+    /**
+     * 雇主承担的费用
+     */
+    CostDetail getEmployerCost();
+
+    /**
+     * 费用明细的只读视图
+     * 包含健康保险、介护保险、厚生年金、源泉征收税、雇佣保险的费用
+     */
+    interface CostDetail {
+
+        /**
+         * 无介护健康保险金额
+         */
+        BigDecimal getHealthCostWithNoCare();
+
+        /**
+         * 介护保险金额
+         */
+        BigDecimal getCareCost();
+
+        /**
+         * 厚生年金金额
+         */
+        BigDecimal getPension();
+
+        /**
+         * 源泉征收税金额（仅雇员负担）
+         */
+        BigDecimal getWithholdingTax();
+
+        /**
+         * 雇佣保险金额
+         */
+        BigDecimal getEmploymentInsurance();
+    }
+}
@@ -0,0 +1,154 @@
+package jp.asatex.matianchi.social_insurance_calculation.rate;
+
+import java.util.function.IntPredicate;
+
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledEmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledPremiumBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledWithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.FixedPointKernel;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxColumn;
+
+/**
+ * 由目标实发工资反向查找月薪
+ * 实发工资作为月薪的函数在等级切换处可能下降（保险费等级或源泉征收税等级上升），整体不是单调的，
+ * 但在保险费等级和源泉征收税等级都不变的区段内，社会保险费是常数，
+ * 雇佣保险每增加1日元月薪最多增加1钱，源泉征收税为常数时实发工资随月薪严格递增；
+ * 按计算公式求税额的等级中，税额随扣除后金额按边际税率（不超过66%）增加，1日元未满舍去，
+ * 实发工资可能在相邻的几日元之间下降几钱，但月薪每增加MONOTONIC_SPAN日元必定严格增加
+ * 查找时按区段跳跃：每个区段只计算区段末尾附近的实发工资，未达到目标时直接跳到下一个区段，
+ * 达到目标时在区段内二分查找，再向前检查MONOTONIC_SPAN日元，结果与逐日元计算完全一致
+ * 源泉征收税使用甲栏扶养亲属0人的税额
+ * 实发工资不超过月薪，因此从月薪 = 目标实发工资开始查找
+ * 保险费等级表应当连续（各等级的max_amount等于下一等级的min_amount）
+ */
+public final class NetPaySearch {
+
+    /**
+     * 未找到满足条件的月薪
+     */
+    public static final int NOT_FOUND = -1;
+
+    /**
+     * 区段内实发工资严格递增的月薪间隔（日元）
+     * 边际税率r不超过66%时，月薪增加k日元，扣除后金额最多增加k日元，税额最多增加floor(r × k) + 1日元，
+     * 雇佣保险最多增加k + 1钱；k = 4时实发工资至少增加4000 - 3000 - 50厘
+     */
+    private static final int MONOTONIC_SPAN = 4;
+
+    private NetPaySearch() {
+    }
+
+    /**
+     * 查找实发工资达到目标金额的最低月薪
+     *
+     * @param snapshot 费率快照
+     * @param employmentInsuranceRate 预编译的雇佣保险费率
+     * @param careApplicable 是否缴纳介护保险
+     * @param targetNetPay 目标实发工资（日元，不能为负数）
+     * @return 最低月薪，费率表范围内不存在时返回NOT_FOUND
+     */
+    public static int minimumMonthlySalary(RateSnapshot snapshot,
+                                           CompiledEmploymentInsuranceRate employmentInsuranceRate,
+                                           boolean careApplicable, int targetNetPay) {
+        long targetMilliYen = targetNetPay * FixedPointKernel.MILLI_YEN_PER_YEN;
+        long employeeRate = employmentInsuranceRate.getEmployeeRateMilliPermille();
+        int count = snapshot.premiumBracketCount();
+        int start = Math.max(snapshot.premiumBracketIndexAt(targetNetPay), 0);
+        for (int i = start; i < count; i++) {
+            CompiledPremiumBracket bracket = snapshot.premiumBracketAt(i);
+            // 边界金额属于min_amount较大的等级
+            int low = Math.max(bracket.getMinAmount(), targetNetPay);
+            int high = i + 1 < count
+                    ? Math.min(bracket.getMaxAmount(), snapshot.premiumBracketAt(i + 1).getMinAmount() - 1)
+                    : bracket.getMaxAmount();
+            long socialInsurance = bracket.employeeSocialInsuranceMilliYen(careApplicable);
+
+            int salary = low;
+            while (salary <= high) {
+                int salaryAfter = salaryAfter(salary, socialInsurance, employeeRate);
+                CompiledWithholdingTaxBracket withholdingTaxBracket = snapshot.findWithholdingTaxBracket(salaryAfter);
+                if (withholdingTaxBracket == null) {
+                    // 扣除后金额不在源泉征收税表范围内，跳到下一个源泉征收税等级开始的月薪
+                    int nextMinAmount = snapshot.nextWithholdingTaxMinAmount(salaryAfter);
+                    if (nextMinAmount < 0) {
+                        break;
+                    }
+                    salary = firstMatch(salary, high,
+                            x -> salaryAfter(x, socialInsurance, employeeRate) >= nextMinAmount);
+                    continue;
+                }
+
+                // 扣除后金额随月薪单调不减，求出该源泉征收税等级覆盖的最后一个月薪
+                int maxAmount = withholdingTaxBracket.getMaxAmount();
+                int segmentEnd = firstMatch(salary, high,
+                        x -> salaryAfter(x, socialInsurance, employeeRate) > maxAmount) - 1;
+                IntPredicate reached = x -> netPay(x, socialInsurance, employeeRate, withholdingTaxBracket)
+                        >= targetMilliYen;
+                int found = firstReached(salary, segmentEnd, reached);
+                if (found != NOT_FOUND) {
+                    return found;
+                }
+                salary = segmentEnd + 1;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private static int salaryAfter(int monthlySalary, long socialInsurance, long employeeRate) {
+        return FixedPointKernel.salaryAfterSocialInsurance(monthlySalary, socialInsurance,
+                FixedPointKernel.employmentInsuranceSen(monthlySalary, employeeRate));
+    }
+
+    private static long netPay(int monthlySalary, long socialInsurance, long employeeRate,
+                               CompiledWithholdingTaxBracket withholdingTaxBracket) {
+        long employmentInsurance = FixedPointKernel.employmentInsuranceSen(monthlySalary, employeeRate);
+        int salaryAfter = FixedPointKernel.salaryAfterSocialInsurance(monthlySalary, socialInsurance,
+                employmentInsurance);
+        long withholdingTax = withholdingTaxBracket.withholdingTaxYen(salaryAfter, WithholdingTaxColumn.KO, 0);
+        return FixedPointKernel.netPayMilliYen(monthlySalary, socialInsurance, employmentInsurance, withholdingTax);
+    }
+
+    /**
+     * 在一个区段[low, high]中查找条件成立的最小值
+     * 条件在某处成立后，之后每隔MONOTONIC_SPAN日元以上的值都成立
+     *
+     * @return 最小值，区段内都不成立时返回NOT_FOUND
+     */
+    private static int firstReached(int low, int high, IntPredicate predicate) {
+        // 区段末尾的MONOTONIC_SPAN个值都不成立时，区段内都不成立
+        boolean reachable = false;
+        for (int x = Math.max(low, high - MONOTONIC_SPAN + 1); x <= high && !reachable; x++) {
+            reachable = predicate.test(x);
+        }
+        if (!reachable) {
+            return NOT_FOUND;
+        }
+        // 二分查找得到的值的前一个值不成立，因此最小值不会比它小MONOTONIC_SPAN以上
+        int candidate = firstMatch(low, high, predicate);
+        for (int x = Math.max(low, candidate - MONOTONIC_SPAN); x < candidate; x++) {
+            if (predicate.test(x)) {
+                return x;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * 在[low, high]中二分查找条件成立的最小值，条件须随自变量单调（一旦成立则之后都成立）
+     *
+     * @return 最小值，都不成立时返回high + 1
+     */
+    private static int firstMatch(int low, int high, IntPredicate predicate) {
+        int result = high + 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (predicate.test(mid)) {
+                result = mid;
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return result;
+    }
+}
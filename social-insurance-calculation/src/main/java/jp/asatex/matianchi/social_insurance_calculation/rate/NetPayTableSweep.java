@@ -0,0 +1,178 @@
+package jp.asatex.matianchi.social_insurance_calculation.rate;
+
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledEmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledPremiumBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledWithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.FixedPointKernel;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxColumn;
+
+/**
+ * 实发工资表的增量扫描
+ * 按月薪从小到大依次计算[from, to]范围内每隔step日元的社会保险金额，
+ * 等级查找使用RateSnapshot.Cursor，每行只移动游标，不再二分查找
+ * 计算结果写入调用方提供的可复用Row对象，扫描过程中不为每行创建对象，堆占用与行数无关
+ * 计算规则与SocialInsuranceCalculator相同，源泉征收税使用甲栏扶养亲属0人的税额，
+ * 找不到等级或税额的月薪在Row中记录与单条查询相同的错误消息
+ * 非线程安全，每次导出各自创建
+ */
+public final class NetPayTableSweep {
+
+    private final RateSnapshot.Cursor cursor;
+    private final CompiledEmploymentInsuranceRate employmentInsuranceRate;
+    private final boolean careApplicable;
+    private final long to;
+    private final int step;
+
+    /**
+     * 下一个要计算的月薪
+     */
+    private long nextSalary;
+
+    /**
+     * 创建扫描
+     *
+     * @param snapshot 费率快照
+     * @param employmentInsuranceRate 预编译的雇佣保险费率
+     * @param careApplicable 是否缴纳介护保险
+     * @param from 开始月薪（含）
+     * @param to 结束月薪（含）
+     * @param step 月薪间隔（大于0）
+     */
+    public NetPayTableSweep(RateSnapshot snapshot, CompiledEmploymentInsuranceRate employmentInsuranceRate,
+                            boolean careApplicable, int from, int to, int step) {
+        this.cursor = snapshot.cursor();
+        this.employmentInsuranceRate = employmentInsuranceRate;
+        this.careApplicable = careApplicable;
+        this.to = to;
+        this.step = step;
+        this.nextSalary = from;
+    }
+
+    /**
+     * 是否缴纳介护保险
+     */
+    public boolean isCareApplicable() {
+        return careApplicable;
+    }
+
+    /**
+     * 计算下一个月薪，结果写入row
+     *
+     * @param row 可复用的结果行
+     * @return 已经扫描完毕时返回false，row不变
+     */
+    public boolean next(Row row) {
+        if (nextSalary > to) {
+            return false;
+        }
+        int monthlySalary = (int) nextSalary;
+        nextSalary += step;
+
+        row.monthlySalary = monthlySalary;
+        row.premiumBracket = null;
+        row.withholdingTaxBracket = null;
+        row.error = null;
+
+        CompiledPremiumBracket bracket = cursor.premiumBracket(monthlySalary);
+        if (bracket == null) {
+            row.error = "未找到月薪 " + monthlySalary + " 对应的保险费等级记录";
+            return true;
+        }
+        long employeeSocialInsurance = bracket.employeeSocialInsuranceMilliYen(careApplicable);
+        long employeeEmploymentInsurance = FixedPointKernel.employmentInsuranceSen(
+                monthlySalary, employmentInsuranceRate.getEmployeeRateMilliPermille());
+        int salaryAfter = FixedPointKernel.salaryAfterSocialInsurance(
+                monthlySalary, employeeSocialInsurance, employeeEmploymentInsurance);
+        CompiledWithholdingTaxBracket withholdingTaxBracket = cursor.withholdingTaxBracket(salaryAfter);
+        if (withholdingTaxBracket == null) {
+            row.error = "未找到扣除社会保险费和雇佣保险后工资金额 " + salaryAfter + " 对应的源泉征收税等级记录";
+            return true;
+        }
+        long withholdingTax;
+        try {
+            withholdingTax = withholdingTaxBracket.withholdingTaxYen(salaryAfter, WithholdingTaxColumn.KO, 0);
+        } catch (IllegalArgumentException e) {
+            row.error = e.getMessage();
+            return true;
+        }
+
+        row.premiumBracket = bracket;
+        row.withholdingTaxBracket = withholdingTaxBracket;
+        row.withholdingTaxYen = withholdingTax;
+        row.employeeEmploymentInsuranceSen = employeeEmploymentInsurance;
+        row.employerEmploymentInsuranceSen = FixedPointKernel.employmentInsuranceSen(
+                monthlySalary, employmentInsuranceRate.getEmployerRateMilliPermille());
+        row.netPayMilliYen = FixedPointKernel.netPayMilliYen(monthlySalary, employeeSocialInsurance,
+                employeeEmploymentInsurance, withholdingTax);
+        return true;
+    }
+
+    /**
+     * 实发工资表的一行，由NetPayTableSweep.next填充后复用
+     * 健康保险、介护保险和厚生年金直接引用预编译等级中的金额，雇员和雇主相同
+     */
+    public static final class Row {
+
+        private int monthlySalary;
+        private CompiledPremiumBracket premiumBracket;
+        private CompiledWithholdingTaxBracket withholdingTaxBracket;
+        private long withholdingTaxYen;
+        private long employeeEmploymentInsuranceSen;
+        private long employerEmploymentInsuranceSen;
+        private long netPayMilliYen;
+        private String error;
+
+        public int getMonthlySalary() {
+            return monthlySalary;
+        }
+
+        /**
+         * 保险费等级，计算失败时为null
+         */
+        public CompiledPremiumBracket getPremiumBracket() {
+            return premiumBracket;
+        }
+
+        /**
+         * 源泉征收税等级，计算失败时为null
+         */
+        public CompiledWithholdingTaxBracket getWithholdingTaxBracket() {
+            return withholdingTaxBracket;
+        }
+
+        /**
+         * 源泉征收税（日元）
+         */
+        public long getWithholdingTaxYen() {
+            return withholdingTaxYen;
+        }
+
+        /**
+         * 雇员负担的雇佣保险（钱）
+         */
+        public long getEmployeeEmploymentInsuranceSen() {
+            return employeeEmploymentInsuranceSen;
+        }
+
+        /**
+         * 雇主负担的雇佣保险（钱）
+         */
+        public long getEmployerEmploymentInsuranceSen() {
+            return employerEmploymentInsuranceSen;
+        }
+
+        /**
+         * 实发工资（厘）
+         */
+        public long getNetPayMilliYen() {
+            return netPayMilliYen;
+        }
+
+        /**
+         * 错误消息，计算成功时为null
+         */
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package jp.asatex.matianchi.social_insurance_calculation.rate;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jp.asatex.matianchi.social_insurance_calculation.calculation.BonusPremiumRates;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledEmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledPremiumBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledWithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxTable;
+import jp.asatex.matianchi.social_insurance_calculation.table.EmploymentInsuranceRateRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.PremiumBracketRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.WithholdingTaxBracketRow;
+
+/**
+ * 费率快照
+ * 将保险费等级表、源泉征收税等级表和雇佣保险费率表一次性加载到内存中的不可变数据结构
+ * 等级表按下限金额升序保存为数组，通过二分查找定位等级，查询时无需访问数据库
+ * 各行在构建快照时预编译为定点数形式，查询时不再进行BigDecimal运算
+ * 一个快照对应一个生效期间内有效的费率，多个期间的快照由RateSnapshotIndex按日期索引
+ * 快照创建后不再修改，可以在多个线程之间无锁共享
+ */
+public final class RateSnapshot {
+
+    /**
+     * 不限定生效期间的快照使用的期间开始值
+     */
+    public static final long UNBOUNDED_PERIOD_START = Long.MIN_VALUE;
+
+    /**
+     * 生效期间的开始日期（epoch day），不限定期间时为UNBOUNDED_PERIOD_START
+     */
+    private final long periodStart;
+
+    /**
+     * 按min_amount升序排列的保险费等级
+     */
+    private final CompiledPremiumBracket[] premiumBrackets;
+    private final int[] premiumMinAmounts;
+    private final int[] premiumMaxAmounts;
+
+    /**
+     * 按min_amount升序排列的源泉征收税等级
+     */
+    private final CompiledWithholdingTaxBracket[] withholdingTaxBrackets;
+    private final int[] withholdingTaxMinAmounts;
+
+    /**
+     * max_amount的前缀最大值，用于二分查找第一个max_amount >= 金额的等级
+     */
+    private final int[] withholdingTaxMaxAmountPrefixMax;
+
+    /**
+     * 按事业类型索引的雇佣保险费率
+     */
+    private final Map<String, CompiledEmploymentInsuranceRate> employmentInsuranceRates;
+
+    /**
+     * 从保险费等级反推的奖金社会保险费率，等级为空时为null
+     */
+    private final BonusPremiumRates bonusPremiumRates;
+
+    /**
+     * 源泉征收税等级表是否登记了甲栏扶养亲属1～7人的税额（至少一个等级的tax_amount_ko_dependents不为NULL）
+     */
+    private final boolean koDependentsTabulated;
+
+    /**
+     * 费率内容的指纹
+     */
+    private final long fingerprint;
+
+    private RateSnapshot(long periodStart,
+                         CompiledPremiumBracket[] premiumBrackets, CompiledWithholdingTaxBracket[] withholdingTaxBrackets,
+                         boolean koDependentsTabulated,
+                         Map<String, CompiledEmploymentInsuranceRate> employmentInsuranceRates, long fingerprint) {
+        this.periodStart = periodStart;
+        this.fingerprint = fingerprint;
+        this.koDependentsTabulated = koDependentsTabulated;
+        this.premiumBrackets = premiumBrackets;
+        this.premiumMinAmounts = new int[premiumBrackets.length];
+        this.premiumMaxAmounts = new int[premiumBrackets.length];
+        for (int i = 0; i < premiumBrackets.length; i++) {
+            premiumMinAmounts[i] = premiumBrackets[i].getMinAmount();
+            premiumMaxAmounts[i] = premiumBrackets[i].getMaxAmount();
+        }
+
+        this.withholdingTaxBrackets = withholdingTaxBrackets;
+        this.withholdingTaxMinAmounts = new int[withholdingTaxBrackets.length];
+        this.withholdingTaxMaxAmountPrefixMax = new int[withholdingTaxBrackets.length];
+        int prefixMax = Integer.MIN_VALUE;
+        for (int i = 0; i < withholdingTaxBrackets.length; i++) {
+            withholdingTaxMinAmounts[i] = withholdingTaxBrackets[i].getMinAmount();
+            prefixMax = Math.max(prefixMax, withholdingTaxBrackets[i].getMaxAmount());
+            withholdingTaxMaxAmountPrefixMax[i] = prefixMax;
+        }
+
+        this.employmentInsuranceRates = employmentInsuranceRates;
+        this.bonusPremiumRates = BonusPremiumRates.of(premiumBrackets);
+    }
+
+    /**
+     * 根据三张费率表的记录创建不限定生效期间的快照（忽略记录的生效期间）
+     *
+     * @param premiumBrackets 保险费等级记录
+     * @param withholdingTaxBrackets 源泉征收税等级记录
+     * @param employmentInsuranceRates 雇佣保险费率记录
+     * @return 不可变的费率快照
+     */
+    public static RateSnapshot of(List<? extends PremiumBracketRow> premiumBrackets,
+                                  List<? extends WithholdingTaxBracketRow> withholdingTaxBrackets,
+                                  List<? extends EmploymentInsuranceRateRow> employmentInsuranceRates) {
+        return forPeriod(UNBOUNDED_PERIOD_START, premiumBrackets, withholdingTaxBrackets, employmentInsuranceRates);
+    }
+
+    /**
+     * 为一个生效期间创建快照，传入的记录必须都在该期间内有效
+     *
+     * @param periodStart 生效期间的开始日期（epoch day）
+     * @param premiumBrackets 保险费等级记录
+     * @param withholdingTaxBrackets 源泉征收税等级记录
+     * @param employmentInsuranceRates 雇佣保险费率记录
+     * @return 不可变的费率快照
+     */
+    static RateSnapshot forPeriod(long periodStart,
+                                  List<? extends PremiumBracketRow> premiumBrackets,
+                                  List<? extends WithholdingTaxBracketRow> withholdingTaxBrackets,
+                                  List<? extends EmploymentInsuranceRateRow> employmentInsuranceRates) {
+        List<? extends PremiumBracketRow> premiumRows = premiumBrackets.stream()
+                .sorted(Comparator.comparingInt(PremiumBracketRow::getMinAmount))
+                .toList();
+        CompiledPremiumBracket[] sortedPremiumBrackets = premiumRows.stream()
+                .map(CompiledPremiumBracket::of)
+                .toArray(CompiledPremiumBracket[]::new);
+
+        // 源泉征收税等级先按min_amount排序再整体预编译，计算公式引用其他金额的税额时在表内解析
+        List<? extends WithholdingTaxBracketRow> withholdingTaxRows = withholdingTaxBrackets.stream()
+                .sorted(Comparator.comparingInt(WithholdingTaxBracketRow::getMinAmount))
+                .toList();
+        CompiledWithholdingTaxBracket[] sortedWithholdingTaxBrackets = WithholdingTaxTable.compile(withholdingTaxRows);
+        boolean koDependentsTabulated = withholdingTaxRows.stream()
+                .anyMatch(row -> row.getTaxAmountKoDependents() != null);
+
+        Map<String, CompiledEmploymentInsuranceRate> ratesByBusinessType = new HashMap<>();
+        for (EmploymentInsuranceRateRow rate : employmentInsuranceRates) {
+            if (ratesByBusinessType.putIfAbsent(rate.getBusinessType(), CompiledEmploymentInsuranceRate.of(rate)) != null) {
+                throw new IllegalStateException("事业类型 " + rate.getBusinessType() + " 存在多条雇佣保险费率记录");
+            }
+        }
+
+        List<? extends EmploymentInsuranceRateRow> employmentInsuranceRows = employmentInsuranceRates.stream()
+                .sorted(Comparator.comparing(EmploymentInsuranceRateRow::getBusinessType))
+                .toList();
+        return new RateSnapshot(periodStart, sortedPremiumBrackets, sortedWithholdingTaxBrackets,
+                koDependentsTabulated, Map.copyOf(ratesByBusinessType),
+                fingerprint(premiumRows, withholdingTaxRows, employmentInsuranceRows));
+    }
+
+    /**
+     * 计算费率内容的指纹
+     * 只使用影响计算结果的列（不含id、生效期间和时间戳），各表按排序后的顺序写入SHA-256并取前8字节，
+     * 与数据库返回记录的顺序和加载的节点无关，费率表内容相同时指纹相同
+     *
+     * @param premiumBrackets 按min_amount排序的保险费等级记录
+     * @param withholdingTaxBrackets 按min_amount排序的源泉征收税等级记录
+     * @param employmentInsuranceRates 按事业类型排序的雇佣保险费率记录
+     * @return 费率内容的指纹
+     */
+    private static long fingerprint(List<? extends PremiumBracketRow> premiumBrackets,
+                                    List<? extends WithholdingTaxBracketRow> withholdingTaxBrackets,
+                                    List<? extends EmploymentInsuranceRateRow> employmentInsuranceRates) {
+        StringBuilder content = new StringBuilder();
+        for (PremiumBracketRow bracket : premiumBrackets) {
+            content.append("P|").append(bracket.getGrade())
+                    .append('|').append(bracket.getStdRem())
+                    .append('|').append(bracket.getMinAmount())
+                    .append('|').append(bracket.getMaxAmount())
+                    .append('|').append(plain(bracket.getHealthNoCare()))
+                    .append('|').append(plain(bracket.getHealthCare()))
+                    .append('|').append(plain(bracket.getPension()))
+                    .append('\n');
+        }
+        for (WithholdingTaxBracketRow bracket : withholdingTaxBrackets) {
+            content.append("W|").append(bracket.getMinAmount())
+                    .append('|').append(bracket.getMaxAmount())
+                    .append('|').append(bracket.getTaxAmountKo())
+                    .append('|').append(bracket.getTaxAmountOtsu())
+                    .append('|').append(Arrays.toString(bracket.getTaxAmountKoDependents()))
+                    .append('|').append(bracket.getCalculationFormula())
+                    .append('\n');
+        }
+        for (EmploymentInsuranceRateRow rate : employmentInsuranceRates) {
+            content.append("E|").append(rate.getBusinessType())
+                    .append('|').append(plain(rate.getEmployeeRate()))
+                    .append('|').append(plain(rate.getEmployerUnemploymentRate()))
+                    .append('|').append(plain(rate.getEmployerTwoUndertakingsRate()))
+                    .append('|').append(plain(rate.getTotalRate()))
+                    .append('\n');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+
+    /**
+     * BigDecimal的规范文本，0.0050和0.005视为相同
+     */
+    private static String plain(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : "null";
+    }
+
+    /**
+     * 获取快照对应的生效期间开始日期
+     * 同一期间内的任何日期计算结果都相同，因此作为计算结果缓存键的一部分
+     *
+     * @return 生效期间的开始日期（epoch day），不限定期间时为UNBOUNDED_PERIOD_START
+     */
+    public long getPeriodStart() {
+        return periodStart;
+    }
+
+    /**
+     * 获取费率内容的指纹
+     * 由该期间内有效的三张费率表中影响计算结果的列计算，与费率表版本号不同，
+     * 各节点加载同一份费率表时得到相同的值，可用于生成跨节点一致的HTTP实体标签
+     *
+     * @return 费率内容的指纹
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 源泉征收税等级表是否登记了甲栏扶养亲属1～7人的税额
+     * 现有迁移脚本只登记了扶养亲属0人的税额，需要通过费率表导入tax_amount_ko_dependents
+     *
+     * @return 至少一个等级登记了甲栏扶养亲属税额时为true
+     */
+    public boolean isKoDependentsTabulated() {
+        return koDependentsTabulated;
+    }
+
+    /**
+     * 根据金额查找对应的保险费等级
+     * 与PremiumBracketRepository.findByAmount的语义一致：
+     * 查找minAmount <= amount <= maxAmount的记录，边界值匹配多个区间时返回min_amount最大的区间
+     *
+     * @param amount 金额
+     * @return 保险费等级，未找到时返回null
+     */
+    public CompiledPremiumBracket findPremiumBracket(int amount) {
+        int index = lastIndexWithMinAmountAtMost(premiumMinAmounts, amount);
+        // 等级表连续时第一次比较即命中，只有区间存在空隙时才需要向前回溯
+        while (index >= 0 && premiumMaxAmounts[index] < amount) {
+            index--;
+        }
+        return index >= 0 ? premiumBrackets[index] : null;
+    }
+
+    /**
+     * 根据扣除社会保险费后的工资金额查找对应的源泉征收税等级
+     * 与WithholdingTaxBracketRepository.findByAmount的语义一致：
+     * 查找minAmount <= amount <= maxAmount的记录，边界值匹配多个区间时返回min_amount最小的区间
+     *
+     * @param amount 扣除社会保险费后的工资金额
+     * @return 源泉征收税等级，未找到时返回null
+     */
+    public CompiledWithholdingTaxBracket findWithholdingTaxBracket(int amount) {
+        // 第一个max_amount >= amount的记录；此前的记录都不包含该金额
+        int low = 0;
+        int high = withholdingTaxMaxAmountPrefixMax.length - 1;
+        int index = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (withholdingTaxMaxAmountPrefixMax[mid] >= amount) {
+                index = mid;
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        if (index < 0 || withholdingTaxMinAmounts[index] > amount) {
+            return null;
+        }
+        return withholdingTaxBrackets[index];
+    }
+
+    /**
+     * 根据事业类型查找雇佣保险费率
+     *
+     * @param businessType 事业类型
+     * @return 雇佣保险费率，未找到时返回null
+     */
+    public CompiledEmploymentInsuranceRate findEmploymentInsuranceRate(String businessType) {
+        return employmentInsuranceRates.get(businessType);
+    }
+
+    /**
+     * 获取奖金的社会保险费率
+     *
+     * @return 奖金的社会保险费率，该期间没有保险费等级时返回null
+     */
+    public BonusPremiumRates getBonusPremiumRates() {
+        return bonusPremiumRates;
+    }
+
+    /**
+     * 创建按金额顺序扫描等级表的游标
+     *
+     * @return 新的游标（非线程安全，每次扫描各自创建）
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * 按金额顺序扫描等级表的游标
+     * 记住上一次命中的等级下标，金额变化时只向前或向后移动到相邻的等级，
+     * 连续的金额序列查找的均摊成本为O(1)，不再每次二分查找
+     * 查找结果与findPremiumBracket和findWithholdingTaxBracket完全一致
+     * 扣除社会保险费后的工资金额在保险费等级切换时会变小，因此游标支持双向移动
+     */
+    public final class Cursor {
+
+        /**
+         * min_amount <= 金额的最后一个保险费等级的下标
+         */
+        private int premiumIndex = -1;
+
+        /**
+         * max_amount前缀最大值 >= 金额的第一个源泉征收税等级的下标
+         */
+        private int withholdingTaxIndex = 0;
+
+        private Cursor() {
+        }
+
+        /**
+         * 根据金额查找对应的保险费等级，语义与findPremiumBracket相同
+         *
+         * @param amount 金额
+         * @return 保险费等级，未找到时返回null
+         */
+        public CompiledPremiumBracket premiumBracket(int amount) {
+            while (premiumIndex + 1 < premiumMinAmounts.length && premiumMinAmounts[premiumIndex + 1] <= amount) {
+                premiumIndex++;
+            }
+            while (premiumIndex >= 0 && premiumMinAmounts[premiumIndex] > amount) {
+                premiumIndex--;
+            }
+            int index = premiumIndex;
+            while (index >= 0 && premiumMaxAmounts[index] < amount) {
+                index--;
+            }
+            return index >= 0 ? premiumBrackets[index] : null;
+        }
+
+        /**
+         * 根据扣除社会保险费后的工资金额查找对应的源泉征收税等级，语义与findWithholdingTaxBracket相同
+         *
+         * @param amount 扣除社会保险费后的工资金额
+         * @return 源泉征收税等级，未找到时返回null
+         */
+        public CompiledWithholdingTaxBracket withholdingTaxBracket(int amount) {
+            int length = withholdingTaxMaxAmountPrefixMax.length;
+            while (withholdingTaxIndex < length && withholdingTaxMaxAmountPrefixMax[withholdingTaxIndex] < amount) {
+                withholdingTaxIndex++;
+            }
+            while (withholdingTaxIndex > 0 && withholdingTaxMaxAmountPrefixMax[withholdingTaxIndex - 1] >= amount) {
+                withholdingTaxIndex--;
+            }
+            if (withholdingTaxIndex >= length || withholdingTaxMinAmounts[withholdingTaxIndex] > amount) {
+                return null;
+            }
+            return withholdingTaxBrackets[withholdingTaxIndex];
+        }
+    }
+
+    /**
+     * 获取保险费等级数量
+     */
+    int premiumBracketCount() {
+        return premiumBrackets.length;
+    }
+
+    /**
+     * 获取按min_amount升序排列的第i个保险费等级
+     */
+    CompiledPremiumBracket premiumBracketAt(int i) {
+        return premiumBrackets[i];
+    }
+
+    /**
+     * 查找min_amount <= amount的最后一个保险费等级的下标
+     *
+     * @param amount 金额
+     * @return 下标，所有等级的min_amount都大于amount时返回-1
+     */
+    int premiumBracketIndexAt(int amount) {
+        return lastIndexWithMinAmountAtMost(premiumMinAmounts, amount);
+    }
+
+    /**
+     * 查找min_amount大于指定金额的第一个源泉征收税等级的下限金额
+     *
+     * @param amount 扣除社会保险费后的工资金额
+     * @return 下限金额，不存在时返回-1
+     */
+    int nextWithholdingTaxMinAmount(int amount) {
+        int index = lastIndexWithMinAmountAtMost(withholdingTaxMinAmounts, amount) + 1;
+        return index < withholdingTaxMinAmounts.length ? withholdingTaxMinAmounts[index] : -1;
+    }
+
+    /**
+     * 查找min_amount <= amount的最后一个下标
+     */
+    private static int lastIndexWithMinAmountAtMost(int[] minAmounts, int amount) {
+        int low = 0;
+        int high = minAmounts.length - 1;
+        int index = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (minAmounts[mid] <= amount) {
+                index = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return index;
+    }
+}
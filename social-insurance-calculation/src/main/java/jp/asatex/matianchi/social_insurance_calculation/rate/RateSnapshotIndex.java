@@ -0,0 +1,164 @@
+package jp.asatex.matianchi.social_insurance_calculation.rate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import jp.asatex.matianchi.social_insurance_calculation.table.EmploymentInsuranceRateRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.PremiumBracketRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.WithholdingTaxBracketRow;
+
+/**
+ * 按生效日期索引的费率快照
+ * 三张费率表各自的生效期间互不对齐（例如健康保险3月、雇佣保险4月、源泉征收税1月切换），
+ * 因此以所有记录的effective_from和effective_to作为分界点，把时间轴切分成若干期间，
+ * 每个期间内有效的记录集合固定不变，为每个期间预先创建一份不可变的RateSnapshot
+ * 按日期查找时在分界点数组上二分查找，复杂度O(log 期间数)，读取路径不加锁
+ */
+public final class RateSnapshotIndex {
+
+    /**
+     * 构建索引时的费率表版本号
+     */
+    private final long version;
+
+    /**
+     * 各期间的开始日期（epoch day），升序排列
+     * 第i个期间为 [periodStarts[i], periodStarts[i + 1])，最后一个期间无期限
+     */
+    private final long[] periodStarts;
+
+    /**
+     * 与periodStarts一一对应的快照，期间内没有任何有效记录时为null
+     */
+    private final RateSnapshot[] snapshots;
+
+    private RateSnapshotIndex(long version, long[] periodStarts, RateSnapshot[] snapshots) {
+        this.version = version;
+        this.periodStarts = periodStarts;
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * 根据三张费率表的全部记录（包括所有生效期间）创建索引
+     * effective_from为null的记录视为自始有效，effective_to为null的记录视为无期限
+     *
+     * @param version 费率表版本号
+     * @param premiumBrackets 保险费等级记录
+     * @param withholdingTaxBrackets 源泉征收税等级记录
+     * @param employmentInsuranceRates 雇佣保险费率记录
+     * @return 不可变的费率快照索引
+     * @throws IllegalStateException 同一期间内同一事业类型存在多条雇佣保险费率记录时
+     */
+    public static RateSnapshotIndex of(long version,
+                                       List<? extends PremiumBracketRow> premiumBrackets,
+                                       List<? extends WithholdingTaxBracketRow> withholdingTaxBrackets,
+                                       List<? extends EmploymentInsuranceRateRow> employmentInsuranceRates) {
+        // 收集所有分界点
+        TreeSet<Long> boundaries = new TreeSet<>();
+        addBoundaries(boundaries, premiumBrackets,
+                PremiumBracketRow::getEffectiveFrom, PremiumBracketRow::getEffectiveTo);
+        addBoundaries(boundaries, withholdingTaxBrackets,
+                WithholdingTaxBracketRow::getEffectiveFrom, WithholdingTaxBracketRow::getEffectiveTo);
+        addBoundaries(boundaries, employmentInsuranceRates,
+                EmploymentInsuranceRateRow::getEffectiveFrom, EmploymentInsuranceRateRow::getEffectiveTo);
+
+        long[] periodStarts = new long[boundaries.size()];
+        RateSnapshot[] snapshots = new RateSnapshot[boundaries.size()];
+        int i = 0;
+        for (long periodStart : boundaries) {
+            // 期间内没有分界点，因此在期间开始日有效的记录在整个期间内都有效
+            List<? extends PremiumBracketRow> periodPremiumBrackets = effectiveAt(periodStart, premiumBrackets,
+                    PremiumBracketRow::getEffectiveFrom, PremiumBracketRow::getEffectiveTo);
+            List<? extends WithholdingTaxBracketRow> periodWithholdingTaxBrackets = effectiveAt(periodStart,
+                    withholdingTaxBrackets,
+                    WithholdingTaxBracketRow::getEffectiveFrom, WithholdingTaxBracketRow::getEffectiveTo);
+            List<? extends EmploymentInsuranceRateRow> periodEmploymentInsuranceRates = effectiveAt(periodStart,
+                    employmentInsuranceRates,
+                    EmploymentInsuranceRateRow::getEffectiveFrom, EmploymentInsuranceRateRow::getEffectiveTo);
+
+            periodStarts[i] = periodStart;
+            boolean empty = periodPremiumBrackets.isEmpty()
+                    && periodWithholdingTaxBrackets.isEmpty()
+                    && periodEmploymentInsuranceRates.isEmpty();
+            snapshots[i] = empty
+                    ? null
+                    : RateSnapshot.forPeriod(periodStart, periodPremiumBrackets, periodWithholdingTaxBrackets,
+                            periodEmploymentInsuranceRates);
+            i++;
+        }
+        return new RateSnapshotIndex(version, periodStarts, snapshots);
+    }
+
+    /**
+     * 查找指定日期有效的费率快照
+     *
+     * @param date 生效日期
+     * @return 该日期有效的费率快照，没有任何有效费率时返回null
+     */
+    public RateSnapshot snapshotAt(LocalDate date) {
+        long day = date.toEpochDay();
+        // 最后一个periodStarts[i] <= day的期间
+        int low = 0;
+        int high = periodStarts.length - 1;
+        int index = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (periodStarts[mid] <= day) {
+                index = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return index >= 0 ? snapshots[index] : null;
+    }
+
+    /**
+     * 获取构建索引时的费率表版本号
+     * 与索引一起读取，保证计算结果缓存键的版本号和计算所用的费率一致
+     *
+     * @return 费率表版本号
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 获取期间数量
+     *
+     * @return 期间数量（包括没有有效记录的期间）
+     */
+    public int periodCount() {
+        return periodStarts.length;
+    }
+
+    private static <T> void addBoundaries(TreeSet<Long> boundaries, List<T> records,
+                                          Function<T, LocalDate> effectiveFrom, Function<T, LocalDate> effectiveTo) {
+        for (T record : records) {
+            boundaries.add(toPeriodStart(effectiveFrom.apply(record)));
+            LocalDate to = effectiveTo.apply(record);
+            if (to != null) {
+                boundaries.add(to.toEpochDay());
+            }
+        }
+    }
+
+    private static <T> List<T> effectiveAt(long day, List<T> records,
+                                           Function<T, LocalDate> effectiveFrom, Function<T, LocalDate> effectiveTo) {
+        List<T> effective = new ArrayList<>();
+        for (T record : records) {
+            LocalDate to = effectiveTo.apply(record);
+            if (toPeriodStart(effectiveFrom.apply(record)) <= day && (to == null || day < to.toEpochDay())) {
+                effective.add(record);
+            }
+        }
+        return effective;
+    }
+
+    private static long toPeriodStart(LocalDate effectiveFrom) {
+        return effectiveFrom != null ? effectiveFrom.toEpochDay() : RateSnapshot.UNBOUNDED_PERIOD_START;
+    }
+}
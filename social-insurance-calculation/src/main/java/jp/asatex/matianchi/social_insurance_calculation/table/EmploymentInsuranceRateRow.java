@@ -0,0 +1,46 @@
+package jp.asatex.matianchi.social_insurance_calculation.table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 雇佣保险费率表的一行
+ * 计算库只读取这些列，数据来源（数据库实体、CSV等）由调用方实现
+ */
+public interface EmploymentInsuranceRateRow {
+
+    /**
+     * 事业类型
+     */
+    String getBusinessType();
+
+    /**
+     * 劳动者负担费率（‰）
+     */
+    BigDecimal getEmployeeRate();
+
+    /**
+     * 事业主负担的失业等给付费率（‰）
+     */
+    BigDecimal getEmployerUnemploymentRate();
+
+    /**
+     * 事业主负担的雇佣保险二事业费率（‰）
+     */
+    BigDecimal getEmployerTwoUndertakingsRate();
+
+    /**
+     * 雇佣保险费率合计（‰）
+     */
+    BigDecimal getTotalRate();
+
+    /**
+     * 生效开始日期（含），null表示自始有效
+     */
+    LocalDate getEffectiveFrom();
+
+    /**
+     * 生效结束日期（不含），null表示无期限
+     */
+    LocalDate getEffectiveTo();
+}
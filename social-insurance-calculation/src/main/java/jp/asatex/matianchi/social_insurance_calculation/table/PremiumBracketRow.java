@@ -0,0 +1,56 @@
+package jp.asatex.matianchi.social_insurance_calculation.table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 保险费等级表的一行
+ * 计算库只读取这些列，数据来源（数据库实体、CSV等）由调用方实现
+ */
+public interface PremiumBracketRow {
+
+    /**
+     * 等级
+     */
+    String getGrade();
+
+    /**
+     * 标准报酬
+     */
+    Integer getStdRem();
+
+    /**
+     * 最小值（含）
+     */
+    Integer getMinAmount();
+
+    /**
+     * 最大值（不含，999999999表示无上限）
+     */
+    Integer getMaxAmount();
+
+    /**
+     * 健康保险费（无护理，全额）
+     */
+    BigDecimal getHealthNoCare();
+
+    /**
+     * 健康保险费（有护理，全额）
+     */
+    BigDecimal getHealthCare();
+
+    /**
+     * 厚生年金保险费（全额，0表示不适用）
+     */
+    BigDecimal getPension();
+
+    /**
+     * 生效开始日期（含），null表示自始有效
+     */
+    LocalDate getEffectiveFrom();
+
+    /**
+     * 生效结束日期（不含），null表示无期限
+     */
+    LocalDate getEffectiveTo();
+}
@@ -0,0 +1,50 @@
+package jp.asatex.matianchi.social_insurance_calculation.table;
+
+import java.time.LocalDate;
+
+/**
+ * 源泉征收税等级表的一行
+ * 计算库只读取这些列，数据来源（数据库实体、CSV等）由调用方实现
+ */
+public interface WithholdingTaxBracketRow {
+
+    /**
+     * 最小值（含）
+     */
+    Integer getMinAmount();
+
+    /**
+     * 最大值（不含，999999999表示无上限）
+     */
+    Integer getMaxAmount();
+
+    /**
+     * 甲栏税额（扶养亲属0人），按公式计算时为null
+     */
+    Integer getTaxAmountKo();
+
+    /**
+     * 乙栏税额，按公式计算时为null
+     */
+    Integer getTaxAmountOtsu();
+
+    /**
+     * 扶养亲属1～7人的甲栏税额（数组下标0～6对应1～7人），未登录时为null
+     */
+    Integer[] getTaxAmountKoDependents();
+
+    /**
+     * 计算公式（超出税额表范围时），没有公式时为null
+     */
+    String getCalculationFormula();
+
+    /**
+     * 生效开始日期（含），null表示自始有效
+     */
+    LocalDate getEffectiveFrom();
+
+    /**
+     * 生效结束日期（不含），null表示无期限
+     */
+    LocalDate getEffectiveTo();
+}
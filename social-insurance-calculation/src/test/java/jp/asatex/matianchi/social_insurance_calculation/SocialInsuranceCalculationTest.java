@@ -0,0 +1,108 @@
+package jp.asatex.matianchi.social_insurance_calculation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jp.asatex.matianchi.social_insurance_calculation.calculation.SocialInsuranceCalculator;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxColumn;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxMethod;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+import jp.asatex.matianchi.social_insurance_calculation.table.EmploymentInsuranceRateRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.PremiumBracketRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.WithholdingTaxBracketRow;
+
+/**
+ * 计算库入口的测试
+ * 费率表以普通的record传入，不依赖数据库实体；按生效日期选择期间，结果与逐行计算一致
+ */
+class SocialInsuranceCalculationTest {
+
+	private static final LocalDate MARCH_2024 = LocalDate.parse("2024-03-01");
+	private static final LocalDate MARCH_2025 = LocalDate.parse("2025-03-01");
+
+	private static final Premium PREMIUM_2024 = new Premium("22", 300_000, 0, 999_999_999,
+			new BigDecimal("29940.00"), new BigDecimal("34740.00"), new BigDecimal("54900.00"), MARCH_2024, MARCH_2025);
+	private static final Premium PREMIUM_2025 = new Premium("22", 300_000, 0, 999_999_999,
+			new BigDecimal("30000.00"), new BigDecimal("34740.00"), new BigDecimal("54900.00"), MARCH_2025, null);
+	private static final Withholding WITHHOLDING = new Withholding(0, 999_999_999, 6_750, 38_500, null, null);
+	private static final Employment EMPLOYMENT = new Employment("一般の事業", new BigDecimal("5.5"),
+			new BigDecimal("5.5"), new BigDecimal("3.5"), new BigDecimal("14.5"), null, null);
+
+	private final SocialInsuranceCalculation calculation = SocialInsuranceCalculation.of(
+			List.of(PREMIUM_2024, PREMIUM_2025), List.of(WITHHOLDING), List.of(EMPLOYMENT));
+
+	@Test
+	void selectsRatesOfEffectivePeriod() {
+		SocialInsuranceDomainDto before = calculation.calculate(LocalDate.parse("2025-02-28"), 300_000, 45, null);
+		SocialInsuranceDomainDto after = calculation.calculate(MARCH_2025, 300_000, 45, "一般の事業");
+
+		assertEquals(SocialInsuranceCalculator.calculate(PREMIUM_2024, WITHHOLDING, EMPLOYMENT, 300_000, 45), before);
+		assertEquals(SocialInsuranceCalculator.calculate(PREMIUM_2025, WITHHOLDING, EMPLOYMENT, 300_000, 45), after);
+		assertNotEquals(before.getEmployeeCost().getHealthCostWithNoCare(),
+				after.getEmployeeCost().getHealthCostWithNoCare());
+	}
+
+	@Test
+	void rejectsMissingRatesAndInvalidArguments() {
+		// 源泉征收税和雇佣保险费率自始有效，保险费等级从2024-03-01开始
+		IllegalArgumentException noBracket = assertThrows(IllegalArgumentException.class,
+				() -> calculation.calculate(LocalDate.parse("2024-02-29"), 300_000, 30, null));
+		assertEquals("未找到月薪 300000 对应的保险费等级记录", noBracket.getMessage());
+
+		IllegalArgumentException noRate = assertThrows(IllegalArgumentException.class,
+				() -> calculation.calculate(MARCH_2025, 300_000, 30, "建設の事業"));
+		assertEquals("未找到事业类型 建設の事業 对应的雇佣保险费率记录", noRate.getMessage());
+
+		assertThrows(IllegalArgumentException.class, () -> calculation.calculate(MARCH_2025, 300_000, false, null,
+				null, null, -1));
+	}
+
+	@Test
+	void rejectsKoDependentsWhenTableHasNone() {
+		IllegalArgumentException noDependents = assertThrows(IllegalArgumentException.class,
+				() -> calculation.calculate(MARCH_2025, 300_000, false, null,
+						WithholdingTaxMethod.TABLE, WithholdingTaxColumn.KO, 1));
+		assertEquals("源泉征收税额表未登记甲栏扶养亲属的税额，扶养亲属人数为 1 时请按电算机特例（taxMethod=electronic）"
+				+ "或乙栏（taxColumn=otsu）计算", noDependents.getMessage());
+
+		// 乙栏和电算机特例不需要甲栏扶养亲属的税额
+		assertEquals(38_500 - 1_610, calculation.calculate(MARCH_2025, 300_000, false, null,
+				WithholdingTaxMethod.TABLE, WithholdingTaxColumn.OTSU, 1).getEmployeeCost().getWithholdingTax()
+				.intValueExact());
+		calculation.calculate(MARCH_2025, 300_000, false, null,
+				WithholdingTaxMethod.ELECTRONIC, WithholdingTaxColumn.KO, 1);
+	}
+
+	private record Premium(String getGrade, Integer getStdRem, Integer getMinAmount, Integer getMaxAmount,
+			BigDecimal getHealthNoCare, BigDecimal getHealthCare, BigDecimal getPension,
+			LocalDate getEffectiveFrom, LocalDate getEffectiveTo) implements PremiumBracketRow {
+	}
+
+	private record Withholding(Integer getMinAmount, Integer getMaxAmount, Integer getTaxAmountKo,
+			Integer getTaxAmountOtsu, LocalDate getEffectiveFrom, LocalDate getEffectiveTo)
+			implements WithholdingTaxBracketRow {
+
+		@Override
+		public Integer[] getTaxAmountKoDependents() {
+			return null;
+		}
+
+		@Override
+		public String getCalculationFormula() {
+			return null;
+		}
+	}
+
+	private record Employment(String getBusinessType, BigDecimal getEmployeeRate,
+			BigDecimal getEmployerUnemploymentRate, BigDecimal getEmployerTwoUndertakingsRate,
+			BigDecimal getTotalRate, LocalDate getEffectiveFrom, LocalDate getEffectiveTo)
+			implements EmploymentInsuranceRateRow {
+	}
+}
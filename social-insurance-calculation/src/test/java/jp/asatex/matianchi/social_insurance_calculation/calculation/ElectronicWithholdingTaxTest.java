@@ -0,0 +1,40 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 源泉征收税电算机特例的测试
+ * 期望值按别表第一～第四逐步手工计算
+ */
+class ElectronicWithholdingTaxTest {
+
+	@Test
+	void appliesEmploymentIncomeDeductionBrackets() {
+		// 88,000 - 45,834 - 40,000 = 2,166 → × 5.105% = 110.57 → 110
+		assertEquals(110, ElectronicWithholdingTax.taxYen(88_000, 0));
+		// 140,000 - (56,000 - 8,333) - 40,000 = 52,333 → × 5.105% = 2,671.6 → 2,670
+		assertEquals(2_670, ElectronicWithholdingTax.taxYen(140_000, 0));
+		// 300,000 - (60,000 + 36,667) - 40,000 = 163,333 → × 10.21% - 8,296 = 8,380.3 → 8,380
+		assertEquals(8_380, ElectronicWithholdingTax.taxYen(300_000, 0));
+		// 1,000,000 - 162,500 - 40,000 = 797,500 → × 33.693% - 130,688 = 138,013.7 → 138,010
+		assertEquals(138_010, ElectronicWithholdingTax.taxYen(1_000_000, 0));
+	}
+
+	@Test
+	void reducesBasicDeductionForHighEarners() {
+		// 2,200,000 - 162,500 - 26,667 = 2,010,833 → × 40.84% - 237,893 = 583,331.2 → 583,330
+		assertEquals(583_330, ElectronicWithholdingTax.taxYen(2_200_000, 0));
+		// 5,000,000 - 162,500 = 4,837,500 → × 45.945% - 408,061 = 1,814,528.4 → 1,814,530
+		assertEquals(1_814_530, ElectronicWithholdingTax.taxYen(5_000_000, 0));
+	}
+
+	@Test
+	void deductsPerDependent() {
+		// 163,333 - 31,667 × 2 = 99,999 → × 5.105% = 5,104.9 → 5,100
+		assertEquals(5_100, ElectronicWithholdingTax.taxYen(300_000, 2));
+		assertEquals(0, ElectronicWithholdingTax.taxYen(150_000, 3));
+		assertEquals(0, ElectronicWithholdingTax.taxYen(0, 0));
+	}
+}
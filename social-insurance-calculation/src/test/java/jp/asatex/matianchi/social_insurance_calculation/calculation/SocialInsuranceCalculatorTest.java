@@ -0,0 +1,274 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+import jp.asatex.matianchi.social_insurance_calculation.rate.RateSnapshot;
+import jp.asatex.matianchi.social_insurance_calculation.table.EmploymentInsuranceRateRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.PremiumBracketRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.WithholdingTaxBracketRow;
+
+/**
+ * 定点数计算内核的差分测试
+ * 使用Flyway迁移脚本中的真实费率数据，对0～2,000,000日元的每一个月薪、40岁前后两个年龄段和全部事业类型，
+ * 将费率快照+定点数内核的结果与原BigDecimal实现逐项比较（包括BigDecimal的scale和错误消息）
+ */
+class SocialInsuranceCalculatorTest {
+
+	private static final int MAX_SALARY = 2_000_000;
+
+	private static final int[] AGES = {39, 40};
+
+	private static final Pattern PREMIUM_ROW = Pattern.compile(
+			"^\\('([^']*)', (\\d+), (\\d+), (\\d+), ([\\d.]+), ([\\d.]+), ([\\d.]+)\\)", Pattern.MULTILINE);
+
+	private static final Pattern WITHHOLDING_ROW = Pattern.compile(
+			"^\\((\\d+), (\\d+), (NULL|\\d+), (NULL|\\d+), (NULL|'[^']*')\\)", Pattern.MULTILINE);
+
+	private static final Pattern EMPLOYMENT_ROW = Pattern.compile(
+			"^\\('([^']*)', ([\\d.]+), ([\\d.]+), ([\\d.]+), ([\\d.]+)\\)", Pattern.MULTILINE);
+
+	private static List<Premium> premiumBrackets;
+	private static List<Withholding> withholdingTaxBrackets;
+	private static List<Employment> employmentInsuranceRates;
+	private static RateSnapshot snapshot;
+
+	@BeforeAll
+	static void loadRateTables() throws IOException {
+		premiumBrackets = new ArrayList<>();
+		Matcher premium = PREMIUM_ROW.matcher(readMigration("V1__init_premium_bracket_table.sql"));
+		while (premium.find()) {
+			// 与数据库NUMERIC(10, 2)列读取后的scale一致
+			premiumBrackets.add(new Premium(premium.group(1), Integer.valueOf(premium.group(2)),
+					Integer.valueOf(premium.group(3)), Integer.valueOf(premium.group(4)),
+					new BigDecimal(premium.group(5)).setScale(2), new BigDecimal(premium.group(6)).setScale(2),
+					new BigDecimal(premium.group(7)).setScale(2)));
+		}
+
+		withholdingTaxBrackets = new ArrayList<>();
+		Matcher withholding = WITHHOLDING_ROW.matcher(readMigration("V2__init_withholding_tax_bracket_table.sql"));
+		while (withholding.find()) {
+			withholdingTaxBrackets.add(new Withholding(Integer.valueOf(withholding.group(1)),
+					Integer.valueOf(withholding.group(2)), nullableInteger(withholding.group(3)),
+					nullableInteger(withholding.group(4))));
+		}
+
+		employmentInsuranceRates = new ArrayList<>();
+		Matcher employment = EMPLOYMENT_ROW.matcher(readMigration("V3__init_employment_insurance_rate_table.sql"));
+		while (employment.find()) {
+			// 与数据库NUMERIC(5, 3)列读取后的scale一致
+			employmentInsuranceRates.add(new Employment(employment.group(1),
+					new BigDecimal(employment.group(2)).setScale(3), new BigDecimal(employment.group(3)).setScale(3),
+					new BigDecimal(employment.group(4)).setScale(3), new BigDecimal(employment.group(5)).setScale(3)));
+		}
+
+		assertFalse(premiumBrackets.isEmpty());
+		assertFalse(withholdingTaxBrackets.isEmpty());
+		assertFalse(employmentInsuranceRates.isEmpty());
+		snapshot = RateSnapshot.of(premiumBrackets, withholdingTaxBrackets, employmentInsuranceRates);
+	}
+
+	@Test
+	void fixedPointKernelMatchesBigDecimalImplementation() {
+		for (Employment rate : employmentInsuranceRates) {
+			String businessType = rate.getBusinessType();
+			for (int age : AGES) {
+				for (int salary = 0; salary <= MAX_SALARY; salary++) {
+					Object expected = calculateWithBigDecimal(salary, age, businessType);
+					Object actual = calculateWithSnapshot(salary, age, businessType);
+					if (!Objects.equals(expected, actual)) {
+						assertEquals(expected, actual,
+								"月薪=" + salary + " 年龄=" + age + " 事业类型=" + businessType);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void employmentInsuranceRoundsHalfUp() {
+		// 1 × 5.500 / 1000 = 0.0055 → 0.01
+		assertEquals(1L, FixedPointKernel.employmentInsuranceSen(1, 5_500L));
+		// 9 × 5.500 / 1000 = 0.0495 → 0.05
+		assertEquals(5L, FixedPointKernel.employmentInsuranceSen(9, 5_500L));
+		// 2 × 6.500 / 1000 = 0.013 → 0.01
+		assertEquals(1L, FixedPointKernel.employmentInsuranceSen(2, 6_500L));
+	}
+
+	/**
+	 * 费率快照 + 定点数内核的计算路径，与PremiumBracketDomainService的快照路径一致
+	 */
+	private static Object calculateWithSnapshot(int monthlySalary, int age, String businessType) {
+		CompiledPremiumBracket bracket = snapshot.findPremiumBracket(monthlySalary);
+		if (bracket == null) {
+			return "未找到月薪 " + monthlySalary + " 对应的保险费等级记录";
+		}
+		CompiledEmploymentInsuranceRate rate = snapshot.findEmploymentInsuranceRate(businessType);
+		if (rate == null) {
+			return "未找到事业类型 " + businessType + " 对应的雇佣保险费率记录";
+		}
+		int salaryAfter = SocialInsuranceCalculator.salaryAfterSocialInsurance(bracket, rate, monthlySalary, age);
+		CompiledWithholdingTaxBracket withholdingTaxBracket = snapshot.findWithholdingTaxBracket(salaryAfter);
+		if (withholdingTaxBracket == null) {
+			return "未找到扣除社会保险费和雇佣保险后工资金额 " + salaryAfter + " 对应的源泉征收税等级记录";
+		}
+		return SocialInsuranceCalculator.calculate(bracket, withholdingTaxBracket, rate, monthlySalary, age);
+	}
+
+	/**
+	 * 原BigDecimal实现（改为定点数内核之前的计算逻辑），作为差分测试的基准
+	 * 等级查找使用线性扫描，语义与SQL查询一致
+	 */
+	private static Object calculateWithBigDecimal(int monthlySalary, int age, String businessType) {
+		Premium bracket = null;
+		for (Premium candidate : premiumBrackets) {
+			if (candidate.getMinAmount() <= monthlySalary && monthlySalary <= candidate.getMaxAmount()
+					&& (bracket == null || candidate.getMinAmount() > bracket.getMinAmount())) {
+				bracket = candidate;
+			}
+		}
+		if (bracket == null) {
+			return "未找到月薪 " + monthlySalary + " 对应的保险费等级记录";
+		}
+		Employment employmentInsuranceRate = null;
+		for (Employment candidate : employmentInsuranceRates) {
+			if (candidate.getBusinessType().equals(businessType)) {
+				employmentInsuranceRate = candidate;
+			}
+		}
+		if (employmentInsuranceRate == null) {
+			return "未找到事业类型 " + businessType + " 对应的雇佣保险费率记录";
+		}
+
+		BigDecimal half = new BigDecimal("0.5");
+		BigDecimal totalHealthCostWithNoCare = bracket.getHealthNoCare();
+		BigDecimal totalCareCost = (age < 40)
+				? BigDecimal.ZERO
+				: bracket.getHealthCare().subtract(bracket.getHealthNoCare());
+		BigDecimal totalPension = bracket.getPension();
+		BigDecimal employeeEmploymentInsurance = new BigDecimal(monthlySalary)
+				.multiply(employmentInsuranceRate.getEmployeeRate())
+				.divide(new BigDecimal("1000"), 2, RoundingMode.HALF_UP);
+		BigDecimal totalDeduction = totalHealthCostWithNoCare.multiply(half)
+				.add(totalCareCost.multiply(half))
+				.add(totalPension.multiply(half))
+				.add(employeeEmploymentInsurance);
+		int salaryAfter = monthlySalary - totalDeduction.intValue();
+
+		Withholding withholdingTaxBracket = null;
+		for (Withholding candidate : withholdingTaxBrackets) {
+			if (candidate.getMinAmount() <= salaryAfter && salaryAfter <= candidate.getMaxAmount()
+					&& (withholdingTaxBracket == null || candidate.getMinAmount() < withholdingTaxBracket.getMinAmount())) {
+				withholdingTaxBracket = candidate;
+			}
+		}
+		if (withholdingTaxBracket == null) {
+			return "未找到扣除社会保险费和雇佣保险后工资金额 " + salaryAfter + " 对应的源泉征收税等级记录";
+		}
+
+		BigDecimal withholdingTax = withholdingTaxBracket.getTaxAmountKo() != null
+				? new BigDecimal(withholdingTaxBracket.getTaxAmountKo())
+				: BigDecimal.ZERO;
+		BigDecimal employerEmploymentInsurance = new BigDecimal(monthlySalary)
+				.multiply(employmentInsuranceRate.getEmployerUnemploymentRate()
+						.add(employmentInsuranceRate.getEmployerTwoUndertakingsRate()))
+				.divide(new BigDecimal("1000"), 2, RoundingMode.HALF_UP);
+
+		SocialInsuranceDomainDto.CostDetail employeeCost = new SocialInsuranceDomainDto.CostDetail(
+				totalHealthCostWithNoCare.multiply(half),
+				totalCareCost.multiply(half),
+				totalPension.multiply(half),
+				withholdingTax,
+				employeeEmploymentInsurance);
+		SocialInsuranceDomainDto.CostDetail employerCost = new SocialInsuranceDomainDto.CostDetail(
+				totalHealthCostWithNoCare.multiply(half),
+				totalCareCost.multiply(half),
+				totalPension.multiply(half),
+				BigDecimal.ZERO,
+				employerEmploymentInsurance);
+		return new SocialInsuranceDomainDto(employeeCost, employerCost);
+	}
+
+	private static String readMigration(String fileName) throws IOException {
+		try (InputStream in = SocialInsuranceCalculatorTest.class.getResourceAsStream("/db/migration/" + fileName)) {
+			return new String(Objects.requireNonNull(in, fileName).readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static Integer nullableInteger(String value) {
+		return "NULL".equals(value) ? null : Integer.valueOf(value);
+	}
+
+	/**
+	 * 迁移脚本中的费率行，生效期间不限
+	 */
+	private record Premium(String getGrade, Integer getStdRem, Integer getMinAmount, Integer getMaxAmount,
+			BigDecimal getHealthNoCare, BigDecimal getHealthCare, BigDecimal getPension)
+			implements PremiumBracketRow {
+
+		@Override
+		public LocalDate getEffectiveFrom() {
+			return null;
+		}
+
+		@Override
+		public LocalDate getEffectiveTo() {
+			return null;
+		}
+	}
+
+	private record Withholding(Integer getMinAmount, Integer getMaxAmount, Integer getTaxAmountKo,
+			Integer getTaxAmountOtsu) implements WithholdingTaxBracketRow {
+
+		@Override
+		public Integer[] getTaxAmountKoDependents() {
+			return null;
+		}
+
+		@Override
+		public String getCalculationFormula() {
+			return null;
+		}
+
+		@Override
+		public LocalDate getEffectiveFrom() {
+			return null;
+		}
+
+		@Override
+		public LocalDate getEffectiveTo() {
+			return null;
+		}
+	}
+
+	private record Employment(String getBusinessType, BigDecimal getEmployeeRate,
+			BigDecimal getEmployerUnemploymentRate, BigDecimal getEmployerTwoUndertakingsRate,
+			BigDecimal getTotalRate) implements EmploymentInsuranceRateRow {
+
+		@Override
+		public LocalDate getEffectiveFrom() {
+			return null;
+		}
+
+		@Override
+		public LocalDate getEffectiveTo() {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package jp.asatex.matianchi.social_insurance_calculation.calculation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import jp.asatex.matianchi.social_insurance_calculation.table.WithholdingTaxBracketRow;
+
+/**
+ * 列式源泉征收税额表的测试
+ * 使用迁移脚本中的计算公式文字说明，验证公式的解析、基数引用、扶养亲属人数的扣减和未登记时的错误
+ */
+class WithholdingTaxTableTest {
+
+	private static final String FIXED_BASE_FORMULA = "651,900円に、その月の社会保険料等控除後の給与等の金額のうち"
+			+ "1,700,000円を超える金額の65.945％に相当する金額を加算した金額";
+
+	private static final String TABLE_BASE_FORMULA = "3,500,000円の場合の税額に、その月の社会保険料等控除後の給与等の金額のうち"
+			+ "3,500,000円を超える金額の45.945％に相当する金額を加算した金額";
+
+	private static final Pattern WITHHOLDING_ROW = Pattern.compile(
+			"^\\((\\d+), (\\d+), (NULL|\\d+), (NULL|\\d+), (?:NULL|'([^']*)')\\)", Pattern.MULTILINE);
+
+	private static final Integer[] KO_DEPENDENTS = {
+			601_000, 587_000, 573_000, 559_000, 545_000, 531_000, 517_000};
+
+	private final CompiledWithholdingTaxBracket[] brackets = WithholdingTaxTable.compile(List.of(
+			row(2_250_000, 3_500_000, 615_120, null, FIXED_BASE_FORMULA, KO_DEPENDENTS),
+			row(3_500_000, 999_999_999, null, null, TABLE_BASE_FORMULA, new Integer[7])));
+
+	@Test
+	void registeredAmountsAreUsedAsIs() {
+		assertEquals(615_120, brackets[0].withholdingTaxYen(3_000_000, WithholdingTaxColumn.KO, 0));
+		assertEquals(573_000, brackets[0].withholdingTaxYen(3_000_000, WithholdingTaxColumn.KO, 3));
+	}
+
+	@Test
+	void fixedBaseFormulaAppliesToNullColumns() {
+		// 651,900 + (3,000,000 - 1,700,000) × 65.945%
+		assertEquals(651_900 + 857_285, brackets[0].withholdingTaxYen(3_000_000, WithholdingTaxColumn.OTSU, 0));
+		// 1日元未满舍去：1 × 65.945% = 0.65945
+		assertEquals(651_900, brackets[0].withholdingTaxYen(1_700_001, WithholdingTaxColumn.OTSU, 0));
+	}
+
+	@Test
+	void tableBaseFormulaReferencesEarlierRow() {
+		// 3,500,000日元的甲栏税额 + (4,000,000 - 3,500,000) × 45.945%
+		assertEquals(615_120 + 229_725, brackets[1].withholdingTaxYen(4_000_000, WithholdingTaxColumn.KO, 0));
+		assertEquals(517_000 + 229_725, brackets[1].withholdingTaxYen(4_000_000, WithholdingTaxColumn.KO, 7));
+		// 乙栏的基数本身也按公式求出
+		assertEquals(651_900 + 1_187_010 + 229_725,
+				brackets[1].withholdingTaxYen(4_000_000, WithholdingTaxColumn.OTSU, 0));
+	}
+
+	@Test
+	void migrationTableResolvesOtsuAboveTabulatedRange() throws IOException {
+		List<Withholding> rows = new ArrayList<>();
+		Matcher matcher = WITHHOLDING_ROW.matcher(readMigration("V2__init_withholding_tax_bracket_table.sql"));
+		while (matcher.find()) {
+			rows.add(row(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)),
+					nullableInteger(matcher.group(3)), nullableInteger(matcher.group(4)), matcher.group(5), null));
+		}
+		CompiledWithholdingTaxBracket top = WithholdingTaxTable.compile(rows)[rows.size() - 1];
+
+		// 3,500,000日元以上的等级没有登记乙栏，基数取2,250,000～3,500,000日元等级按公式求出的乙栏税额
+		assertEquals(3_500_000, top.getMinAmount());
+		assertEquals(651_900 + 1_187_010 + 229_725, top.withholdingTaxYen(4_000_000, WithholdingTaxColumn.OTSU, 0));
+		assertEquals(651_900 + 1_187_010 + 229_725 - 1_610,
+				top.withholdingTaxYen(4_000_000, WithholdingTaxColumn.OTSU, 1));
+		assertEquals(615_120 + 229_725, top.withholdingTaxYen(4_000_000, WithholdingTaxColumn.KO, 0));
+		// 迁移脚本未登记甲栏扶养亲属的税额
+		assertThrows(IllegalArgumentException.class,
+				() -> top.withholdingTaxYen(4_000_000, WithholdingTaxColumn.KO, 1));
+	}
+
+	@Test
+	void dependentsBeyondTableAreDeducted() {
+		assertEquals(517_000 + 229_725 - 1_610 * 3,
+				brackets[1].withholdingTaxYen(4_000_000, WithholdingTaxColumn.KO, 10));
+		assertEquals(651_900 + 857_285 - 1_610 * 2,
+				brackets[0].withholdingTaxYen(3_000_000, WithholdingTaxColumn.OTSU, 2));
+		CompiledWithholdingTaxBracket small = CompiledWithholdingTaxBracket.of(
+				row(88_000, 89_000, 130, 3_200, null, new Integer[] {0, 0, 0, 0, 0, 0, 0}));
+		assertEquals(0, small.withholdingTaxYen(88_500, WithholdingTaxColumn.KO, 9));
+		assertEquals(0, small.withholdingTaxYen(88_500, WithholdingTaxColumn.OTSU, 2));
+	}
+
+	@Test
+	void missingAmountsAreRejected() {
+		CompiledWithholdingTaxBracket withoutDependents = CompiledWithholdingTaxBracket.of(
+				row(88_000, 89_000, 130, 3_200, null, null));
+		assertThrows(IllegalArgumentException.class,
+				() -> withoutDependents.withholdingTaxYen(88_500, WithholdingTaxColumn.KO, 1));
+		// 单独预编译时引用的等级不存在
+		CompiledWithholdingTaxBracket unresolved = CompiledWithholdingTaxBracket.of(
+				row(3_500_000, 999_999_999, null, null, TABLE_BASE_FORMULA, null));
+		assertThrows(IllegalArgumentException.class,
+				() -> unresolved.withholdingTaxYen(4_000_000, WithholdingTaxColumn.KO, 0));
+		assertThrows(IllegalStateException.class,
+				() -> CompiledWithholdingTaxBracket.of(row(0, 88_000, null, null, "別表参照", null)));
+	}
+
+	private static String readMigration(String fileName) throws IOException {
+		try (InputStream in = WithholdingTaxTableTest.class.getResourceAsStream("/db/migration/" + fileName)) {
+			return new String(Objects.requireNonNull(in, fileName).readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static Integer nullableInteger(String value) {
+		return "NULL".equals(value) ? null : Integer.valueOf(value);
+	}
+
+	private static Withholding row(int minAmount, int maxAmount, Integer ko, Integer otsu,
+								   String formula, Integer[] koDependents) {
+		return new Withholding(minAmount, maxAmount, ko, otsu, koDependents, formula);
+	}
+
+	private record Withholding(Integer getMinAmount, Integer getMaxAmount, Integer getTaxAmountKo,
+			Integer getTaxAmountOtsu, Integer[] getTaxAmountKoDependents, String getCalculationFormula)
+			implements WithholdingTaxBracketRow {
+
+		@Override
+		public LocalDate getEffectiveFrom() {
+			return null;
+		}
+
+		@Override
+		public LocalDate getEffectiveTo() {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,278 @@
+package jp.asatex.matianchi.social_insurance_calculation.rate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import jp.asatex.matianchi.social_insurance_calculation.SocialInsuranceCalculation;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CalculationStageTimer;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxColumn;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxMethod;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+import jp.asatex.matianchi.social_insurance_calculation.table.EmploymentInsuranceRateRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.PremiumBracketRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.WithholdingTaxBracketRow;
+
+/**
+ * 由目标实发工资反向查找月薪的差分测试
+ * 以迁移脚本V1～V3的费率表，逐日元计算月薪0～MAX_SALARY的实发工资作为基准，
+ * 比较区段跳跃加二分查找的结果与逐日元扫描得到的最低月薪
+ * 目标金额取实发工资下降处（保险费等级和源泉征收税等级的切换处，以及扣除后金额3,500,000日元以上
+ * 按计算公式求税额、实发工资在相邻几日元之间下降几钱的区段）前后的金额，以及全范围的随机金额
+ */
+class NetPaySearchTest {
+
+	/**
+	 * 扣除后金额超过3,500,000日元（按计算公式求甲栏税额）的月薪也包含在内
+	 */
+	private static final int MAX_SALARY = 4_000_000;
+
+	/**
+	 * 扣除后金额超过3,500,000日元的月薪（最高保险费等级下约3,650,000日元起）
+	 */
+	private static final int FORMULA_MONTHLY_SALARY = 3_700_000;
+
+	private static final String BUSINESS_TYPE = "一般の事業";
+
+	private static final Pattern PREMIUM_ROW = Pattern.compile(
+			"^\\('([^']*)', (\\d+), (\\d+), (\\d+), ([\\d.]+), ([\\d.]+), ([\\d.]+)\\)", Pattern.MULTILINE);
+
+	private static final Pattern WITHHOLDING_ROW = Pattern.compile(
+			"^\\((\\d+), (\\d+), (NULL|\\d+), (NULL|\\d+), (?:NULL|'([^']*)')\\)", Pattern.MULTILINE);
+
+	private static final Pattern EMPLOYMENT_ROW = Pattern.compile(
+			"^\\('([^']*)', ([\\d.]+), ([\\d.]+), ([\\d.]+), ([\\d.]+)\\)", Pattern.MULTILINE);
+
+	private static RateSnapshot snapshot;
+
+	@BeforeAll
+	static void loadRateTables() throws IOException {
+		List<Premium> premiumBrackets = new ArrayList<>();
+		Matcher premium = PREMIUM_ROW.matcher(readMigration("V1__init_premium_bracket_table.sql"));
+		while (premium.find()) {
+			premiumBrackets.add(new Premium(premium.group(1), Integer.valueOf(premium.group(2)),
+					Integer.valueOf(premium.group(3)), Integer.valueOf(premium.group(4)),
+					new BigDecimal(premium.group(5)), new BigDecimal(premium.group(6)),
+					new BigDecimal(premium.group(7))));
+		}
+
+		List<Withholding> withholdingTaxBrackets = new ArrayList<>();
+		Matcher withholding = WITHHOLDING_ROW.matcher(readMigration("V2__init_withholding_tax_bracket_table.sql"));
+		while (withholding.find()) {
+			withholdingTaxBrackets.add(new Withholding(Integer.valueOf(withholding.group(1)),
+					Integer.valueOf(withholding.group(2)), nullableInteger(withholding.group(3)),
+					nullableInteger(withholding.group(4)), withholding.group(5)));
+		}
+
+		List<Employment> employmentInsuranceRates = new ArrayList<>();
+		Matcher employment = EMPLOYMENT_ROW.matcher(readMigration("V3__init_employment_insurance_rate_table.sql"));
+		while (employment.find()) {
+			employmentInsuranceRates.add(new Employment(employment.group(1), new BigDecimal(employment.group(2)),
+					new BigDecimal(employment.group(3)), new BigDecimal(employment.group(4)),
+					new BigDecimal(employment.group(5))));
+		}
+		snapshot = RateSnapshot.of(premiumBrackets, withholdingTaxBrackets, employmentInsuranceRates);
+	}
+
+	@Test
+	void matchesOneYenScanWithoutCare() {
+		assertMatchesOneYenScan(snapshot, false, MAX_SALARY, false);
+	}
+
+	@Test
+	void matchesOneYenScanWithCare() {
+		assertMatchesOneYenScan(snapshot, true, MAX_SALARY, false);
+	}
+
+	@Test
+	void returnsNotFoundBeyondRateTables() {
+		assertEquals(NetPaySearch.NOT_FOUND, NetPaySearch.minimumMonthlySalary(snapshot,
+				snapshot.findEmploymentInsuranceRate(BUSINESS_TYPE), false, 999_999_999));
+
+		// 保险费等级到200,000日元为止，源泉征收税等级在扣除后金额100,000～120,000日元之间有空缺：
+		// 扣除后金额落在空缺中的月薪被跳过，超过最高实发工资的目标返回NOT_FOUND
+		RateSnapshot bounded = RateSnapshot.of(
+				List.of(new Premium("1", 100_000, 0, 200_000, new BigDecimal("5000.00"),
+						new BigDecimal("5800.00"), new BigDecimal("9150.00"))),
+				List.of(new Withholding(50_000, 100_000, 0, 3_000, null),
+						new Withholding(120_000, 200_000, 1_500, 20_000, null)),
+				List.of(new Employment(BUSINESS_TYPE, new BigDecimal("5.5"), new BigDecimal("5.5"),
+						new BigDecimal("3.5"), new BigDecimal("14.5"))));
+		int notFound = assertMatchesOneYenScan(bounded, false, 200_000, true);
+		assertTrue(notFound > 0, "有目标金额应当返回NOT_FOUND");
+	}
+
+	/**
+	 * 比较反向查找与逐日元扫描的结果
+	 *
+	 * @param maxSalary 逐日元扫描的最高月薪
+	 * @param coversTable 扫描范围是否覆盖整张保险费等级表；不覆盖时只比较扫描范围内能达到的目标金额
+	 * @return 返回NOT_FOUND的目标金额个数
+	 */
+	private static int assertMatchesOneYenScan(RateSnapshot rates, boolean careApplicable, int maxSalary,
+											   boolean coversTable) {
+		// reachedMilliYen[s]为月薪0～s的最高实发工资，目标金额的最低月薪是第一个达到目标的s
+		long[] reachedMilliYen = new long[maxSalary + 1];
+		TreeSet<Integer> targets = new TreeSet<>();
+		long reached = Long.MIN_VALUE;
+		long previous = Long.MIN_VALUE;
+		boolean formulaDips = false;
+		for (int salary = 0; salary <= maxSalary; salary++) {
+			long netPay = netPayMilliYen(rates, salary, careApplicable);
+			if (netPay != Long.MIN_VALUE && previous != Long.MIN_VALUE && netPay < previous) {
+				// 实发工资下降处：下降前后的金额及其前后1日元
+				for (long milliYen : new long[] {previous, netPay}) {
+					int yen = (int) Math.floorDiv(milliYen, 1000L);
+					for (int delta = -1; delta <= 2; delta++) {
+						targets.add(Math.max(yen + delta, 0));
+					}
+				}
+				formulaDips |= salary > FORMULA_MONTHLY_SALARY;
+			}
+			previous = netPay;
+			reached = Math.max(reached, netPay);
+			reachedMilliYen[salary] = reached;
+		}
+		if (maxSalary == MAX_SALARY) {
+			assertTrue(formulaDips, "按计算公式求税额的区段中应当有实发工资下降处");
+		}
+		int maxReached = (int) Math.floorDiv(reached, 1000L);
+		SplittableRandom random = new SplittableRandom(careApplicable ? 40 : 39);
+		for (int i = 0; i < 20_000; i++) {
+			targets.add(random.nextInt(maxReached + 1));
+		}
+		if (coversTable) {
+			targets.add(maxReached + 1);
+			targets.add(maxReached + 2);
+		} else {
+			targets.removeIf(target -> target > maxReached);
+		}
+
+		int notFound = 0;
+		for (int target : targets) {
+			int expected = firstReaching(reachedMilliYen, target * 1000L);
+			int actual = NetPaySearch.minimumMonthlySalary(rates, rates.findEmploymentInsuranceRate(BUSINESS_TYPE),
+					careApplicable, target);
+			assertEquals(expected, actual, "目标实发工资=" + target + " 介护保险=" + careApplicable);
+			if (actual == NetPaySearch.NOT_FOUND) {
+				notFound++;
+			}
+		}
+		return notFound;
+	}
+
+	/**
+	 * 逐日元计算的实发工资（厘），该月薪无法计算时返回Long.MIN_VALUE
+	 */
+	private static long netPayMilliYen(RateSnapshot rates, int salary, boolean careApplicable) {
+		SocialInsuranceDomainDto result;
+		try {
+			result = SocialInsuranceCalculation.calculate(rates, salary, careApplicable, BUSINESS_TYPE,
+					WithholdingTaxMethod.TABLE, WithholdingTaxColumn.KO, 0, CalculationStageTimer.NONE);
+		} catch (IllegalArgumentException e) {
+			return Long.MIN_VALUE;
+		}
+		SocialInsuranceDomainDto.CostDetail employeeCost = result.getEmployeeCost();
+		return BigDecimal.valueOf(salary)
+				.subtract(employeeCost.getHealthCostWithNoCare())
+				.subtract(employeeCost.getCareCost())
+				.subtract(employeeCost.getPension())
+				.subtract(employeeCost.getWithholdingTax())
+				.subtract(employeeCost.getEmploymentInsurance())
+				.movePointRight(3)
+				.longValueExact();
+	}
+
+	/**
+	 * 在单调不减的数组中二分查找第一个达到目标的下标，不存在时返回NOT_FOUND
+	 */
+	private static int firstReaching(long[] reachedMilliYen, long targetMilliYen) {
+		int low = 0;
+		int high = reachedMilliYen.length - 1;
+		int result = NetPaySearch.NOT_FOUND;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (reachedMilliYen[mid] >= targetMilliYen) {
+				result = mid;
+				high = mid - 1;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return result;
+	}
+
+	private static String readMigration(String fileName) throws IOException {
+		try (InputStream in = NetPaySearchTest.class.getResourceAsStream("/db/migration/" + fileName)) {
+			return new String(Objects.requireNonNull(in, fileName).readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static Integer nullableInteger(String value) {
+		return "NULL".equals(value) ? null : Integer.valueOf(value);
+	}
+
+	private record Premium(String getGrade, Integer getStdRem, Integer getMinAmount, Integer getMaxAmount,
+			BigDecimal getHealthNoCare, BigDecimal getHealthCare, BigDecimal getPension)
+			implements PremiumBracketRow {
+
+		@Override
+		public LocalDate getEffectiveFrom() {
+			return null;
+		}
+
+		@Override
+		public LocalDate getEffectiveTo() {
+			return null;
+		}
+	}
+
+	private record Withholding(Integer getMinAmount, Integer getMaxAmount, Integer getTaxAmountKo,
+			Integer getTaxAmountOtsu, String getCalculationFormula) implements WithholdingTaxBracketRow {
+
+		@Override
+		public Integer[] getTaxAmountKoDependents() {
+			return null;
+		}
+
+		@Override
+		public LocalDate getEffectiveFrom() {
+			return null;
+		}
+
+		@Override
+		public LocalDate getEffectiveTo() {
+			return null;
+		}
+	}
+
+	private record Employment(String getBusinessType, BigDecimal getEmployeeRate,
+			BigDecimal getEmployerUnemploymentRate, BigDecimal getEmployerTwoUndertakingsRate,
+			BigDecimal getTotalRate) implements EmploymentInsuranceRateRow {
+
+		@Override
+		public LocalDate getEffectiveFrom() {
+			return null;
+		}
+
+		@Override
+		public LocalDate getEffectiveTo() {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,231 @@
+package jp.asatex.matianchi.social_insurance_calculation.rate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jp.asatex.matianchi.social_insurance_calculation.table.EmploymentInsuranceRateRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.PremiumBracketRow;
+import jp.asatex.matianchi.social_insurance_calculation.table.WithholdingTaxBracketRow;
+
+/**
+ * 按生效日期索引的费率快照的测试
+ * 三张费率表在各自的日期切换（源泉征收税1月、保险费3月、雇佣保险4月），effective_to当天不再有效，
+ * 没有任何有效记录的期间和第一个期间之前的日期返回null，追加新的期间后重新构建的索引在新的日期切换
+ */
+class RateSnapshotIndexTest {
+
+	private static final String BUSINESS_TYPE = "一般の事業";
+
+	private static final Withholding WITHHOLDING_2025 = new Withholding(1_000,
+			LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1));
+	private static final Withholding WITHHOLDING_2026 = new Withholding(2_000, LocalDate.of(2026, 1, 1), null);
+
+	private static final Premium PREMIUM_2025 = new Premium("27450.00",
+			LocalDate.of(2025, 3, 1), LocalDate.of(2026, 3, 1));
+	private static final Premium PREMIUM_2026 = new Premium("28000.00", LocalDate.of(2026, 3, 1), null);
+
+	private static final Employment EMPLOYMENT_2025 = new Employment(BUSINESS_TYPE, "5.500",
+			LocalDate.of(2025, 4, 1), LocalDate.of(2026, 4, 1));
+	private static final Employment EMPLOYMENT_2026 = new Employment(BUSINESS_TYPE, "5.000",
+			LocalDate.of(2026, 4, 1), null);
+
+	@Test
+	void eachTableSwitchesOnItsOwnDate() {
+		RateSnapshotIndex index = index(1L, List.of(EMPLOYMENT_2025, EMPLOYMENT_2026));
+
+		// 分界点：2025-01-01、2025-03-01、2025-04-01、2026-01-01、2026-03-01、2026-04-01
+		assertEquals(6, index.periodCount());
+		assertRates(index, LocalDate.of(2025, 12, 31), WITHHOLDING_2025, PREMIUM_2025, EMPLOYMENT_2025);
+		// 1月只切换源泉征收税
+		assertRates(index, LocalDate.of(2026, 1, 1), WITHHOLDING_2026, PREMIUM_2025, EMPLOYMENT_2025);
+		assertRates(index, LocalDate.of(2026, 2, 28), WITHHOLDING_2026, PREMIUM_2025, EMPLOYMENT_2025);
+		// 3月切换保险费
+		assertRates(index, LocalDate.of(2026, 3, 1), WITHHOLDING_2026, PREMIUM_2026, EMPLOYMENT_2025);
+		assertRates(index, LocalDate.of(2026, 3, 31), WITHHOLDING_2026, PREMIUM_2026, EMPLOYMENT_2025);
+		// 4月切换雇佣保险
+		assertRates(index, LocalDate.of(2026, 4, 1), WITHHOLDING_2026, PREMIUM_2026, EMPLOYMENT_2026);
+		assertRates(index, LocalDate.of(2030, 1, 1), WITHHOLDING_2026, PREMIUM_2026, EMPLOYMENT_2026);
+
+		// 同一期间内的日期返回同一份快照，期间开始日为最近的分界点
+		RateSnapshot snapshot = index.snapshotAt(LocalDate.of(2026, 3, 15));
+		assertSame(snapshot, index.snapshotAt(LocalDate.of(2026, 3, 1)));
+		assertEquals(LocalDate.of(2026, 3, 1).toEpochDay(), snapshot.getPeriodStart());
+	}
+
+	@Test
+	void effectiveToIsExclusive() {
+		// 建設の事業的费率到2026-04-01为止，之后没有新的记录
+		Employment construction = new Employment("建設の事業", "6.500",
+				LocalDate.of(2025, 4, 1), LocalDate.of(2026, 4, 1));
+		RateSnapshotIndex index = index(1L, List.of(EMPLOYMENT_2025, EMPLOYMENT_2026, construction));
+
+		assertSame(construction, index.snapshotAt(LocalDate.of(2026, 3, 31))
+				.findEmploymentInsuranceRate("建設の事業").getSource());
+		assertNull(index.snapshotAt(LocalDate.of(2026, 4, 1)).findEmploymentInsuranceRate("建設の事業"));
+		// effective_to与下一条记录的effective_from为同一天时，当天只有下一条记录有效
+		assertSame(PREMIUM_2025, index.snapshotAt(LocalDate.of(2026, 2, 28)).findPremiumBracket(300_000).getSource());
+		assertSame(PREMIUM_2026, index.snapshotAt(LocalDate.of(2026, 3, 1)).findPremiumBracket(300_000).getSource());
+	}
+
+	@Test
+	void emptyPeriodsAndDatesBeforeFirstPeriodReturnNull() {
+		// 2020-04-01～2021-01-01之间没有任何有效记录
+		RateSnapshotIndex index = RateSnapshotIndex.of(1L,
+				List.of(new Premium("27450.00", LocalDate.of(2020, 1, 1), LocalDate.of(2020, 4, 1)),
+						new Premium("28000.00", LocalDate.of(2021, 1, 1), null)),
+				List.of(), List.of());
+
+		assertEquals(3, index.periodCount());
+		assertNull(index.snapshotAt(LocalDate.of(2019, 12, 31)));
+		assertNull(index.snapshotAt(LocalDate.MIN));
+		assertNotNull(index.snapshotAt(LocalDate.of(2020, 3, 31)));
+		assertNull(index.snapshotAt(LocalDate.of(2020, 4, 1)));
+		assertNull(index.snapshotAt(LocalDate.of(2020, 12, 31)));
+		assertNotNull(index.snapshotAt(LocalDate.of(2021, 1, 1)));
+
+		// 没有任何记录时所有日期都返回null
+		RateSnapshotIndex empty = RateSnapshotIndex.of(1L, List.of(), List.of(), List.of());
+		assertEquals(0, empty.periodCount());
+		assertNull(empty.snapshotAt(LocalDate.of(2026, 1, 1)));
+
+		// effective_from为null的记录自始有效
+		RateSnapshotIndex unbounded = RateSnapshotIndex.of(1L, List.of(new Premium("27450.00", null, null)),
+				List.of(), List.of());
+		assertNotNull(unbounded.snapshotAt(LocalDate.MIN));
+		assertEquals(RateSnapshot.UNBOUNDED_PERIOD_START, unbounded.snapshotAt(LocalDate.MIN).getPeriodStart());
+	}
+
+	@Test
+	void rebuiltIndexSwitchesToNewlyAddedPeriod() {
+		RateSnapshotIndex before = index(1L, List.of(EMPLOYMENT_2025, EMPLOYMENT_2026));
+
+		// 2026年度的费率到2027-04-01为止，追加2027年度的费率后重新构建
+		Employment closed2026 = new Employment(BUSINESS_TYPE, "5.000",
+				LocalDate.of(2026, 4, 1), LocalDate.of(2027, 4, 1));
+		Employment employment2027 = new Employment(BUSINESS_TYPE, "4.500", LocalDate.of(2027, 4, 1), null);
+		RateSnapshotIndex after = index(2L, List.of(EMPLOYMENT_2025, closed2026, employment2027));
+
+		assertEquals(2L, after.getVersion());
+		assertEquals(before.periodCount() + 1, after.periodCount());
+		assertRates(after, LocalDate.of(2027, 3, 31), WITHHOLDING_2026, PREMIUM_2026, closed2026);
+		assertRates(after, LocalDate.of(2027, 4, 1), WITHHOLDING_2026, PREMIUM_2026, employment2027);
+		assertRates(after, LocalDate.of(2025, 12, 31), WITHHOLDING_2025, PREMIUM_2025, EMPLOYMENT_2025);
+
+		// 已发布的旧索引不受影响
+		assertEquals(1L, before.getVersion());
+		assertRates(before, LocalDate.of(2027, 4, 1), WITHHOLDING_2026, PREMIUM_2026, EMPLOYMENT_2026);
+	}
+
+	private static RateSnapshotIndex index(long version, List<Employment> employmentInsuranceRates) {
+		return RateSnapshotIndex.of(version, List.of(PREMIUM_2025, PREMIUM_2026),
+				List.of(WITHHOLDING_2025, WITHHOLDING_2026), employmentInsuranceRates);
+	}
+
+	private static void assertRates(RateSnapshotIndex index, LocalDate date, Withholding withholdingTaxBracket,
+									 Premium premiumBracket, Employment employmentInsuranceRate) {
+		RateSnapshot snapshot = index.snapshotAt(date);
+		assertNotNull(snapshot, date.toString());
+		assertSame(withholdingTaxBracket, snapshot.findWithholdingTaxBracket(300_000).getSource(), date.toString());
+		assertSame(premiumBracket, snapshot.findPremiumBracket(300_000).getSource(), date.toString());
+		assertSame(employmentInsuranceRate, snapshot.findEmploymentInsuranceRate(BUSINESS_TYPE).getSource(),
+				date.toString());
+	}
+
+	private record Premium(BigDecimal getPension, LocalDate getEffectiveFrom, LocalDate getEffectiveTo)
+			implements PremiumBracketRow {
+
+		Premium(String pension, LocalDate effectiveFrom, LocalDate effectiveTo) {
+			this(new BigDecimal(pension), effectiveFrom, effectiveTo);
+		}
+
+		@Override
+		public String getGrade() {
+			return "22(19)";
+		}
+
+		@Override
+		public Integer getStdRem() {
+			return 300_000;
+		}
+
+		@Override
+		public Integer getMinAmount() {
+			return 0;
+		}
+
+		@Override
+		public Integer getMaxAmount() {
+			return 999_999_999;
+		}
+
+		@Override
+		public BigDecimal getHealthNoCare() {
+			return new BigDecimal("29760.00");
+		}
+
+		@Override
+		public BigDecimal getHealthCare() {
+			return new BigDecimal("34530.00");
+		}
+	}
+
+	private record Withholding(Integer getTaxAmountKo, LocalDate getEffectiveFrom, LocalDate getEffectiveTo)
+			implements WithholdingTaxBracketRow {
+
+		@Override
+		public Integer getMinAmount() {
+			return 0;
+		}
+
+		@Override
+		public Integer getMaxAmount() {
+			return 999_999_999;
+		}
+
+		@Override
+		public Integer getTaxAmountOtsu() {
+			return getTaxAmountKo * 5;
+		}
+
+		@Override
+		public Integer[] getTaxAmountKoDependents() {
+			return null;
+		}
+
+		@Override
+		public String getCalculationFormula() {
+			return null;
+		}
+	}
+
+	private record Employment(String getBusinessType, BigDecimal getEmployeeRate, LocalDate getEffectiveFrom,
+			LocalDate getEffectiveTo) implements EmploymentInsuranceRateRow {
+
+		Employment(String businessType, String employeeRate, LocalDate effectiveFrom, LocalDate effectiveTo) {
+			this(businessType, new BigDecimal(employeeRate), effectiveFrom, effectiveTo);
+		}
+
+		@Override
+		public BigDecimal getEmployerUnemploymentRate() {
+			return getEmployeeRate;
+		}
+
+		@Override
+		public BigDecimal getEmployerTwoUndertakingsRate() {
+			return new BigDecimal("3.500");
+		}
+
+		@Override
+		public BigDecimal getTotalRate() {
+			return getEmployeeRate.add(getEmployeeRate).add(new BigDecimal("3.500"));
+		}
+	}
+}
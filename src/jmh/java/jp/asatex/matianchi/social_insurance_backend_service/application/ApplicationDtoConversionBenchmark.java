@@ -0,0 +1,66 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.SocialInsuranceBatchQueryApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.benchmark.InMemoryRateTables;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.PremiumBracketDomainService;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import reactor.core.publisher.Flux;
+
+/**
+ * Application层批量查询的基准测试（含Application DTO ⇄ Domain DTO的转换）
+ * 通过公开的批量查询方法调用，启用计算结果缓存，各行的计算是缓存命中，转换在每行开销中占比较大
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApplicationDtoConversionBenchmark {
+
+    /**
+     * 一次批量查询的员工数
+     */
+    private static final int ROSTER_SIZE = 1_000;
+
+    private PremiumBracketApplicationService applicationService;
+    private List<SocialInsuranceBatchQueryApplicationDto> roster;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CalculationStageMetrics stageMetrics = new CalculationStageMetrics(new SimpleMeterRegistry(), false);
+        PremiumBracketDomainService domainService = InMemoryRateTables.fromMigrations()
+                .domainService(true, true, stageMetrics);
+        applicationService = new PremiumBracketApplicationService(domainService,
+                new WithholdingTaxMethodPolicy("table", ""));
+        roster = new ArrayList<>(ROSTER_SIZE);
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            roster.add(new SocialInsuranceBatchQueryApplicationDto(
+                    String.format("E%04d", i), 200_000 + (i % 100) * 5_000, 45, null, null));
+        }
+        // 预先填充计算结果缓存
+        applicationService.socialInsuranceBatchQuery(Flux.fromIterable(roster)).blockLast();
+    }
+
+    @Benchmark
+    public Long batchQueryThroughApplicationService() {
+        return applicationService.socialInsuranceBatchQuery(Flux.fromIterable(roster)).count().block();
+    }
+}
@@ -0,0 +1,261 @@
+package jp.asatex.matianchi.social_insurance_backend_service.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.PremiumBracketDomainService;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceQueryCoalescer;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceResultCache;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateSnapshotManager;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.EmploymentInsuranceRateRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.WithholdingTaxBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.dto.RateLookupResult;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledEmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledPremiumBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledWithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.SocialInsuranceCalculator;
+import jp.asatex.matianchi.social_insurance_calculation.rate.RateSnapshot;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 基准测试用的内存费率表
+ * 从Flyway迁移脚本中读取真实的三张费率表数据，并提供不访问数据库的内存Repository桩
+ * 桩只实现计算管道用到的查询方法，其余方法抛出UnsupportedOperationException
+ */
+public final class InMemoryRateTables {
+
+    private static final Pattern PREMIUM_ROW = Pattern.compile(
+            "^\\('([^']*)', (\\d+), (\\d+), (\\d+), ([\\d.]+), ([\\d.]+), ([\\d.]+)\\)", Pattern.MULTILINE);
+
+    private static final Pattern WITHHOLDING_ROW = Pattern.compile(
+            "^\\((\\d+), (\\d+), (NULL|\\d+), (NULL|\\d+), (NULL|'[^']*')\\)", Pattern.MULTILINE);
+
+    private static final Pattern EMPLOYMENT_ROW = Pattern.compile(
+            "^\\('([^']*)', ([\\d.]+), ([\\d.]+), ([\\d.]+), ([\\d.]+)\\)", Pattern.MULTILINE);
+
+    private final List<PremiumBracket> premiumBrackets;
+    private final List<WithholdingTaxBracket> withholdingTaxBrackets;
+    private final List<EmploymentInsuranceRate> employmentInsuranceRates;
+
+    /**
+     * 用于模拟PremiumBracketCustomRepository.findRatesForSalary的单条SQL查询
+     */
+    private final RateSnapshot snapshot;
+
+    private InMemoryRateTables(List<PremiumBracket> premiumBrackets,
+                               List<WithholdingTaxBracket> withholdingTaxBrackets,
+                               List<EmploymentInsuranceRate> employmentInsuranceRates) {
+        this.premiumBrackets = premiumBrackets;
+        this.withholdingTaxBrackets = withholdingTaxBrackets;
+        this.employmentInsuranceRates = employmentInsuranceRates;
+        this.snapshot = RateSnapshot.of(premiumBrackets, withholdingTaxBrackets, employmentInsuranceRates);
+    }
+
+    /**
+     * 从classpath中的V1～V3迁移脚本加载费率表
+     *
+     * @return 内存费率表
+     */
+    public static InMemoryRateTables fromMigrations() {
+        List<PremiumBracket> premiumBrackets = new ArrayList<>();
+        Matcher premium = PREMIUM_ROW.matcher(readMigration("V1__init_premium_bracket_table.sql"));
+        long id = 1;
+        while (premium.find()) {
+            PremiumBracket bracket = new PremiumBracket();
+            bracket.setId(id++);
+            bracket.setGrade(premium.group(1));
+            bracket.setStdRem(Integer.valueOf(premium.group(2)));
+            bracket.setMinAmount(Integer.valueOf(premium.group(3)));
+            bracket.setMaxAmount(Integer.valueOf(premium.group(4)));
+            // 与数据库NUMERIC(10, 2)列读取后的scale一致
+            bracket.setHealthNoCare(new BigDecimal(premium.group(5)).setScale(2));
+            bracket.setHealthCare(new BigDecimal(premium.group(6)).setScale(2));
+            bracket.setPension(new BigDecimal(premium.group(7)).setScale(2));
+            premiumBrackets.add(bracket);
+        }
+
+        List<WithholdingTaxBracket> withholdingTaxBrackets = new ArrayList<>();
+        Matcher withholding = WITHHOLDING_ROW.matcher(readMigration("V2__init_withholding_tax_bracket_table.sql"));
+        id = 1;
+        while (withholding.find()) {
+            WithholdingTaxBracket bracket = new WithholdingTaxBracket();
+            bracket.setId(id++);
+            bracket.setMinAmount(Integer.valueOf(withholding.group(1)));
+            bracket.setMaxAmount(Integer.valueOf(withholding.group(2)));
+            bracket.setTaxAmountKo(nullableInteger(withholding.group(3)));
+            bracket.setTaxAmountOtsu(nullableInteger(withholding.group(4)));
+            bracket.setCalculationFormula(nullableString(withholding.group(5)));
+            withholdingTaxBrackets.add(bracket);
+        }
+
+        List<EmploymentInsuranceRate> employmentInsuranceRates = new ArrayList<>();
+        Matcher employment = EMPLOYMENT_ROW.matcher(readMigration("V3__init_employment_insurance_rate_table.sql"));
+        id = 1;
+        while (employment.find()) {
+            EmploymentInsuranceRate rate = new EmploymentInsuranceRate();
+            rate.setId(id++);
+            rate.setBusinessType(employment.group(1));
+            // 与数据库NUMERIC(5, 3)列读取后的scale一致
+            rate.setEmployeeRate(new BigDecimal(employment.group(2)).setScale(3));
+            rate.setEmployerUnemploymentRate(new BigDecimal(employment.group(3)).setScale(3));
+            rate.setEmployerTwoUndertakingsRate(new BigDecimal(employment.group(4)).setScale(3));
+            rate.setTotalRate(new BigDecimal(employment.group(5)).setScale(3));
+            employmentInsuranceRates.add(rate);
+        }
+
+        return new InMemoryRateTables(List.copyOf(premiumBrackets), List.copyOf(withholdingTaxBrackets),
+                List.copyOf(employmentInsuranceRates));
+    }
+
+    /**
+     * 创建使用内存Repository桩的Domain Service
+     * 启用费率快照时预先加载快照，基准测试测量的是稳定状态
+     *
+     * @param rateSnapshot 是否启用费率快照
+     * @param resultCache 是否启用计算结果缓存
+     * @param stageMetrics 分阶段计时器
+     * @return PremiumBracketDomainService
+     */
+    public PremiumBracketDomainService domainService(boolean rateSnapshot, boolean resultCache,
+                                                     CalculationStageMetrics stageMetrics) {
+        RateSnapshotManager rateSnapshotManager = new RateSnapshotManager(
+                premiumBracketRepository(),
+                withholdingTaxBracketRepository(),
+                employmentInsuranceRateRepository(),
+                event -> { });
+        if (rateSnapshot) {
+            rateSnapshotManager.current().block();
+        }
+        return new PremiumBracketDomainService(
+                premiumBracketRepository(),
+                rateSnapshotManager,
+                new SocialInsuranceResultCache(new SimpleMeterRegistry(), resultCache, 10_000),
+                new SocialInsuranceQueryCoalescer(new SimpleMeterRegistry(), true),
+                stageMetrics,
+                rateSnapshot);
+    }
+
+    /**
+     * 创建保险费等级Repository桩
+     * 支持findAllOrderByStdRemAsc和findRatesForSalary
+     *
+     * @return PremiumBracketRepository
+     */
+    public PremiumBracketRepository premiumBracketRepository() {
+        return stub(PremiumBracketRepository.class, (method, args) -> switch (method) {
+            case "findAllOrderByStdRemAsc" -> Flux.fromIterable(premiumBrackets);
+            // 内存费率表只有一个生效期间，忽略生效日期参数
+            case "findRatesForSalary" -> findRatesForSalary((Integer) args[0], (Integer) args[1], (String) args[2]);
+            default -> null;
+        });
+    }
+
+    /**
+     * 创建源泉征收税等级Repository桩
+     * 支持findAll
+     *
+     * @return WithholdingTaxBracketRepository
+     */
+    public WithholdingTaxBracketRepository withholdingTaxBracketRepository() {
+        return stub(WithholdingTaxBracketRepository.class, (method, args) -> switch (method) {
+            case "findAll" -> args == null || args.length == 0 ? Flux.fromIterable(withholdingTaxBrackets) : null;
+            default -> null;
+        });
+    }
+
+    /**
+     * 创建雇佣保险费率Repository桩
+     * 支持findAll
+     *
+     * @return EmploymentInsuranceRateRepository
+     */
+    public EmploymentInsuranceRateRepository employmentInsuranceRateRepository() {
+        return stub(EmploymentInsuranceRateRepository.class, (method, args) -> switch (method) {
+            case "findAll" -> args == null || args.length == 0 ? Flux.fromIterable(employmentInsuranceRates) : null;
+            default -> null;
+        });
+    }
+
+    /**
+     * 模拟单条SQL的费率查询，返回与PremiumBracketCustomRepositoryImpl相同形式的结果
+     */
+    private Mono<RateLookupResult> findRatesForSalary(Integer amount, Integer age, String businessType) {
+        return Mono.fromSupplier(() -> {
+            CompiledPremiumBracket bracket = snapshot.findPremiumBracket(amount);
+            CompiledEmploymentInsuranceRate rate = snapshot.findEmploymentInsuranceRate(businessType);
+            if (bracket == null || rate == null) {
+                return new RateLookupResult(bracket != null ? (PremiumBracket) bracket.getSource() : null,
+                        rate != null ? (EmploymentInsuranceRate) rate.getSource() : null, null, null);
+            }
+            int salaryAfter = SocialInsuranceCalculator.salaryAfterSocialInsurance(bracket, rate, amount, age);
+            CompiledWithholdingTaxBracket withholdingTaxBracket = snapshot.findWithholdingTaxBracket(salaryAfter);
+            return new RateLookupResult((PremiumBracket) bracket.getSource(),
+                    (EmploymentInsuranceRate) rate.getSource(), salaryAfter,
+                    withholdingTaxBracket != null ? (WithholdingTaxBracket) withholdingTaxBracket.getSource() : null);
+        });
+    }
+
+    /**
+     * 用于动态代理的查询方法实现，返回null表示该方法不受支持
+     */
+    @FunctionalInterface
+    private interface StubMethods {
+        Object invoke(String method, Object[] args);
+    }
+
+    private static <T> T stub(Class<T> repositoryType, StubMethods methods) {
+        Object proxy = Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[] {repositoryType},
+                (self, method, args) -> {
+                    switch (method.getName()) {
+                        case "toString":
+                            return "InMemory" + repositoryType.getSimpleName();
+                        case "hashCode":
+                            return System.identityHashCode(self);
+                        case "equals":
+                            return self == args[0];
+                        default:
+                            Object result = methods.invoke(method.getName(), args);
+                            if (result == null) {
+                                throw new UnsupportedOperationException(
+                                        repositoryType.getSimpleName() + "." + method.getName() + " 在基准测试中不受支持");
+                            }
+                            return result;
+                    }
+                });
+        return repositoryType.cast(proxy);
+    }
+
+    private static String readMigration(String fileName) {
+        try (InputStream in = InMemoryRateTables.class.getResourceAsStream("/db/migration/" + fileName)) {
+            return new String(Objects.requireNonNull(in, fileName).readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Integer nullableInteger(String value) {
+        return "NULL".equals(value) ? null : Integer.valueOf(value);
+    }
+
+    private static String nullableString(String value) {
+        return "NULL".equals(value) ? null : value.substring(1, value.length() - 1);
+    }
+}
@@ -0,0 +1,70 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jp.asatex.matianchi.social_insurance_backend_service.application.PremiumBracketApplicationService;
+import jp.asatex.matianchi.social_insurance_backend_service.application.WithholdingTaxMethodPolicy;
+import jp.asatex.matianchi.social_insurance_backend_service.benchmark.InMemoryRateTables;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.SocialInsuranceBatchRequestDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.PremiumBracketDomainService;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import reactor.core.publisher.Flux;
+
+/**
+ * Controller批量查询处理方法的基准测试（含Controller DTO ⇄ Application DTO的转换，不含HTTP和JSON编解码）
+ * 通过公开的处理方法调用，启用计算结果缓存，各行的计算是缓存命中，转换在每行开销中占比较大
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerDtoConversionBenchmark {
+
+    /**
+     * 一次批量查询的员工数
+     */
+    private static final int ROSTER_SIZE = 1_000;
+
+    private PremiumBracketController controller;
+    private List<SocialInsuranceBatchRequestDto> roster;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CalculationStageMetrics stageMetrics = new CalculationStageMetrics(new SimpleMeterRegistry(), false);
+        PremiumBracketDomainService domainService = InMemoryRateTables.fromMigrations()
+                .domainService(true, true, stageMetrics);
+        PremiumBracketApplicationService applicationService = new PremiumBracketApplicationService(
+                domainService, new WithholdingTaxMethodPolicy("table", ""));
+        controller = new PremiumBracketController(applicationService, Duration.ofMinutes(1));
+        roster = new ArrayList<>(ROSTER_SIZE);
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            roster.add(new SocialInsuranceBatchRequestDto(
+                    String.format("E%04d", i), 200_000 + (i % 100) * 5_000, 45, null, null));
+        }
+        // 预先填充计算结果缓存
+        controller.socialInsuranceBatchQuery(Flux.fromIterable(roster)).blockLast();
+    }
+
+    @Benchmark
+    public Long batchQueryThroughController() {
+        return controller.socialInsuranceBatchQuery(Flux.fromIterable(roster)).count().block();
+    }
+}
@@ -0,0 +1,66 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jp.asatex.matianchi.social_insurance_backend_service.application.PremiumBracketApplicationService;
+import jp.asatex.matianchi.social_insurance_backend_service.application.WithholdingTaxMethodPolicy;
+import jp.asatex.matianchi.social_insurance_backend_service.benchmark.InMemoryRateTables;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.SocialInsuranceBatchResultDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.PremiumBracketDomainService;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceResult;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * 社会保险金额查询结果的JSON序列化基准测试
+ * 使用与WebFlux编码器相同的Jackson JsonMapper，分别测量单条响应和一行NDJSON批量结果的序列化
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SocialInsuranceDtoJsonBenchmark {
+
+    private JsonMapper jsonMapper;
+    private SocialInsuranceResult socialInsuranceDto;
+    private SocialInsuranceBatchResultDto batchResultDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CalculationStageMetrics stageMetrics = new CalculationStageMetrics(new SimpleMeterRegistry(), false);
+        PremiumBracketDomainService domainService = InMemoryRateTables.fromMigrations()
+                .domainService(true, false, stageMetrics);
+        PremiumBracketController controller = new PremiumBracketController(
+                new PremiumBracketApplicationService(domainService,
+                        new WithholdingTaxMethodPolicy("table", "")), Duration.ofMinutes(1));
+        jsonMapper = JsonMapper.builder().build();
+        socialInsuranceDto = controller.socialInsuranceQuery(350_000, 45, null, null, null, null, null, null).block().getBody();
+        batchResultDto = new SocialInsuranceBatchResultDto("E0001", socialInsuranceDto, null);
+    }
+
+    @Benchmark
+    public byte[] serializeSocialInsuranceDto() {
+        return jsonMapper.writeValueAsBytes(socialInsuranceDto);
+    }
+
+    @Benchmark
+    public byte[] serializeBatchResultDto() {
+        return jsonMapper.writeValueAsBytes(batchResultDto);
+    }
+}
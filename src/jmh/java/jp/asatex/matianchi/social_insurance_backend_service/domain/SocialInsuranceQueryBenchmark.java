@@ -0,0 +1,75 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jp.asatex.matianchi.social_insurance_backend_service.benchmark.InMemoryRateTables;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+
+/**
+ * PremiumBracketDomainService.socialInsuranceQuery的基准测试
+ * Repository替换为内存桩，只测量计算管道本身（等级查找、计算、结果缓存和Reactor包装）
+ * rateSnapshot=false时走单条SQL查询路径，桩在内存中模拟该查询；stageTimers用于衡量分阶段计时本身的开销
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SocialInsuranceQueryBenchmark {
+
+    /**
+     * 每轮使用的查询条件数量，取2的幂以便用位运算循环
+     */
+    private static final int INPUT_COUNT = 1 << 12;
+
+    @Param({"true", "false"})
+    private boolean rateSnapshot;
+
+    @Param({"false", "true"})
+    private boolean resultCache;
+
+    @Param({"true", "false"})
+    private boolean stageTimers;
+
+    private PremiumBracketDomainService domainService;
+
+    private final int[] monthlySalaries = new int[INPUT_COUNT];
+    private final int[] ages = new int[INPUT_COUNT];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        domainService = InMemoryRateTables.fromMigrations().domainService(
+                rateSnapshot, resultCache, new CalculationStageMetrics(new SimpleMeterRegistry(), stageTimers));
+
+        // 固定种子，使每次运行的输入分布一致
+        SplittableRandom random = new SplittableRandom(20250401L);
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            monthlySalaries[i] = random.nextInt(80_000, 1_500_000);
+            ages[i] = random.nextInt(20, 65);
+        }
+    }
+
+    @Benchmark
+    public SocialInsuranceDomainDto socialInsuranceQuery() {
+        int i = next++ & (INPUT_COUNT - 1);
+        return domainService.socialInsuranceQuery(monthlySalaries[i], ages[i], null).block();
+    }
+}
@@ -0,0 +1,108 @@
+package jp.asatex.matianchi.social_insurance_backend_service.loadtest;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.CompositeDatabasePopulator;
+import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
+import org.springframework.r2dbc.connection.init.DatabasePopulator;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 负载测试用的嵌入式数据库配置
+ * 在H2中创建与迁移后相同的费率表结构，并执行V1～V3迁移脚本中的INSERT语句载入费率数据；
+ * 迁移脚本中的触发器和注释是PostgreSQL专用的，不执行
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestDatabaseConfig {
+
+    /**
+     * 载入费率数据的迁移脚本
+     */
+    private static final List<String> RATE_DATA_MIGRATIONS = List.of(
+            "db/migration/V1__init_premium_bracket_table.sql",
+            "db/migration/V2__init_withholding_tax_bracket_table.sql",
+            "db/migration/V3__init_employment_insurance_rate_table.sql");
+
+    /**
+     * 应用启动时（启动预热之前）创建表结构并载入费率数据
+     *
+     * @param connectionFactory R2DBC连接工厂
+     * @return ConnectionFactoryInitializer 数据库初始化器
+     */
+    @Bean
+    public ConnectionFactoryInitializer loadTestDatabaseInitializer(ConnectionFactory connectionFactory) {
+        ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
+        initializer.setConnectionFactory(connectionFactory);
+        initializer.setDatabasePopulator(new CompositeDatabasePopulator(
+                new ResourceDatabasePopulator(new ClassPathResource("db/loadtest/schema-h2.sql")),
+                rateDataPopulator()));
+        return initializer;
+    }
+
+    /**
+     * 依次执行V1～V3中的INSERT语句
+     */
+    private static DatabasePopulator rateDataPopulator() {
+        List<String> statements = new ArrayList<>();
+        for (String migration : RATE_DATA_MIGRATIONS) {
+            statements.addAll(insertStatements(read(migration)));
+        }
+        return (Connection connection) -> Flux.fromIterable(statements)
+                .concatMap(sql -> Flux.from(connection.createStatement(sql).execute())
+                        .flatMap(Result::getRowsUpdated))
+                .then();
+    }
+
+    /**
+     * 从迁移脚本中取出INSERT语句（从INSERT INTO开始到以分号结尾的行为止，不含分号）
+     *
+     * @param script 迁移脚本
+     * @return INSERT语句
+     */
+    static List<String> insertStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = null;
+        for (String line : script.split("\\R")) {
+            if (current == null && line.startsWith("INSERT INTO ")) {
+                current = new StringBuilder();
+            }
+            if (current == null) {
+                continue;
+            }
+            String trimmed = line.stripTrailing();
+            if (trimmed.endsWith(";")) {
+                current.append(trimmed, 0, trimmed.length() - 1);
+                statements.add(current.toString());
+                current = null;
+            } else {
+                current.append(trimmed).append('\n');
+            }
+        }
+        if (statements.isEmpty()) {
+            throw new IllegalStateException("迁移脚本中没有INSERT语句");
+        }
+        return statements;
+    }
+
+    private static String read(String location) {
+        try (InputStream in = new ClassPathResource(location).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法读取迁移脚本: " + location, e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package jp.asatex.matianchi.social_insurance_backend_service.loadtest;
+
+import jp.asatex.matianchi.social_insurance_backend_service.SocialInsuranceBackendServiceApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+/**
+ * 负载测试的入口
+ * 未指定baseUrl时，以loadtest配置文件在嵌入式H2上启动整个应用，预热后以固定到达率施加负载，
+ * 输出延迟分布（p50/p99/p99.9）和吞吐量，并按需写入结果JSON
+ * 例：gradle loadTest -PloadTestArgs="rate=2000 duration=60s batchSize=1 salary=lognormal:300000,0.5"
+ */
+public final class LoadTestMain {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestMain.class);
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.baseUrl();
+        if (baseUrl == null) {
+            context = new SpringApplicationBuilder(SocialInsuranceBackendServiceApplication.class,
+                    LoadTestDatabaseConfig.class)
+                    .profiles("loadtest")
+                    .run();
+            baseUrl = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+        }
+
+        LoadTestReport report;
+        try (OpenModelLoadGenerator generator = new OpenModelLoadGenerator(options, baseUrl)) {
+            if (!options.warmup().isZero()) {
+                logger.info("预热 {} ({})", options.warmup(), baseUrl);
+                generator.run(options.warmup());
+            }
+            logger.info("计测 {} ({})", options.duration(), baseUrl);
+            report = generator.run(options.duration());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+
+        report.print(System.out);
+        if (options.output() != null) {
+            report.writeJson(Path.of(options.output()));
+            logger.info("结果已写入 {}", options.output());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package jp.asatex.matianchi.social_insurance_backend_service.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 负载测试的参数
+ * 以key=value的形式指定，未指定的参数使用默认值：
+ * rate=1000 duration=30s warmup=10s batchSize=1 salary=lognormal:300000,0.6 age=20-70
+ * connections=64 seed=42 output=（结果JSON的路径） baseUrl=（指定时不启动嵌入式应用，直接对该地址施加负载）
+ *
+ * @param rate 每秒发出的请求数（开放模型，与响应速度无关）
+ * @param duration 计测时间
+ * @param warmup 计测前的预热时间（结果不计入）
+ * @param batchSize 每个请求的员工数（1时为GET /socialInsuranceQuery，大于1时为POST /socialInsuranceQuery/batch）
+ * @param salarySpec 月薪分布的指定
+ * @param salary 月薪分布
+ * @param minAge 年龄下限
+ * @param maxAge 年龄上限
+ * @param connections HTTP连接数上限
+ * @param seed 随机数种子
+ * @param output 结果JSON的路径（可为null）
+ * @param baseUrl 负载对象的地址（null时启动嵌入式应用）
+ */
+public record LoadTestOptions(
+        double rate,
+        Duration duration,
+        Duration warmup,
+        int batchSize,
+        String salarySpec,
+        SalaryDistribution salary,
+        int minAge,
+        int maxAge,
+        int connections,
+        long seed,
+        String output,
+        String baseUrl) {
+
+    private static final Set<String> KEYS = Set.of("rate", "duration", "warmup", "batchSize", "salary", "age",
+            "connections", "seed", "output", "baseUrl");
+
+    /**
+     * 解析命令行参数
+     *
+     * @param args key=value形式的参数
+     * @return LoadTestOptions对象
+     * @throws IllegalArgumentException 参数不合法时
+     */
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals <= 0 || !KEYS.contains(arg.substring(0, equals))) {
+                throw new IllegalArgumentException("不支持的参数: " + arg + "（可选值：" + KEYS + "）");
+            }
+            values.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+
+        double rate = Double.parseDouble(values.getOrDefault("rate", "1000"));
+        Duration duration = DurationStyle.detectAndParse(values.getOrDefault("duration", "30s"));
+        Duration warmup = DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s"));
+        int batchSize = Integer.parseInt(values.getOrDefault("batchSize", "1"));
+        String salarySpec = values.getOrDefault("salary", "lognormal:300000,0.6");
+        String[] ages = values.getOrDefault("age", "20-70").split("-");
+        int minAge = Integer.parseInt(ages[0]);
+        int maxAge = Integer.parseInt(ages[ages.length - 1]);
+        int connections = Integer.parseInt(values.getOrDefault("connections", "64"));
+        long seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        String output = emptyToNull(values.get("output"));
+        String baseUrl = emptyToNull(values.get("baseUrl"));
+
+        if (!(rate > 0) || duration.isNegative() || duration.isZero() || warmup.isNegative()) {
+            throw new IllegalArgumentException("rate和duration必须大于0，warmup不能为负数");
+        }
+        if (batchSize < 1 || connections < 1 || minAge < 0 || maxAge < minAge) {
+            throw new IllegalArgumentException("batchSize和connections必须大于0，age必须为 下限-上限");
+        }
+        return new LoadTestOptions(rate, duration, warmup, batchSize, salarySpec, SalaryDistribution.parse(salarySpec),
+                minAge, maxAge, connections, seed, output, baseUrl);
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,130 @@
+package jp.asatex.matianchi.social_insurance_backend_service.loadtest;
+
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 负载测试的结果
+ * 同时保留修正后（从计划发送时刻起）和未修正（从实际发送时刻起）的延迟分布；
+ * 比较不同版本时以修正后的百分位数为准，两者差距较大说明负载超过了服务能力
+ *
+ * @param options 负载测试的参数
+ * @param requests 发出的请求数
+ * @param completed 完成的请求数
+ * @param errors 失败的请求数（含计测结束后未完成的请求）
+ * @param rows 计算的行数
+ * @param rowErrors 批量请求中出错的行数
+ * @param elapsedNanos 从开始到所有请求完成的时间
+ * @param corrected 修正后的延迟分布（微秒）
+ * @param uncorrected 未修正的延迟分布（微秒）
+ */
+public record LoadTestReport(
+        LoadTestOptions options,
+        long requests,
+        long completed,
+        long errors,
+        long rows,
+        long rowErrors,
+        long elapsedNanos,
+        Histogram corrected,
+        Histogram uncorrected) {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    /**
+     * 每秒完成的请求数
+     */
+    public double requestsPerSecond() {
+        return completed * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * 每秒计算的行数
+     */
+    public double rowsPerSecond() {
+        return rows * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * 输出可读的结果
+     *
+     * @param out 输出目标
+     */
+    public void print(PrintStream out) {
+        out.printf("负载: rate=%.0f/s batchSize=%d salary=%s age=%d-%d connections=%d seed=%d%n",
+                options.rate(), options.batchSize(), options.salarySpec(), options.minAge(), options.maxAge(),
+                options.connections(), options.seed());
+        out.printf("请求: %d 完成: %d 失败: %d 行: %d 出错行: %d 时间: %.1fs%n",
+                requests, completed, errors, rows, rowErrors, elapsedNanos / 1e9);
+        out.printf("吞吐量: %.1f req/s, %.1f rows/s%n", requestsPerSecond(), rowsPerSecond());
+        out.printf("%-12s %10s %10s %10s %10s %10s%n", "延迟(ms)", "p50", "p90", "p99", "p99.9", "max");
+        printLatencies(out, "修正后", corrected);
+        printLatencies(out, "未修正", uncorrected);
+    }
+
+    private static void printLatencies(PrintStream out, String label, Histogram histogram) {
+        out.printf("%-12s", label);
+        for (double percentile : PERCENTILES) {
+            out.printf(" %10.3f", histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf(" %10.3f%n", histogram.getMaxValue() / 1000.0);
+    }
+
+    /**
+     * 将结果写入JSON文件，用于不同版本之间的比较
+     *
+     * @param path 输出路径
+     * @throws IOException 写入失败时
+     */
+    public void writeJson(Path path) throws IOException {
+        Map<String, Object> load = new LinkedHashMap<>();
+        load.put("rate", options.rate());
+        load.put("durationSeconds", options.duration().toMillis() / 1000.0);
+        load.put("warmupSeconds", options.warmup().toMillis() / 1000.0);
+        load.put("batchSize", options.batchSize());
+        load.put("salary", options.salarySpec());
+        load.put("age", options.minAge() + "-" + options.maxAge());
+        load.put("connections", options.connections());
+        load.put("seed", options.seed());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("load", load);
+        result.put("requests", requests);
+        result.put("completed", completed);
+        result.put("errors", errors);
+        result.put("rows", rows);
+        result.put("rowErrors", rowErrors);
+        result.put("elapsedSeconds", elapsedNanos / 1e9);
+        result.put("requestsPerSecond", requestsPerSecond());
+        result.put("rowsPerSecond", rowsPerSecond());
+        result.put("latencyMillis", latencies(corrected));
+        result.put("uncorrectedLatencyMillis", latencies(uncorrected));
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        JsonMapper.builder()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .build()
+                .writeValue(path.toFile(), result);
+    }
+
+    private static Map<String, Object> latencies(Histogram histogram) {
+        Map<String, Object> latencies = new LinkedHashMap<>();
+        latencies.put("p50", histogram.getValueAtPercentile(50.0) / 1000.0);
+        latencies.put("p90", histogram.getValueAtPercentile(90.0) / 1000.0);
+        latencies.put("p99", histogram.getValueAtPercentile(99.0) / 1000.0);
+        latencies.put("p999", histogram.getValueAtPercentile(99.9) / 1000.0);
+        latencies.put("max", histogram.getMaxValue() / 1000.0);
+        return latencies;
+    }
+}
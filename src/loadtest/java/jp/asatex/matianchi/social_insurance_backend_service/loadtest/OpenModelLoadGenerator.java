@@ -0,0 +1,187 @@
+package jp.asatex.matianchi.social_insurance_backend_service.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 开放模型的负载生成器
+ * 按固定的到达间隔发出请求，不等待之前的响应（服务变慢时请求不会减少，而是在客户端和服务端排队）；
+ * 延迟从计划发送时刻开始计测（协调遗漏修正），同时记录从实际发送时刻开始的延迟以供对比
+ */
+public class OpenModelLoadGenerator implements AutoCloseable {
+
+    /**
+     * 可记录的最大延迟（微秒），超过时按最大值记录
+     */
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    /**
+     * 计测结束后等待未完成请求的时间
+     */
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final SplittableRandom random;
+
+    /**
+     * 构造函数
+     *
+     * @param options 负载测试的参数
+     * @param baseUrl 负载对象的地址
+     */
+    public OpenModelLoadGenerator(LoadTestOptions options, String baseUrl) {
+        this.options = options;
+        // 等待连接的请求不设上限，连接不足时请求在客户端排队并计入修正后的延迟
+        this.connectionProvider = ConnectionProvider.builder("loadtest")
+                .maxConnections(options.connections())
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMinutes(10))
+                .build();
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        this.random = new SplittableRandom(options.seed());
+    }
+
+    /**
+     * 以固定的到达率施加负载
+     *
+     * @param duration 施加负载的时间
+     * @return 负载测试的结果
+     */
+    public LoadTestReport run(Duration duration) {
+        Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        Histogram uncorrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong rows = new AtomicLong();
+        AtomicLong rowErrors = new AtomicLong();
+
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sent = 0;
+        while (true) {
+            long intended = start + (long) (sent * intervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            long delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            long actual = System.nanoTime();
+            sent++;
+            send().subscribe(
+                    rowCount -> {
+                        rows.addAndGet(rowCount[0]);
+                        rowErrors.addAndGet(rowCount[1]);
+                    },
+                    error -> {
+                        errors.incrementAndGet();
+                        record(corrected, uncorrected, intended, actual);
+                        completed.incrementAndGet();
+                    },
+                    () -> {
+                        record(corrected, uncorrected, intended, actual);
+                        completed.incrementAndGet();
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (completed.get() < sent && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long timedOut = sent - completed.get();
+        return new LoadTestReport(options, sent, completed.get(), errors.get() + timedOut, rows.get(),
+                rowErrors.get(), elapsedNanos, corrected.copy(), uncorrected.copy());
+    }
+
+    /**
+     * 发出一个请求
+     *
+     * @return 完成时发出[行数, 出错行数]
+     */
+    private Mono<long[]> send() {
+        if (options.batchSize() == 1) {
+            int salary = options.salary().next(random);
+            int age = nextAge();
+            return webClient.get()
+                    .uri(uri -> uri.path("/socialInsuranceQuery")
+                            .queryParam("monthlySalary", salary)
+                            .queryParam("age", age)
+                            .build())
+                    .retrieve()
+                    .toBodilessEntity()
+                    .map(response -> new long[]{1, 0});
+        }
+        StringBuilder body = new StringBuilder(options.batchSize() * 64);
+        for (int i = 0; i < options.batchSize(); i++) {
+            body.append("{\"employeeId\":\"E").append(i)
+                    .append("\",\"monthlySalary\":").append(options.salary().next(random))
+                    .append(",\"age\":").append(nextAge())
+                    .append("}\n");
+        }
+        return webClient.post()
+                .uri("/socialInsuranceQuery/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body.toString())
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(OpenModelLoadGenerator::countRows);
+    }
+
+    private int nextAge() {
+        return random.nextInt(options.minAge(), options.maxAge() + 1);
+    }
+
+    /**
+     * 统计NDJSON响应的行数和带error字段的行数
+     */
+    private static long[] countRows(String ndjson) {
+        long rowCount = 0;
+        long errorCount = 0;
+        for (String line : ndjson.split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowCount++;
+            if (line.contains("\"error\":\"")) {
+                errorCount++;
+            }
+        }
+        return new long[]{rowCount, errorCount};
+    }
+
+    private static void record(Histogram corrected, Histogram uncorrected, long intended, long actual) {
+        long now = System.nanoTime();
+        corrected.recordValue(toMicros(now - intended));
+        uncorrected.recordValue(toMicros(now - actual));
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    @Override
+    public void close() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,85 @@
+package jp.asatex.matianchi.social_insurance_backend_service.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * 负载测试中月薪的分布
+ * 以"名称:参数"的形式指定：
+ * fixed:300000（固定值）、uniform:0-1500000（区间内均匀分布）、
+ * lognormal:300000,0.6（中位数和对数标准差，接近实际的工资分布）
+ */
+@FunctionalInterface
+public interface SalaryDistribution {
+
+    /**
+     * 月薪的上限，超过时截断（费率表最高等级以上的月薪计算结果相同）
+     */
+    int MAX_SALARY = 99_999_999;
+
+    /**
+     * 抽取下一个月薪
+     *
+     * @param random 随机数生成器（同一种子产生相同的序列）
+     * @return 月薪（0～MAX_SALARY）
+     */
+    int next(SplittableRandom random);
+
+    /**
+     * 解析分布的指定
+     *
+     * @param spec 分布的指定
+     * @return SalaryDistribution对象
+     * @throws IllegalArgumentException 格式不合法时
+     */
+    static SalaryDistribution parse(String spec) {
+        int colon = spec.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("月薪分布的格式必须为 名称:参数 : " + spec);
+        }
+        String name = spec.substring(0, colon);
+        String parameters = spec.substring(colon + 1);
+        try {
+            switch (name) {
+                case "fixed" -> {
+                    int salary = clip(Long.parseLong(parameters));
+                    return random -> salary;
+                }
+                case "uniform" -> {
+                    String[] bounds = parameters.split("-");
+                    int min = clip(Long.parseLong(bounds[0]));
+                    int max = bounds.length == 2 ? clip(Long.parseLong(bounds[1])) : -1;
+                    if (max < min) {
+                        throw new IllegalArgumentException("uniform的格式必须为 uniform:最小值-最大值 : " + spec);
+                    }
+                    return random -> random.nextInt(min, max + 1);
+                }
+                case "lognormal" -> {
+                    String[] values = parameters.split(",");
+                    double median = Double.parseDouble(values[0]);
+                    double sigma = values.length == 2 ? Double.parseDouble(values[1]) : -1;
+                    if (median <= 0 || sigma < 0) {
+                        throw new IllegalArgumentException("lognormal的格式必须为 lognormal:中位数,对数标准差 : " + spec);
+                    }
+                    double mu = Math.log(median);
+                    return random -> clip(Math.round(Math.exp(mu + sigma * gaussian(random))));
+                }
+                default -> throw new IllegalArgumentException(
+                        "不支持的月薪分布: " + name + "（可选值：fixed、uniform、lognormal）");
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("月薪分布的参数不合法: " + spec, e);
+        }
+    }
+
+    private static int clip(long salary) {
+        return (int) Math.max(0, Math.min(MAX_SALARY, salary));
+    }
+
+    /**
+     * 标准正态分布的随机数（Box-Muller变换）
+     */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * random.nextDouble());
+    }
+}
@@ -0,0 +1,58 @@
+-- ===========================================
+-- 负载测试用的H2费率表结构
+-- 与V1～V7迁移后的PostgreSQL表结构相同（不含注释、触发器和NOTIFY）
+-- effective_from的默认值与V4为已有数据设置的生效开始日期相同，V1～V3的INSERT语句原样执行
+-- ===========================================
+
+CREATE TABLE premium_bracket (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    grade VARCHAR(20) NOT NULL,
+    std_rem INTEGER NOT NULL,
+    min_amount INTEGER NOT NULL,
+    max_amount INTEGER NOT NULL,
+    health_no_care NUMERIC(10, 2) NOT NULL,
+    health_care NUMERIC(10, 2) NOT NULL,
+    pension NUMERIC(10, 2) NOT NULL,
+    effective_from DATE DEFAULT DATE '2025-03-01' NOT NULL,
+    effective_to DATE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_premium_bracket_grade_effective_from UNIQUE (grade, effective_from)
+);
+
+CREATE INDEX idx_premium_bracket_min_max ON premium_bracket(min_amount, max_amount);
+CREATE INDEX idx_premium_bracket_effective_period ON premium_bracket(effective_from, effective_to);
+CREATE INDEX idx_premium_bracket_std_rem_id ON premium_bracket(std_rem, id);
+
+CREATE TABLE withholding_tax_bracket (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    min_amount INTEGER NOT NULL,
+    max_amount INTEGER NOT NULL,
+    tax_amount_ko INTEGER,
+    tax_amount_otsu INTEGER,
+    tax_amount_ko_dependents INTEGER ARRAY[7],
+    calculation_formula CHARACTER VARYING,
+    effective_from DATE DEFAULT DATE '2025-01-01' NOT NULL,
+    effective_to DATE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_withholding_tax_bracket_min_max ON withholding_tax_bracket(min_amount, max_amount);
+CREATE INDEX idx_withholding_tax_bracket_effective_period ON withholding_tax_bracket(effective_from, effective_to);
+
+CREATE TABLE employment_insurance_rate (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    business_type VARCHAR(50) NOT NULL,
+    employee_rate NUMERIC(5, 3) NOT NULL,
+    employer_unemployment_rate NUMERIC(5, 3) NOT NULL,
+    employer_two_undertakings_rate NUMERIC(5, 3) NOT NULL,
+    total_rate NUMERIC(5, 3) NOT NULL,
+    effective_from DATE DEFAULT DATE '2025-04-01' NOT NULL,
+    effective_to DATE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_employment_insurance_rate_business_type_effective_from UNIQUE (business_type, effective_from)
+);
+
+CREATE INDEX idx_employment_insurance_rate_effective_period ON employment_insurance_rate(effective_from, effective_to);
@@ -1,11 +1,28 @@
 package jp.asatex.matianchi.social_insurance_backend_service.application;
 
-import jp.asatex.matianchi.social_insurance_backend_service.application.dto.SocialInsuranceApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.AnnualPayrollLineApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.AnnualPayrollSimulationQueryApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.PremiumBracketApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.ReverseSocialInsuranceApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.SocialInsuranceBatchQueryApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.SocialInsuranceBatchResultApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.SocialInsuranceSweepItemApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.WithholdingTaxDifferentialApplicationDto;
 import jp.asatex.matianchi.social_insurance_backend_service.domain.PremiumBracketDomainService;
-import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.SocialInsuranceDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.AnnualPayrollLineDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.AnnualPayrollSimulationQueryDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.SocialInsuranceBatchQueryDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.SocialInsuranceBatchResultDomainDto;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxColumn;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceResult;
+import jp.asatex.matianchi.social_insurance_calculation.rate.NetPayTableSweep;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * 保险费等级Application Service
  * 提供应用层服务，调用Domain层方法并处理DTO转换
@@ -15,56 +32,257 @@ import reactor.core.publisher.Mono;
 public class PremiumBracketApplicationService {
 
     private final PremiumBracketDomainService domainService;
+    private final WithholdingTaxMethodPolicy withholdingTaxMethodPolicy;
 
-    public PremiumBracketApplicationService(PremiumBracketDomainService domainService) {
+    public PremiumBracketApplicationService(PremiumBracketDomainService domainService,
+                                            WithholdingTaxMethodPolicy withholdingTaxMethodPolicy) {
         this.domainService = domainService;
+        this.withholdingTaxMethodPolicy = withholdingTaxMethodPolicy;
     }
 
     /**
      * 查询社会保险金额
-     * 调用Domain层的同名方法获取数据，并将Domain DTO转换为Application DTO
+     * 调用Domain层的同名方法获取数据，Domain层的不可变结果以SocialInsuranceResult原样返回，不复制
+     * 
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @param effectiveDate 生效日期，为null时使用当天
+     * @param taxMethod 源泉征收税的计算方法（table或electronic），为null时使用租户的设置或默认方法
+     * @param taxColumn 源泉征收税额表的栏（ko或otsu），为null时使用甲栏
+     * @param dependents 扶养亲属人数，为null时为0
+     * @param tenantId 租户ID，可以为null
+     * @return Mono包装的SocialInsuranceResult对象
+     */
+    public Mono<SocialInsuranceResult> socialInsuranceQuery(Integer monthlySalary, Integer age,
+                                                            LocalDate effectiveDate, String taxMethod,
+                                                            String taxColumn, Integer dependents,
+                                                            String tenantId) {
+        return Mono.defer(() -> domainService.socialInsuranceQuery(monthlySalary, age, null, effectiveDate,
+                withholdingTaxMethodPolicy.resolve(taxMethod, tenantId),
+                WithholdingTaxColumn.of(taxColumn), dependents));
+    }
+
+    /**
+     * 获取社会保险金额查询结果的实体标签
+     * 按与socialInsuranceQuery相同的规则解析计算方法和栏后调用Domain层的同名方法，不执行计算
      * 
      * @param monthlySalary 月薪
      * @param age 年龄
-     * @return Mono包装的SocialInsuranceApplicationDto对象
+     * @param effectiveDate 生效日期，为null时使用当天
+     * @param taxMethod 源泉征收税的计算方法（table或electronic），为null时使用租户的设置或默认方法
+     * @param taxColumn 源泉征收税额表的栏（ko或otsu），为null时使用甲栏
+     * @param dependents 扶养亲属人数，为null时为0
+     * @param tenantId 租户ID，可以为null
+     * @return Mono包装的实体标签（不含引号），无法确定时为空，参数无效时也为空，由查询本身报告错误
+     */
+    public Mono<String> socialInsuranceQueryTag(Integer monthlySalary, Integer age, LocalDate effectiveDate,
+                                                String taxMethod, String taxColumn, Integer dependents,
+                                                String tenantId) {
+        return Mono.defer(() -> domainService.socialInsuranceQueryTag(monthlySalary, age, null, effectiveDate,
+                        withholdingTaxMethodPolicy.resolve(taxMethod, tenantId),
+                        WithholdingTaxColumn.of(taxColumn), dependents))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.empty());
+    }
+
+    /**
+     * 反向查询社会保险金额
+     * 调用Domain层的同名方法求出达到目标实发工资的月薪，并将Domain DTO转换为Application DTO
+     * 
+     * @param targetNetPay 目标实发工资
+     * @param age 年龄
+     * @param effectiveDate 生效日期，为null时使用当天
+     * @return Mono包装的ReverseSocialInsuranceApplicationDto对象
+     */
+    public Mono<ReverseSocialInsuranceApplicationDto> reverseSocialInsuranceQuery(Integer targetNetPay, Integer age,
+                                                                                  LocalDate effectiveDate) {
+        return domainService.reverseSocialInsuranceQuery(targetNetPay, age, null, effectiveDate)
+                .map(domainDto -> new ReverseSocialInsuranceApplicationDto(
+                        domainDto.getTargetNetPay(),
+                        domainDto.getMonthlySalary(),
+                        domainDto.getNetPay(),
+                        domainDto.getResult()));
+    }
+
+    /**
+     * 创建实发工资表的扫描
+     * 导出的行数可能达到数百万，扫描结果不经过DTO转换，由Controller层直接编码为响应体
+     * 
+     * @param from 开始月薪（含）
+     * @param to 结束月薪（含）
+     * @param step 月薪间隔
+     * @param age 年龄
+     * @param effectiveDate 生效日期，为null时使用当天
+     * @return Mono包装的NetPayTableSweep对象
+     */
+    public Mono<NetPayTableSweep> netPayTableSweep(Integer from, Integer to, Integer step, Integer age,
+                                                   LocalDate effectiveDate) {
+        return domainService.netPayTableSweep(from, to, step, age, null, effectiveDate);
+    }
+
+    /**
+     * 按月薪从小到大逐个计算社会保险金额
+     * 调用Domain层的同名方法，并逐个将Domain DTO转换为Application DTO
+     * 
+     * @param from 开始月薪（含）
+     * @param to 结束月薪（含）
+     * @param step 月薪间隔
+     * @param age 年龄
+     * @param businessType 事业类型，为null时使用"一般の事業"
+     * @param effectiveDate 生效日期，为null时使用当天
+     * @return Flux包装的SocialInsuranceSweepItemApplicationDto对象流
+     */
+    public Flux<SocialInsuranceSweepItemApplicationDto> socialInsuranceSweep(Integer from, Integer to, Integer step,
+                                                                             Integer age, String businessType,
+                                                                             LocalDate effectiveDate) {
+        return domainService.socialInsuranceSweep(from, to, step, age, businessType, effectiveDate)
+                .map(domainDto -> new SocialInsuranceSweepItemApplicationDto(
+                        domainDto.getMonthlySalary(),
+                        domainDto.getResult(),
+                        domainDto.getError()));
+    }
+
+    /**
+     * 比较源泉征收税的电算机特例与税额表查找的差异
+     * 调用Domain层的同名方法，并将Domain DTO转换为Application DTO
+     * 
+     * @param from 开始金额（含）
+     * @param to 结束金额（含）
+     * @param step 金额间隔
+     * @param dependents 扶养亲属人数，为null时为0
+     * @param effectiveDate 生效日期，为null时使用当天
+     * @return Mono包装的WithholdingTaxDifferentialApplicationDto对象
+     */
+    public Mono<WithholdingTaxDifferentialApplicationDto> withholdingTaxDifferential(Integer from, Integer to,
+                                                                                    Integer step, Integer dependents,
+                                                                                    LocalDate effectiveDate) {
+        return domainService.withholdingTaxDifferential(from, to, step, dependents, effectiveDate)
+                .map(domainDto -> new WithholdingTaxDifferentialApplicationDto(
+                        domainDto.getAmountFrom(),
+                        domainDto.getAmountTo(),
+                        domainDto.getStep(),
+                        domainDto.getDependents(),
+                        domainDto.getComparedCount(),
+                        domainDto.getDifferentCount(),
+                        domainDto.getMinDifference(),
+                        domainDto.getMinDifferenceAmount(),
+                        domainDto.getMaxDifference(),
+                        domainDto.getMaxDifferenceAmount(),
+                        domainDto.getMeanAbsoluteDifference(),
+                        domainDto.getDifferenceCounts()));
+    }
+
+    /**
+     * 批量查询社会保险金额
+     * 将Application DTO流转换为Domain DTO流后调用Domain层的同名方法，并逐条转换结果
+     * 
+     * @param queries 批量查询条件流
+     * @return Flux包装的SocialInsuranceBatchResultApplicationDto对象流
+     */
+    public Flux<SocialInsuranceBatchResultApplicationDto> socialInsuranceBatchQuery(
+            Flux<SocialInsuranceBatchQueryApplicationDto> queries) {
+        Flux<SocialInsuranceBatchQueryDomainDto> domainQueries = queries
+                .map(query -> new SocialInsuranceBatchQueryDomainDto(
+                        query.getEmployeeId(),
+                        query.getMonthlySalary(),
+                        query.getAge(),
+                        query.getBusinessType(),
+                        query.getEffectiveDate()
+                ));
+        return domainService.socialInsuranceBatchQuery(domainQueries)
+                .map(this::convertToApplicationDto);
+    }
+
+    /**
+     * 年度工资模拟
+     * 将Application DTO转换为Domain DTO后调用Domain层的同名方法，并逐行转换结果
+     * 
+     * @param query 模拟条件
+     * @return Flux包装的AnnualPayrollLineApplicationDto对象流
+     */
+    public Flux<AnnualPayrollLineApplicationDto> simulateAnnualPayroll(AnnualPayrollSimulationQueryApplicationDto query) {
+        return domainService.simulateAnnualPayroll(convertToDomainDto(query))
+                .map(this::convertToApplicationDto);
+    }
+
+    /**
+     * 将年度工资模拟条件的Application DTO转换为Domain DTO
+     * 
+     * @param query Application层的DTO
+     * @return Domain层的DTO，query为null时返回null
+     */
+    private static AnnualPayrollSimulationQueryDomainDto convertToDomainDto(AnnualPayrollSimulationQueryApplicationDto query) {
+        if (query == null) {
+            return null;
+        }
+        List<AnnualPayrollSimulationQueryDomainDto.SalaryChange> salarySchedule = query.getSalarySchedule() != null
+                ? query.getSalarySchedule().stream()
+                        .map(change -> change != null
+                                ? new AnnualPayrollSimulationQueryDomainDto.SalaryChange(
+                                        change.getFromMonth(), change.getMonthlySalary())
+                                : null)
+                        .toList()
+                : null;
+        List<AnnualPayrollSimulationQueryDomainDto.Bonus> bonuses = query.getBonuses() != null
+                ? query.getBonuses().stream()
+                        .map(bonus -> bonus != null
+                                ? new AnnualPayrollSimulationQueryDomainDto.Bonus(bonus.getMonth(), bonus.getAmount())
+                                : null)
+                        .toList()
+                : null;
+        return new AnnualPayrollSimulationQueryDomainDto(query.getBirthDate(), query.getStartMonth(),
+                query.getBusinessType(), salarySchedule, bonuses);
+    }
+
+    /**
+     * 按(标准报酬, ID)的keyset分页查找保险费等级记录
+     * 
+     * @param afterStdRem 上一页最后一条记录的标准报酬，第一页为null
+     * @param afterId 上一页最后一条记录的ID，第一页为null
+     * @param limit 每页的最大记录数
+     * @return Flux包装的PremiumBracketApplicationDto对象流
+     */
+    public Flux<PremiumBracketApplicationDto> findPremiumBracketPage(Integer afterStdRem, Long afterId, int limit) {
+        return domainService.findPage(afterStdRem, afterId, limit)
+                .map(bracket -> new PremiumBracketApplicationDto(
+                        bracket.getId(),
+                        bracket.getGrade(),
+                        bracket.getStdRem(),
+                        bracket.getMinAmount(),
+                        bracket.getMaxAmount(),
+                        bracket.getHealthNoCare(),
+                        bracket.getHealthCare(),
+                        bracket.getPension(),
+                        bracket.getEffectiveFrom(),
+                        bracket.getEffectiveTo()));
+    }
+
+    /**
+     * 将年度工资模拟结果行的Domain DTO转换为Application DTO
+     * 
+     * @param domainDto Domain层的DTO
+     * @return Application层的DTO
      */
-    public Mono<SocialInsuranceApplicationDto> socialInsuranceQuery(Integer monthlySalary, Integer age) {
-        return domainService.socialInsuranceQuery(monthlySalary, age)
-                .map(this::convertToApplicationDto)
-                .doOnNext(dto -> {
-                    // 可以在这里添加应用层逻辑，如日志记录、审计等
-                });
+    private AnnualPayrollLineApplicationDto convertToApplicationDto(AnnualPayrollLineDomainDto domainDto) {
+        return new AnnualPayrollLineApplicationDto(
+                domainDto.getType(),
+                domainDto.getMonth(),
+                domainDto.getAge(),
+                domainDto.getCareApplicable(),
+                domainDto.getMonthlySalary(),
+                domainDto.getBonus(),
+                domainDto.getResult(),
+                domainDto.getBonusResult());
     }
 
     /**
-     * 将Domain DTO转换为Application DTO
-     * 采用流式编程风格进行转换
+     * 将批量查询的Domain DTO转换为Application DTO
      * 
      * @param domainDto Domain层的DTO
      * @return Application层的DTO
      */
-    private SocialInsuranceApplicationDto convertToApplicationDto(SocialInsuranceDomainDto domainDto) {
-        // 转换雇员费用
-        SocialInsuranceDomainDto.CostDetail domainEmployeeCost = domainDto.getEmployeeCost();
-        SocialInsuranceApplicationDto.CostDetail applicationEmployeeCost = new SocialInsuranceApplicationDto.CostDetail(
-                domainEmployeeCost.getHealthCostWithNoCare(),
-                domainEmployeeCost.getCareCost(),
-                domainEmployeeCost.getPension(),
-                domainEmployeeCost.getWithholdingTax(),
-                domainEmployeeCost.getEmploymentInsurance()
-        );
-        
-        // 转换雇主费用
-        SocialInsuranceDomainDto.CostDetail domainEmployerCost = domainDto.getEmployerCost();
-        SocialInsuranceApplicationDto.CostDetail applicationEmployerCost = new SocialInsuranceApplicationDto.CostDetail(
-                domainEmployerCost.getHealthCostWithNoCare(),
-                domainEmployerCost.getCareCost(),
-                domainEmployerCost.getPension(),
-                domainEmployerCost.getWithholdingTax(),
-                domainEmployerCost.getEmploymentInsurance()
-        );
-        
-        return new SocialInsuranceApplicationDto(applicationEmployeeCost, applicationEmployerCost);
+    private SocialInsuranceBatchResultApplicationDto convertToApplicationDto(SocialInsuranceBatchResultDomainDto domainDto) {
+        return new SocialInsuranceBatchResultApplicationDto(domainDto.getEmployeeId(), domainDto.getResult(),
+                domainDto.getError());
     }
 }
 
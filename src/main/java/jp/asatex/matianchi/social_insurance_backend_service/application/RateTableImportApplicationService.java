@@ -0,0 +1,43 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application;
+
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.RateTableImportApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.RateTableImportDomainService;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * 费率表批量导入Application Service
+ * 调用Domain层方法并处理DTO转换
+ */
+@Service
+public class RateTableImportApplicationService {
+
+    private final RateTableImportDomainService domainService;
+
+    public RateTableImportApplicationService(RateTableImportDomainService domainService) {
+        this.domainService = domainService;
+    }
+
+    /**
+     * 用CSV替换费率表的一个生效期间
+     *
+     * @param table 费率表名
+     * @param lines CSV的各行（不含换行符）
+     * @param effectiveFrom 生效开始日期（含）
+     * @param effectiveTo 生效结束日期（不含），为null时无期限
+     * @return Mono包装的RateTableImportApplicationDto对象
+     */
+    public Mono<RateTableImportApplicationDto> importRateTable(String table, Flux<String> lines,
+                                                               LocalDate effectiveFrom, LocalDate effectiveTo) {
+        return domainService.importRateTable(table, lines, effectiveFrom, effectiveTo)
+                .map(domainDto -> new RateTableImportApplicationDto(
+                        domainDto.getTable(),
+                        domainDto.getEffectiveFrom(),
+                        domainDto.getEffectiveTo(),
+                        domainDto.getImportedRows(),
+                        domainDto.getElapsedMillis()));
+    }
+}
@@ -0,0 +1,90 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application;
+
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.EmploymentInsuranceRateApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.PremiumBracketApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.RateTableRowApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.WithholdingTaxBracketApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.RateTableListingDomainService;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+
+/**
+ * 费率表流式浏览Application Service
+ * 调用Domain层方法并处理DTO转换
+ */
+@Service
+public class RateTableListingApplicationService {
+
+    private final RateTableListingDomainService domainService;
+
+    public RateTableListingApplicationService(RateTableListingDomainService domainService) {
+        this.domainService = domainService;
+    }
+
+    /**
+     * 流式读取费率表的记录
+     *
+     * @param table 费率表名
+     * @param cursor 上一次读取到的最后一条记录的游标，从头开始时为null
+     * @param limit 最大记录数，为null时读取到最后
+     * @return Flux包装的RateTableRowApplicationDto对象流
+     */
+    public Flux<RateTableRowApplicationDto> stream(String table, String cursor, Integer limit) {
+        return domainService.stream(table, cursor, limit)
+                .map(domainDto -> new RateTableRowApplicationDto(
+                        domainDto.getTable(),
+                        domainDto.getCursor(),
+                        convertToApplicationDto(domainDto.getRecord())));
+    }
+
+    /**
+     * 将费率表记录转换为对应的Application DTO
+     *
+     * @param record PremiumBracket、WithholdingTaxBracket或EmploymentInsuranceRate
+     * @return 对应的Application DTO
+     */
+    static Object convertToApplicationDto(Object record) {
+        if (record instanceof PremiumBracket bracket) {
+            return new PremiumBracketApplicationDto(
+                    bracket.getId(),
+                    bracket.getGrade(),
+                    bracket.getStdRem(),
+                    bracket.getMinAmount(),
+                    bracket.getMaxAmount(),
+                    bracket.getHealthNoCare(),
+                    bracket.getHealthCare(),
+                    bracket.getPension(),
+                    bracket.getEffectiveFrom(),
+                    bracket.getEffectiveTo());
+        }
+        if (record instanceof WithholdingTaxBracket bracket) {
+            return new WithholdingTaxBracketApplicationDto(
+                    bracket.getId(),
+                    bracket.getMinAmount(),
+                    bracket.getMaxAmount(),
+                    bracket.getTaxAmountKo(),
+                    bracket.getTaxAmountOtsu(),
+                    bracket.getTaxAmountKoDependents() != null
+                            ? Arrays.asList(bracket.getTaxAmountKoDependents())
+                            : null,
+                    bracket.getCalculationFormula(),
+                    bracket.getEffectiveFrom(),
+                    bracket.getEffectiveTo());
+        }
+        EmploymentInsuranceRate rate = (EmploymentInsuranceRate) record;
+        return new EmploymentInsuranceRateApplicationDto(
+                rate.getId(),
+                rate.getBusinessType(),
+                rate.getEmployeeRate(),
+                rate.getEmployerUnemploymentRate(),
+                rate.getEmployerTwoUndertakingsRate(),
+                rate.getTotalRate(),
+                rate.getEffectiveFrom(),
+                rate.getEffectiveTo());
+    }
+}
@@ -0,0 +1,42 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application;
+
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.RateTableDeltaApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.RateTablesChangeApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateTablesChangeFeed;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * 费率表变更推送Application Service
+ * 调用Domain层方法并处理DTO转换
+ */
+@Service
+public class RateTablesChangeApplicationService {
+
+    private final RateTablesChangeFeed changeFeed;
+
+    public RateTablesChangeApplicationService(RateTablesChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * 订阅费率表变更
+     * 第一个元素为snapshot（当前全部记录），之后每次费率表内容发生变化时发出一个change
+     *
+     * @return Flux包装的RateTablesChangeApplicationDto对象流
+     */
+    public Flux<RateTablesChangeApplicationDto> changes() {
+        return changeFeed.changes()
+                .map(domainDto -> new RateTablesChangeApplicationDto(
+                        domainDto.getVersion(),
+                        domainDto.getType(),
+                        domainDto.getTables().stream()
+                                .map(delta -> new RateTableDeltaApplicationDto(
+                                        delta.getTable(),
+                                        delta.getUpserted().stream()
+                                                .map(RateTableListingApplicationService::convertToApplicationDto)
+                                                .toList(),
+                                        delta.getDeletedIds()))
+                                .toList()));
+    }
+}
@@ -0,0 +1,65 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxMethod;
+
+/**
+ * 源泉征收税计算方法的选择策略
+ * 优先使用请求中指定的方法，其次使用租户的设置，都没有时使用默认方法
+ * 租户的设置以「租户ID:方法」的逗号分隔列表配置，例如 tenant-a:electronic,tenant-b:table
+ */
+@Component
+public class WithholdingTaxMethodPolicy {
+
+    private final WithholdingTaxMethod defaultMethod;
+    private final Map<String, WithholdingTaxMethod> tenantMethods;
+
+    public WithholdingTaxMethodPolicy(
+            @Value("${social-insurance.withholding-tax.default-method:table}") String defaultMethod,
+            @Value("${social-insurance.withholding-tax.tenant-methods:}") String tenantMethods) {
+        this.defaultMethod = WithholdingTaxMethod.of(defaultMethod.strip());
+        this.tenantMethods = parseTenantMethods(tenantMethods);
+    }
+
+    /**
+     * 决定一次计算使用的方法
+     *
+     * @param requestedMethod 请求中指定的方法（可选）
+     * @param tenantId 租户ID（可选）
+     * @return 源泉征收税的计算方法
+     * @throws IllegalArgumentException 请求中指定的方法不受支持时
+     */
+    public WithholdingTaxMethod resolve(String requestedMethod, String tenantId) {
+        if (requestedMethod != null && !requestedMethod.isEmpty()) {
+            return WithholdingTaxMethod.of(requestedMethod);
+        }
+        if (tenantId != null) {
+            WithholdingTaxMethod tenantMethod = tenantMethods.get(tenantId);
+            if (tenantMethod != null) {
+                return tenantMethod;
+            }
+        }
+        return defaultMethod;
+    }
+
+    private static Map<String, WithholdingTaxMethod> parseTenantMethods(String value) {
+        Map<String, WithholdingTaxMethod> methods = new HashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("租户的源泉征收税计算方法配置不合法: " + entry.strip());
+            }
+            methods.put(entry.substring(0, separator).strip(),
+                    WithholdingTaxMethod.of(entry.substring(separator + 1).strip()));
+        }
+        return Map.copyOf(methods);
+    }
+}
@@ -0,0 +1,170 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application.dto;
+
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceResult;
+
+import java.time.YearMonth;
+import java.util.Objects;
+
+/**
+ * 年度工资模拟结果行Application DTO
+ * 12个月度结果行之后跟随1个年度合计行
+ */
+public class AnnualPayrollLineApplicationDto {
+
+    /**
+     * 行类型：MONTH（月度结果）或TOTAL（年度合计）
+     */
+    private String type;
+
+    /**
+     * 月份（年度合计行为null）
+     */
+    private YearMonth month;
+
+    /**
+     * 该月末日的年龄（年度合计行为null）
+     */
+    private Integer age;
+
+    /**
+     * 该月是否从工资中扣除介护保险（年度合计行为null）
+     */
+    private Boolean careApplicable;
+
+    /**
+     * 月薪（年度合计行为12个月的合计）
+     */
+    private Long monthlySalary;
+
+    /**
+     * 奖金（年度合计行为全年合计，没有奖金时为0）
+     */
+    private Long bonus;
+
+    /**
+     * 月薪的社会保险金额（年度合计行为12个月的合计）
+     */
+    private SocialInsuranceResult result;
+
+    /**
+     * 奖金的社会保险金额（该月没有奖金时为null，年度合计行为全年合计）
+     */
+    private SocialInsuranceResult bonusResult;
+
+    // 默认构造函数
+    public AnnualPayrollLineApplicationDto() {
+    }
+
+    // 全参构造函数
+    public AnnualPayrollLineApplicationDto(String type, YearMonth month, Integer age, Boolean careApplicable,
+            Long monthlySalary, Long bonus, SocialInsuranceResult result,
+            SocialInsuranceResult bonusResult) {
+        this.type = type;
+        this.month = month;
+        this.age = age;
+        this.careApplicable = careApplicable;
+        this.monthlySalary = monthlySalary;
+        this.bonus = bonus;
+        this.result = result;
+        this.bonusResult = bonusResult;
+    }
+
+    // Getter和Setter方法
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public void setMonth(YearMonth month) {
+        this.month = month;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public Boolean getCareApplicable() {
+        return careApplicable;
+    }
+
+    public void setCareApplicable(Boolean careApplicable) {
+        this.careApplicable = careApplicable;
+    }
+
+    public Long getMonthlySalary() {
+        return monthlySalary;
+    }
+
+    public void setMonthlySalary(Long monthlySalary) {
+        this.monthlySalary = monthlySalary;
+    }
+
+    public Long getBonus() {
+        return bonus;
+    }
+
+    public void setBonus(Long bonus) {
+        this.bonus = bonus;
+    }
+
+    public SocialInsuranceResult getResult() {
+        return result;
+    }
+
+    public void setResult(SocialInsuranceResult result) {
+        this.result = result;
+    }
+
+    public SocialInsuranceResult getBonusResult() {
+        return bonusResult;
+    }
+
+    public void setBonusResult(SocialInsuranceResult bonusResult) {
+        this.bonusResult = bonusResult;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AnnualPayrollLineApplicationDto that = (AnnualPayrollLineApplicationDto) o;
+        return Objects.equals(type, that.type) &&
+               Objects.equals(month, that.month) &&
+               Objects.equals(age, that.age) &&
+               Objects.equals(careApplicable, that.careApplicable) &&
+               Objects.equals(monthlySalary, that.monthlySalary) &&
+               Objects.equals(bonus, that.bonus) &&
+               Objects.equals(result, that.result) &&
+               Objects.equals(bonusResult, that.bonusResult);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, month, age, careApplicable, monthlySalary, bonus, result, bonusResult);
+    }
+
+    @Override
+    public String toString() {
+        return "AnnualPayrollLineApplicationDto{" +
+               "type='" + type + '\'' +
+               ", month=" + month +
+               ", age=" + age +
+               ", careApplicable=" + careApplicable +
+               ", monthlySalary=" + monthlySalary +
+               ", bonus=" + bonus +
+               ", result=" + result +
+               ", bonusResult=" + bonusResult +
+               '}';
+    }
+}
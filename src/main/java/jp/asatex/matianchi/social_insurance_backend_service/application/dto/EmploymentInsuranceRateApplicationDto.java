@@ -0,0 +1,168 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 雇佣保险费率DTO
+ */
+public class EmploymentInsuranceRateApplicationDto {
+
+    /**
+     * 记录ID
+     */
+    private Long id;
+
+    /**
+     * 事业类型
+     */
+    private String businessType;
+
+    /**
+     * 劳动者负担费率（‰）
+     */
+    private BigDecimal employeeRate;
+
+    /**
+     * 事业主负担的失业等给付费率（‰）
+     */
+    private BigDecimal employerUnemploymentRate;
+
+    /**
+     * 事业主负担的雇佣保险二事业费率（‰）
+     */
+    private BigDecimal employerTwoUndertakingsRate;
+
+    /**
+     * 雇佣保险费率合计（‰）
+     */
+    private BigDecimal totalRate;
+
+    /**
+     * 生效开始日期（含）
+     */
+    private LocalDate effectiveFrom;
+
+    /**
+     * 生效结束日期（不含），null表示无期限
+     */
+    private LocalDate effectiveTo;
+
+    // 默认构造函数
+    public EmploymentInsuranceRateApplicationDto() {
+    }
+
+    // 全参构造函数
+    public EmploymentInsuranceRateApplicationDto(Long id, String businessType, BigDecimal employeeRate,
+            BigDecimal employerUnemploymentRate, BigDecimal employerTwoUndertakingsRate, BigDecimal totalRate,
+            LocalDate effectiveFrom, LocalDate effectiveTo) {
+        this.id = id;
+        this.businessType = businessType;
+        this.employeeRate = employeeRate;
+        this.employerUnemploymentRate = employerUnemploymentRate;
+        this.employerTwoUndertakingsRate = employerTwoUndertakingsRate;
+        this.totalRate = totalRate;
+        this.effectiveFrom = effectiveFrom;
+        this.effectiveTo = effectiveTo;
+    }
+
+    // Getter和Setter方法
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getBusinessType() {
+        return businessType;
+    }
+
+    public void setBusinessType(String businessType) {
+        this.businessType = businessType;
+    }
+
+    public BigDecimal getEmployeeRate() {
+        return employeeRate;
+    }
+
+    public void setEmployeeRate(BigDecimal employeeRate) {
+        this.employeeRate = employeeRate;
+    }
+
+    public BigDecimal getEmployerUnemploymentRate() {
+        return employerUnemploymentRate;
+    }
+
+    public void setEmployerUnemploymentRate(BigDecimal employerUnemploymentRate) {
+        this.employerUnemploymentRate = employerUnemploymentRate;
+    }
+
+    public BigDecimal getEmployerTwoUndertakingsRate() {
+        return employerTwoUndertakingsRate;
+    }
+
+    public void setEmployerTwoUndertakingsRate(BigDecimal employerTwoUndertakingsRate) {
+        this.employerTwoUndertakingsRate = employerTwoUndertakingsRate;
+    }
+
+    public BigDecimal getTotalRate() {
+        return totalRate;
+    }
+
+    public void setTotalRate(BigDecimal totalRate) {
+        this.totalRate = totalRate;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public LocalDate getEffectiveTo() {
+        return effectiveTo;
+    }
+
+    public void setEffectiveTo(LocalDate effectiveTo) {
+        this.effectiveTo = effectiveTo;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EmploymentInsuranceRateApplicationDto that = (EmploymentInsuranceRateApplicationDto) o;
+        return Objects.equals(id, that.id) &&
+               Objects.equals(businessType, that.businessType) &&
+               Objects.equals(employeeRate, that.employeeRate) &&
+               Objects.equals(employerUnemploymentRate, that.employerUnemploymentRate) &&
+               Objects.equals(employerTwoUndertakingsRate, that.employerTwoUndertakingsRate) &&
+               Objects.equals(totalRate, that.totalRate) &&
+               Objects.equals(effectiveFrom, that.effectiveFrom) &&
+               Objects.equals(effectiveTo, that.effectiveTo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, businessType, employeeRate, employerUnemploymentRate, employerTwoUndertakingsRate, totalRate, effectiveFrom, effectiveTo);
+    }
+
+    @Override
+    public String toString() {
+        return "EmploymentInsuranceRateApplicationDto{" +
+               "id=" + id +
+               ", businessType=" + businessType +
+               ", employeeRate=" + employeeRate +
+               ", employerUnemploymentRate=" + employerUnemploymentRate +
+               ", employerTwoUndertakingsRate=" + employerTwoUndertakingsRate +
+               ", totalRate=" + totalRate +
+               ", effectiveFrom=" + effectiveFrom +
+               ", effectiveTo=" + effectiveTo +
+               '}';
+    }
+}
@@ -0,0 +1,200 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 保险费等级DTO
+ */
+public class PremiumBracketApplicationDto {
+
+    /**
+     * 记录ID
+     */
+    private Long id;
+
+    /**
+     * 等级
+     */
+    private String grade;
+
+    /**
+     * 标准报酬
+     */
+    private Integer stdRem;
+
+    /**
+     * 最小值
+     */
+    private Integer minAmount;
+
+    /**
+     * 最大值（999999999表示无上限）
+     */
+    private Integer maxAmount;
+
+    /**
+     * 健康保险费（无护理）
+     */
+    private BigDecimal healthNoCare;
+
+    /**
+     * 健康保险费（有护理）
+     */
+    private BigDecimal healthCare;
+
+    /**
+     * 厚生年金保险费（0表示不适用）
+     */
+    private BigDecimal pension;
+
+    /**
+     * 生效开始日期（含）
+     */
+    private LocalDate effectiveFrom;
+
+    /**
+     * 生效结束日期（不含），null表示无期限
+     */
+    private LocalDate effectiveTo;
+
+    // 默认构造函数
+    public PremiumBracketApplicationDto() {
+    }
+
+    // 全参构造函数
+    public PremiumBracketApplicationDto(Long id, String grade, Integer stdRem, Integer minAmount, Integer maxAmount,
+            BigDecimal healthNoCare, BigDecimal healthCare, BigDecimal pension, LocalDate effectiveFrom,
+            LocalDate effectiveTo) {
+        this.id = id;
+        this.grade = grade;
+        this.stdRem = stdRem;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+        this.healthNoCare = healthNoCare;
+        this.healthCare = healthCare;
+        this.pension = pension;
+        this.effectiveFrom = effectiveFrom;
+        this.effectiveTo = effectiveTo;
+    }
+
+    // Getter和Setter方法
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getGrade() {
+        return grade;
+    }
+
+    public void setGrade(String grade) {
+        this.grade = grade;
+    }
+
+    public Integer getStdRem() {
+        return stdRem;
+    }
+
+    public void setStdRem(Integer stdRem) {
+        this.stdRem = stdRem;
+    }
+
+    public Integer getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(Integer minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public Integer getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(Integer maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public BigDecimal getHealthNoCare() {
+        return healthNoCare;
+    }
+
+    public void setHealthNoCare(BigDecimal healthNoCare) {
+        this.healthNoCare = healthNoCare;
+    }
+
+    public BigDecimal getHealthCare() {
+        return healthCare;
+    }
+
+    public void setHealthCare(BigDecimal healthCare) {
+        this.healthCare = healthCare;
+    }
+
+    public BigDecimal getPension() {
+        return pension;
+    }
+
+    public void setPension(BigDecimal pension) {
+        this.pension = pension;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public LocalDate getEffectiveTo() {
+        return effectiveTo;
+    }
+
+    public void setEffectiveTo(LocalDate effectiveTo) {
+        this.effectiveTo = effectiveTo;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PremiumBracketApplicationDto that = (PremiumBracketApplicationDto) o;
+        return Objects.equals(id, that.id) &&
+               Objects.equals(grade, that.grade) &&
+               Objects.equals(stdRem, that.stdRem) &&
+               Objects.equals(minAmount, that.minAmount) &&
+               Objects.equals(maxAmount, that.maxAmount) &&
+               Objects.equals(healthNoCare, that.healthNoCare) &&
+               Objects.equals(healthCare, that.healthCare) &&
+               Objects.equals(pension, that.pension) &&
+               Objects.equals(effectiveFrom, that.effectiveFrom) &&
+               Objects.equals(effectiveTo, that.effectiveTo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, grade, stdRem, minAmount, maxAmount, healthNoCare, healthCare, pension, effectiveFrom, effectiveTo);
+    }
+
+    @Override
+    public String toString() {
+        return "PremiumBracketApplicationDto{" +
+               "id=" + id +
+               ", grade=" + grade +
+               ", stdRem=" + stdRem +
+               ", minAmount=" + minAmount +
+               ", maxAmount=" + maxAmount +
+               ", healthNoCare=" + healthNoCare +
+               ", healthCare=" + healthCare +
+               ", pension=" + pension +
+               ", effectiveFrom=" + effectiveFrom +
+               ", effectiveTo=" + effectiveTo +
+               '}';
+    }
+}
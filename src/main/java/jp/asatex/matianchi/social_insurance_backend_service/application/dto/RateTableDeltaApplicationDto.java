@@ -0,0 +1,85 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 一张费率表的变更DTO
+ */
+public class RateTableDeltaApplicationDto {
+
+    /**
+     * 费率表名
+     */
+    private String table;
+
+    /**
+     * 新增或内容有变化的记录
+     */
+    private List<Object> upserted;
+
+    /**
+     * 已删除记录的ID
+     */
+    private List<Long> deletedIds;
+
+    // 默认构造函数
+    public RateTableDeltaApplicationDto() {
+    }
+
+    // 全参构造函数
+    public RateTableDeltaApplicationDto(String table, List<Object> upserted, List<Long> deletedIds) {
+        this.table = table;
+        this.upserted = upserted;
+        this.deletedIds = deletedIds;
+    }
+
+    // Getter和Setter方法
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public List<Object> getUpserted() {
+        return upserted;
+    }
+
+    public void setUpserted(List<Object> upserted) {
+        this.upserted = upserted;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public void setDeletedIds(List<Long> deletedIds) {
+        this.deletedIds = deletedIds;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RateTableDeltaApplicationDto that = (RateTableDeltaApplicationDto) o;
+        return Objects.equals(table, that.table) &&
+               Objects.equals(upserted, that.upserted) &&
+               Objects.equals(deletedIds, that.deletedIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(table, upserted, deletedIds);
+    }
+
+    @Override
+    public String toString() {
+        return "RateTableDeltaApplicationDto{" +
+               "table=" + table +
+               ", upserted=" + upserted +
+               ", deletedIds=" + deletedIds +
+               '}';
+    }
+}
@@ -0,0 +1,118 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application.dto;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 费率表批量导入结果DTO
+ */
+public class RateTableImportApplicationDto {
+
+    /**
+     * 费率表名（premium_bracket、withholding_tax_bracket或employment_insurance_rate）
+     */
+    private String table;
+
+    /**
+     * 生效开始日期（含）
+     */
+    private LocalDate effectiveFrom;
+
+    /**
+     * 生效结束日期（不含），null表示无期限
+     */
+    private LocalDate effectiveTo;
+
+    /**
+     * 导入的记录数
+     */
+    private Long importedRows;
+
+    /**
+     * 从开始读取CSV到事务提交的时间（毫秒）
+     */
+    private Long elapsedMillis;
+
+    // 默认构造函数
+    public RateTableImportApplicationDto() {
+    }
+
+    // 全参构造函数
+    public RateTableImportApplicationDto(String table, LocalDate effectiveFrom, LocalDate effectiveTo,
+            Long importedRows, Long elapsedMillis) {
+        this.table = table;
+        this.effectiveFrom = effectiveFrom;
+        this.effectiveTo = effectiveTo;
+        this.importedRows = importedRows;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Getter和Setter方法
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public LocalDate getEffectiveTo() {
+        return effectiveTo;
+    }
+
+    public void setEffectiveTo(LocalDate effectiveTo) {
+        this.effectiveTo = effectiveTo;
+    }
+
+    public Long getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(Long importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public Long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(Long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RateTableImportApplicationDto that = (RateTableImportApplicationDto) o;
+        return Objects.equals(table, that.table) &&
+               Objects.equals(effectiveFrom, that.effectiveFrom) &&
+               Objects.equals(effectiveTo, that.effectiveTo) &&
+               Objects.equals(importedRows, that.importedRows) &&
+               Objects.equals(elapsedMillis, that.elapsedMillis);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(table, effectiveFrom, effectiveTo, importedRows, elapsedMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "RateTableImportApplicationDto{" +
+               "table=" + table +
+               ", effectiveFrom=" + effectiveFrom +
+               ", effectiveTo=" + effectiveTo +
+               ", importedRows=" + importedRows +
+               ", elapsedMillis=" + elapsedMillis +
+               '}';
+    }
+}
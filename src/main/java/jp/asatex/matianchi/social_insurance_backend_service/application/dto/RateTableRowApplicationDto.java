@@ -0,0 +1,84 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application.dto;
+
+import java.util.Objects;
+
+/**
+ * 费率表流式浏览的一条记录DTO
+ */
+public class RateTableRowApplicationDto {
+
+    /**
+     * 费率表名
+     */
+    private String table;
+
+    /**
+     * 指向本记录的游标，从该游标继续时返回本记录之后的记录
+     */
+    private String cursor;
+
+    /**
+     * 记录（PremiumBracketApplicationDto、WithholdingTaxBracketApplicationDto或EmploymentInsuranceRateApplicationDto）
+     */
+    private Object row;
+
+    // 默认构造函数
+    public RateTableRowApplicationDto() {
+    }
+
+    // 全参构造函数
+    public RateTableRowApplicationDto(String table, String cursor, Object row) {
+        this.table = table;
+        this.cursor = cursor;
+        this.row = row;
+    }
+
+    // Getter和Setter方法
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Object getRow() {
+        return row;
+    }
+
+    public void setRow(Object row) {
+        this.row = row;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RateTableRowApplicationDto that = (RateTableRowApplicationDto) o;
+        return Objects.equals(table, that.table) &&
+               Objects.equals(cursor, that.cursor) &&
+               Objects.equals(row, that.row);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(table, cursor, row);
+    }
+
+    @Override
+    public String toString() {
+        return "RateTableRowApplicationDto{" +
+               "table=" + table +
+               ", cursor=" + cursor +
+               ", row=" + row +
+               '}';
+    }
+}
@@ -0,0 +1,85 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 费率表变更事件DTO
+ */
+public class RateTablesChangeApplicationDto {
+
+    /**
+     * 费率表版本号，同一连接内严格递增
+     */
+    private Long version;
+
+    /**
+     * 事件类型（snapshot或change）
+     */
+    private String type;
+
+    /**
+     * 各费率表的变更
+     */
+    private List<RateTableDeltaApplicationDto> tables;
+
+    // 默认构造函数
+    public RateTablesChangeApplicationDto() {
+    }
+
+    // 全参构造函数
+    public RateTablesChangeApplicationDto(Long version, String type, List<RateTableDeltaApplicationDto> tables) {
+        this.version = version;
+        this.type = type;
+        this.tables = tables;
+    }
+
+    // Getter和Setter方法
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public List<RateTableDeltaApplicationDto> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<RateTableDeltaApplicationDto> tables) {
+        this.tables = tables;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RateTablesChangeApplicationDto that = (RateTablesChangeApplicationDto) o;
+        return Objects.equals(version, that.version) &&
+               Objects.equals(type, that.type) &&
+               Objects.equals(tables, that.tables);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(version, type, tables);
+    }
+
+    @Override
+    public String toString() {
+        return "RateTablesChangeApplicationDto{" +
+               "version=" + version +
+               ", type=" + type +
+               ", tables=" + tables +
+               '}';
+    }
+}
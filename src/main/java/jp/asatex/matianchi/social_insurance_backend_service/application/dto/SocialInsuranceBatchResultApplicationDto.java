@@ -0,0 +1,87 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application.dto;
+
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceResult;
+
+import java.util.Objects;
+
+/**
+ * 批量社会保险金额查询结果Application DTO
+ * 用于Application层返回批量计算中一名员工的结果
+ */
+public class SocialInsuranceBatchResultApplicationDto {
+
+    /**
+     * 员工ID
+     */
+    private String employeeId;
+
+    /**
+     * 社会保险金额查询结果
+     */
+    private SocialInsuranceResult result;
+
+    /**
+     * 错误消息（计算成功时为null）
+     */
+    private String error;
+
+    // 默认构造函数
+    public SocialInsuranceBatchResultApplicationDto() {
+    }
+
+    // 全参构造函数
+    public SocialInsuranceBatchResultApplicationDto(String employeeId, SocialInsuranceResult result, String error) {
+        this.employeeId = employeeId;
+        this.result = result;
+        this.error = error;
+    }
+
+    // Getter和Setter方法
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public SocialInsuranceResult getResult() {
+        return result;
+    }
+
+    public void setResult(SocialInsuranceResult result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SocialInsuranceBatchResultApplicationDto that = (SocialInsuranceBatchResultApplicationDto) o;
+        return Objects.equals(employeeId, that.employeeId) &&
+               Objects.equals(result, that.result) &&
+               Objects.equals(error, that.error);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(employeeId, result, error);
+    }
+
+    @Override
+    public String toString() {
+        return "SocialInsuranceBatchResultApplicationDto{" +
+               "employeeId='" + employeeId + '\'' +
+               ", result=" + result +
+               ", error='" + error + '\'' +
+               '}';
+    }
+}
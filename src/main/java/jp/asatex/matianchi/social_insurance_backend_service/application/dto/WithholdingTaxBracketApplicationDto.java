@@ -0,0 +1,184 @@
+package jp.asatex.matianchi.social_insurance_backend_service.application.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 源泉征收税等级DTO
+ */
+public class WithholdingTaxBracketApplicationDto {
+
+    /**
+     * 记录ID
+     */
+    private Long id;
+
+    /**
+     * 最小值（含）
+     */
+    private Integer minAmount;
+
+    /**
+     * 最大值（不含，999999999表示无上限）
+     */
+    private Integer maxAmount;
+
+    /**
+     * 甲栏税额（扶养亲属0人）
+     */
+    private Integer taxAmountKo;
+
+    /**
+     * 乙栏税额
+     */
+    private Integer taxAmountOtsu;
+
+    /**
+     * 甲栏税额（扶养亲属1～7人）
+     */
+    private List<Integer> taxAmountKoDependents;
+
+    /**
+     * 计算公式（超出税额表范围时）
+     */
+    private String calculationFormula;
+
+    /**
+     * 生效开始日期（含）
+     */
+    private LocalDate effectiveFrom;
+
+    /**
+     * 生效结束日期（不含），null表示无期限
+     */
+    private LocalDate effectiveTo;
+
+    // 默认构造函数
+    public WithholdingTaxBracketApplicationDto() {
+    }
+
+    // 全参构造函数
+    public WithholdingTaxBracketApplicationDto(Long id, Integer minAmount, Integer maxAmount, Integer taxAmountKo,
+            Integer taxAmountOtsu, List<Integer> taxAmountKoDependents, String calculationFormula,
+            LocalDate effectiveFrom, LocalDate effectiveTo) {
+        this.id = id;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+        this.taxAmountKo = taxAmountKo;
+        this.taxAmountOtsu = taxAmountOtsu;
+        this.taxAmountKoDependents = taxAmountKoDependents;
+        this.calculationFormula = calculationFormula;
+        this.effectiveFrom = effectiveFrom;
+        this.effectiveTo = effectiveTo;
+    }
+
+    // Getter和Setter方法
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(Integer minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public Integer getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(Integer maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public Integer getTaxAmountKo() {
+        return taxAmountKo;
+    }
+
+    public void setTaxAmountKo(Integer taxAmountKo) {
+        this.taxAmountKo = taxAmountKo;
+    }
+
+    public Integer getTaxAmountOtsu() {
+        return taxAmountOtsu;
+    }
+
+    public void setTaxAmountOtsu(Integer taxAmountOtsu) {
+        this.taxAmountOtsu = taxAmountOtsu;
+    }
+
+    public List<Integer> getTaxAmountKoDependents() {
+        return taxAmountKoDependents;
+    }
+
+    public void setTaxAmountKoDependents(List<Integer> taxAmountKoDependents) {
+        this.taxAmountKoDependents = taxAmountKoDependents;
+    }
+
+    public String getCalculationFormula() {
+        return calculationFormula;
+    }
+
+    public void setCalculationFormula(String calculationFormula) {
+        this.calculationFormula = calculationFormula;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public LocalDate getEffectiveTo() {
+        return effectiveTo;
+    }
+
+    public void setEffectiveTo(LocalDate effectiveTo) {
+        this.effectiveTo = effectiveTo;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WithholdingTaxBracketApplicationDto that = (WithholdingTaxBracketApplicationDto) o;
+        return Objects.equals(id, that.id) &&
+               Objects.equals(minAmount, that.minAmount) &&
+               Objects.equals(maxAmount, that.maxAmount) &&
+               Objects.equals(taxAmountKo, that.taxAmountKo) &&
+               Objects.equals(taxAmountOtsu, that.taxAmountOtsu) &&
+               Objects.equals(taxAmountKoDependents, that.taxAmountKoDependents) &&
+               Objects.equals(calculationFormula, that.calculationFormula) &&
+               Objects.equals(effectiveFrom, that.effectiveFrom) &&
+               Objects.equals(effectiveTo, that.effectiveTo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, minAmount, maxAmount, taxAmountKo, taxAmountOtsu, taxAmountKoDependents, calculationFormula, effectiveFrom, effectiveTo);
+    }
+
+    @Override
+    public String toString() {
+        return "WithholdingTaxBracketApplicationDto{" +
+               "id=" + id +
+               ", minAmount=" + minAmount +
+               ", maxAmount=" + maxAmount +
+               ", taxAmountKo=" + taxAmountKo +
+               ", taxAmountOtsu=" + taxAmountOtsu +
+               ", taxAmountKoDependents=" + taxAmountKoDependents +
+               ", calculationFormula=" + calculationFormula +
+               ", effectiveFrom=" + effectiveFrom +
+               ", effectiveTo=" + effectiveTo +
+               '}';
+    }
+}
@@ -2,6 +2,7 @@ package jp.asatex.matianchi.social_insurance_backend_service.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
@@ -32,6 +33,9 @@ public class CorsConfig {
         // 允许所有请求头
         corsConfiguration.addAllowedHeader("*");
         
+        // 允许前端读取ETag响应头，用于条件请求
+        corsConfiguration.addExposedHeader(HttpHeaders.ETAG);
+        
         // 允许发送凭证（cookies、authorization headers等）
         corsConfiguration.setAllowCredentials(true);
         
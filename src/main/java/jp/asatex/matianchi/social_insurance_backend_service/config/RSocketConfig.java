@@ -0,0 +1,44 @@
+package jp.asatex.matianchi.social_insurance_backend_service.config;
+
+import io.rsocket.core.RSocketServer;
+import io.rsocket.transport.netty.server.WebsocketRouteTransport;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.reactor.netty.NettyRouteProvider;
+import org.springframework.boot.rsocket.server.RSocketServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+
+/**
+ * RSocket配置类
+ * TCP传输由Spring Boot自动配置的RSocket服务器提供（spring.rsocket.server.port），
+ * WebSocket传输挂载在WebFlux的HTTP服务器上，只能使用HTTP端口的调用方通过同一个端口连接
+ * 两种传输使用同一个RSocketMessageHandler，路由和编解码器（CBOR、JSON）相同
+ */
+@Configuration
+public class RSocketConfig {
+
+    /**
+     * 在HTTP服务器的指定路径上接受RSocket over WebSocket连接
+     * 与Spring Boot的RSocket服务器应用相同的RSocketServerCustomizer（零拷贝的帧解码等）
+     *
+     * @param path WebSocket的路径
+     * @param messageHandler 处理@MessageMapping的RSocketMessageHandler
+     * @param customizers RSocket服务器的定制器
+     * @return NettyRouteProvider WebSocket路由
+     */
+    @Bean
+    @ConditionalOnProperty(name = "social-insurance.rsocket.websocket-path")
+    public NettyRouteProvider rSocketWebSocketRouteProvider(
+            @Value("${social-insurance.rsocket.websocket-path}") String path,
+            RSocketMessageHandler messageHandler,
+            ObjectProvider<RSocketServerCustomizer> customizers) {
+        return routes -> {
+            RSocketServer server = RSocketServer.create(messageHandler.responder());
+            customizers.orderedStream().forEach(customizer -> customizer.customize(server));
+            return routes.ws(path, WebsocketRouteTransport.newHandler(server.asConnectionAcceptor()));
+        };
+    }
+}
@@ -0,0 +1,180 @@
+package jp.asatex.matianchi.social_insurance_backend_service.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.PremiumBracketDomainService;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateSnapshotManager;
+import jp.asatex.matianchi.social_insurance_calculation.rate.RateSnapshotIndex;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * 启动预热
+ * 在就绪探针切换为ACCEPTING_TRAFFIC之前依次执行三个阶段：
+ * 1. 预先建立连接池中的连接
+ * 2. 加载费率快照
+ * 3. 用一组合成的月薪执行与socialInsuranceQuery相同的计算并序列化为JSON，让JIT编译热点代码；
+ *    不经过计算结果缓存，也不记录计算阶段的耗时，预热不占用缓存条目，不影响缓存统计和计算阶段的指标
+ * ApplicationRunner在ApplicationReadyEvent之前执行，Netty已经开始监听但就绪状态仍为REFUSING_TRAFFIC，
+ * 滚动部署时新实例在预热完成后才接收流量
+ * 各阶段的耗时输出到日志，并记录到social_insurance.warmup.phase计时器；任何阶段失败都只记录警告，不阻止启动
+ */
+@Component
+public class StartupWarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmupRunner.class);
+
+    /**
+     * 计时器名称，各阶段通过phase标签区分
+     */
+    public static final String TIMER_NAME = "social_insurance.warmup.phase";
+
+    /**
+     * 合成调用使用的年龄，覆盖介护保险适用（40岁）前后两种情况
+     */
+    private static final Integer[] SWEEP_AGES = {39, 40};
+
+    private final ConnectionFactory connectionFactory;
+    private final RateSnapshotManager rateSnapshotManager;
+    private final PremiumBracketDomainService domainService;
+    private final ObjectProvider<JsonMapper> jsonMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean rateSnapshotEnabled;
+    private final int sweepMaxSalary;
+    private final int sweepStep;
+    private final Duration timeout;
+
+    public StartupWarmupRunner(
+            ConnectionFactory connectionFactory,
+            RateSnapshotManager rateSnapshotManager,
+            PremiumBracketDomainService domainService,
+            ObjectProvider<JsonMapper> jsonMapper,
+            MeterRegistry meterRegistry,
+            @Value("${social-insurance.warmup.enabled:true}") boolean enabled,
+            @Value("${social-insurance.rate-snapshot.enabled:true}") boolean rateSnapshotEnabled,
+            @Value("${social-insurance.warmup.sweep.max-salary:2000000}") int sweepMaxSalary,
+            @Value("${social-insurance.warmup.sweep.step:100}") int sweepStep,
+            @Value("${social-insurance.warmup.phase-timeout:60s}") Duration timeout) {
+        this.connectionFactory = connectionFactory;
+        this.rateSnapshotManager = rateSnapshotManager;
+        this.domainService = domainService;
+        this.jsonMapper = jsonMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.rateSnapshotEnabled = rateSnapshotEnabled;
+        this.sweepMaxSalary = sweepMaxSalary;
+        this.sweepStep = sweepStep;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        runPhase("pool_prefill", this::prefillPool);
+        runPhase("rate_preload", this::preloadRates);
+        runPhase("synthetic_sweep", this::sweep);
+        log.info("启动预热完成: 总耗时 {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * 执行一个预热阶段并记录耗时
+     *
+     * @param phase 阶段名称
+     * @param action 阶段内容，返回用于日志的结果说明
+     */
+    private void runPhase(String phase, PhaseAction action) {
+        long phaseStart = System.nanoTime();
+        String outcome;
+        try {
+            outcome = action.run();
+        } catch (RuntimeException e) {
+            outcome = "失败: " + e.getMessage();
+            log.warn("启动预热阶段 {} 失败，继续启动", phase, e);
+        }
+        long elapsed = System.nanoTime() - phaseStart;
+        Timer.builder(TIMER_NAME)
+                .description("启动预热各阶段的耗时")
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("启动预热阶段 {}: {} ms ({})", phase, TimeUnit.NANOSECONDS.toMillis(elapsed), outcome);
+    }
+
+    /**
+     * 预先建立连接池的初始连接（spring.r2dbc.pool.initial-size）
+     */
+    private String prefillPool() {
+        if (!(connectionFactory instanceof ConnectionPool pool)) {
+            return "未使用连接池，跳过";
+        }
+        Integer created = pool.warmup().block(timeout);
+        return "新建连接 " + created + " 个";
+    }
+
+    /**
+     * 加载费率快照
+     */
+    private String preloadRates() {
+        if (!rateSnapshotEnabled) {
+            return "费率快照已禁用，跳过";
+        }
+        RateSnapshotIndex index = rateSnapshotManager.current().block(timeout);
+        return "生效期间 " + (index != null ? index.periodCount() : 0) + " 个";
+    }
+
+    /**
+     * 按固定步长遍历月薪，计算社会保险金额并序列化为JSON
+     * 超出等级表范围等业务错误以及单个月薪的任何异常都不影响预热，跳过该月薪即可
+     * 费率快照被禁用时加载一份独立的快照，整个扫描共用
+     */
+    private String sweep() {
+        JsonMapper mapper = jsonMapper.getIfAvailable();
+        int step = Math.max(1, sweepStep);
+        long[] skipped = new long[1];
+        Long calls = Flux.fromArray(SWEEP_AGES)
+                .concatMap(age -> domainService.warmupSweep(sweepMaxSalary, step, age))
+                .filter(item -> {
+                    if (item.getResult() == null) {
+                        skipped[0]++;
+                        return false;
+                    }
+                    try {
+                        if (mapper != null) {
+                            mapper.writeValueAsBytes(item.getResult());
+                        }
+                        return true;
+                    } catch (RuntimeException e) {
+                        skipped[0]++;
+                        return false;
+                    }
+                })
+                .count()
+                .block(timeout);
+        return "成功计算 " + calls + " 次，跳过 " + skipped[0] + " 次";
+    }
+
+    /**
+     * 预热阶段
+     */
+    @FunctionalInterface
+    private interface PhaseAction {
+        String run();
+    }
+}
@@ -0,0 +1,43 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceResultCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 缓存管理Controller
+ * 提供计算结果缓存的统计信息，用于评估缓存容量
+ * 同样的统计也以cache=social_insurance_result标签导出到Micrometer（Prometheus）
+ */
+@RestController
+@RequestMapping("/admin/cache")
+public class CacheAdminController {
+    private final SocialInsuranceResultCache resultCache;
+
+    public CacheAdminController(SocialInsuranceResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    @GetMapping("/result-stats")
+    public Mono<Map<String, Object>> resultCacheStats() {
+        return Mono.fromSupplier(() -> {
+            CacheStats stats = resultCache.stats();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("enabled", resultCache.isEnabled());
+            result.put("size", resultCache.estimatedSize());
+            result.put("hit_count", stats.hitCount());
+            result.put("miss_count", stats.missCount());
+            result.put("hit_ratio", stats.hitRate());
+            result.put("eviction_count", stats.evictionCount());
+            result.put("load_count", stats.loadSuccessCount());
+            result.put("average_load_nanos", stats.averageLoadPenalty());
+            return result;
+        });
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
@@ -56,6 +57,22 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * 处理ServerWebInputException异常
+     * 用于请求参数缺失或类型转换失败（例如生效日期格式错误）
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public Mono<ResponseEntity<ErrorResponseDto>> handleServerWebInputException(
+            ServerWebInputException ex, ServerWebExchange exchange) {
+        return createErrorResponse(
+                ex,
+                HttpStatus.BAD_REQUEST,
+                "Bad Request",
+                exchange.getRequest().getPath().value(),
+                ex.getReason()
+        );
+    }
+
     /**
      * 处理所有其他异常
      * 作为兜底异常处理器
@@ -0,0 +1,286 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledPremiumBracket;
+import jp.asatex.matianchi.social_insurance_calculation.rate.NetPayTableSweep;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 实发工资表的编码器
+ * 把NetPayTableSweep的各行直接写入响应的DataBuffer（Netty运行时为池化的ByteBuf），
+ * 不经过DTO和Jackson，每行不创建对象；数字按定点数直接写成ASCII
+ * 每个DataBuffer约32KB，通过Flux.generate按下游请求逐个生成，客户端读取慢时扫描随之暂停
+ */
+final class NetPayTableEncoder {
+
+    /**
+     * 导出格式
+     */
+    enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        MediaType getMediaType() {
+            return mediaType;
+        }
+
+        String getExtension() {
+            return extension;
+        }
+
+        /**
+         * 根据请求参数解析导出格式
+         *
+         * @param value csv或ndjson（不区分大小写）
+         * @return 导出格式
+         * @throws IllegalArgumentException 不支持的格式
+         */
+        static Format of(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("不支持的导出格式: " + value + "（可选值：csv、ndjson）");
+        }
+    }
+
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    /**
+     * 一行的最大字节数，缓冲区剩余空间不足时换下一个缓冲区
+     */
+    private static final int MAX_ROW_BYTES = 1024;
+
+    private static final byte[] CSV_HEADER = ascii("monthlySalary,"
+            + "employeeHealthCostWithNoCare,employeeCareCost,employeePension,employeeWithholdingTax,"
+            + "employeeEmploymentInsurance,"
+            + "employerHealthCostWithNoCare,employerCareCost,employerPension,employerWithholdingTax,"
+            + "employerEmploymentInsurance,"
+            + "netPay,error\n");
+    private static final byte[] CSV_ERROR_COLUMNS = ascii(",,,,,,,,,,,,");
+
+    private static final byte[] JSON_MONTHLY_SALARY = ascii("{\"monthlySalary\":");
+    private static final byte[] JSON_EMPLOYEE_COST = ascii(",\"employeeCost\":");
+    private static final byte[] JSON_EMPLOYER_COST = ascii(",\"employerCost\":");
+    private static final byte[] JSON_HEALTH = ascii("{\"healthCostWithNoCare\":");
+    private static final byte[] JSON_CARE = ascii(",\"careCost\":");
+    private static final byte[] JSON_PENSION = ascii(",\"pension\":");
+    private static final byte[] JSON_WITHHOLDING_TAX = ascii(",\"withholdingTax\":");
+    private static final byte[] JSON_EMPLOYMENT_INSURANCE = ascii(",\"employmentInsurance\":");
+    private static final byte[] JSON_NET_PAY = ascii(",\"netPay\":");
+    private static final byte[] JSON_ERROR = ascii(",\"error\":");
+    private static final byte[] JSON_ROW_END = ascii("}\n");
+
+    private NetPayTableEncoder() {
+    }
+
+    /**
+     * 将扫描结果编码为DataBuffer流
+     *
+     * @param sweep 实发工资表的扫描
+     * @param format 导出格式
+     * @param bufferFactory 响应的DataBufferFactory
+     * @return DataBuffer流，下游取消时未写出的缓冲区被释放
+     */
+    static Flux<DataBuffer> encode(NetPayTableSweep sweep, Format format, DataBufferFactory bufferFactory) {
+        return Flux.<DataBuffer, State>generate(
+                        () -> new State(sweep, format),
+                        (state, sink) -> {
+                            if (state.done) {
+                                sink.complete();
+                                return state;
+                            }
+                            DataBuffer buffer = bufferFactory.allocateBuffer(BUFFER_SIZE);
+                            try {
+                                state.fill(buffer);
+                            } catch (RuntimeException e) {
+                                DataBufferUtils.release(buffer);
+                                throw e;
+                            }
+                            sink.next(buffer);
+                            return state;
+                        })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * 一次导出的编码状态，在generate的回调之间依次使用
+     */
+    private static final class State {
+
+        private final NetPayTableSweep sweep;
+        private final Format format;
+        private final NetPayTableSweep.Row row = new NetPayTableSweep.Row();
+
+        /**
+         * 数字转换用的临时数组
+         */
+        private final byte[] digits = new byte[24];
+
+        /**
+         * 上一行的保险费等级及其金额的文本，等级不变时直接复用
+         */
+        private CompiledPremiumBracket bracket;
+        private byte[] healthCostHalf;
+        private byte[] careCostHalf;
+        private byte[] pensionHalf;
+
+        private boolean headerWritten;
+        private boolean done;
+
+        private State(NetPayTableSweep sweep, Format format) {
+            this.sweep = sweep;
+            this.format = format;
+        }
+
+        private void fill(DataBuffer buffer) {
+            if (!headerWritten) {
+                if (format == Format.CSV) {
+                    buffer.write(CSV_HEADER);
+                }
+                headerWritten = true;
+            }
+            while (buffer.writableByteCount() >= MAX_ROW_BYTES) {
+                if (!sweep.next(row)) {
+                    done = true;
+                    return;
+                }
+                if (row.getError() == null && row.getPremiumBracket() != bracket) {
+                    bracket = row.getPremiumBracket();
+                    healthCostHalf = ascii(bracket.getHealthCostHalf().toPlainString());
+                    careCostHalf = ascii(bracket.careCostHalf(sweep.isCareApplicable()).toPlainString());
+                    pensionHalf = ascii(bracket.getPensionHalf().toPlainString());
+                }
+                if (format == Format.CSV) {
+                    writeCsvRow(buffer);
+                } else {
+                    writeJsonRow(buffer);
+                }
+            }
+        }
+
+        private void writeCsvRow(DataBuffer buffer) {
+            writeFixed(buffer, row.getMonthlySalary(), 0);
+            if (row.getError() != null) {
+                buffer.write(CSV_ERROR_COLUMNS);
+                writeQuoted(buffer, row.getError(), (byte) '"', (byte) '"');
+                buffer.write((byte) '\n');
+                return;
+            }
+            buffer.write((byte) ',');
+            writeCsvCost(buffer, row.getWithholdingTaxYen(),
+                    row.getEmployeeEmploymentInsuranceSen());
+            buffer.write((byte) ',');
+            writeCsvCost(buffer, 0L, row.getEmployerEmploymentInsuranceSen());
+            buffer.write((byte) ',');
+            writeFixed(buffer, row.getNetPayMilliYen(), 3);
+            buffer.write((byte) ',');
+            buffer.write((byte) '\n');
+        }
+
+        private void writeCsvCost(DataBuffer buffer, long withholdingTaxYen, long employmentInsuranceSen) {
+            buffer.write(healthCostHalf);
+            buffer.write((byte) ',');
+            buffer.write(careCostHalf);
+            buffer.write((byte) ',');
+            buffer.write(pensionHalf);
+            buffer.write((byte) ',');
+            writeFixed(buffer, withholdingTaxYen, 0);
+            buffer.write((byte) ',');
+            writeFixed(buffer, employmentInsuranceSen, 2);
+        }
+
+        private void writeJsonRow(DataBuffer buffer) {
+            buffer.write(JSON_MONTHLY_SALARY);
+            writeFixed(buffer, row.getMonthlySalary(), 0);
+            if (row.getError() != null) {
+                buffer.write(JSON_ERROR);
+                writeQuoted(buffer, row.getError(), (byte) '\\', (byte) '"');
+                buffer.write(JSON_ROW_END);
+                return;
+            }
+            buffer.write(JSON_EMPLOYEE_COST);
+            writeJsonCost(buffer, row.getWithholdingTaxYen(),
+                    row.getEmployeeEmploymentInsuranceSen());
+            buffer.write(JSON_EMPLOYER_COST);
+            writeJsonCost(buffer, 0L, row.getEmployerEmploymentInsuranceSen());
+            buffer.write(JSON_NET_PAY);
+            writeFixed(buffer, row.getNetPayMilliYen(), 3);
+            buffer.write(JSON_ROW_END);
+        }
+
+        private void writeJsonCost(DataBuffer buffer, long withholdingTaxYen, long employmentInsuranceSen) {
+            buffer.write(JSON_HEALTH);
+            buffer.write(healthCostHalf);
+            buffer.write(JSON_CARE);
+            buffer.write(careCostHalf);
+            buffer.write(JSON_PENSION);
+            buffer.write(pensionHalf);
+            buffer.write(JSON_WITHHOLDING_TAX);
+            writeFixed(buffer, withholdingTaxYen, 0);
+            buffer.write(JSON_EMPLOYMENT_INSURANCE);
+            writeFixed(buffer, employmentInsuranceSen, 2);
+            buffer.write((byte) '}');
+        }
+
+        /**
+         * 写出定点数，例如value=165000、scale=2时写出1650.00
+         */
+        private void writeFixed(DataBuffer buffer, long value, int scale) {
+            long magnitude = Math.abs(value);
+            int position = digits.length;
+            for (int i = 0; i < scale; i++) {
+                digits[--position] = (byte) ('0' + magnitude % 10);
+                magnitude /= 10;
+            }
+            if (scale > 0) {
+                digits[--position] = '.';
+            }
+            do {
+                digits[--position] = (byte) ('0' + magnitude % 10);
+                magnitude /= 10;
+            } while (magnitude > 0);
+            if (value < 0) {
+                digits[--position] = '-';
+            }
+            buffer.write(digits, position, digits.length - position);
+        }
+    }
+
+    /**
+     * 写出加引号的字符串，引号前加escape字节（CSV为引号本身，JSON为反斜杠）
+     * UTF-8中多字节字符的各字节都不小于0x80，不会与引号、反斜杠或控制字符混淆
+     */
+    static void writeQuoted(DataBuffer buffer, String value, byte escape, byte quote) {
+        buffer.write(quote);
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            if (b == quote || b == '\\' && escape == '\\') {
+                buffer.write(escape);
+                buffer.write(b);
+            } else if (b >= 0 && b < 0x20) {
+                buffer.write((byte) ' ');
+            } else {
+                buffer.write(b);
+            }
+        }
+        buffer.write(quote);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
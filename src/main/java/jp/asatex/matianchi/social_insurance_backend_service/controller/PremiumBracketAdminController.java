@@ -0,0 +1,70 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import jp.asatex.matianchi.social_insurance_backend_service.application.PremiumBracketApplicationService;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.PremiumBracketApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.PremiumBracketDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.PremiumBracketPageDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * 保险费等级管理Controller
+ * 提供保险费等级表的分页浏览
+ */
+@RestController
+@RequestMapping("/admin/premium-brackets")
+public class PremiumBracketAdminController {
+
+    private final PremiumBracketApplicationService applicationService;
+
+    public PremiumBracketAdminController(PremiumBracketApplicationService applicationService) {
+        this.applicationService = applicationService;
+    }
+
+    /**
+     * 按(标准报酬, ID)的keyset分页查找保险费等级记录
+     * GET端点：/admin/premium-brackets
+     * 第一页不指定afterStdRem和afterId，之后使用上一页响应中的nextAfterStdRem和nextAfterId；
+     * 每一页都由索引直接定位，与OFFSET分页不同，翻到后面的页不会变慢，翻页期间插入或删除记录也不会重复或遗漏
+     *
+     * @param afterStdRem 上一页最后一条记录的标准报酬（可选）
+     * @param afterId 上一页最后一条记录的ID（可选，与afterStdRem同时指定）
+     * @param limit 每页的最大记录数（可选，默认为100，最大1000）
+     * @return Mono包装的ResponseEntity<PremiumBracketPageDto>
+     */
+    @GetMapping
+    public Mono<ResponseEntity<PremiumBracketPageDto>> findPage(
+            @RequestParam(value = "afterStdRem", required = false) Integer afterStdRem,
+            @RequestParam(value = "afterId", required = false) Long afterId,
+            @RequestParam(value = "limit", defaultValue = "100") Integer limit) {
+        return applicationService.findPremiumBracketPage(afterStdRem, afterId, limit)
+                .map(this::convertToDto)
+                .collectList()
+                .map(items -> {
+                    // 本页已满时可能还有下一页，以最后一条记录作为下一页的起点
+                    PremiumBracketDto last = items.size() == limit ? items.get(items.size() - 1) : null;
+                    return new PremiumBracketPageDto(items,
+                            last != null ? last.getStdRem() : null,
+                            last != null ? last.getId() : null);
+                })
+                .map(ResponseEntity::ok);
+    }
+
+    private PremiumBracketDto convertToDto(PremiumBracketApplicationDto applicationDto) {
+        return new PremiumBracketDto(
+                applicationDto.getId(),
+                applicationDto.getGrade(),
+                applicationDto.getStdRem(),
+                applicationDto.getMinAmount(),
+                applicationDto.getMaxAmount(),
+                applicationDto.getHealthNoCare(),
+                applicationDto.getHealthCare(),
+                applicationDto.getPension(),
+                applicationDto.getEffectiveFrom(),
+                applicationDto.getEffectiveTo());
+    }
+}
@@ -1,15 +1,42 @@
 package jp.asatex.matianchi.social_insurance_backend_service.controller;
 
 import jp.asatex.matianchi.social_insurance_backend_service.application.PremiumBracketApplicationService;
-import jp.asatex.matianchi.social_insurance_backend_service.application.dto.SocialInsuranceApplicationDto;
-import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.SocialInsuranceDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.AnnualPayrollLineApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.AnnualPayrollSimulationQueryApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.SocialInsuranceBatchQueryApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.SocialInsuranceBatchResultApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.AnnualPayrollLineDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.AnnualPayrollSimulationRequestDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.ReverseSocialInsuranceDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.SocialInsuranceBatchRequestDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.SocialInsuranceBatchResultDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.WithholdingTaxDifferentialDto;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * 保险费等级Controller
  * 提供RESTful API端点，采用WebFlux响应式编程风格
@@ -18,59 +45,284 @@ import reactor.core.publisher.Mono;
 @RequestMapping("/")
 public class PremiumBracketController {
 
+    /**
+     * 指定租户的请求头
+     */
+    private static final String TENANT_HEADER = "X-Tenant-Id";
+
     private final PremiumBracketApplicationService applicationService;
 
-    public PremiumBracketController(PremiumBracketApplicationService applicationService) {
+    /**
+     * 社会保险金额查询结果的Cache-Control
+     */
+    private final CacheControl cacheControl;
+
+    public PremiumBracketController(PremiumBracketApplicationService applicationService,
+                                    @Value("${social-insurance.http-cache.max-age:PT1M}") Duration cacheMaxAge) {
         this.applicationService = applicationService;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic();
     }
 
     /**
      * 查询社会保险金额
      * GET端点：/socialInsuranceQuery
+     * 响应带有由查询条件和所用费率内容生成的ETag以及Cache-Control，
+     * If-None-Match与当前ETag一致时直接返回304，不执行计算
+     * 费率快照尚未加载时无法确定ETag，此时只返回Cache-Control
+     * 响应体是Domain层计算出的不可变结果本身，按SocialInsuranceResult的getter直接序列化
      * 
      * @param monthlySalary 月薪
      * @param age 年龄
-     * @return Mono包装的ResponseEntity<SocialInsuranceDto>
+     * @param effectiveDate 生效日期（可选，ISO格式yyyy-MM-dd，默认为当天）
+     * @param taxMethod 源泉征收税的计算方法（可选，table或electronic，默认为租户的设置或table）
+     * @param taxColumn 源泉征收税额表的栏（可选，ko或otsu，默认为ko）
+     * @param dependents 扶养亲属人数（可选，默认为0）
+     * @param tenantId 租户ID（可选，请求头X-Tenant-Id）
+     * @param ifNoneMatch 客户端缓存的ETag（可选，请求头If-None-Match）
+     * @return Mono包装的ResponseEntity<SocialInsuranceResult>
      */
     @GetMapping("/socialInsuranceQuery")
-    public Mono<ResponseEntity<SocialInsuranceDto>> socialInsuranceQuery(
+    public Mono<ResponseEntity<SocialInsuranceResult>> socialInsuranceQuery(
             @RequestParam("monthlySalary") Integer monthlySalary,
-            @RequestParam("age") Integer age) {
+            @RequestParam("age") Integer age,
+            @RequestParam(value = "effectiveDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate effectiveDate,
+            @RequestParam(value = "taxMethod", required = false) String taxMethod,
+            @RequestParam(value = "taxColumn", required = false) String taxColumn,
+            @RequestParam(value = "dependents", required = false) Integer dependents,
+            @RequestHeader(value = TENANT_HEADER, required = false) String tenantId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        
+        // ETag在计算之前确定；计算期间费率被刷新时，结果可能使用了更新的费率，
+        // 但新费率的指纹不同，带旧ETag的再验证请求不会得到304，缓存不会一直保留旧结果
+        return applicationService.socialInsuranceQueryTag(monthlySalary, age, effectiveDate, taxMethod, taxColumn,
+                        dependents, tenantId)
+                .map(tag -> new ETag(tag, false))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(eTag -> {
+                    if (eTag.isPresent() && notModified(ifNoneMatch, eTag.get())) {
+                        return Mono.just(cacheHeaders(ResponseEntity.status(HttpStatus.NOT_MODIFIED), eTag)
+                                .<SocialInsuranceResult>build());
+                    }
+                    return applicationService.socialInsuranceQuery(monthlySalary, age, effectiveDate, taxMethod,
+                                    taxColumn, dependents, tenantId)
+                            .map(result -> cacheHeaders(ResponseEntity.ok(), eTag).body(result));
+                });
+    }
+
+    /**
+     * 设置查询结果的缓存相关响应头
+     * 计算方法的默认值按租户决定，因此响应随X-Tenant-Id变化
+     */
+    private ResponseEntity.BodyBuilder cacheHeaders(ResponseEntity.BodyBuilder builder, Optional<ETag> eTag) {
+        eTag.ifPresent(tag -> builder.eTag(tag.formattedTag()));
+        return builder.cacheControl(cacheControl).varyBy(TENANT_HEADER);
+    }
+
+    /**
+     * 判断If-None-Match是否与当前ETag一致（按RFC 9110使用弱比较，支持多个值和*）
+     */
+    private static boolean notModified(String ifNoneMatch, ETag eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (ETag candidate : ETag.parse(ifNoneMatch)) {
+            if (candidate.isWildcard() || candidate.compare(eTag, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 反向查询社会保险金额
+     * GET端点：/reverseSocialInsuranceQuery
+     * 返回实发工资（月薪 - 雇员负担的社会保险费、雇佣保险和源泉征收税）达到目标金额的最低月薪及其计算结果
+     * 
+     * @param targetNetPay 目标实发工资
+     * @param age 年龄
+     * @param effectiveDate 生效日期（可选，ISO格式yyyy-MM-dd，默认为当天）
+     * @return Mono包装的ResponseEntity<ReverseSocialInsuranceDto>
+     */
+    @GetMapping("/reverseSocialInsuranceQuery")
+    public Mono<ResponseEntity<ReverseSocialInsuranceDto>> reverseSocialInsuranceQuery(
+            @RequestParam("targetNetPay") Integer targetNetPay,
+            @RequestParam("age") Integer age,
+            @RequestParam(value = "effectiveDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate effectiveDate) {
         
-        return applicationService.socialInsuranceQuery(monthlySalary, age)
-                .map(this::convertToControllerDto)
+        return applicationService.reverseSocialInsuranceQuery(targetNetPay, age, effectiveDate)
+                .map(applicationDto -> new ReverseSocialInsuranceDto(
+                        applicationDto.getTargetNetPay(),
+                        applicationDto.getMonthlySalary(),
+                        applicationDto.getNetPay(),
+                        applicationDto.getResult()))
                 .map(ResponseEntity::ok);
     }
 
     /**
-     * 将Application DTO转换为Controller DTO
-     * 采用流式编程风格进行转换
+     * 源泉征收税计算方法的差异报告
+     * GET端点：/withholdingTaxDifferential
+     * 对扣除社会保险费后的工资金额[from, to]中每隔step日元的金额，比较电算机特例与税额表查找的甲栏税额
      * 
-     * @param applicationDto Application层的DTO
-     * @return Controller层的DTO
+     * @param from 开始金额（含）
+     * @param to 结束金额（含）
+     * @param step 金额间隔（可选，默认为1）
+     * @param dependents 扶养亲属人数（可选，默认为0）
+     * @param effectiveDate 生效日期（可选，ISO格式yyyy-MM-dd，默认为当天）
+     * @return Mono包装的ResponseEntity<WithholdingTaxDifferentialDto>
+     */
+    @GetMapping("/withholdingTaxDifferential")
+    public Mono<ResponseEntity<WithholdingTaxDifferentialDto>> withholdingTaxDifferential(
+            @RequestParam("from") Integer from,
+            @RequestParam("to") Integer to,
+            @RequestParam(value = "step", defaultValue = "1") Integer step,
+            @RequestParam(value = "dependents", required = false) Integer dependents,
+            @RequestParam(value = "effectiveDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate effectiveDate) {
+        
+        return applicationService.withholdingTaxDifferential(from, to, step, dependents, effectiveDate)
+                .map(applicationDto -> new WithholdingTaxDifferentialDto(
+                        applicationDto.getAmountFrom(),
+                        applicationDto.getAmountTo(),
+                        applicationDto.getStep(),
+                        applicationDto.getDependents(),
+                        applicationDto.getComparedCount(),
+                        applicationDto.getDifferentCount(),
+                        applicationDto.getMinDifference(),
+                        applicationDto.getMinDifferenceAmount(),
+                        applicationDto.getMaxDifference(),
+                        applicationDto.getMaxDifferenceAmount(),
+                        applicationDto.getMeanAbsoluteDifference(),
+                        applicationDto.getDifferenceCounts()))
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * 导出实发工资表
+     * GET端点：/socialInsuranceQuery/export
+     * 流式返回[from, to]范围内每隔step日元的月薪的社会保险金额明细和实发工资，格式为CSV或NDJSON
+     * 找不到等级的月薪输出错误消息行，不中断导出
+     * 
+     * @param from 开始月薪（含）
+     * @param to 结束月薪（含）
+     * @param step 月薪间隔（可选，默认为1）
+     * @param age 年龄
+     * @param format 导出格式（可选，csv或ndjson，默认为csv）
+     * @param effectiveDate 生效日期（可选，ISO格式yyyy-MM-dd，默认为当天）
+     * @param response 直接写出响应体的ServerHttpResponse
+     * @return 写出完成时结束的Mono
      */
-    private SocialInsuranceDto convertToControllerDto(SocialInsuranceApplicationDto applicationDto) {
-        // 转换雇员费用
-        SocialInsuranceApplicationDto.CostDetail applicationEmployeeCost = applicationDto.getEmployeeCost();
-        SocialInsuranceDto.CostDetail controllerEmployeeCost = new SocialInsuranceDto.CostDetail(
-                applicationEmployeeCost.getHealthCostWithNoCare(),
-                applicationEmployeeCost.getCareCost(),
-                applicationEmployeeCost.getPension(),
-                applicationEmployeeCost.getWithholdingTax(),
-                applicationEmployeeCost.getEmploymentInsurance()
-        );
+    @GetMapping("/socialInsuranceQuery/export")
+    public Mono<Void> exportNetPayTable(
+            @RequestParam("from") Integer from,
+            @RequestParam("to") Integer to,
+            @RequestParam(value = "step", defaultValue = "1") Integer step,
+            @RequestParam("age") Integer age,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "effectiveDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate effectiveDate,
+            ServerHttpResponse response) {
         
-        // 转换雇主费用
-        SocialInsuranceApplicationDto.CostDetail applicationEmployerCost = applicationDto.getEmployerCost();
-        SocialInsuranceDto.CostDetail controllerEmployerCost = new SocialInsuranceDto.CostDetail(
-                applicationEmployerCost.getHealthCostWithNoCare(),
-                applicationEmployerCost.getCareCost(),
-                applicationEmployerCost.getPension(),
-                applicationEmployerCost.getWithholdingTax(),
-                applicationEmployerCost.getEmploymentInsurance()
-        );
+        return Mono.fromCallable(() -> NetPayTableEncoder.Format.of(format))
+                .flatMap(exportFormat -> applicationService.netPayTableSweep(from, to, step, age, effectiveDate)
+                        .flatMap(sweep -> {
+                            response.getHeaders().setContentType(exportFormat.getMediaType());
+                            response.getHeaders().setContentDisposition(ContentDisposition.attachment()
+                                    .filename("net-pay-table." + exportFormat.getExtension())
+                                    .build());
+                            return response.writeWith(
+                                    NetPayTableEncoder.encode(sweep, exportFormat, response.bufferFactory()));
+                        }));
+    }
+
+    /**
+     * 批量查询社会保险金额
+     * POST端点：/socialInsuranceQuery/batch
+     * 请求体和响应体均为NDJSON（每行一个JSON对象），结果按输入顺序流式返回
+     * 
+     * @param requests 批量查询请求流（employeeId, monthlySalary, age, businessType, effectiveDate）
+     * @return Flux包装的SocialInsuranceBatchResultDto对象流
+     */
+    @PostMapping(value = "/socialInsuranceQuery/batch",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<SocialInsuranceBatchResultDto> socialInsuranceBatchQuery(
+            @RequestBody Flux<SocialInsuranceBatchRequestDto> requests) {
         
-        return new SocialInsuranceDto(controllerEmployeeCost, controllerEmployerCost);
+        Flux<SocialInsuranceBatchQueryApplicationDto> queries = requests
+                .map(request -> new SocialInsuranceBatchQueryApplicationDto(
+                        request.getEmployeeId(),
+                        request.getMonthlySalary(),
+                        request.getAge(),
+                        request.getBusinessType(),
+                        request.getEffectiveDate()
+                ));
+        return applicationService.socialInsuranceBatchQuery(queries)
+                .map(this::convertToControllerDto);
+    }
+
+    /**
+     * 年度工资模拟
+     * POST端点：/socialInsuranceQuery/annual
+     * 请求体为JSON，响应体为NDJSON：按月份顺序返回12个月度结果行（type=MONTH），最后返回1个年度合计行（type=TOTAL）
+     * 
+     * @param request 模拟条件（birthDate, startMonth, businessType, salarySchedule, bonuses）
+     * @return Flux包装的AnnualPayrollLineDto对象流
+     */
+    @PostMapping(value = "/socialInsuranceQuery/annual",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AnnualPayrollLineDto> annualPayrollSimulation(@RequestBody AnnualPayrollSimulationRequestDto request) {
+        List<AnnualPayrollSimulationQueryApplicationDto.SalaryChange> salarySchedule = request.getSalarySchedule() != null
+                ? request.getSalarySchedule().stream()
+                        .map(change -> change != null
+                                ? new AnnualPayrollSimulationQueryApplicationDto.SalaryChange(
+                                        change.getFromMonth(), change.getMonthlySalary())
+                                : null)
+                        .toList()
+                : null;
+        List<AnnualPayrollSimulationQueryApplicationDto.Bonus> bonuses = request.getBonuses() != null
+                ? request.getBonuses().stream()
+                        .map(bonus -> bonus != null
+                                ? new AnnualPayrollSimulationQueryApplicationDto.Bonus(bonus.getMonth(), bonus.getAmount())
+                                : null)
+                        .toList()
+                : null;
+        AnnualPayrollSimulationQueryApplicationDto query = new AnnualPayrollSimulationQueryApplicationDto(
+                request.getBirthDate(), request.getStartMonth(), request.getBusinessType(), salarySchedule, bonuses);
+        return applicationService.simulateAnnualPayroll(query)
+                .map(this::convertToControllerDto);
+    }
+
+    /**
+     * 将年度工资模拟结果行的Application DTO转换为Controller DTO
+     * 
+     * @param applicationDto Application层的DTO
+     * @return Controller层的DTO
+     */
+    private AnnualPayrollLineDto convertToControllerDto(AnnualPayrollLineApplicationDto applicationDto) {
+        return new AnnualPayrollLineDto(
+                applicationDto.getType(),
+                applicationDto.getMonth(),
+                applicationDto.getAge(),
+                applicationDto.getCareApplicable(),
+                applicationDto.getMonthlySalary(),
+                applicationDto.getBonus(),
+                applicationDto.getResult(),
+                applicationDto.getBonusResult());
+    }
+
+    /**
+     * 将批量查询的Application DTO转换为Controller DTO
+     * 
+     * @param applicationDto Application层的DTO
+     * @return Controller层的DTO
+     */
+    private SocialInsuranceBatchResultDto convertToControllerDto(SocialInsuranceBatchResultApplicationDto applicationDto) {
+        return new SocialInsuranceBatchResultDto(applicationDto.getEmployeeId(), applicationDto.getResult(),
+                applicationDto.getError());
     }
 }
 
@@ -0,0 +1,73 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import jp.asatex.matianchi.social_insurance_backend_service.application.RateTableImportApplicationService;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.RateTableImportDto;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 费率表管理Controller
+ * 提供费率表的CSV批量导入
+ */
+@RestController
+@RequestMapping("/admin/rates")
+public class RateTableImportController {
+
+    /**
+     * 按行拆分请求体，去掉换行符（\n或\r\n），字符集为UTF-8
+     */
+    private static final StringDecoder LINE_DECODER = StringDecoder.allMimeTypes();
+
+    private final RateTableImportApplicationService applicationService;
+
+    public RateTableImportController(RateTableImportApplicationService applicationService) {
+        this.applicationService = applicationService;
+    }
+
+    /**
+     * 用CSV替换费率表的一个生效期间
+     * POST端点：/admin/rates/{table}/import
+     * 请求体按行流式读取、校验并通过COPY写入数据库，不在内存中保留整个文件；
+     * 任何一行不合法或生效期间与已有的生效期间重叠时返回400，费率表保持导入前的状态
+     *
+     * @param table 费率表名（premium_bracket、withholding_tax_bracket或employment_insurance_rate）
+     * @param effectiveFrom 生效开始日期（ISO格式yyyy-MM-dd）
+     * @param effectiveTo 生效结束日期（可选，不含，默认为无期限）
+     * @param body CSV请求体（UTF-8，第一行为表头）
+     * @return Mono包装的ResponseEntity<RateTableImportDto>
+     */
+    @PostMapping(value = "/{table}/import",
+            consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<RateTableImportDto>> importRateTable(
+            @PathVariable("table") String table,
+            @RequestParam("effectiveFrom") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate effectiveFrom,
+            @RequestParam(value = "effectiveTo", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate effectiveTo,
+            @RequestBody Flux<DataBuffer> body) {
+        Flux<String> lines = LINE_DECODER.decode(body, ResolvableType.forClass(String.class), null, Map.of());
+        return applicationService.importRateTable(table, lines, effectiveFrom, effectiveTo)
+                .map(applicationDto -> new RateTableImportDto(
+                        applicationDto.getTable(),
+                        applicationDto.getEffectiveFrom(),
+                        applicationDto.getEffectiveTo(),
+                        applicationDto.getImportedRows(),
+                        applicationDto.getElapsedMillis()))
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,127 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import jp.asatex.matianchi.social_insurance_backend_service.application.RateTableListingApplicationService;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.EmploymentInsuranceRateApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.PremiumBracketApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.RateTableRowApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.WithholdingTaxBracketApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.EmploymentInsuranceRateDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.PremiumBracketDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.RateTableRowDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.WithholdingTaxBracketDto;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * 费率表浏览Controller
+ * 以NDJSON或Server-Sent Events流式返回费率表的记录，记录从数据库读取后逐条写入响应，
+ * 服务器不缓存整张表；客户端读取慢时数据库端的读取也随之暂停
+ */
+@RestController
+@RequestMapping("/admin/rates")
+public class RateTableListingController {
+
+    private final RateTableListingApplicationService applicationService;
+
+    public RateTableListingController(RateTableListingApplicationService applicationService) {
+        this.applicationService = applicationService;
+    }
+
+    /**
+     * 以NDJSON流式返回费率表的记录
+     * GET端点：/admin/rates/{table}（Accept: application/x-ndjson）
+     * 每一行为一个RateTableRowDto；中断后把最后收到的一行的cursor作为cursor参数传入即可从其后继续
+     *
+     * @param table 费率表名（premium_bracket、withholding_tax_bracket或employment_insurance_rate）
+     * @param cursor 上一次收到的最后一条记录的游标（可选，默认从头开始）
+     * @param limit 最大记录数（可选，默认读取到最后，最大100000）
+     * @return Flux包装的RateTableRowDto对象流
+     */
+    @GetMapping(value = "/{table}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RateTableRowDto> streamNdjson(
+            @PathVariable("table") String table,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return applicationService.stream(table, cursor, limit)
+                .map(applicationDto -> new RateTableRowDto(
+                        applicationDto.getTable(),
+                        applicationDto.getCursor(),
+                        convertToDto(applicationDto.getRow())));
+    }
+
+    /**
+     * 以Server-Sent Events流式返回费率表的记录
+     * GET端点：/admin/rates/{table}（Accept: text/event-stream）
+     * 每个事件的id为指向该记录的游标，event为费率表名，data为记录本身；
+     * EventSource断线重连时会在Last-Event-ID头中发送最后收到的事件id，未指定cursor参数时从其后继续
+     *
+     * @param table 费率表名（premium_bracket、withholding_tax_bracket或employment_insurance_rate）
+     * @param cursor 上一次收到的最后一条记录的游标（可选）
+     * @param lastEventId 断线重连时EventSource发送的最后一个事件id（可选）
+     * @param limit 最大记录数（可选，默认读取到最后，最大100000）
+     * @return Flux包装的ServerSentEvent对象流
+     */
+    @GetMapping(value = "/{table}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamEvents(
+            @PathVariable("table") String table,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return applicationService.stream(table, cursor != null ? cursor : lastEventId, limit)
+                .map(applicationDto -> ServerSentEvent.builder(convertToDto(applicationDto.getRow()))
+                        .id(applicationDto.getCursor())
+                        .event(applicationDto.getTable())
+                        .build());
+    }
+
+    /**
+     * 将费率表记录的Application DTO转换为对应的Controller DTO
+     *
+     * @param row PremiumBracketApplicationDto、WithholdingTaxBracketApplicationDto或EmploymentInsuranceRateApplicationDto
+     * @return 对应的Controller DTO
+     */
+    static Object convertToDto(Object row) {
+        if (row instanceof PremiumBracketApplicationDto bracket) {
+            return new PremiumBracketDto(
+                    bracket.getId(),
+                    bracket.getGrade(),
+                    bracket.getStdRem(),
+                    bracket.getMinAmount(),
+                    bracket.getMaxAmount(),
+                    bracket.getHealthNoCare(),
+                    bracket.getHealthCare(),
+                    bracket.getPension(),
+                    bracket.getEffectiveFrom(),
+                    bracket.getEffectiveTo());
+        }
+        if (row instanceof WithholdingTaxBracketApplicationDto bracket) {
+            return new WithholdingTaxBracketDto(
+                    bracket.getId(),
+                    bracket.getMinAmount(),
+                    bracket.getMaxAmount(),
+                    bracket.getTaxAmountKo(),
+                    bracket.getTaxAmountOtsu(),
+                    bracket.getTaxAmountKoDependents(),
+                    bracket.getCalculationFormula(),
+                    bracket.getEffectiveFrom(),
+                    bracket.getEffectiveTo());
+        }
+        EmploymentInsuranceRateApplicationDto rate = (EmploymentInsuranceRateApplicationDto) row;
+        return new EmploymentInsuranceRateDto(
+                rate.getId(),
+                rate.getBusinessType(),
+                rate.getEmployeeRate(),
+                rate.getEmployerUnemploymentRate(),
+                rate.getEmployerTwoUndertakingsRate(),
+                rate.getTotalRate(),
+                rate.getEffectiveFrom(),
+                rate.getEffectiveTo());
+    }
+}
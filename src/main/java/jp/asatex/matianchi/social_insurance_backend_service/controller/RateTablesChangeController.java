@@ -0,0 +1,75 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import jp.asatex.matianchi.social_insurance_backend_service.application.RateTablesChangeApplicationService;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.RateTableDeltaDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.RateTablesChangeDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * 费率表变更推送Controller
+ * 客户端可以在本地缓存费率表并自行计算，收到变更事件时更新本地副本
+ */
+@RestController
+@RequestMapping("/rates")
+public class RateTablesChangeController {
+
+    private final RateTablesChangeApplicationService applicationService;
+
+    /**
+     * 没有变更时发送注释行的间隔，防止代理因连接空闲而断开
+     */
+    private final Duration heartbeatInterval;
+
+    public RateTablesChangeController(
+            RateTablesChangeApplicationService applicationService,
+            @Value("${social-insurance.rate-changes.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        this.applicationService = applicationService;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /**
+     * 以Server-Sent Events推送费率表变更
+     * GET端点：/rates/changes
+     * 连接后首先发送一个snapshot事件（三张费率表的全部记录），之后每次premium_bracket、withholding_tax_bracket或
+     * employment_insurance_rate被修改时发送一个change事件（新增或修改的记录和已删除记录的ID）；
+     * 事件id为费率表版本号，同一连接内严格递增；断线重连后会重新收到snapshot，客户端用它替换本地副本
+     *
+     * @return Flux包装的ServerSentEvent对象流
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<RateTablesChangeDto>> changes() {
+        Flux<ServerSentEvent<RateTablesChangeDto>> events = applicationService.changes()
+                .map(applicationDto -> ServerSentEvent.builder(new RateTablesChangeDto(
+                                applicationDto.getVersion(),
+                                applicationDto.getType(),
+                                applicationDto.getTables().stream()
+                                        .map(delta -> new RateTableDeltaDto(
+                                                delta.getTable(),
+                                                delta.getUpserted().stream()
+                                                        .map(RateTableListingController::convertToDto)
+                                                        .toList(),
+                                                delta.getDeletedIds()))
+                                        .toList()))
+                        .id(String.valueOf(applicationDto.getVersion()))
+                        .event(applicationDto.getType())
+                        .build());
+        return Flux.defer(() -> {
+            // 事件流结束（应用关闭）时心跳也随之结束
+            Sinks.Empty<Void> terminated = Sinks.empty();
+            return Flux.merge(
+                    events.doOnTerminate(terminated::tryEmitEmpty),
+                    Flux.interval(heartbeatInterval)
+                            .map(tick -> ServerSentEvent.<RateTablesChangeDto>builder().comment("heartbeat").build())
+                            .takeUntilOther(terminated.asMono()));
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import jp.asatex.matianchi.social_insurance_backend_service.application.PremiumBracketApplicationService;
+import jp.asatex.matianchi.social_insurance_backend_service.application.dto.SocialInsuranceBatchQueryApplicationDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.SocialInsuranceBatchRequestDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.SocialInsuranceBatchResultDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.SocialInsuranceQueryRequestDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.SocialInsuranceSweepItemDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.SocialInsuranceSweepRequestDto;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceResult;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 社会保险金额查询的RSocket Controller
+ * 通过TCP或WebSocket上的RSocket连接提供与GET /socialInsuranceQuery相同的计算，
+ * 数据按连接建立时声明的MIME类型编码（application/cbor或application/json）
+ * 请求流和请求通道按对方的REQUEST_N逐个计算，对方读取慢时计算随之暂停；
+ * 参数不合法时以APPLICATION_ERROR结束该请求，错误消息与HTTP的400响应相同，连接上的其他请求不受影响
+ */
+@Controller
+public class SocialInsuranceRSocketController {
+
+    private final PremiumBracketApplicationService applicationService;
+
+    public SocialInsuranceRSocketController(PremiumBracketApplicationService applicationService) {
+        this.applicationService = applicationService;
+    }
+
+    /**
+     * 查询社会保险金额
+     * 请求-响应，路由：socialInsuranceQuery
+     *
+     * @param request 查询条件（monthlySalary, age, effectiveDate, taxMethod, taxColumn, dependents, tenantId）
+     * @return Mono包装的SocialInsuranceResult对象
+     */
+    @MessageMapping("socialInsuranceQuery")
+    public Mono<SocialInsuranceResult> socialInsuranceQuery(SocialInsuranceQueryRequestDto request) {
+        if (request.getMonthlySalary() == null || request.getAge() == null) {
+            return Mono.error(new IllegalArgumentException("月薪和年龄不能为空"));
+        }
+        return applicationService.socialInsuranceQuery(
+                request.getMonthlySalary(),
+                request.getAge(),
+                request.getEffectiveDate(),
+                request.getTaxMethod(),
+                request.getTaxColumn(),
+                request.getDependents(),
+                request.getTenantId());
+    }
+
+    /**
+     * 按月薪范围扫描社会保险金额
+     * 请求流，路由：socialInsuranceQuery.sweep
+     * 按月薪从小到大返回[from, to]范围内每隔step日元的月薪的结果，找不到等级的月薪在error中记录原因，不中断扫描
+     *
+     * @param request 扫描条件（from, to, step, age, businessType, effectiveDate）
+     * @return Flux包装的SocialInsuranceSweepItemDto对象流
+     */
+    @MessageMapping("socialInsuranceQuery.sweep")
+    public Flux<SocialInsuranceSweepItemDto> socialInsuranceSweep(SocialInsuranceSweepRequestDto request) {
+        return applicationService.socialInsuranceSweep(
+                        request.getFrom(),
+                        request.getTo(),
+                        request.getStep() != null ? request.getStep() : 1,
+                        request.getAge(),
+                        request.getBusinessType(),
+                        request.getEffectiveDate())
+                .map(applicationDto -> new SocialInsuranceSweepItemDto(
+                        applicationDto.getMonthlySalary(),
+                        applicationDto.getResult(),
+                        applicationDto.getError()));
+    }
+
+    /**
+     * 批量查询社会保险金额
+     * 请求通道，路由：socialInsuranceQuery.batch
+     * 与POST /socialInsuranceQuery/batch相同，结果按输入顺序逐个返回
+     *
+     * @param requests 批量查询请求流（employeeId, monthlySalary, age, businessType, effectiveDate）
+     * @return Flux包装的SocialInsuranceBatchResultDto对象流
+     */
+    @MessageMapping("socialInsuranceQuery.batch")
+    public Flux<SocialInsuranceBatchResultDto> socialInsuranceBatchQuery(Flux<SocialInsuranceBatchRequestDto> requests) {
+        Flux<SocialInsuranceBatchQueryApplicationDto> queries = requests
+                .map(request -> new SocialInsuranceBatchQueryApplicationDto(
+                        request.getEmployeeId(),
+                        request.getMonthlySalary(),
+                        request.getAge(),
+                        request.getBusinessType(),
+                        request.getEffectiveDate()
+                ));
+        return applicationService.socialInsuranceBatchQuery(queries)
+                .map(applicationDto -> new SocialInsuranceBatchResultDto(
+                        applicationDto.getEmployeeId(),
+                        applicationDto.getResult(),
+                        applicationDto.getError()));
+    }
+}
@@ -0,0 +1,86 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 保险费等级的一页
+ * 按(标准报酬, ID)的keyset分页，下一页的请求参数为nextAfterStdRem和nextAfterId
+ */
+public class PremiumBracketPageDto {
+
+    /**
+     * 本页的记录（按标准报酬、ID升序排序）
+     */
+    private List<PremiumBracketDto> items;
+
+    /**
+     * 下一页的afterStdRem，没有下一页时为null
+     */
+    private Integer nextAfterStdRem;
+
+    /**
+     * 下一页的afterId，没有下一页时为null
+     */
+    private Long nextAfterId;
+
+    // 默认构造函数
+    public PremiumBracketPageDto() {
+    }
+
+    // 全参构造函数
+    public PremiumBracketPageDto(List<PremiumBracketDto> items, Integer nextAfterStdRem, Long nextAfterId) {
+        this.items = items;
+        this.nextAfterStdRem = nextAfterStdRem;
+        this.nextAfterId = nextAfterId;
+    }
+
+    // Getter和Setter方法
+    public List<PremiumBracketDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<PremiumBracketDto> items) {
+        this.items = items;
+    }
+
+    public Integer getNextAfterStdRem() {
+        return nextAfterStdRem;
+    }
+
+    public void setNextAfterStdRem(Integer nextAfterStdRem) {
+        this.nextAfterStdRem = nextAfterStdRem;
+    }
+
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public void setNextAfterId(Long nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PremiumBracketPageDto that = (PremiumBracketPageDto) o;
+        return Objects.equals(items, that.items) &&
+               Objects.equals(nextAfterStdRem, that.nextAfterStdRem) &&
+               Objects.equals(nextAfterId, that.nextAfterId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(items, nextAfterStdRem, nextAfterId);
+    }
+
+    @Override
+    public String toString() {
+        return "PremiumBracketPageDto{" +
+               "items=" + items +
+               ", nextAfterStdRem=" + nextAfterStdRem +
+               ", nextAfterId=" + nextAfterId +
+               '}';
+    }
+}
@@ -0,0 +1,85 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller.dto;
+
+import java.util.Objects;
+
+/**
+ * 费率表流式浏览的一条记录DTO
+ * NDJSON的每一行对应一个RateTableRowDto
+ */
+public class RateTableRowDto {
+
+    /**
+     * 费率表名
+     */
+    private String table;
+
+    /**
+     * 指向本记录的游标，作为cursor参数传入时从本记录之后继续
+     */
+    private String cursor;
+
+    /**
+     * 记录（PremiumBracketDto、WithholdingTaxBracketDto或EmploymentInsuranceRateDto）
+     */
+    private Object row;
+
+    // 默认构造函数
+    public RateTableRowDto() {
+    }
+
+    // 全参构造函数
+    public RateTableRowDto(String table, String cursor, Object row) {
+        this.table = table;
+        this.cursor = cursor;
+        this.row = row;
+    }
+
+    // Getter和Setter方法
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Object getRow() {
+        return row;
+    }
+
+    public void setRow(Object row) {
+        this.row = row;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RateTableRowDto that = (RateTableRowDto) o;
+        return Objects.equals(table, that.table) &&
+               Objects.equals(cursor, that.cursor) &&
+               Objects.equals(row, that.row);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(table, cursor, row);
+    }
+
+    @Override
+    public String toString() {
+        return "RateTableRowDto{" +
+               "table=" + table +
+               ", cursor=" + cursor +
+               ", row=" + row +
+               '}';
+    }
+}
@@ -0,0 +1,86 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 费率表变更事件DTO
+ * type为snapshot时客户端用tables替换本地的全部费率表，为change时按upserted和deletedIds更新本地副本
+ */
+public class RateTablesChangeDto {
+
+    /**
+     * 费率表版本号，同一连接内严格递增
+     */
+    private Long version;
+
+    /**
+     * 事件类型（snapshot或change）
+     */
+    private String type;
+
+    /**
+     * 各费率表的变更
+     */
+    private List<RateTableDeltaDto> tables;
+
+    // 默认构造函数
+    public RateTablesChangeDto() {
+    }
+
+    // 全参构造函数
+    public RateTablesChangeDto(Long version, String type, List<RateTableDeltaDto> tables) {
+        this.version = version;
+        this.type = type;
+        this.tables = tables;
+    }
+
+    // Getter和Setter方法
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public List<RateTableDeltaDto> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<RateTableDeltaDto> tables) {
+        this.tables = tables;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RateTablesChangeDto that = (RateTablesChangeDto) o;
+        return Objects.equals(version, that.version) &&
+               Objects.equals(type, that.type) &&
+               Objects.equals(tables, that.tables);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(version, type, tables);
+    }
+
+    @Override
+    public String toString() {
+        return "RateTablesChangeDto{" +
+               "version=" + version +
+               ", type=" + type +
+               ", tables=" + tables +
+               '}';
+    }
+}
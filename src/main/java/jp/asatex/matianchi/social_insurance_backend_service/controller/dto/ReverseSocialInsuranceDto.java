@@ -0,0 +1,105 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller.dto;
+
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceResult;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * 反向计算社会保险金额的结果DTO
+ * 由目标实发工资求出的月薪及该月薪的计算结果
+ */
+public class ReverseSocialInsuranceDto {
+
+    /**
+     * 目标实发工资
+     */
+    private Integer targetNetPay;
+
+    /**
+     * 实发工资达到目标金额的最低月薪
+     */
+    private Integer monthlySalary;
+
+    /**
+     * 该月薪的实发工资（月薪 - 雇员负担的社会保险费、雇佣保险和源泉征收税）
+     */
+    private BigDecimal netPay;
+
+    /**
+     * 该月薪的社会保险金额查询结果
+     */
+    private SocialInsuranceResult result;
+
+    // 默认构造函数
+    public ReverseSocialInsuranceDto() {
+    }
+
+    // 全参构造函数
+    public ReverseSocialInsuranceDto(Integer targetNetPay, Integer monthlySalary, BigDecimal netPay,
+            SocialInsuranceResult result) {
+        this.targetNetPay = targetNetPay;
+        this.monthlySalary = monthlySalary;
+        this.netPay = netPay;
+        this.result = result;
+    }
+
+    // Getter和Setter方法
+    public Integer getTargetNetPay() {
+        return targetNetPay;
+    }
+
+    public void setTargetNetPay(Integer targetNetPay) {
+        this.targetNetPay = targetNetPay;
+    }
+
+    public Integer getMonthlySalary() {
+        return monthlySalary;
+    }
+
+    public void setMonthlySalary(Integer monthlySalary) {
+        this.monthlySalary = monthlySalary;
+    }
+
+    public BigDecimal getNetPay() {
+        return netPay;
+    }
+
+    public void setNetPay(BigDecimal netPay) {
+        this.netPay = netPay;
+    }
+
+    public SocialInsuranceResult getResult() {
+        return result;
+    }
+
+    public void setResult(SocialInsuranceResult result) {
+        this.result = result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReverseSocialInsuranceDto that = (ReverseSocialInsuranceDto) o;
+        return Objects.equals(targetNetPay, that.targetNetPay) &&
+               Objects.equals(monthlySalary, that.monthlySalary) &&
+               Objects.equals(netPay, that.netPay) &&
+               Objects.equals(result, that.result);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(targetNetPay, monthlySalary, netPay, result);
+    }
+
+    @Override
+    public String toString() {
+        return "ReverseSocialInsuranceDto{" +
+               "targetNetPay=" + targetNetPay +
+               ", monthlySalary=" + monthlySalary +
+               ", netPay=" + netPay +
+               ", result=" + result +
+               '}';
+    }
+}
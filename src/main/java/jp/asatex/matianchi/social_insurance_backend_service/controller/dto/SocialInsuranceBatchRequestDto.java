@@ -0,0 +1,119 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller.dto;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 批量社会保险金额查询请求DTO
+ * 对应NDJSON请求体中的一行
+ */
+public class SocialInsuranceBatchRequestDto {
+
+    /**
+     * 员工ID
+     */
+    private String employeeId;
+
+    /**
+     * 月薪
+     */
+    private Integer monthlySalary;
+
+    /**
+     * 年龄
+     */
+    private Integer age;
+
+    /**
+     * 事业类型（可选，默认为"一般の事業"）
+     */
+    private String businessType;
+
+    /**
+     * 生效日期（可选，默认为当天）
+     */
+    private LocalDate effectiveDate;
+
+    // 默认构造函数
+    public SocialInsuranceBatchRequestDto() {
+    }
+
+    // 全参构造函数
+    public SocialInsuranceBatchRequestDto(String employeeId, Integer monthlySalary, Integer age, String businessType,
+            LocalDate effectiveDate) {
+        this.employeeId = employeeId;
+        this.monthlySalary = monthlySalary;
+        this.age = age;
+        this.businessType = businessType;
+        this.effectiveDate = effectiveDate;
+    }
+
+    // Getter和Setter方法
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Integer getMonthlySalary() {
+        return monthlySalary;
+    }
+
+    public void setMonthlySalary(Integer monthlySalary) {
+        this.monthlySalary = monthlySalary;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public String getBusinessType() {
+        return businessType;
+    }
+
+    public void setBusinessType(String businessType) {
+        this.businessType = businessType;
+    }
+
+    public LocalDate getEffectiveDate() {
+        return effectiveDate;
+    }
+
+    public void setEffectiveDate(LocalDate effectiveDate) {
+        this.effectiveDate = effectiveDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SocialInsuranceBatchRequestDto that = (SocialInsuranceBatchRequestDto) o;
+        return Objects.equals(employeeId, that.employeeId) &&
+               Objects.equals(monthlySalary, that.monthlySalary) &&
+               Objects.equals(age, that.age) &&
+               Objects.equals(businessType, that.businessType) &&
+               Objects.equals(effectiveDate, that.effectiveDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(employeeId, monthlySalary, age, businessType, effectiveDate);
+    }
+
+    @Override
+    public String toString() {
+        return "SocialInsuranceBatchRequestDto{" +
+               "employeeId='" + employeeId + '\'' +
+               ", monthlySalary=" + monthlySalary +
+               ", age=" + age +
+               ", businessType='" + businessType + '\'' +
+               ", effectiveDate=" + effectiveDate +
+               '}';
+    }
+}
@@ -0,0 +1,151 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller.dto;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 社会保险金额查询请求DTO
+ * RSocket路由socialInsuranceQuery的请求数据，各字段与GET /socialInsuranceQuery的参数相同
+ */
+public class SocialInsuranceQueryRequestDto {
+
+    /**
+     * 月薪
+     */
+    private Integer monthlySalary;
+
+    /**
+     * 年龄
+     */
+    private Integer age;
+
+    /**
+     * 生效日期（可选，默认为当天）
+     */
+    private LocalDate effectiveDate;
+
+    /**
+     * 源泉征收税的计算方法（可选，table或electronic，默认为租户的设置或table）
+     */
+    private String taxMethod;
+
+    /**
+     * 源泉征收税额表的栏（可选，ko或otsu，默认为ko）
+     */
+    private String taxColumn;
+
+    /**
+     * 扶养亲属人数（可选，默认为0）
+     */
+    private Integer dependents;
+
+    /**
+     * 租户ID（可选，对应HTTP请求头X-Tenant-Id）
+     */
+    private String tenantId;
+
+    // 默认构造函数
+    public SocialInsuranceQueryRequestDto() {
+    }
+
+    // 全参构造函数
+    public SocialInsuranceQueryRequestDto(Integer monthlySalary, Integer age, LocalDate effectiveDate,
+            String taxMethod, String taxColumn, Integer dependents, String tenantId) {
+        this.monthlySalary = monthlySalary;
+        this.age = age;
+        this.effectiveDate = effectiveDate;
+        this.taxMethod = taxMethod;
+        this.taxColumn = taxColumn;
+        this.dependents = dependents;
+        this.tenantId = tenantId;
+    }
+
+    // Getter和Setter方法
+    public Integer getMonthlySalary() {
+        return monthlySalary;
+    }
+
+    public void setMonthlySalary(Integer monthlySalary) {
+        this.monthlySalary = monthlySalary;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public LocalDate getEffectiveDate() {
+        return effectiveDate;
+    }
+
+    public void setEffectiveDate(LocalDate effectiveDate) {
+        this.effectiveDate = effectiveDate;
+    }
+
+    public String getTaxMethod() {
+        return taxMethod;
+    }
+
+    public void setTaxMethod(String taxMethod) {
+        this.taxMethod = taxMethod;
+    }
+
+    public String getTaxColumn() {
+        return taxColumn;
+    }
+
+    public void setTaxColumn(String taxColumn) {
+        this.taxColumn = taxColumn;
+    }
+
+    public Integer getDependents() {
+        return dependents;
+    }
+
+    public void setDependents(Integer dependents) {
+        this.dependents = dependents;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SocialInsuranceQueryRequestDto that = (SocialInsuranceQueryRequestDto) o;
+        return Objects.equals(monthlySalary, that.monthlySalary) &&
+               Objects.equals(age, that.age) &&
+               Objects.equals(effectiveDate, that.effectiveDate) &&
+               Objects.equals(taxMethod, that.taxMethod) &&
+               Objects.equals(taxColumn, that.taxColumn) &&
+               Objects.equals(dependents, that.dependents) &&
+               Objects.equals(tenantId, that.tenantId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(monthlySalary, age, effectiveDate, taxMethod, taxColumn, dependents, tenantId);
+    }
+
+    @Override
+    public String toString() {
+        return "SocialInsuranceQueryRequestDto{" +
+               "monthlySalary=" + monthlySalary +
+               ", age=" + age +
+               ", effectiveDate=" + effectiveDate +
+               ", taxMethod=" + taxMethod +
+               ", taxColumn=" + taxColumn +
+               ", dependents=" + dependents +
+               ", tenantId=" + tenantId +
+               '}';
+    }
+}
@@ -0,0 +1,87 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller.dto;
+
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceResult;
+
+import java.util.Objects;
+
+/**
+ * 月薪扫描结果Controller DTO
+ * 对应RSocket请求流中的一个元素，计算失败时result为null并在error中记录原因
+ */
+public class SocialInsuranceSweepItemDto {
+
+    /**
+     * 月薪
+     */
+    private Integer monthlySalary;
+
+    /**
+     * 社会保险金额查询结果
+     */
+    private SocialInsuranceResult result;
+
+    /**
+     * 错误消息（计算成功时为null）
+     */
+    private String error;
+
+    // 默认构造函数
+    public SocialInsuranceSweepItemDto() {
+    }
+
+    // 全参构造函数
+    public SocialInsuranceSweepItemDto(Integer monthlySalary, SocialInsuranceResult result, String error) {
+        this.monthlySalary = monthlySalary;
+        this.result = result;
+        this.error = error;
+    }
+
+    // Getter和Setter方法
+    public Integer getMonthlySalary() {
+        return monthlySalary;
+    }
+
+    public void setMonthlySalary(Integer monthlySalary) {
+        this.monthlySalary = monthlySalary;
+    }
+
+    public SocialInsuranceResult getResult() {
+        return result;
+    }
+
+    public void setResult(SocialInsuranceResult result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SocialInsuranceSweepItemDto that = (SocialInsuranceSweepItemDto) o;
+        return Objects.equals(monthlySalary, that.monthlySalary) &&
+               Objects.equals(result, that.result) &&
+               Objects.equals(error, that.error);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(monthlySalary, result, error);
+    }
+
+    @Override
+    public String toString() {
+        return "SocialInsuranceSweepItemDto{" +
+               "monthlySalary=" + monthlySalary +
+               ", result=" + result +
+               ", error=" + error +
+               '}';
+    }
+}
@@ -0,0 +1,135 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller.dto;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 月薪扫描请求DTO
+ * RSocket路由socialInsuranceQuery.sweep的请求数据，对[from, to]范围内每隔step日元的月薪计算社会保险金额
+ */
+public class SocialInsuranceSweepRequestDto {
+
+    /**
+     * 开始月薪（含）
+     */
+    private Integer from;
+
+    /**
+     * 结束月薪（含）
+     */
+    private Integer to;
+
+    /**
+     * 月薪间隔（可选，默认为1）
+     */
+    private Integer step;
+
+    /**
+     * 年龄
+     */
+    private Integer age;
+
+    /**
+     * 事业类型（可选，默认为"一般の事業"）
+     */
+    private String businessType;
+
+    /**
+     * 生效日期（可选，默认为当天）
+     */
+    private LocalDate effectiveDate;
+
+    // 默认构造函数
+    public SocialInsuranceSweepRequestDto() {
+    }
+
+    // 全参构造函数
+    public SocialInsuranceSweepRequestDto(Integer from, Integer to, Integer step, Integer age, String businessType,
+            LocalDate effectiveDate) {
+        this.from = from;
+        this.to = to;
+        this.step = step;
+        this.age = age;
+        this.businessType = businessType;
+        this.effectiveDate = effectiveDate;
+    }
+
+    // Getter和Setter方法
+    public Integer getFrom() {
+        return from;
+    }
+
+    public void setFrom(Integer from) {
+        this.from = from;
+    }
+
+    public Integer getTo() {
+        return to;
+    }
+
+    public void setTo(Integer to) {
+        this.to = to;
+    }
+
+    public Integer getStep() {
+        return step;
+    }
+
+    public void setStep(Integer step) {
+        this.step = step;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public String getBusinessType() {
+        return businessType;
+    }
+
+    public void setBusinessType(String businessType) {
+        this.businessType = businessType;
+    }
+
+    public LocalDate getEffectiveDate() {
+        return effectiveDate;
+    }
+
+    public void setEffectiveDate(LocalDate effectiveDate) {
+        this.effectiveDate = effectiveDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SocialInsuranceSweepRequestDto that = (SocialInsuranceSweepRequestDto) o;
+        return Objects.equals(from, that.from) &&
+               Objects.equals(to, that.to) &&
+               Objects.equals(step, that.step) &&
+               Objects.equals(age, that.age) &&
+               Objects.equals(businessType, that.businessType) &&
+               Objects.equals(effectiveDate, that.effectiveDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(from, to, step, age, businessType, effectiveDate);
+    }
+
+    @Override
+    public String toString() {
+        return "SocialInsuranceSweepRequestDto{" +
+               "from=" + from +
+               ", to=" + to +
+               ", step=" + step +
+               ", age=" + age +
+               ", businessType=" + businessType +
+               ", effectiveDate=" + effectiveDate +
+               '}';
+    }
+}
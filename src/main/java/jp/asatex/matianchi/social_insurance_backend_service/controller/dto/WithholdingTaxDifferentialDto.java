@@ -0,0 +1,234 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 源泉征收税计算方法的差异报告DTO
+ * 比较电算机特例（月額表の特例）与税额表查找在同一金额范围内的税额差异
+ */
+public class WithholdingTaxDifferentialDto {
+
+    /**
+     * 比较的扣除社会保险费后工资金额的下限（含）
+     */
+    private Integer amountFrom;
+
+    /**
+     * 比较的扣除社会保险费后工资金额的上限（含）
+     */
+    private Integer amountTo;
+
+    /**
+     * 金额间隔
+     */
+    private Integer step;
+
+    /**
+     * 扶养亲属人数
+     */
+    private Integer dependents;
+
+    /**
+     * 比较的金额个数
+     */
+    private Long comparedCount;
+
+    /**
+     * 两种方法税额不同的金额个数
+     */
+    private Long differentCount;
+
+    /**
+     * 差额（电算机特例 - 税额表，日元）的最小值
+     */
+    private Long minDifference;
+
+    /**
+     * 差额最小的金额（多个时为最小的金额）
+     */
+    private Integer minDifferenceAmount;
+
+    /**
+     * 差额（电算机特例 - 税额表，日元）的最大值
+     */
+    private Long maxDifference;
+
+    /**
+     * 差额最大的金额（多个时为最小的金额）
+     */
+    private Integer maxDifferenceAmount;
+
+    /**
+     * 差额绝对值的平均值（日元，保留2位小数）
+     */
+    private BigDecimal meanAbsoluteDifference;
+
+    /**
+     * 各差额（日元）出现的金额个数，按差额升序
+     */
+    private Map<Long, Long> differenceCounts;
+
+    // 默认构造函数
+    public WithholdingTaxDifferentialDto() {
+    }
+
+    // 全参构造函数
+    public WithholdingTaxDifferentialDto(Integer amountFrom, Integer amountTo, Integer step, Integer dependents,
+            Long comparedCount, Long differentCount, Long minDifference, Integer minDifferenceAmount,
+            Long maxDifference, Integer maxDifferenceAmount, BigDecimal meanAbsoluteDifference,
+            Map<Long, Long> differenceCounts) {
+        this.amountFrom = amountFrom;
+        this.amountTo = amountTo;
+        this.step = step;
+        this.dependents = dependents;
+        this.comparedCount = comparedCount;
+        this.differentCount = differentCount;
+        this.minDifference = minDifference;
+        this.minDifferenceAmount = minDifferenceAmount;
+        this.maxDifference = maxDifference;
+        this.maxDifferenceAmount = maxDifferenceAmount;
+        this.meanAbsoluteDifference = meanAbsoluteDifference;
+        this.differenceCounts = differenceCounts;
+    }
+
+    // Getter和Setter方法
+    public Integer getAmountFrom() {
+        return amountFrom;
+    }
+
+    public void setAmountFrom(Integer amountFrom) {
+        this.amountFrom = amountFrom;
+    }
+
+    public Integer getAmountTo() {
+        return amountTo;
+    }
+
+    public void setAmountTo(Integer amountTo) {
+        this.amountTo = amountTo;
+    }
+
+    public Integer getStep() {
+        return step;
+    }
+
+    public void setStep(Integer step) {
+        this.step = step;
+    }
+
+    public Integer getDependents() {
+        return dependents;
+    }
+
+    public void setDependents(Integer dependents) {
+        this.dependents = dependents;
+    }
+
+    public Long getComparedCount() {
+        return comparedCount;
+    }
+
+    public void setComparedCount(Long comparedCount) {
+        this.comparedCount = comparedCount;
+    }
+
+    public Long getDifferentCount() {
+        return differentCount;
+    }
+
+    public void setDifferentCount(Long differentCount) {
+        this.differentCount = differentCount;
+    }
+
+    public Long getMinDifference() {
+        return minDifference;
+    }
+
+    public void setMinDifference(Long minDifference) {
+        this.minDifference = minDifference;
+    }
+
+    public Integer getMinDifferenceAmount() {
+        return minDifferenceAmount;
+    }
+
+    public void setMinDifferenceAmount(Integer minDifferenceAmount) {
+        this.minDifferenceAmount = minDifferenceAmount;
+    }
+
+    public Long getMaxDifference() {
+        return maxDifference;
+    }
+
+    public void setMaxDifference(Long maxDifference) {
+        this.maxDifference = maxDifference;
+    }
+
+    public Integer getMaxDifferenceAmount() {
+        return maxDifferenceAmount;
+    }
+
+    public void setMaxDifferenceAmount(Integer maxDifferenceAmount) {
+        this.maxDifferenceAmount = maxDifferenceAmount;
+    }
+
+    public BigDecimal getMeanAbsoluteDifference() {
+        return meanAbsoluteDifference;
+    }
+
+    public void setMeanAbsoluteDifference(BigDecimal meanAbsoluteDifference) {
+        this.meanAbsoluteDifference = meanAbsoluteDifference;
+    }
+
+    public Map<Long, Long> getDifferenceCounts() {
+        return differenceCounts;
+    }
+
+    public void setDifferenceCounts(Map<Long, Long> differenceCounts) {
+        this.differenceCounts = differenceCounts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WithholdingTaxDifferentialDto that = (WithholdingTaxDifferentialDto) o;
+        return Objects.equals(amountFrom, that.amountFrom) &&
+               Objects.equals(amountTo, that.amountTo) &&
+               Objects.equals(step, that.step) &&
+               Objects.equals(dependents, that.dependents) &&
+               Objects.equals(comparedCount, that.comparedCount) &&
+               Objects.equals(differentCount, that.differentCount) &&
+               Objects.equals(minDifference, that.minDifference) &&
+               Objects.equals(minDifferenceAmount, that.minDifferenceAmount) &&
+               Objects.equals(maxDifference, that.maxDifference) &&
+               Objects.equals(maxDifferenceAmount, that.maxDifferenceAmount) &&
+               Objects.equals(meanAbsoluteDifference, that.meanAbsoluteDifference) &&
+               Objects.equals(differenceCounts, that.differenceCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(amountFrom, amountTo, step, dependents, comparedCount, differentCount, minDifference, minDifferenceAmount, maxDifference, maxDifferenceAmount, meanAbsoluteDifference, differenceCounts);
+    }
+
+    @Override
+    public String toString() {
+        return "WithholdingTaxDifferentialDto{" +
+               "amountFrom=" + amountFrom +
+               ", amountTo=" + amountTo +
+               ", step=" + step +
+               ", dependents=" + dependents +
+               ", comparedCount=" + comparedCount +
+               ", differentCount=" + differentCount +
+               ", minDifference=" + minDifference +
+               ", minDifferenceAmount=" + minDifferenceAmount +
+               ", maxDifference=" + maxDifference +
+               ", maxDifferenceAmount=" + maxDifferenceAmount +
+               ", meanAbsoluteDifference=" + meanAbsoluteDifference +
+               ", differenceCounts=" + differenceCounts +
+               '}';
+    }
+}
@@ -2,16 +2,54 @@ package jp.asatex.matianchi.social_insurance_backend_service.domain;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.SocialInsuranceDomainDto;
-import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceQueryCoalescer;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceResultCache;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.AnnualPayrollLineDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.AnnualPayrollSimulationQueryDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.ReverseSocialInsuranceDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.SocialInsuranceBatchQueryDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.SocialInsuranceBatchResultDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.SocialInsuranceSweepItemDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.WithholdingTaxDifferentialDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics.Stage;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateSnapshotManager;
 import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
-import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
-import jp.asatex.matianchi.social_insurance_backend_service.repository.EmploymentInsuranceRateRepository;
 import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
-import jp.asatex.matianchi.social_insurance_backend_service.repository.WithholdingTaxBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.dto.RateLookupResult;
+import jp.asatex.matianchi.social_insurance_calculation.SocialInsuranceCalculation;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.BonusPremiumRates;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CalculationStageTimer;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledEmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledPremiumBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledWithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.ElectronicWithholdingTax;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.SocialInsuranceCalculator;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxColumn;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxMethod;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+import jp.asatex.matianchi.social_insurance_calculation.rate.NetPaySearch;
+import jp.asatex.matianchi.social_insurance_calculation.rate.NetPayTableSweep;
+import jp.asatex.matianchi.social_insurance_calculation.rate.RateSnapshot;
+import jp.asatex.matianchi.social_insurance_calculation.rate.RateSnapshotIndex;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -22,22 +60,66 @@ import reactor.core.publisher.Mono;
 @Service
 public class PremiumBracketDomainService {
 
+    /**
+     * 确定"当天"使用的时区，费率表按日本的日期切换
+     */
+    private static final ZoneId RATE_ZONE = ZoneId.of("Asia/Tokyo");
+
+    /**
+     * keyset分页每页的最大记录数
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * 年度工资模拟的月数
+     */
+    private static final int SIMULATION_MONTHS = 12;
+
+    /**
+     * 健康保险（含介护保险）标准奖金额的年度累计上限（每年4月～次年3月）
+     */
+    private static final long HEALTH_STANDARD_BONUS_ANNUAL_LIMIT = 5_730_000L;
+
+    /**
+     * 厚生年金标准奖金额每月的上限
+     */
+    private static final long PENSION_STANDARD_BONUS_MONTHLY_LIMIT = 1_500_000L;
+
+    /**
+     * 实发工资表一次导出或一次月薪扫描的最大行数
+     */
+    private static final long EXPORT_MAX_ROWS = 10_000_000L;
+
+    /**
+     * 实体标签中事业类型的编码（字符均为ETag允许的ASCII字符，不含填充）
+     */
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
     private final PremiumBracketRepository repository;
-    private final WithholdingTaxBracketRepository withholdingTaxRepository;
-    private final EmploymentInsuranceRateRepository employmentInsuranceRepository;
+    private final RateSnapshotManager rateSnapshotManager;
+    private final SocialInsuranceResultCache resultCache;
+    private final SocialInsuranceQueryCoalescer queryCoalescer;
+    private final CalculationStageMetrics stageMetrics;
+    private final boolean rateSnapshotEnabled;
 
     public PremiumBracketDomainService(
             PremiumBracketRepository repository,
-            WithholdingTaxBracketRepository withholdingTaxRepository,
-            EmploymentInsuranceRateRepository employmentInsuranceRepository) {
+            RateSnapshotManager rateSnapshotManager,
+            SocialInsuranceResultCache resultCache,
+            SocialInsuranceQueryCoalescer queryCoalescer,
+            CalculationStageMetrics stageMetrics,
+            @Value("${social-insurance.rate-snapshot.enabled:true}") boolean rateSnapshotEnabled) {
         this.repository = repository;
-        this.withholdingTaxRepository = withholdingTaxRepository;
-        this.employmentInsuranceRepository = employmentInsuranceRepository;
+        this.rateSnapshotManager = rateSnapshotManager;
+        this.resultCache = resultCache;
+        this.queryCoalescer = queryCoalescer;
+        this.stageMetrics = stageMetrics;
+        this.rateSnapshotEnabled = rateSnapshotEnabled;
     }
 
     /**
      * 查询社会保险金额
-     * 根据月薪和年龄计算社会保险费用
+     * 根据月薪和年龄计算社会保险费用，使用当天有效的费率表
      * 雇员和雇主各承担50%的费用
      * 包含健康保险、介护保险、厚生年金、源泉征收税、雇佣保险
      * 
@@ -47,120 +129,886 @@ public class PremiumBracketDomainService {
      * @return Mono包装的SocialInsuranceDomainDto对象
      */
     public Mono<SocialInsuranceDomainDto> socialInsuranceQuery(Integer monthlySalary, Integer age, String businessType) {
+        return socialInsuranceQuery(monthlySalary, age, businessType, null);
+    }
+
+    /**
+     * 查询社会保险金额（指定生效日期）
+     * 使用在生效日期有效的费率表计算，可用于追溯计算和费率切换前后的计算
+     * 
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @param businessType 事业类型（可选，默认为"一般の事業"）
+     * @param effectiveDate 生效日期（可选，默认为日本时间的当天）
+     * @return Mono包装的SocialInsuranceDomainDto对象
+     */
+    public Mono<SocialInsuranceDomainDto> socialInsuranceQuery(Integer monthlySalary, Integer age, String businessType,
+                                                               LocalDate effectiveDate) {
+        return socialInsuranceQuery(monthlySalary, age, businessType, effectiveDate, null, null, null);
+    }
+
+    /**
+     * 查询社会保险金额（指定生效日期和源泉征收税的计算方式）
+     * 按税额表计算时，甲栏按扶养亲属人数取税额，超过7人时每多1人扣减1,610日元；乙栏每1人扣减1,610日元，
+     * 税额为NULL的栏按calculation_formula计算，1日元未满舍去
+     * 按电算机特例计算时不查找源泉征收税等级，只适用于甲栏
+     * 费率表未登记甲栏扶养亲属的税额时，按税额表甲栏计算扶养亲属1人以上的请求在计算前被拒绝
+     * 
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @param businessType 事业类型（可选，默认为"一般の事業"）
+     * @param effectiveDate 生效日期（可选，默认为日本时间的当天）
+     * @param taxMethod 源泉征收税的计算方法（可选，默认为税额表）
+     * @param taxColumn 源泉征收税额表的栏（可选，默认为甲栏）
+     * @param dependents 扶养亲属人数（可选，默认为0）
+     * @return Mono包装的SocialInsuranceDomainDto对象
+     */
+    public Mono<SocialInsuranceDomainDto> socialInsuranceQuery(Integer monthlySalary, Integer age, String businessType,
+                                                               LocalDate effectiveDate, WithholdingTaxMethod taxMethod,
+                                                               WithholdingTaxColumn taxColumn, Integer dependents) {
         // 默认使用"一般の事業"
         String finalBusinessType = (businessType != null && !businessType.isEmpty()) 
                 ? businessType 
                 : "一般の事業";
+        WithholdingTaxMethod method = taxMethod != null ? taxMethod : WithholdingTaxMethod.TABLE;
+        WithholdingTaxColumn column = taxColumn != null ? taxColumn : WithholdingTaxColumn.KO;
+        int finalDependents = dependents != null ? dependents : 0;
         
-        // 查询社会保险费等级
-        Mono<PremiumBracket> bracketMono = repository.findByAmount(monthlySalary)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException(
-                        "未找到月薪 " + monthlySalary + " 对应的保险费等级记录")));
-        
-        // 查询雇佣保险费率
-        Mono<EmploymentInsuranceRate> employmentInsuranceMono = employmentInsuranceRepository
-                .findByBusinessType(finalBusinessType)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException(
-                        "未找到事业类型 " + finalBusinessType + " 对应的雇佣保险费率记录")));
-        
-        // 计算扣除社会保险费和雇佣保险后的工资金额（用于源泉征收税计算）
-        // 注意：源泉征收税应该基于扣除雇员承担的社会保险费和雇佣保险后的工资金额
-        Mono<Integer> salaryAfterSocialInsuranceMono = Mono.zip(bracketMono, employmentInsuranceMono)
-                .map(tuple -> {
-                    PremiumBracket bracket = tuple.getT1();
-                    EmploymentInsuranceRate employmentInsuranceRate = tuple.getT2();
-                    
-                    // 计算总的社会保险费（健康保险 + 介护保险 + 厚生年金）
-                    BigDecimal totalHealthCostWithNoCare = bracket.getHealthNoCare();
-                    BigDecimal totalCareCost = (age < 40) ? BigDecimal.ZERO : bracket.getHealthCare().subtract(bracket.getHealthNoCare());
-                    BigDecimal totalPension = bracket.getPension();
-                    
-                    // 雇员承担的社会保险费（总额的50%）
-                    BigDecimal half = new BigDecimal("0.5");
-                    BigDecimal employeeHealthCost = totalHealthCostWithNoCare.multiply(half);
-                    BigDecimal employeeCareCost = totalCareCost.multiply(half);
-                    BigDecimal employeePension = totalPension.multiply(half);
-                    
-                    // 雇员承担的雇佣保险 = 月薪 × 雇员费率 / 1000
-                    BigDecimal employeeEmploymentInsurance = new BigDecimal(monthlySalary)
-                            .multiply(employmentInsuranceRate.getEmployeeRate())
-                            .divide(new BigDecimal("1000"), 2, RoundingMode.HALF_UP);
-                    
-                    // 扣除总额 = 月薪 - 雇员承担的健康保险 - 雇员承担的介护保险 - 雇员承担的厚生年金 - 雇员承担的雇佣保险
-                    BigDecimal employeeSocialInsurance = employeeHealthCost.add(employeeCareCost).add(employeePension);
-                    BigDecimal totalDeduction = employeeSocialInsurance.add(employeeEmploymentInsurance);
-                    return monthlySalary - totalDeduction.intValue();
-                });
+        return Mono.defer(() -> {
+            if (finalDependents < 0) {
+                throw new IllegalArgumentException("扶养亲属人数不能为负数");
+            }
+            if (method == WithholdingTaxMethod.ELECTRONIC && column != WithholdingTaxColumn.KO) {
+                throw new IllegalArgumentException("源泉征收税的电算机特例只适用于甲栏");
+            }
+            LocalDate finalEffectiveDate = effectiveDate != null ? effectiveDate : LocalDate.now(RATE_ZONE);
+            
+            // 费率快照已加载时从内存中查找该日期所属期间的快照，不访问数据库
+            // 缓存键使用快照自身的版本号，刷新过程中仍与所用费率一致
+            RateSnapshotIndex index = rateSnapshotEnabled ? rateSnapshotManager.getIfLoaded() : null;
+            if (index != null) {
+                RateSnapshot snapshot = snapshotAt(index, finalEffectiveDate);
+                return cached(monthlySalary, age, finalBusinessType, method, column, finalDependents,
+                        index.getVersion(), snapshot.getPeriodStart(), false,
+                        () -> Mono.fromCallable(() -> calculateFromSnapshot(snapshot, monthlySalary, age >= 40,
+                                finalBusinessType, method, column, finalDependents)));
+            }
+            
+            // 快照未加载（冷启动或刚失效）时在后台加载，本次请求用一条SQL完成查询
+            if (rateSnapshotEnabled) {
+                rateSnapshotManager.preload();
+            }
+            // 此时不知道日期所属的期间，以日期本身作为缓存键
+            // 同时到达的相同请求合并为一次数据库查询，避免冷启动或失效后大量相同请求同时访问数据库
+            return cached(monthlySalary, age, finalBusinessType, method, column, finalDependents,
+                    rateSnapshotManager.getVersion(), finalEffectiveDate.toEpochDay(), true,
+                    () -> socialInsuranceQueryFromDatabase(monthlySalary, age, finalBusinessType, finalEffectiveDate,
+                            method, column, finalDependents));
+        });
+    }
+
+    /**
+     * 获取社会保险金额查询结果的实体标签
+     * 由规范化后的查询条件（年龄只取是否缴纳介护保险）和生效日期所属期间的费率内容指纹组成，
+     * 事业类型以UTF-8的Base64URL编码原样放入标签（不使用哈希值，避免不同事业类型得到相同的强验证器），
+     * 费率表内容不变时各节点对同一查询返回相同的标签，费率表变更后标签随指纹改变
+     * 只读取已加载的费率快照，不执行计算，也不访问数据库
+     * 
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @param businessType 事业类型（可选，默认为"一般の事業"）
+     * @param effectiveDate 生效日期（可选，默认为日本时间的当天）
+     * @param taxMethod 源泉征收税的计算方法（可选，默认为税额表）
+     * @param taxColumn 源泉征收税额表的栏（可选，默认为甲栏）
+     * @param dependents 扶养亲属人数（可选，默认为0）
+     * @return Mono包装的实体标签（不含引号）；快照未加载、查询条件无效或该日期没有费率表时为空，
+     *         此时由查询本身报告错误
+     */
+    public Mono<String> socialInsuranceQueryTag(Integer monthlySalary, Integer age, String businessType,
+                                                LocalDate effectiveDate, WithholdingTaxMethod taxMethod,
+                                                WithholdingTaxColumn taxColumn, Integer dependents) {
+        return Mono.fromSupplier(() -> {
+            String finalBusinessType = (businessType != null && !businessType.isEmpty())
+                    ? businessType
+                    : "一般の事業";
+            WithholdingTaxMethod method = taxMethod != null ? taxMethod : WithholdingTaxMethod.TABLE;
+            WithholdingTaxColumn column = taxColumn != null ? taxColumn : WithholdingTaxColumn.KO;
+            int finalDependents = dependents != null ? dependents : 0;
+            if (monthlySalary == null || age == null || finalDependents < 0
+                    || method == WithholdingTaxMethod.ELECTRONIC && column != WithholdingTaxColumn.KO) {
+                return null;
+            }
+            RateSnapshotIndex index = rateSnapshotEnabled ? rateSnapshotManager.getIfLoaded() : null;
+            if (index == null) {
+                return null;
+            }
+            RateSnapshot snapshot = index.snapshotAt(
+                    effectiveDate != null ? effectiveDate : LocalDate.now(RATE_ZONE));
+            if (snapshot == null) {
+                return null;
+            }
+            return Long.toHexString(snapshot.getFingerprint())
+                    + "-" + monthlySalary
+                    + "-" + (age >= 40 ? "care" : "nocare")
+                    + "-" + method.name().toLowerCase(Locale.ROOT)
+                    + "-" + column.name().toLowerCase(Locale.ROOT)
+                    + "-" + finalDependents
+                    + "-" + BASE64_URL.encodeToString(finalBusinessType.getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    /**
+     * 反向查询社会保险金额
+     * 求出实发工资（月薪 - 雇员负担的社会保险费、雇佣保险和源泉征收税）达到目标金额的最低月薪，
+     * 并返回该月薪的计算结果
+     * 在费率快照上按保险费等级和源泉征收税等级的区段跳跃查找，不逐日元计算，也不访问数据库
+     * 
+     * @param targetNetPay 目标实发工资
+     * @param age 年龄
+     * @param businessType 事业类型（可选，默认为"一般の事業"）
+     * @param effectiveDate 生效日期（可选，默认为日本时间的当天）
+     * @return Mono包装的ReverseSocialInsuranceDomainDto对象
+     */
+    public Mono<ReverseSocialInsuranceDomainDto> reverseSocialInsuranceQuery(Integer targetNetPay, Integer age,
+                                                                            String businessType,
+                                                                            LocalDate effectiveDate) {
+        String finalBusinessType = (businessType != null && !businessType.isEmpty())
+                ? businessType
+                : "一般の事業";
+        return Mono.defer(() -> {
+            if (targetNetPay == null || age == null) {
+                return Mono.error(new IllegalArgumentException("目标实发工资和年龄不能为空"));
+            }
+            if (targetNetPay < 0) {
+                return Mono.error(new IllegalArgumentException("目标实发工资不能为负数: " + targetNetPay));
+            }
+            LocalDate finalEffectiveDate = effectiveDate != null ? effectiveDate : LocalDate.now(RATE_ZONE);
+            Mono<RateSnapshotIndex> indexMono = rateSnapshotEnabled
+                    ? rateSnapshotManager.current()
+                    : rateSnapshotManager.loadDetached();
+            return indexMono.map(index -> reverseFromSnapshot(
+                    snapshotAt(index, finalEffectiveDate), targetNetPay, age >= 40, finalBusinessType));
+        });
+    }
+
+    /**
+     * 基于费率快照反向查找月薪并计算社会保险金额
+     * 
+     * @param snapshot 费率快照
+     * @param targetNetPay 目标实发工资
+     * @param careApplicable 是否缴纳介护保险
+     * @param businessType 事业类型
+     * @return ReverseSocialInsuranceDomainDto对象
+     */
+    private ReverseSocialInsuranceDomainDto reverseFromSnapshot(RateSnapshot snapshot, int targetNetPay,
+                                                                boolean careApplicable, String businessType) {
+        CompiledEmploymentInsuranceRate employmentInsuranceRate = snapshot.findEmploymentInsuranceRate(businessType);
+        if (employmentInsuranceRate == null) {
+            throw new IllegalArgumentException("未找到事业类型 " + businessType + " 对应的雇佣保险费率记录");
+        }
+        int monthlySalary = NetPaySearch.minimumMonthlySalary(
+                snapshot, employmentInsuranceRate, careApplicable, targetNetPay);
+        if (monthlySalary == NetPaySearch.NOT_FOUND) {
+            throw new IllegalArgumentException("费率表范围内未找到实发工资达到 " + targetNetPay + " 的月薪");
+        }
+        SocialInsuranceDomainDto result = calculateFromSnapshot(snapshot, monthlySalary, careApplicable, businessType);
+        SocialInsuranceDomainDto.CostDetail employeeCost = result.getEmployeeCost();
+        BigDecimal netPay = BigDecimal.valueOf(monthlySalary)
+                .subtract(employeeCost.getHealthCostWithNoCare())
+                .subtract(employeeCost.getCareCost())
+                .subtract(employeeCost.getPension())
+                .subtract(employeeCost.getWithholdingTax())
+                .subtract(employeeCost.getEmploymentInsurance());
+        return new ReverseSocialInsuranceDomainDto(targetNetPay, monthlySalary, netPay, result);
+    }
+
+    /**
+     * 创建实发工资表的扫描
+     * 输入和费率在返回扫描之前校验，错误以IllegalArgumentException报告；扫描开始后不再抛出异常
+     * 
+     * @param from 开始月薪（含）
+     * @param to 结束月薪（含）
+     * @param step 月薪间隔
+     * @param age 年龄
+     * @param businessType 事业类型（可选，默认为"一般の事業"）
+     * @param effectiveDate 生效日期（可选，默认为日本时间的当天）
+     * @return Mono包装的NetPayTableSweep对象
+     */
+    public Mono<NetPayTableSweep> netPayTableSweep(Integer from, Integer to, Integer step, Integer age,
+                                                   String businessType, LocalDate effectiveDate) {
+        String finalBusinessType = (businessType != null && !businessType.isEmpty())
+                ? businessType
+                : "一般の事業";
+        return Mono.defer(() -> {
+            validateSalaryRange(from, to, step, age);
+            LocalDate finalEffectiveDate = effectiveDate != null ? effectiveDate : LocalDate.now(RATE_ZONE);
+            Mono<RateSnapshotIndex> indexMono = rateSnapshotEnabled
+                    ? rateSnapshotManager.current()
+                    : rateSnapshotManager.loadDetached();
+            return indexMono.map(index -> {
+                RateSnapshot snapshot = snapshotAt(index, finalEffectiveDate);
+                CompiledEmploymentInsuranceRate employmentInsuranceRate =
+                        snapshot.findEmploymentInsuranceRate(finalBusinessType);
+                if (employmentInsuranceRate == null) {
+                    throw new IllegalArgumentException("未找到事业类型 " + finalBusinessType + " 对应的雇佣保险费率记录");
+                }
+                return new NetPayTableSweep(snapshot, employmentInsuranceRate, age >= 40, from, to, step);
+            });
+        });
+    }
+
+    /**
+     * 按月薪从小到大逐个计算社会保险金额
+     * 输入在开始之前校验，错误以IllegalArgumentException报告；找不到等级的月薪在结果中记录错误消息，不中断扫描
+     * 通过Flux.generate按下游请求逐个计算，下游的请求数（RSocket的REQUEST_N）决定计算的进度
+     * 
+     * @param from 开始月薪（含）
+     * @param to 结束月薪（含）
+     * @param step 月薪间隔
+     * @param age 年龄
+     * @param businessType 事业类型（可选，默认为"一般の事業"）
+     * @param effectiveDate 生效日期（可选，默认为日本时间的当天）
+     * @return Flux包装的SocialInsuranceSweepItemDomainDto对象流
+     */
+    public Flux<SocialInsuranceSweepItemDomainDto> socialInsuranceSweep(Integer from, Integer to, Integer step,
+                                                                        Integer age, String businessType,
+                                                                        LocalDate effectiveDate) {
+        String finalBusinessType = (businessType != null && !businessType.isEmpty())
+                ? businessType
+                : "一般の事業";
+        return Mono.defer(() -> {
+                    validateSalaryRange(from, to, step, age);
+                    LocalDate finalEffectiveDate = effectiveDate != null ? effectiveDate : LocalDate.now(RATE_ZONE);
+                    Mono<RateSnapshotIndex> indexMono = rateSnapshotEnabled
+                            ? rateSnapshotManager.current()
+                            : rateSnapshotManager.loadDetached();
+                    return indexMono.map(index -> snapshotAt(index, finalEffectiveDate));
+                })
+                .flatMapMany(snapshot -> Flux.<SocialInsuranceSweepItemDomainDto, Long>generate(
+                        () -> (long) from,
+                        (monthlySalary, sink) -> {
+                            if (monthlySalary > to) {
+                                sink.complete();
+                                return monthlySalary;
+                            }
+                            sink.next(calculateSweepItem(snapshot, monthlySalary.intValue(), age >= 40,
+                                    finalBusinessType));
+                            return monthlySalary + step;
+                        }));
+    }
+
+    /**
+     * 启动预热用的月薪扫描
+     * 与socialInsuranceQuery使用相同的费率快照和计算库，但不经过计算结果缓存和查询合并，各阶段耗时也不记录到stageMetrics，
+     * 预热不占用缓存条目，不改变缓存的命中统计和计算阶段的指标
+     * 任何异常都只记录在该月薪的结果中，不中断扫描
+     *
+     * @param to 结束月薪（含），从0开始
+     * @param step 月薪间隔（大于0）
+     * @param age 年龄
+     * @return Flux包装的SocialInsuranceSweepItemDomainDto对象流
+     */
+    public Flux<SocialInsuranceSweepItemDomainDto> warmupSweep(int to, int step, int age) {
+        return Mono.defer(() -> {
+                    Mono<RateSnapshotIndex> indexMono = rateSnapshotEnabled
+                            ? rateSnapshotManager.current()
+                            : rateSnapshotManager.loadDetached();
+                    return indexMono.map(index -> snapshotAt(index, LocalDate.now(RATE_ZONE)));
+                })
+                .flatMapMany(snapshot -> Flux.range(0, to / step + 1)
+                        .map(i -> {
+                            int monthlySalary = i * step;
+                            try {
+                                return new SocialInsuranceSweepItemDomainDto(monthlySalary,
+                                        SocialInsuranceCalculation.calculate(snapshot, monthlySalary, age >= 40,
+                                                "一般の事業", WithholdingTaxMethod.TABLE, WithholdingTaxColumn.KO, 0,
+                                                CalculationStageTimer.NONE),
+                                        null);
+                            } catch (RuntimeException e) {
+                                return new SocialInsuranceSweepItemDomainDto(monthlySalary, null, e.getMessage());
+                            }
+                        }));
+    }
+
+    /**
+     * 计算月薪扫描中的一个月薪
+     */
+    private SocialInsuranceSweepItemDomainDto calculateSweepItem(RateSnapshot snapshot, int monthlySalary,
+                                                                 boolean careApplicable, String businessType) {
+        try {
+            return new SocialInsuranceSweepItemDomainDto(monthlySalary,
+                    calculateFromSnapshot(snapshot, monthlySalary, careApplicable, businessType), null);
+        } catch (IllegalArgumentException e) {
+            return new SocialInsuranceSweepItemDomainDto(monthlySalary, null, e.getMessage());
+        }
+    }
+
+    /**
+     * 校验月薪扫描的范围
+     * 
+     * @throws IllegalArgumentException 参数为空、范围不合法或行数超过上限时
+     */
+    private static void validateSalaryRange(Integer from, Integer to, Integer step, Integer age) {
+        if (from == null || to == null || step == null || age == null) {
+            throw new IllegalArgumentException("开始月薪、结束月薪、月薪间隔和年龄不能为空");
+        }
+        if (from < 0 || to < from || step <= 0) {
+            throw new IllegalArgumentException("月薪范围不合法: from=" + from + ", to=" + to + ", step=" + step);
+        }
+        long rows = ((long) to - from) / step + 1;
+        if (rows > EXPORT_MAX_ROWS) {
+            throw new IllegalArgumentException("导出行数 " + rows + " 超过上限 " + EXPORT_MAX_ROWS);
+        }
+    }
+
+    /**
+     * 比较源泉征收税的电算机特例与税额表查找的差异
+     * 对扣除社会保险费后的工资金额[from, to]中每隔step日元的金额，分别按两种方法计算甲栏税额，
+     * 汇总差额（电算机特例 - 税额表）的分布；税额表的等级由游标顺序移动查找
+     * 
+     * @param from 开始金额（含）
+     * @param to 结束金额（含）
+     * @param step 金额间隔
+     * @param dependents 扶养亲属人数（可选，默认为0）
+     * @param effectiveDate 生效日期（可选，默认为日本时间的当天）
+     * @return Mono包装的WithholdingTaxDifferentialDomainDto对象
+     */
+    public Mono<WithholdingTaxDifferentialDomainDto> withholdingTaxDifferential(Integer from, Integer to, Integer step,
+                                                                               Integer dependents,
+                                                                               LocalDate effectiveDate) {
+        int finalDependents = dependents != null ? dependents : 0;
+        return Mono.defer(() -> {
+            if (from == null || to == null || step == null) {
+                return Mono.error(new IllegalArgumentException("开始金额、结束金额和金额间隔不能为空"));
+            }
+            if (from < 0 || to < from || step <= 0) {
+                return Mono.error(new IllegalArgumentException(
+                        "金额范围不合法: from=" + from + ", to=" + to + ", step=" + step));
+            }
+            if (finalDependents < 0) {
+                return Mono.error(new IllegalArgumentException("扶养亲属人数不能为负数"));
+            }
+            long rows = ((long) to - from) / step + 1;
+            if (rows > EXPORT_MAX_ROWS) {
+                return Mono.error(new IllegalArgumentException(
+                        "比较的金额个数 " + rows + " 超过上限 " + EXPORT_MAX_ROWS));
+            }
+            LocalDate finalEffectiveDate = effectiveDate != null ? effectiveDate : LocalDate.now(RATE_ZONE);
+            Mono<RateSnapshotIndex> indexMono = rateSnapshotEnabled
+                    ? rateSnapshotManager.current()
+                    : rateSnapshotManager.loadDetached();
+            return indexMono.map(index -> {
+                RateSnapshot snapshot = snapshotAt(index, finalEffectiveDate);
+                SocialInsuranceCalculation.requireKoDependentsTabulated(snapshot.isKoDependentsTabulated(),
+                        WithholdingTaxMethod.TABLE, WithholdingTaxColumn.KO, finalDependents);
+                return compareWithholdingTaxMethods(snapshot, from, to, step, finalDependents);
+            });
+        });
+    }
+
+    /**
+     * 在费率快照上逐个金额比较两种源泉征收税计算方法
+     * 
+     * @throws IllegalArgumentException 税额表中没有对应等级或税额时
+     */
+    private static WithholdingTaxDifferentialDomainDto compareWithholdingTaxMethods(RateSnapshot snapshot, int from,
+                                                                                   int to, int step,
+                                                                                   int dependents) {
+        RateSnapshot.Cursor cursor = snapshot.cursor();
+        Map<Long, Long> differenceCounts = new TreeMap<>();
+        long compared = 0;
+        long different = 0;
+        long sumAbsolute = 0;
+        long minDifference = Long.MAX_VALUE;
+        long maxDifference = Long.MIN_VALUE;
+        int minDifferenceAmount = from;
+        int maxDifferenceAmount = from;
+        for (long amount = from; amount <= to; amount += step) {
+            int value = (int) amount;
+            CompiledWithholdingTaxBracket bracket = cursor.withholdingTaxBracket(value);
+            if (bracket == null) {
+                throw new IllegalArgumentException("未找到扣除社会保险费和雇佣保险后工资金额 " + value + " 对应的源泉征收税等级记录");
+            }
+            long difference = ElectronicWithholdingTax.taxYen(value, dependents)
+                    - bracket.withholdingTaxYen(value, WithholdingTaxColumn.KO, dependents);
+            compared++;
+            if (difference != 0) {
+                different++;
+                sumAbsolute += Math.abs(difference);
+            }
+            if (difference < minDifference) {
+                minDifference = difference;
+                minDifferenceAmount = value;
+            }
+            if (difference > maxDifference) {
+                maxDifference = difference;
+                maxDifferenceAmount = value;
+            }
+            differenceCounts.merge(difference, 1L, Long::sum);
+        }
+        BigDecimal meanAbsolute = BigDecimal.valueOf(sumAbsolute)
+                .divide(BigDecimal.valueOf(compared), 2, RoundingMode.HALF_UP);
+        return new WithholdingTaxDifferentialDomainDto(from, to, step, dependents, compared, different,
+                minDifference, minDifferenceAmount, maxDifference, maxDifferenceAmount, meanAbsolute,
+                differenceCounts);
+    }
+
+    /**
+     * 先查计算结果缓存，未命中时计算并写入缓存
+     * 需要访问数据库的计算可以与进行中的相同计算合并，合并的请求共享一次计算，缓存只由执行计算的一方写入；
+     * 基于快照的计算只需几百纳秒，合并的开销与计算本身相当，不合并
+     * 
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @param businessType 事业类型
+     * @param taxMethod 源泉征收税的计算方法
+     * @param taxColumn 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数
+     * @param rateVersion 计算开始时的费率表版本号
+     * @param periodKey 生效期间键（快照的期间开始日，快照未加载时为生效日期本身，均为epoch day）
+     * @param coalesce 是否与进行中的相同计算合并
+     * @param calculation 未命中时执行的计算
+     * @return Mono包装的SocialInsuranceDomainDto对象
+     */
+    private Mono<SocialInsuranceDomainDto> cached(Integer monthlySalary, Integer age, String businessType,
+                                                  WithholdingTaxMethod taxMethod, WithholdingTaxColumn taxColumn,
+                                                  int dependents, long rateVersion, long periodKey, boolean coalesce,
+                                                  Supplier<Mono<SocialInsuranceDomainDto>> calculation) {
+        Supplier<Mono<SocialInsuranceDomainDto>> load = calculation;
+        if (resultCache.isEnabled()) {
+            SocialInsuranceDomainDto cached = resultCache.get(monthlySalary, age, businessType, taxMethod, taxColumn,
+                    dependents, rateVersion, periodKey);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            load = () -> {
+                long loadStart = System.nanoTime();
+                return calculation.get()
+                        .doOnNext(result -> resultCache.put(monthlySalary, age, businessType, taxMethod, taxColumn,
+                                dependents, rateVersion, periodKey, result, System.nanoTime() - loadStart));
+            };
+        }
+        return coalesce
+                ? queryCoalescer.coalesce(monthlySalary, age, businessType, taxMethod, taxColumn, dependents,
+                        rateVersion, periodKey, load)
+                : load.get();
+    }
+
+    /**
+     * 批量查询社会保险金额
+     * 整个批次共享同一份费率快照索引，所有员工的等级和费率都在内存中查找，不再逐个访问数据库
+     * 每名员工可以指定各自的生效日期，未指定时使用批次开始时日本时间的当天
+     * 按输入顺序逐条计算并输出，不缓存整个批次，背压直接传递给输入流
+     * 单个员工计算失败时在结果中记录错误消息，不中断整个批次
+     * 
+     * @param queries 批量查询条件流
+     * @return Flux包装的SocialInsuranceBatchResultDomainDto对象流
+     */
+    public Flux<SocialInsuranceBatchResultDomainDto> socialInsuranceBatchQuery(
+            Flux<SocialInsuranceBatchQueryDomainDto> queries) {
+        // 快照被禁用时为本批次单独加载一份快照，批次内仍只查询一次数据库
+        Mono<RateSnapshotIndex> indexMono = rateSnapshotEnabled
+                ? rateSnapshotManager.current()
+                : rateSnapshotManager.loadDetached();
         
-        // 查询源泉征收税等级
-        Mono<WithholdingTaxBracket> withholdingTaxMono = salaryAfterSocialInsuranceMono
-                .flatMap(salaryAfter -> withholdingTaxRepository.findByAmount(salaryAfter)
-                        .switchIfEmpty(Mono.error(new IllegalArgumentException(
-                                "未找到扣除社会保险费和雇佣保险后工资金额 " + salaryAfter + " 对应的源泉征收税等级记录"))));
+        return indexMono.flatMapMany(index -> {
+            LocalDate defaultEffectiveDate = LocalDate.now(RATE_ZONE);
+            return queries.map(query -> calculateBatchItem(index, defaultEffectiveDate, query));
+        });
+    }
+
+    /**
+     * 计算批量查询中一名员工的社会保险金额
+     * 
+     * @param index 费率快照索引
+     * @param defaultEffectiveDate 未指定生效日期时使用的日期
+     * @param query 查询条件
+     * @return SocialInsuranceBatchResultDomainDto对象
+     */
+    private SocialInsuranceBatchResultDomainDto calculateBatchItem(RateSnapshotIndex index,
+                                                                  LocalDate defaultEffectiveDate,
+                                                                  SocialInsuranceBatchQueryDomainDto query) {
+        if (query.getMonthlySalary() == null || query.getAge() == null) {
+            return new SocialInsuranceBatchResultDomainDto(query.getEmployeeId(), null, "月薪和年龄不能为空");
+        }
         
-        // 组合所有查询结果
-        return Mono.zip(bracketMono, withholdingTaxMono, employmentInsuranceMono)
-                .map(tuple -> {
-                    PremiumBracket bracket = tuple.getT1();
-                    WithholdingTaxBracket withholdingTaxBracket = tuple.getT2();
-                    EmploymentInsuranceRate employmentInsuranceRate = tuple.getT3();
-                    
-                    // 计算总费用
-                    // 无介护健康保险金额
-                    BigDecimal totalHealthCostWithNoCare = bracket.getHealthNoCare();
-                    
-                    // 介护保险金额计算
-                    BigDecimal totalCareCost;
-                    if (age < 40) {
-                        // 年龄小于40岁，介护保险金额为0
-                        totalCareCost = BigDecimal.ZERO;
-                    } else {
-                        // 年龄大于等于40岁，介护保险金额 = 有介护健康保险金额 - 无介护健康保险金额
-                        totalCareCost = bracket.getHealthCare().subtract(bracket.getHealthNoCare());
+        String businessType = (query.getBusinessType() != null && !query.getBusinessType().isEmpty())
+                ? query.getBusinessType()
+                : "一般の事業";
+        LocalDate effectiveDate = query.getEffectiveDate() != null ? query.getEffectiveDate() : defaultEffectiveDate;
+        try {
+            SocialInsuranceDomainDto result = calculateFromSnapshot(
+                    snapshotAt(index, effectiveDate), query.getMonthlySalary(), query.getAge(), businessType);
+            return new SocialInsuranceBatchResultDomainDto(query.getEmployeeId(), result, null);
+        } catch (IllegalArgumentException e) {
+            return new SocialInsuranceBatchResultDomainDto(query.getEmployeeId(), null, e.getMessage());
+        }
+    }
+
+    /**
+     * 年度工资模拟
+     * 从起始月份开始连续模拟12个月，按输入顺序输出12个月度结果行，最后输出1个年度合计行
+     * 费率快照索引只取得一次，各月份按该月1日所属的生效期间查找快照；
+     * 生效期间、月薪和是否缴纳介护保险都相同的月份共用同一个计算结果
+     * 介护保险从40岁到达日（40岁生日的前一天）所在的月份开始扣除，到65岁到达日所在的月份起不再从工资中扣除
+     * 奖金的健康保险和介护保险按年度（4月～次年3月）累计上限计算，模拟开始之前已支付的奖金不计入累计
+     * 所有月份都计算完成后才开始输出，输入错误在输出第一行之前以IllegalArgumentException报告
+     * 
+     * @param query 模拟条件
+     * @return Flux包装的AnnualPayrollLineDomainDto对象流（13行）
+     */
+    public Flux<AnnualPayrollLineDomainDto> simulateAnnualPayroll(AnnualPayrollSimulationQueryDomainDto query) {
+        return Mono.fromCallable(() -> {
+                    validateSimulationQuery(query);
+                    return query;
+                })
+                .flatMap(validated -> rateSnapshotEnabled
+                        ? rateSnapshotManager.current()
+                        : rateSnapshotManager.loadDetached())
+                .map(index -> simulateAnnualPayroll(index, query))
+                .flatMapIterable(lines -> lines);
+    }
+
+    /**
+     * 校验年度工资模拟条件
+     * 
+     * @param query 模拟条件
+     * @throws IllegalArgumentException 条件不完整或不合法时
+     */
+    private static void validateSimulationQuery(AnnualPayrollSimulationQueryDomainDto query) {
+        if (query == null || query.getBirthDate() == null || query.getStartMonth() == null) {
+            throw new IllegalArgumentException("出生日期和模拟开始月份不能为空");
+        }
+        if (query.getSalarySchedule() == null || query.getSalarySchedule().isEmpty()) {
+            throw new IllegalArgumentException("月薪表不能为空");
+        }
+        YearMonth firstMonth = null;
+        for (AnnualPayrollSimulationQueryDomainDto.SalaryChange change : query.getSalarySchedule()) {
+            if (change == null || change.getFromMonth() == null || change.getMonthlySalary() == null) {
+                throw new IllegalArgumentException("月薪表的开始适用月份和月薪不能为空");
+            }
+            if (change.getMonthlySalary() < 0) {
+                throw new IllegalArgumentException("月薪不能为负数: " + change.getMonthlySalary());
+            }
+            if (firstMonth == null || change.getFromMonth().isBefore(firstMonth)) {
+                firstMonth = change.getFromMonth();
+            }
+        }
+        if (firstMonth.isAfter(query.getStartMonth())) {
+            throw new IllegalArgumentException("月薪表必须包含模拟开始月份 " + query.getStartMonth() + " 的月薪");
+        }
+        if (query.getBonuses() != null) {
+            YearMonth endMonth = query.getStartMonth().plusMonths(SIMULATION_MONTHS - 1);
+            for (AnnualPayrollSimulationQueryDomainDto.Bonus bonus : query.getBonuses()) {
+                if (bonus == null || bonus.getMonth() == null || bonus.getAmount() == null) {
+                    throw new IllegalArgumentException("奖金的支付月份和金额不能为空");
+                }
+                if (bonus.getAmount() < 0) {
+                    throw new IllegalArgumentException("奖金金额不能为负数: " + bonus.getAmount());
+                }
+                if (bonus.getMonth().isBefore(query.getStartMonth()) || bonus.getMonth().isAfter(endMonth)) {
+                    throw new IllegalArgumentException("奖金支付月份 " + bonus.getMonth() + " 不在模拟期间 "
+                            + query.getStartMonth() + "～" + endMonth + " 内");
+                }
+            }
+        }
+    }
+
+    /**
+     * 基于费率快照索引计算12个月度结果行和年度合计行
+     * 
+     * @param index 费率快照索引
+     * @param query 已校验的模拟条件
+     * @return 13行结果
+     */
+    private List<AnnualPayrollLineDomainDto> simulateAnnualPayroll(RateSnapshotIndex index,
+                                                                   AnnualPayrollSimulationQueryDomainDto query) {
+        String businessType = (query.getBusinessType() != null && !query.getBusinessType().isEmpty())
+                ? query.getBusinessType()
+                : "一般の事業";
+        LocalDate birthDate = query.getBirthDate();
+        // 到达日为生日的前一天
+        YearMonth careStartMonth = YearMonth.from(birthDate.plusYears(40).minusDays(1));
+        YearMonth careEndMonth = YearMonth.from(birthDate.plusYears(65).minusDays(1));
+
+        List<AnnualPayrollSimulationQueryDomainDto.SalaryChange> schedule = new ArrayList<>(query.getSalarySchedule());
+        schedule.sort(Comparator.comparing(AnnualPayrollSimulationQueryDomainDto.SalaryChange::getFromMonth));
+        Map<YearMonth, Long> bonusByMonth = new HashMap<>();
+        if (query.getBonuses() != null) {
+            for (AnnualPayrollSimulationQueryDomainDto.Bonus bonus : query.getBonuses()) {
+                bonusByMonth.merge(bonus.getMonth(), (long) bonus.getAmount(), Long::sum);
+            }
+        }
+
+        // 生效期间、月薪和是否缴纳介护保险都相同的月份计算结果相同
+        record MonthlyKey(long periodStart, int monthlySalary, boolean careApplicable) {
+        }
+        Map<MonthlyKey, SocialInsuranceDomainDto> monthlyResults = new HashMap<>();
+
+        List<AnnualPayrollLineDomainDto> lines = new ArrayList<>(SIMULATION_MONTHS + 1);
+        long totalSalary = 0;
+        long totalBonus = 0;
+        SocialInsuranceDomainDto totalResult = null;
+        SocialInsuranceDomainDto totalBonusResult = null;
+        long healthStandardBonusInFiscalYear = 0;
+        int fiscalYear = fiscalYear(query.getStartMonth());
+        for (int i = 0; i < SIMULATION_MONTHS; i++) {
+            YearMonth month = query.getStartMonth().plusMonths(i);
+            RateSnapshot snapshot = snapshotAt(index, month.atDay(1));
+            int monthlySalary = salaryFor(schedule, month);
+            boolean careApplicable = !month.isBefore(careStartMonth) && month.isBefore(careEndMonth);
+            int age = Period.between(birthDate, month.atEndOfMonth()).getYears();
+
+            SocialInsuranceDomainDto result = monthlyResults.computeIfAbsent(
+                    new MonthlyKey(snapshot.getPeriodStart(), monthlySalary, careApplicable),
+                    key -> calculateFromSnapshot(snapshot, monthlySalary, careApplicable, businessType));
+
+            Long bonus = bonusByMonth.get(month);
+            SocialInsuranceDomainDto bonusResult = null;
+            if (bonus != null) {
+                if (fiscalYear(month) != fiscalYear) {
+                    fiscalYear = fiscalYear(month);
+                    healthStandardBonusInFiscalYear = 0;
+                }
+                // 标准奖金额为奖金的千日元以下部分舍去后的金额
+                long standardBonus = bonus / 1000 * 1000;
+                long healthStandardBonus = Math.min(standardBonus,
+                        HEALTH_STANDARD_BONUS_ANNUAL_LIMIT - healthStandardBonusInFiscalYear);
+                healthStandardBonusInFiscalYear += healthStandardBonus;
+                long pensionStandardBonus = Math.min(standardBonus, PENSION_STANDARD_BONUS_MONTHLY_LIMIT);
+                bonusResult = calculateBonusFromSnapshot(snapshot, bonus, healthStandardBonus, pensionStandardBonus,
+                        careApplicable, businessType);
+                totalBonus += bonus;
+                totalBonusResult = add(totalBonusResult, bonusResult);
+            }
+
+            totalSalary += monthlySalary;
+            totalResult = add(totalResult, result);
+            lines.add(new AnnualPayrollLineDomainDto(AnnualPayrollLineDomainDto.TYPE_MONTH, month, age,
+                    careApplicable, (long) monthlySalary, bonus != null ? bonus : 0L, result, bonusResult));
+        }
+        lines.add(new AnnualPayrollLineDomainDto(AnnualPayrollLineDomainDto.TYPE_TOTAL, null, null, null,
+                totalSalary, totalBonus, totalResult, totalBonusResult));
+        return lines;
+    }
+
+    /**
+     * 取得某月适用的月薪（开始适用月份不晚于该月的最后一条变更）
+     * 
+     * @param schedule 按开始适用月份升序排列的月薪表
+     * @param month 月份
+     * @return 月薪
+     */
+    private static int salaryFor(List<AnnualPayrollSimulationQueryDomainDto.SalaryChange> schedule, YearMonth month) {
+        int monthlySalary = schedule.get(0).getMonthlySalary();
+        for (AnnualPayrollSimulationQueryDomainDto.SalaryChange change : schedule) {
+            if (change.getFromMonth().isAfter(month)) {
+                break;
+            }
+            monthlySalary = change.getMonthlySalary();
+        }
+        return monthlySalary;
+    }
+
+    /**
+     * 取得月份所属的年度（4月～次年3月）
+     * 
+     * @param month 月份
+     * @return 年度开始的年份
+     */
+    private static int fiscalYear(YearMonth month) {
+        return month.getMonthValue() >= 4 ? month.getYear() : month.getYear() - 1;
+    }
+
+    /**
+     * 基于费率快照计算奖金的社会保险金额
+     * 
+     * @param snapshot 费率快照
+     * @param bonus 奖金金额
+     * @param healthStandardBonus 健康保险和介护保险的标准奖金额
+     * @param pensionStandardBonus 厚生年金的标准奖金额
+     * @param careApplicable 是否缴纳介护保险
+     * @param businessType 事业类型
+     * @return SocialInsuranceDomainDto对象
+     */
+    private static SocialInsuranceDomainDto calculateBonusFromSnapshot(RateSnapshot snapshot, long bonus,
+                                                                       long healthStandardBonus,
+                                                                       long pensionStandardBonus,
+                                                                       boolean careApplicable, String businessType) {
+        if (bonus > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("同一月份的奖金合计金额过大: " + bonus);
+        }
+        BonusPremiumRates bonusPremiumRates = snapshot.getBonusPremiumRates();
+        if (bonusPremiumRates == null) {
+            throw new IllegalArgumentException("未找到计算奖金保险费所需的保险费等级记录");
+        }
+        CompiledEmploymentInsuranceRate employmentInsuranceRate = snapshot.findEmploymentInsuranceRate(businessType);
+        if (employmentInsuranceRate == null) {
+            throw new IllegalArgumentException("未找到事业类型 " + businessType + " 对应的雇佣保险费率记录");
+        }
+        return SocialInsuranceCalculator.calculateBonus(bonusPremiumRates, employmentInsuranceRate, (int) bonus,
+                healthStandardBonus, pensionStandardBonus, careApplicable);
+    }
+
+    /**
+     * 合计两个计算结果的各项费用
+     * 
+     * @param total 到目前为止的合计，尚无合计时为null
+     * @param result 要加上的计算结果
+     * @return 新的合计
+     */
+    private static SocialInsuranceDomainDto add(SocialInsuranceDomainDto total, SocialInsuranceDomainDto result) {
+        if (total == null) {
+            return result;
+        }
+        return new SocialInsuranceDomainDto(
+                add(total.getEmployeeCost(), result.getEmployeeCost()),
+                add(total.getEmployerCost(), result.getEmployerCost()));
+    }
+
+    private static SocialInsuranceDomainDto.CostDetail add(SocialInsuranceDomainDto.CostDetail total,
+                                                           SocialInsuranceDomainDto.CostDetail cost) {
+        return new SocialInsuranceDomainDto.CostDetail(
+                total.getHealthCostWithNoCare().add(cost.getHealthCostWithNoCare()),
+                total.getCareCost().add(cost.getCareCost()),
+                total.getPension().add(cost.getPension()),
+                total.getWithholdingTax().add(cost.getWithholdingTax()),
+                total.getEmploymentInsurance().add(cost.getEmploymentInsurance()));
+    }
+
+    /**
+     * 从快照索引中取得生效日期所属期间的快照
+     * 
+     * @param index 费率快照索引
+     * @param effectiveDate 生效日期
+     * @return 费率快照
+     * @throws IllegalArgumentException 该日期没有有效的费率表时
+     */
+    private static RateSnapshot snapshotAt(RateSnapshotIndex index, LocalDate effectiveDate) {
+        return SocialInsuranceCalculation.snapshotAt(index, effectiveDate);
+    }
+
+    /**
+     * 基于费率快照计算社会保险金额
+     * 
+     * @param snapshot 费率快照
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @param businessType 事业类型
+     * @return SocialInsuranceDomainDto对象
+     */
+    private SocialInsuranceDomainDto calculateFromSnapshot(RateSnapshot snapshot, Integer monthlySalary, Integer age,
+                                                           String businessType) {
+        return calculateFromSnapshot(snapshot, monthlySalary, age >= 40, businessType);
+    }
+
+    /**
+     * 基于费率快照计算社会保险金额（直接指定是否缴纳介护保险）
+     * 
+     * @param snapshot 费率快照
+     * @param monthlySalary 月薪
+     * @param careApplicable 是否缴纳介护保险
+     * @param businessType 事业类型
+     * @return SocialInsuranceDomainDto对象
+     */
+    private SocialInsuranceDomainDto calculateFromSnapshot(RateSnapshot snapshot, int monthlySalary,
+                                                           boolean careApplicable, String businessType) {
+        return calculateFromSnapshot(snapshot, monthlySalary, careApplicable, businessType,
+                WithholdingTaxMethod.TABLE, WithholdingTaxColumn.KO, 0);
+    }
+
+    /**
+     * 基于费率快照计算社会保险金额（指定源泉征收税的计算方式）
+     * 查找和计算由计算库完成，各阶段的耗时记录到stageMetrics
+     * 
+     * @param snapshot 费率快照
+     * @param monthlySalary 月薪
+     * @param careApplicable 是否缴纳介护保险
+     * @param businessType 事业类型
+     * @param taxMethod 源泉征收税的计算方法
+     * @param taxColumn 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数
+     * @return SocialInsuranceDomainDto对象
+     */
+    private SocialInsuranceDomainDto calculateFromSnapshot(RateSnapshot snapshot, int monthlySalary,
+                                                           boolean careApplicable, String businessType,
+                                                           WithholdingTaxMethod taxMethod,
+                                                           WithholdingTaxColumn taxColumn, int dependents) {
+        return SocialInsuranceCalculation.calculate(snapshot, monthlySalary, careApplicable, businessType,
+                taxMethod, taxColumn, dependents, stageMetrics);
+    }
+
+    /**
+     * 用一条SQL查询所有费率并计算社会保险金额（费率快照未加载或被禁用时使用）
+     * 保险费等级、雇佣保险费率、扣除后工资金额和源泉征收税等级在同一次数据库往返中解析
+     * 源泉征收税等级带有计算公式时，公式的基数可能引用其他等级的税额，改用整张费率表的快照计算
+     * 按电算机特例计算时不使用查询到的源泉征收税等级
+     * 
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @param businessType 事业类型
+     * @param effectiveDate 生效日期
+     * @param taxMethod 源泉征收税的计算方法
+     * @param taxColumn 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数
+     * @return Mono包装的SocialInsuranceDomainDto对象
+     */
+    private Mono<SocialInsuranceDomainDto> socialInsuranceQueryFromDatabase(Integer monthlySalary, Integer age,
+                                                                            String businessType,
+                                                                            LocalDate effectiveDate,
+                                                                            WithholdingTaxMethod taxMethod,
+                                                                            WithholdingTaxColumn taxColumn,
+                                                                            int dependents) {
+        // 从订阅开始计时，包含从连接池获取连接和数据库往返的时间
+        Mono<RateLookupResult> rates = Mono.defer(() -> {
+            long queryStart = stageMetrics.start();
+            return repository.findRatesForSalary(monthlySalary, age, businessType, effectiveDate)
+                    .doOnNext(result -> stageMetrics.record(Stage.RATE_QUERY, queryStart));
+        });
+        return rates
+                .flatMap(result -> {
+                    if (result.getPremiumBracket() == null) {
+                        throw new IllegalArgumentException("未找到月薪 " + monthlySalary + " 对应的保险费等级记录");
+                    }
+                    if (result.getEmploymentInsuranceRate() == null) {
+                        throw new IllegalArgumentException("未找到事业类型 " + businessType + " 对应的雇佣保险费率记录");
+                    }
+                    if (taxMethod == WithholdingTaxMethod.ELECTRONIC) {
+                        long arithmeticStart = stageMetrics.start();
+                        SocialInsuranceDomainDto calculated = SocialInsuranceCalculator.calculateElectronic(
+                                CompiledPremiumBracket.of(result.getPremiumBracket()),
+                                CompiledEmploymentInsuranceRate.of(result.getEmploymentInsuranceRate()),
+                                monthlySalary,
+                                age >= 40,
+                                dependents);
+                        stageMetrics.record(Stage.ARITHMETIC, arithmeticStart);
+                        return Mono.just(calculated);
+                    }
+                    if (result.getWithholdingTaxBracket() == null) {
+                        throw new IllegalArgumentException("未找到扣除社会保险费和雇佣保险后工资金额 "
+                                + result.getSalaryAfterSocialInsurance() + " 对应的源泉征收税等级记录");
+                    }
+                    SocialInsuranceCalculation.requireKoDependentsTabulated(
+                            result.getWithholdingTaxBracket().getTaxAmountKoDependents() != null,
+                            taxMethod, taxColumn, dependents);
+                    if (result.getWithholdingTaxBracket().getCalculationFormula() != null) {
+                        Mono<RateSnapshotIndex> index = rateSnapshotEnabled
+                                ? rateSnapshotManager.current()
+                                : rateSnapshotManager.loadDetached();
+                        return index.map(loaded -> calculateFromSnapshot(snapshotAt(loaded, effectiveDate),
+                                monthlySalary, age >= 40, businessType, taxMethod, taxColumn, dependents));
                     }
-                    
-                    // 厚生年金金额
-                    BigDecimal totalPension = bracket.getPension();
-                    
-                    // 源泉征收税金额（仅雇员负担，使用甲类税额）
-                    BigDecimal withholdingTax = withholdingTaxBracket.getTaxAmountKo() != null
-                            ? new BigDecimal(withholdingTaxBracket.getTaxAmountKo())
-                            : BigDecimal.ZERO;
-                    
-                    // 雇佣保险金额计算
-                    // 雇员负担 = 月薪 × 雇员费率 / 1000
-                    BigDecimal employeeEmploymentInsurance = new BigDecimal(monthlySalary)
-                            .multiply(employmentInsuranceRate.getEmployeeRate())
-                            .divide(new BigDecimal("1000"), 2, RoundingMode.HALF_UP);
-                    
-                    // 雇主负担 = 月薪 × (失業等給付率 + 雇用保険二事業率) / 1000
-                    BigDecimal employerEmploymentInsurance = new BigDecimal(monthlySalary)
-                            .multiply(employmentInsuranceRate.getEmployerUnemploymentRate()
-                                    .add(employmentInsuranceRate.getEmployerTwoUndertakingsRate()))
-                            .divide(new BigDecimal("1000"), 2, RoundingMode.HALF_UP);
-                    
-                    // 雇员和雇主各承担50%的社会保险费
-                    BigDecimal half = new BigDecimal("0.5");
-                    
-                    // 雇员承担的费用（50%的社会保险 + 源泉征收税 + 雇佣保险）
-                    SocialInsuranceDomainDto.CostDetail employeeCost = new SocialInsuranceDomainDto.CostDetail(
-                            totalHealthCostWithNoCare.multiply(half),
-                            totalCareCost.multiply(half),
-                            totalPension.multiply(half),
-                            withholdingTax, // 源泉征收税仅雇员负担
-                            employeeEmploymentInsurance // 雇员负担的雇佣保险
-                    );
-                    
-                    // 雇主承担的费用（50%的社会保险 + 雇佣保险）
-                    SocialInsuranceDomainDto.CostDetail employerCost = new SocialInsuranceDomainDto.CostDetail(
-                            totalHealthCostWithNoCare.multiply(half),
-                            totalCareCost.multiply(half),
-                            totalPension.multiply(half),
-                            BigDecimal.ZERO, // 雇主不负担源泉征收税
-                            employerEmploymentInsurance // 雇主负担的雇佣保险
-                    );
-                    
-                    return new SocialInsuranceDomainDto(employeeCost, employerCost);
+                    long arithmeticStart = stageMetrics.start();
+                    SocialInsuranceDomainDto calculated = SocialInsuranceCalculator.calculate(
+                            result.getPremiumBracket(),
+                            result.getWithholdingTaxBracket(),
+                            result.getEmploymentInsuranceRate(),
+                            monthlySalary,
+                            age,
+                            taxColumn,
+                            dependents);
+                    stageMetrics.record(Stage.ARITHMETIC, arithmeticStart);
+                    return Mono.just(calculated);
                 });
     }
     
@@ -188,22 +1036,46 @@ public class PremiumBracketDomainService {
 
     /**
      * 查找所有保险费等级记录
+     * 排序在SQL中执行，记录逐条流出，不在内存中收集整张表
      * 
-     * @return Flux包装的PremiumBracket对象流
+     * @return Flux包装的PremiumBracket对象流（按标准报酬升序排序）
      */
     public Flux<PremiumBracket> findAll() {
-        return repository.findAll()
-                .sort((b1, b2) -> Integer.compare(b1.getStdRem(), b2.getStdRem()));
+        return repository.findAllOrderByStdRemAsc();
+    }
+
+    /**
+     * 按(标准报酬, ID)的keyset分页查找保险费等级记录
+     * 
+     * @param afterStdRem 上一页最后一条记录的标准报酬，第一页为null
+     * @param afterId 上一页最后一条记录的ID，第一页为null
+     * @param limit 每页的最大记录数（1～MAX_PAGE_SIZE）
+     * @return Flux包装的PremiumBracket对象流（按标准报酬、ID升序排序）
+     */
+    public Flux<PremiumBracket> findPage(Integer afterStdRem, Long afterId, int limit) {
+        return Flux.defer(() -> {
+            if ((afterStdRem == null) != (afterId == null)) {
+                return Flux.error(new IllegalArgumentException("afterStdRem和afterId必须同时指定"));
+            }
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                return Flux.error(new IllegalArgumentException(
+                        "每页的记录数必须在1～" + MAX_PAGE_SIZE + "之间: " + limit));
+            }
+            return afterStdRem == null
+                    ? repository.findPageAfter(Integer.MIN_VALUE, Long.MIN_VALUE, limit)
+                    : repository.findPageAfter(afterStdRem, afterId, limit);
+        });
     }
 
     /**
      * 根据等级查找保险费等级记录
+     * 同一等级存在多个生效期间时返回生效开始日期最新的记录
      * 
      * @param grade 等级
      * @return Mono包装的PremiumBracket对象
      */
     public Mono<PremiumBracket> findByGrade(String grade) {
-        return repository.findByGrade(grade)
+        return repository.findFirstByGradeOrderByEffectiveFromDesc(grade)
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("未找到等级为 " + grade + " 的记录")));
     }
 
@@ -216,7 +1088,8 @@ public class PremiumBracketDomainService {
     public Mono<PremiumBracket> save(PremiumBracket bracket) {
         return repository.save(bracket)
                 .doOnNext(saved -> {
-                    // 可以在这里添加业务逻辑，如日志记录、事件发布等
+                    // 保险费等级表已修改，使内存中的费率快照失效
+                    rateSnapshotManager.invalidate();
                 });
     }
 
@@ -228,8 +1101,9 @@ public class PremiumBracketDomainService {
      */
     public Flux<PremiumBracket> saveAll(Flux<PremiumBracket> brackets) {
         return repository.saveAll(brackets)
-                .doOnNext(saved -> {
-                    // 可以在这里添加业务逻辑
+                .doFinally(signal -> {
+                    // 保险费等级表已修改，使内存中的费率快照失效
+                    rateSnapshotManager.invalidate();
                 });
     }
 
@@ -240,9 +1114,11 @@ public class PremiumBracketDomainService {
      * @return Mono<Void>
      */
     public Mono<Void> deleteById(Long id) {
+        // deleteById本身以空完成，存在检查必须放在findById上，否则删除成功时也会被判为未找到
         return repository.findById(id)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("未找到ID为 " + id + " 的记录，无法删除")))
                 .flatMap(bracket -> repository.deleteById(id))
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("未找到ID为 " + id + " 的记录，无法删除")));
+                .doOnSuccess(ignored -> rateSnapshotManager.invalidate());
     }
 
     /**
@@ -251,7 +1127,8 @@ public class PremiumBracketDomainService {
      * @return Mono<Void>
      */
     public Mono<Void> deleteAll() {
-        return repository.deleteAll();
+        return repository.deleteAll()
+                .doOnSuccess(ignored -> rateSnapshotManager.invalidate());
     }
 
     /**
@@ -0,0 +1,75 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain;
+
+import java.time.LocalDate;
+
+import org.springframework.stereotype.Service;
+
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.RateTableImportDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateSnapshotManager;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateTableCsv;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.RateTableImportRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 费率表批量导入Domain Service
+ * 逐行读取并校验CSV，校验通过的记录直接流入数据库的临时表，全部读取完毕后在一个事务中替换一个生效期间；
+ * CSV中任何一行不合法时事务回滚，费率表保持导入前的状态
+ */
+@Service
+public class RateTableImportDomainService {
+
+    public static final String PREMIUM_BRACKET = "premium_bracket";
+    public static final String WITHHOLDING_TAX_BRACKET = "withholding_tax_bracket";
+    public static final String EMPLOYMENT_INSURANCE_RATE = "employment_insurance_rate";
+
+    private final RateTableImportRepository repository;
+    private final RateSnapshotManager rateSnapshotManager;
+
+    public RateTableImportDomainService(RateTableImportRepository repository,
+                                        RateSnapshotManager rateSnapshotManager) {
+        this.repository = repository;
+        this.rateSnapshotManager = rateSnapshotManager;
+    }
+
+    /**
+     * 用CSV替换费率表的一个生效期间
+     * 生效开始日期相同的旧记录被删除；新的生效期间无期限时，生效开始日期更早且无期限的生效期间截止到新的生效开始日期，
+     * 新的生效期间与其他生效期间重叠时导入失败（有结束日期的生效期间不会截止无期限的生效期间）
+     *
+     * @param table 费率表名（premium_bracket、withholding_tax_bracket或employment_insurance_rate）
+     * @param lines CSV的各行（不含换行符），格式见RateTableCsv
+     * @param effectiveFrom 生效开始日期（含）
+     * @param effectiveTo 生效结束日期（不含），为null时无期限
+     * @return Mono包装的RateTableImportDomainDto对象
+     */
+    public Mono<RateTableImportDomainDto> importRateTable(String table, Flux<String> lines,
+                                                          LocalDate effectiveFrom, LocalDate effectiveTo) {
+        return Mono.defer(() -> {
+            if (effectiveFrom == null) {
+                return Mono.error(new IllegalArgumentException("生效开始日期不能为空"));
+            }
+            if (effectiveTo != null && !effectiveTo.isAfter(effectiveFrom)) {
+                return Mono.error(new IllegalArgumentException(
+                        "生效结束日期 " + effectiveTo + " 必须晚于生效开始日期 " + effectiveFrom));
+            }
+            Mono<Long> imported = switch (table) {
+                case PREMIUM_BRACKET -> repository.replacePremiumBrackets(
+                        RateTableCsv.premiumBrackets(lines), effectiveFrom, effectiveTo);
+                case WITHHOLDING_TAX_BRACKET -> repository.replaceWithholdingTaxBrackets(
+                        RateTableCsv.withholdingTaxBrackets(lines), effectiveFrom, effectiveTo);
+                case EMPLOYMENT_INSURANCE_RATE -> repository.replaceEmploymentInsuranceRates(
+                        RateTableCsv.employmentInsuranceRates(lines), effectiveFrom, effectiveTo);
+                default -> Mono.error(new IllegalArgumentException("不支持的费率表: " + table
+                        + "（可选值：" + PREMIUM_BRACKET + "、" + WITHHOLDING_TAX_BRACKET + "、"
+                        + EMPLOYMENT_INSURANCE_RATE + "）"));
+            };
+            long start = System.nanoTime();
+            return imported
+                    .map(rows -> new RateTableImportDomainDto(table, effectiveFrom, effectiveTo, rows,
+                            (System.nanoTime() - start) / 1_000_000))
+                    // 费率表已修改，使本节点的费率快照失效（其他节点通过NOTIFY rate_tables_changed重建）
+                    .doOnNext(result -> rateSnapshotManager.invalidate());
+        });
+    }
+}
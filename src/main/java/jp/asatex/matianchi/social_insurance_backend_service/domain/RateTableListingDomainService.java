@@ -0,0 +1,76 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain;
+
+import org.springframework.stereotype.Service;
+
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.RateTableRowDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateTableCursor;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.RateTableListingRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * 费率表流式浏览Domain Service
+ * 按固定的keyset顺序（保险费等级为(std_rem, id)，源泉征收税等级为(min_amount, id)，雇佣保险费率为id）
+ * 逐条返回费率表的记录，每条记录附带指向该记录的游标，客户端中断后可以从任意一条记录之后继续
+ */
+@Service
+public class RateTableListingDomainService {
+
+    /**
+     * 一次请求的最大记录数
+     */
+    public static final int MAX_LIMIT = 100_000;
+
+    private final RateTableListingRepository repository;
+
+    public RateTableListingDomainService(RateTableListingRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * 流式读取费率表的记录
+     *
+     * @param table 费率表名（premium_bracket、withholding_tax_bracket或employment_insurance_rate）
+     * @param cursor 上一次读取到的最后一条记录的游标，从头开始时为null
+     * @param limit 最大记录数，为null时读取到最后
+     * @return Flux包装的RateTableRowDomainDto对象流
+     */
+    public Flux<RateTableRowDomainDto> stream(String table, String cursor, Integer limit) {
+        return Flux.defer(() -> {
+            if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+                return Flux.error(new IllegalArgumentException(
+                        "limit必须在1到" + MAX_LIMIT + "之间: " + limit));
+            }
+            return switch (table) {
+                case RateTableImportDomainService.PREMIUM_BRACKET -> {
+                    RateTableCursor after = after(table, cursor);
+                    yield repository.streamPremiumBrackets(after.getKey(), after.getId(), limit)
+                            .map(bracket -> row(table, bracket.getStdRem(), bracket.getId(), bracket));
+                }
+                case RateTableImportDomainService.WITHHOLDING_TAX_BRACKET -> {
+                    RateTableCursor after = after(table, cursor);
+                    yield repository.streamWithholdingTaxBrackets(after.getKey(), after.getId(), limit)
+                            .map(bracket -> row(table, bracket.getMinAmount(), bracket.getId(), bracket));
+                }
+                case RateTableImportDomainService.EMPLOYMENT_INSURANCE_RATE -> {
+                    RateTableCursor after = after(table, cursor);
+                    yield repository.streamEmploymentInsuranceRates(after.getId(), limit)
+                            .map(rate -> row(table, 0, rate.getId(), rate));
+                }
+                default -> Flux.error(new IllegalArgumentException("不支持的费率表: " + table
+                        + "（可选值：" + RateTableImportDomainService.PREMIUM_BRACKET + "、"
+                        + RateTableImportDomainService.WITHHOLDING_TAX_BRACKET + "、"
+                        + RateTableImportDomainService.EMPLOYMENT_INSURANCE_RATE + "）"));
+            };
+        });
+    }
+
+    private static RateTableCursor after(String table, String cursor) {
+        return cursor == null || cursor.isEmpty()
+                ? RateTableCursor.start(table)
+                : RateTableCursor.decode(table, cursor);
+    }
+
+    private static RateTableRowDomainDto row(String table, int key, long id, Object record) {
+        return new RateTableRowDomainDto(table, new RateTableCursor(table, key, id).encode(), record);
+    }
+}
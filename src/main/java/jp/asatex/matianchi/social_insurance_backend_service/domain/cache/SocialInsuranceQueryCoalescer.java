@@ -0,0 +1,111 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxColumn;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxMethod;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+import reactor.core.publisher.Mono;
+
+/**
+ * 相同计算的合并（single-flight）
+ * 输入完全相同的多个请求同时未命中计算结果缓存时，只有第一个请求执行计算，其余请求等待同一个结果，
+ * 避免费率快照冷启动或失效后大量相同请求同时访问数据库
+ * 共享的计算单独订阅，结果保存在CompletableFuture中；各请求通过不传播取消的Mono.fromFuture等待，
+ * 任何一个请求（包括第一个）取消都不会中断共享的计算，计算完成（成功、为空或失败）后从进行中的表中移除
+ */
+@Component
+public class SocialInsuranceQueryCoalescer {
+
+    /**
+     * 合并到进行中计算的请求数
+     */
+    public static final String COALESCED_COUNTER_NAME = "social_insurance.query.coalesced";
+
+    /**
+     * 进行中的计算数
+     */
+    public static final String IN_FLIGHT_GAUGE_NAME = "social_insurance.query.in_flight";
+
+    private final boolean enabled;
+
+    private final ConcurrentHashMap<SocialInsuranceQueryKey, CompletableFuture<SocialInsuranceDomainDto>> inFlight =
+            new ConcurrentHashMap<>();
+
+    private final Counter coalescedCounter;
+
+    public SocialInsuranceQueryCoalescer(
+            MeterRegistry meterRegistry,
+            @Value("${social-insurance.coalescing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        this.coalescedCounter = Counter.builder(COALESCED_COUNTER_NAME)
+                .description("与进行中的相同计算合并、不再单独计算的请求数")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_GAUGE_NAME, inFlight, ConcurrentHashMap::size)
+                .description("正在执行、可以被合并的计算数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 执行计算，已有输入相同的计算正在进行时与其共享结果
+     *
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @param businessType 事业类型
+     * @param taxMethod 源泉征收税的计算方法
+     * @param taxColumn 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数
+     * @param rateVersion 计算开始时的费率表版本号
+     * @param periodKey 生效期间键（费率快照的期间开始日或生效日期的epoch day）
+     * @param calculation 没有进行中的相同计算时执行的计算
+     * @return Mono包装的计算结果，取消订阅只影响本次请求
+     */
+    public Mono<SocialInsuranceDomainDto> coalesce(int monthlySalary, int age, String businessType,
+                                                   WithholdingTaxMethod taxMethod, WithholdingTaxColumn taxColumn,
+                                                   int dependents, long rateVersion, long periodKey,
+                                                   Supplier<Mono<SocialInsuranceDomainDto>> calculation) {
+        if (!enabled) {
+            return calculation.get();
+        }
+        return Mono.defer(() -> {
+            SocialInsuranceQueryKey key = new SocialInsuranceQueryKey(monthlySalary, age >= 40, businessType,
+                    taxMethod, taxColumn, dependents, rateVersion, periodKey);
+            CompletableFuture<SocialInsuranceDomainDto> created = new CompletableFuture<>();
+            CompletableFuture<SocialInsuranceDomainDto> existing = inFlight.putIfAbsent(key, created);
+            if (existing != null) {
+                coalescedCounter.increment();
+                return Mono.fromFuture(existing, true);
+            }
+
+            // 先登记移除再订阅，计算同步完成时也能从表中移除
+            created.whenComplete((result, error) -> inFlight.remove(key, created));
+            try {
+                calculation.get().subscribe(
+                        created::complete,
+                        created::completeExceptionally,
+                        () -> created.complete(null));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+            return Mono.fromFuture(created, true);
+        });
+    }
+
+    /**
+     * 获取进行中的计算数
+     *
+     * @return 计算数
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
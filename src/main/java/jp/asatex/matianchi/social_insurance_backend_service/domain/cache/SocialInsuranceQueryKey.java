@@ -0,0 +1,22 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.cache;
+
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxColumn;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxMethod;
+
+/**
+ * 社会保险金额计算结果依赖的全部输入
+ * 计算结果缓存和进行中计算的合并使用同一个键
+ *
+ * @param monthlySalary 月薪
+ * @param careApplicable 是否缴纳介护保险（年龄是否满40岁）
+ * @param businessType 事业类型
+ * @param taxMethod 源泉征收税的计算方法
+ * @param taxColumn 源泉征收税额表的栏
+ * @param dependents 扶养亲属人数
+ * @param rateVersion 费率表版本号
+ * @param periodKey 生效期间键（费率快照的期间开始日或生效日期的epoch day）
+ */
+record SocialInsuranceQueryKey(int monthlySalary, boolean careApplicable, String businessType,
+                               WithholdingTaxMethod taxMethod, WithholdingTaxColumn taxColumn, int dependents,
+                               long rateVersion, long periodKey) {
+}
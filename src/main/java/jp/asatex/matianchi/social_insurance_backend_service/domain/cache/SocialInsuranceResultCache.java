@@ -0,0 +1,149 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateTablesChangedEvent;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxColumn;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxMethod;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+
+/**
+ * 社会保险金额计算结果缓存
+ * 计算结果只取决于（月薪、是否满40岁、事业类型、源泉征收税的计算方法、栏、扶养亲属人数）和适用的费率表，因此以这些输入加费率表版本号和生效期间作为键缓存完成的结果
+ * 使用Caffeine的W-TinyLFU淘汰策略限制条目数量，并记录命中率、淘汰次数和加载耗时，
+ * 这些统计以cache=social_insurance_result标签导出为cache.gets、cache.evictions、cache.load.duration等指标
+ * 费率表变更时整体清空
+ */
+@Component
+public class SocialInsuranceResultCache {
+
+    /**
+     * 导出缓存指标时使用的缓存名称
+     */
+    public static final String CACHE_NAME = "social_insurance_result";
+
+    private final boolean enabled;
+
+    /**
+     * 统计计数器，未命中后由调用方计算并写入时在此记录加载耗时
+     */
+    private final ConcurrentStatsCounter statsCounter = new ConcurrentStatsCounter();
+
+    private final Cache<SocialInsuranceQueryKey, SocialInsuranceDomainDto> cache;
+
+    public SocialInsuranceResultCache(
+            MeterRegistry meterRegistry,
+            @Value("${social-insurance.result-cache.enabled:true}") boolean enabled,
+            @Value("${social-insurance.result-cache.maximum-size:10000}") long maximumSize) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats(() -> statsCounter)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        // CaffeineCacheMetrics只为LoadingCache注册加载指标，这里的加载由put记录，因此按相同的名称和标签补充注册
+        FunctionCounter.builder("cache.load", statsCounter, counter -> counter.snapshot().loadSuccessCount())
+                .tags("cache", CACHE_NAME, "result", "success")
+                .description("未命中后计算并写入缓存的次数")
+                .register(meterRegistry);
+        TimeGauge.builder("cache.load.duration", statsCounter, TimeUnit.NANOSECONDS,
+                        counter -> counter.snapshot().totalLoadTime())
+                .tags("cache", CACHE_NAME)
+                .description("未命中后计算结果所用的累计时间")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 缓存是否启用
+     *
+     * @return 启用时返回true
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 查找已缓存的计算结果
+     *
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @param businessType 事业类型
+     * @param taxMethod 源泉征收税的计算方法
+     * @param taxColumn 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数
+     * @param rateVersion 费率表版本号
+     * @param periodKey 生效期间键（费率快照的期间开始日或生效日期的epoch day）
+     * @return 缓存的计算结果，未命中时返回null
+     */
+    public SocialInsuranceDomainDto get(int monthlySalary, int age, String businessType,
+                                        WithholdingTaxMethod taxMethod, WithholdingTaxColumn taxColumn,
+                                        int dependents, long rateVersion, long periodKey) {
+        return cache.getIfPresent(new SocialInsuranceQueryKey(monthlySalary, age >= 40, businessType, taxMethod,
+                taxColumn, dependents, rateVersion, periodKey));
+    }
+
+    /**
+     * 写入计算结果
+     *
+     * @param monthlySalary 月薪
+     * @param age 年龄
+     * @param businessType 事业类型
+     * @param taxMethod 源泉征收税的计算方法
+     * @param taxColumn 源泉征收税额表的栏
+     * @param dependents 扶养亲属人数
+     * @param rateVersion 计算开始时的费率表版本号
+     * @param periodKey 生效期间键（费率快照的期间开始日或生效日期的epoch day）
+     * @param result 计算结果
+     * @param loadNanos 未命中后计算结果所用的时间（纳秒）
+     */
+    public void put(int monthlySalary, int age, String businessType, WithholdingTaxMethod taxMethod,
+                    WithholdingTaxColumn taxColumn, int dependents, long rateVersion, long periodKey,
+                    SocialInsuranceDomainDto result, long loadNanos) {
+        statsCounter.recordLoadSuccess(loadNanos);
+        cache.put(new SocialInsuranceQueryKey(monthlySalary, age >= 40, businessType, taxMethod, taxColumn,
+                dependents, rateVersion, periodKey), result);
+    }
+
+    /**
+     * 获取缓存统计信息（命中率、淘汰次数、平均加载耗时等）
+     *
+     * @return 缓存统计快照
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * 获取当前缓存条目数的估计值
+     *
+     * @return 条目数
+     */
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 费率表变更时清空缓存
+     * 旧版本号的条目已不会再被命中，这里只是尽早释放内存
+     *
+     * @param event 费率表变更事件
+     */
+    @EventListener
+    public void onRateTablesChanged(RateTablesChangedEvent event) {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,250 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.dto;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 年度工资模拟条件DTO
+ * 对应一名员工的出生日期、月薪表和奖金
+ */
+public class AnnualPayrollSimulationQueryDomainDto {
+
+    /**
+     * 出生日期
+     */
+    private LocalDate birthDate;
+
+    /**
+     * 模拟开始月份（连续模拟12个月）
+     */
+    private YearMonth startMonth;
+
+    /**
+     * 事业类型（可选，默认为"一般の事業"）
+     */
+    private String businessType;
+
+    /**
+     * 月薪表（按开始适用月份排列的月薪变更）
+     */
+    private List<SalaryChange> salarySchedule;
+
+    /**
+     * 奖金（可选）
+     */
+    private List<Bonus> bonuses;
+
+    // 默认构造函数
+    public AnnualPayrollSimulationQueryDomainDto() {
+    }
+
+    // 全参构造函数
+    public AnnualPayrollSimulationQueryDomainDto(LocalDate birthDate, YearMonth startMonth, String businessType,
+            List<SalaryChange> salarySchedule, List<Bonus> bonuses) {
+        this.birthDate = birthDate;
+        this.startMonth = startMonth;
+        this.businessType = businessType;
+        this.salarySchedule = salarySchedule;
+        this.bonuses = bonuses;
+    }
+
+    // Getter和Setter方法
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public void setBirthDate(LocalDate birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    public YearMonth getStartMonth() {
+        return startMonth;
+    }
+
+    public void setStartMonth(YearMonth startMonth) {
+        this.startMonth = startMonth;
+    }
+
+    public String getBusinessType() {
+        return businessType;
+    }
+
+    public void setBusinessType(String businessType) {
+        this.businessType = businessType;
+    }
+
+    public List<SalaryChange> getSalarySchedule() {
+        return salarySchedule;
+    }
+
+    public void setSalarySchedule(List<SalaryChange> salarySchedule) {
+        this.salarySchedule = salarySchedule;
+    }
+
+    public List<Bonus> getBonuses() {
+        return bonuses;
+    }
+
+    public void setBonuses(List<Bonus> bonuses) {
+        this.bonuses = bonuses;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AnnualPayrollSimulationQueryDomainDto that = (AnnualPayrollSimulationQueryDomainDto) o;
+        return Objects.equals(birthDate, that.birthDate) &&
+               Objects.equals(startMonth, that.startMonth) &&
+               Objects.equals(businessType, that.businessType) &&
+               Objects.equals(salarySchedule, that.salarySchedule) &&
+               Objects.equals(bonuses, that.bonuses);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(birthDate, startMonth, businessType, salarySchedule, bonuses);
+    }
+
+    @Override
+    public String toString() {
+        return "AnnualPayrollSimulationQueryDomainDto{" +
+               "birthDate=" + birthDate +
+               ", startMonth=" + startMonth +
+               ", businessType='" + businessType + '\'' +
+               ", salarySchedule=" + salarySchedule +
+               ", bonuses=" + bonuses +
+               '}';
+    }
+
+    /**
+     * 月薪变更
+     * 从fromMonth开始适用monthlySalary，直到下一条变更之前
+     */
+    public static class SalaryChange {
+        /**
+         * 开始适用的月份
+         */
+        private YearMonth fromMonth;
+
+        /**
+         * 月薪
+         */
+        private Integer monthlySalary;
+
+        // 默认构造函数
+        public SalaryChange() {
+        }
+
+        // 全参构造函数
+        public SalaryChange(YearMonth fromMonth, Integer monthlySalary) {
+            this.fromMonth = fromMonth;
+            this.monthlySalary = monthlySalary;
+        }
+
+        // Getter和Setter方法
+        public YearMonth getFromMonth() {
+            return fromMonth;
+        }
+
+        public void setFromMonth(YearMonth fromMonth) {
+            this.fromMonth = fromMonth;
+        }
+
+        public Integer getMonthlySalary() {
+            return monthlySalary;
+        }
+
+        public void setMonthlySalary(Integer monthlySalary) {
+            this.monthlySalary = monthlySalary;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SalaryChange that = (SalaryChange) o;
+            return Objects.equals(fromMonth, that.fromMonth) &&
+                   Objects.equals(monthlySalary, that.monthlySalary);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fromMonth, monthlySalary);
+        }
+
+        @Override
+        public String toString() {
+            return "SalaryChange{" +
+                   "fromMonth=" + fromMonth +
+                   ", monthlySalary=" + monthlySalary +
+                   '}';
+        }
+    }
+
+    /**
+     * 奖金
+     */
+    public static class Bonus {
+        /**
+         * 支付月份
+         */
+        private YearMonth month;
+
+        /**
+         * 奖金金额
+         */
+        private Integer amount;
+
+        // 默认构造函数
+        public Bonus() {
+        }
+
+        // 全参构造函数
+        public Bonus(YearMonth month, Integer amount) {
+            this.month = month;
+            this.amount = amount;
+        }
+
+        // Getter和Setter方法
+        public YearMonth getMonth() {
+            return month;
+        }
+
+        public void setMonth(YearMonth month) {
+            this.month = month;
+        }
+
+        public Integer getAmount() {
+            return amount;
+        }
+
+        public void setAmount(Integer amount) {
+            this.amount = amount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Bonus that = (Bonus) o;
+            return Objects.equals(month, that.month) &&
+                   Objects.equals(amount, that.amount);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(month, amount);
+        }
+
+        @Override
+        public String toString() {
+            return "Bonus{" +
+                   "month=" + month +
+                   ", amount=" + amount +
+                   '}';
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.dto;
+
+import java.util.Objects;
+
+/**
+ * 费率表流式浏览的一条记录DTO
+ */
+public class RateTableRowDomainDto {
+
+    /**
+     * 费率表名
+     */
+    private String table;
+
+    /**
+     * 指向本记录的游标，从该游标继续时返回本记录之后的记录
+     */
+    private String cursor;
+
+    /**
+     * 记录（PremiumBracket、WithholdingTaxBracket或EmploymentInsuranceRate）
+     */
+    private Object record;
+
+    // 默认构造函数
+    public RateTableRowDomainDto() {
+    }
+
+    // 全参构造函数
+    public RateTableRowDomainDto(String table, String cursor, Object record) {
+        this.table = table;
+        this.cursor = cursor;
+        this.record = record;
+    }
+
+    // Getter和Setter方法
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Object getRecord() {
+        return record;
+    }
+
+    public void setRecord(Object record) {
+        this.record = record;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RateTableRowDomainDto that = (RateTableRowDomainDto) o;
+        return Objects.equals(table, that.table) &&
+               Objects.equals(cursor, that.cursor) &&
+               Objects.equals(record, that.record);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(table, cursor, record);
+    }
+
+    @Override
+    public String toString() {
+        return "RateTableRowDomainDto{" +
+               "table=" + table +
+               ", cursor=" + cursor +
+               ", record=" + record +
+               '}';
+    }
+}
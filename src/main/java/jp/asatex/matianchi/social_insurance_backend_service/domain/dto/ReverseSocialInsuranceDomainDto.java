@@ -0,0 +1,105 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.dto;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+
+/**
+ * 反向计算社会保险金额的结果DTO
+ * 由目标实发工资求出的月薪及该月薪的计算结果
+ */
+public class ReverseSocialInsuranceDomainDto {
+
+    /**
+     * 目标实发工资
+     */
+    private Integer targetNetPay;
+
+    /**
+     * 实发工资达到目标金额的最低月薪
+     */
+    private Integer monthlySalary;
+
+    /**
+     * 该月薪的实发工资（月薪 - 雇员负担的社会保险费、雇佣保险和源泉征收税）
+     */
+    private BigDecimal netPay;
+
+    /**
+     * 该月薪的社会保险金额查询结果
+     */
+    private SocialInsuranceDomainDto result;
+
+    // 默认构造函数
+    public ReverseSocialInsuranceDomainDto() {
+    }
+
+    // 全参构造函数
+    public ReverseSocialInsuranceDomainDto(Integer targetNetPay, Integer monthlySalary, BigDecimal netPay,
+            SocialInsuranceDomainDto result) {
+        this.targetNetPay = targetNetPay;
+        this.monthlySalary = monthlySalary;
+        this.netPay = netPay;
+        this.result = result;
+    }
+
+    // Getter和Setter方法
+    public Integer getTargetNetPay() {
+        return targetNetPay;
+    }
+
+    public void setTargetNetPay(Integer targetNetPay) {
+        this.targetNetPay = targetNetPay;
+    }
+
+    public Integer getMonthlySalary() {
+        return monthlySalary;
+    }
+
+    public void setMonthlySalary(Integer monthlySalary) {
+        this.monthlySalary = monthlySalary;
+    }
+
+    public BigDecimal getNetPay() {
+        return netPay;
+    }
+
+    public void setNetPay(BigDecimal netPay) {
+        this.netPay = netPay;
+    }
+
+    public SocialInsuranceDomainDto getResult() {
+        return result;
+    }
+
+    public void setResult(SocialInsuranceDomainDto result) {
+        this.result = result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReverseSocialInsuranceDomainDto that = (ReverseSocialInsuranceDomainDto) o;
+        return Objects.equals(targetNetPay, that.targetNetPay) &&
+               Objects.equals(monthlySalary, that.monthlySalary) &&
+               Objects.equals(netPay, that.netPay) &&
+               Objects.equals(result, that.result);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(targetNetPay, monthlySalary, netPay, result);
+    }
+
+    @Override
+    public String toString() {
+        return "ReverseSocialInsuranceDomainDto{" +
+               "targetNetPay=" + targetNetPay +
+               ", monthlySalary=" + monthlySalary +
+               ", netPay=" + netPay +
+               ", result=" + result +
+               '}';
+    }
+}
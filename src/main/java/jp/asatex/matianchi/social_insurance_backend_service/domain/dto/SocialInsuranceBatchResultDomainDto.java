@@ -0,0 +1,87 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.dto;
+
+import java.util.Objects;
+
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+
+/**
+ * 批量社会保险金额查询结果DTO
+ * 对应批量计算中一名员工的结果，计算失败时result为null并在error中记录原因
+ */
+public class SocialInsuranceBatchResultDomainDto {
+
+    /**
+     * 员工ID
+     */
+    private String employeeId;
+
+    /**
+     * 社会保险金额查询结果
+     */
+    private SocialInsuranceDomainDto result;
+
+    /**
+     * 错误消息（计算成功时为null）
+     */
+    private String error;
+
+    // 默认构造函数
+    public SocialInsuranceBatchResultDomainDto() {
+    }
+
+    // 全参构造函数
+    public SocialInsuranceBatchResultDomainDto(String employeeId, SocialInsuranceDomainDto result, String error) {
+        this.employeeId = employeeId;
+        this.result = result;
+        this.error = error;
+    }
+
+    // Getter和Setter方法
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public SocialInsuranceDomainDto getResult() {
+        return result;
+    }
+
+    public void setResult(SocialInsuranceDomainDto result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SocialInsuranceBatchResultDomainDto that = (SocialInsuranceBatchResultDomainDto) o;
+        return Objects.equals(employeeId, that.employeeId) &&
+               Objects.equals(result, that.result) &&
+               Objects.equals(error, that.error);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(employeeId, result, error);
+    }
+
+    @Override
+    public String toString() {
+        return "SocialInsuranceBatchResultDomainDto{" +
+               "employeeId='" + employeeId + '\'' +
+               ", result=" + result +
+               ", error='" + error + '\'' +
+               '}';
+    }
+}
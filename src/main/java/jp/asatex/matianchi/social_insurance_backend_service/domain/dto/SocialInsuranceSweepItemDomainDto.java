@@ -0,0 +1,87 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.dto;
+
+import java.util.Objects;
+
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+
+/**
+ * 月薪扫描结果DTO
+ * 对应扫描中一个月薪的结果，计算失败时result为null并在error中记录原因
+ */
+public class SocialInsuranceSweepItemDomainDto {
+
+    /**
+     * 月薪
+     */
+    private Integer monthlySalary;
+
+    /**
+     * 社会保险金额查询结果
+     */
+    private SocialInsuranceDomainDto result;
+
+    /**
+     * 错误消息（计算成功时为null）
+     */
+    private String error;
+
+    // 默认构造函数
+    public SocialInsuranceSweepItemDomainDto() {
+    }
+
+    // 全参构造函数
+    public SocialInsuranceSweepItemDomainDto(Integer monthlySalary, SocialInsuranceDomainDto result, String error) {
+        this.monthlySalary = monthlySalary;
+        this.result = result;
+        this.error = error;
+    }
+
+    // Getter和Setter方法
+    public Integer getMonthlySalary() {
+        return monthlySalary;
+    }
+
+    public void setMonthlySalary(Integer monthlySalary) {
+        this.monthlySalary = monthlySalary;
+    }
+
+    public SocialInsuranceDomainDto getResult() {
+        return result;
+    }
+
+    public void setResult(SocialInsuranceDomainDto result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SocialInsuranceSweepItemDomainDto that = (SocialInsuranceSweepItemDomainDto) o;
+        return Objects.equals(monthlySalary, that.monthlySalary) &&
+               Objects.equals(result, that.result) &&
+               Objects.equals(error, that.error);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(monthlySalary, result, error);
+    }
+
+    @Override
+    public String toString() {
+        return "SocialInsuranceSweepItemDomainDto{" +
+               "monthlySalary=" + monthlySalary +
+               ", result=" + result +
+               ", error=" + error +
+               '}';
+    }
+}
@@ -0,0 +1,128 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.metrics;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CalculationStage;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CalculationStageTimer;
+
+/**
+ * 社会保险金额查询的分阶段计时器
+ * 为socialInsuranceQuery的每个阶段（等级查找、费率查找、源泉征收税查找、计算）分别记录耗时，
+ * 用于区分延迟来自连接池、数据库还是CPU计算
+ * 计时器在启动时一次性注册，记录时不再按标签查找Meter
+ * 费率快照路径的各阶段由计算库（social-insurance-calculation）通过CalculationStageTimer接口报告
+ */
+@Component
+public class CalculationStageMetrics implements CalculationStageTimer {
+
+    /**
+     * 计时器名称，各阶段通过stage标签区分
+     */
+    public static final String TIMER_NAME = "social_insurance.query.stage";
+
+    /**
+     * 查询阶段
+     */
+    public enum Stage {
+        /**
+         * 保险费等级查找
+         */
+        PREMIUM_LOOKUP("premium_lookup"),
+        /**
+         * 雇佣保险费率查找
+         */
+        EMPLOYMENT_RATE_LOOKUP("employment_rate_lookup"),
+        /**
+         * 源泉征收税等级查找
+         */
+        WITHHOLDING_LOOKUP("withholding_lookup"),
+        /**
+         * 费率快照未加载时用一条SQL查询全部费率（包含连接池获取连接和数据库往返）
+         */
+        RATE_QUERY("rate_query"),
+        /**
+         * 金额计算和结果组装
+         */
+        ARITHMETIC("arithmetic");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    /**
+     * 计算库的各阶段（按ordinal）对应的Stage
+     */
+    private static final Stage[] LIBRARY_STAGES = Arrays.stream(CalculationStage.values())
+            .map(stage -> Stage.valueOf(stage.name()))
+            .toArray(Stage[]::new);
+
+    private final boolean enabled;
+
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+
+    public CalculationStageMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${social-insurance.metrics.stage-timers.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, Timer.builder(TIMER_NAME)
+                    .description("社会保险金额查询各阶段的耗时")
+                    .tag("stage", stage.getTag())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 开始计时
+     *
+     * @return 当前时刻（纳秒），计时器被禁用时返回0
+     */
+    @Override
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * 记录一个阶段的耗时
+     * 返回值可以直接作为下一个阶段的开始时刻，连续阶段只需读取一次时钟
+     *
+     * @param stage 阶段
+     * @param startNanos 阶段开始时刻（start或上一次record的返回值）
+     * @return 当前时刻（纳秒），计时器被禁用时返回0
+     */
+    public long record(Stage stage, long startNanos) {
+        if (!enabled) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        timers.get(stage).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * 记录计算库报告的一个阶段的耗时
+     *
+     * @param stage 计算库的阶段（与同名的Stage对应）
+     * @param startNanos 阶段开始时刻（start或上一次record的返回值）
+     * @return 当前时刻（纳秒），计时器被禁用时返回0
+     */
+    @Override
+    public long record(CalculationStage stage, long startNanos) {
+        return record(LIBRARY_STAGES[stage.ordinal()], startNanos);
+    }
+}
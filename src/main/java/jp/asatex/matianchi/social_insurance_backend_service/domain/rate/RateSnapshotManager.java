@@ -0,0 +1,205 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.rate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import jp.asatex.matianchi.social_insurance_backend_service.repository.EmploymentInsuranceRateRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.WithholdingTaxBracketRepository;
+import jp.asatex.matianchi.social_insurance_calculation.rate.RateSnapshotIndex;
+import reactor.core.publisher.Mono;
+
+/**
+ * 费率快照管理器
+ * 通过现有Repository一次性加载三张费率表（包括所有生效期间）并持有按生效日期索引的费率快照
+ * 读取路径只读取一个原子引用，不加锁；费率表被修改后调用invalidate使快照失效，下次查询时重新加载
+ * 其他节点修改费率表时由refresh在后台重建快照，重建完成前继续使用旧快照，完成后一次性替换
+ * 每次失效或刷新都会递增费率表版本号并发布RateTablesChangedEvent
+ */
+@Component
+public class RateSnapshotManager {
+
+    private static final Logger log = LoggerFactory.getLogger(RateSnapshotManager.class);
+
+    private final PremiumBracketRepository premiumBracketRepository;
+    private final WithholdingTaxBracketRepository withholdingTaxRepository;
+    private final EmploymentInsuranceRateRepository employmentInsuranceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 当前生效的快照，未加载或已失效时为null
+     */
+    private final AtomicReference<RateSnapshotIndex> snapshot = new AtomicReference<>();
+
+    /**
+     * 正在进行中的加载，多个并发请求共享同一次加载
+     */
+    private final AtomicReference<Mono<RateSnapshotIndex>> loading = new AtomicReference<>();
+
+    /**
+     * 费率表版本号（失效代数），每次失效时递增
+     * 用于丢弃失效前开始的加载结果，也作为计算结果缓存键的一部分
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public RateSnapshotManager(
+            PremiumBracketRepository premiumBracketRepository,
+            WithholdingTaxBracketRepository withholdingTaxRepository,
+            EmploymentInsuranceRateRepository employmentInsuranceRepository,
+            ApplicationEventPublisher eventPublisher) {
+        this.premiumBracketRepository = premiumBracketRepository;
+        this.withholdingTaxRepository = withholdingTaxRepository;
+        this.employmentInsuranceRepository = employmentInsuranceRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 获取当前费率快照
+     * 已加载时直接返回内存中的快照，否则从数据库加载
+     *
+     * @return Mono包装的RateSnapshotIndex对象
+     */
+    public Mono<RateSnapshotIndex> current() {
+        RateSnapshotIndex loaded = snapshot.get();
+        if (loaded != null) {
+            return Mono.just(loaded);
+        }
+        return load();
+    }
+
+    /**
+     * 获取已加载的费率快照，不触发加载
+     *
+     * @return 当前快照，未加载或已失效时返回null
+     */
+    public RateSnapshotIndex getIfLoaded() {
+        return snapshot.get();
+    }
+
+    /**
+     * 从数据库加载一份独立的快照，不安装为当前快照
+     * 费率快照被禁用时，批量计算用它在一次批处理内共享费率
+     *
+     * @return Mono包装的RateSnapshotIndex对象
+     */
+    public Mono<RateSnapshotIndex> loadDetached() {
+        return Mono.defer(() -> loadFromDatabase(generation.get()));
+    }
+
+    /**
+     * 在后台开始加载快照（快照冷启动时调用），不等待加载完成
+     * 已有加载进行中时与其共享，不会重复查询数据库
+     */
+    public void preload() {
+        if (snapshot.get() == null) {
+            load().subscribe(
+                    loaded -> { },
+                    error -> log.warn("费率快照后台加载失败: {}", error.getMessage()));
+        }
+    }
+
+    /**
+     * 获取当前费率表版本号
+     *
+     * @return 版本号，每次费率表变更后递增
+     */
+    public long getVersion() {
+        return generation.get();
+    }
+
+    /**
+     * 使当前快照失效
+     * 费率表被修改后调用，下次查询时重新从数据库加载
+     */
+    public void invalidate() {
+        long version = generation.incrementAndGet();
+        snapshot.set(null);
+        loading.set(null);
+        eventPublisher.publishEvent(new RateTablesChangedEvent(version));
+    }
+
+    /**
+     * 刷新快照
+     * 其他节点修改费率表后调用：递增版本号并从数据库重建快照，重建期间读取路径继续使用旧快照及其版本号，
+     * 重建完成后新快照和新版本号通过一次引用替换同时生效，计算结果缓存也随版本号切换
+     * 重建失败时使快照失效，之后的查询回退到单条SQL，不继续使用旧费率
+     *
+     * @return Mono包装的新快照
+     */
+    public Mono<RateSnapshotIndex> refresh() {
+        return Mono.defer(() -> {
+            long version = generation.incrementAndGet();
+            loading.set(null);
+            return loadFromDatabase(version)
+                    .doOnNext(loaded -> {
+                        install(loaded);
+                        eventPublisher.publishEvent(new RateTablesChangedEvent(version));
+                    })
+                    .doOnError(error -> {
+                        if (generation.get() == version) {
+                            snapshot.set(null);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * 从数据库加载快照，多个并发调用共享同一次加载
+     *
+     * @return Mono包装的RateSnapshotIndex对象
+     */
+    private Mono<RateSnapshotIndex> load() {
+        return Mono.defer(() -> {
+            Mono<RateSnapshotIndex> inFlight = loading.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+
+            long startedGeneration = generation.get();
+            Mono<RateSnapshotIndex> created = loadFromDatabase(startedGeneration)
+                    .doOnNext(this::install)
+                    .cache();
+            if (!loading.compareAndSet(null, created)) {
+                Mono<RateSnapshotIndex> other = loading.get();
+                return other != null ? other : created;
+            }
+            return created.doFinally(signal -> loading.compareAndSet(created, null));
+        });
+    }
+
+    /**
+     * 安装加载完成的快照
+     * 加载期间快照被失效或刷新时不安装旧数据；安装后再次检查版本号，
+     * 避免与并发的invalidate交错时把旧数据留在快照中
+     *
+     * @param loaded 加载完成的快照
+     */
+    private void install(RateSnapshotIndex loaded) {
+        if (generation.get() != loaded.getVersion()) {
+            return;
+        }
+        snapshot.set(loaded);
+        if (generation.get() != loaded.getVersion()) {
+            snapshot.compareAndSet(loaded, null);
+        }
+    }
+
+    /**
+     * 通过三个Repository读取费率表并构建快照
+     *
+     * @param version 快照对应的费率表版本号
+     * @return Mono包装的RateSnapshotIndex对象
+     */
+    private Mono<RateSnapshotIndex> loadFromDatabase(long version) {
+        return Mono.zip(
+                        premiumBracketRepository.findAllOrderByStdRemAsc().collectList(),
+                        withholdingTaxRepository.findAll().collectList(),
+                        employmentInsuranceRepository.findAll().collectList())
+                .map(tuple -> RateSnapshotIndex.of(version, tuple.getT1(), tuple.getT2(), tuple.getT3()));
+    }
+}
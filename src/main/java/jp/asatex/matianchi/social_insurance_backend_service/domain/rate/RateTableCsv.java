@@ -0,0 +1,352 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.rate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 费率表CSV的读取和校验
+ * 第一行为表头（列名与数据库列名相同，顺序固定），之后每行一条记录，空行忽略；
+ * 字段可以用双引号括起来（字段中的双引号写成两个双引号），不支持跨行的字段
+ * 逐行解析并校验后立即向下游发出，不在内存中保留整个文件；任何一行不合法时以IllegalArgumentException结束，
+ * 错误消息包含行号
+ * 保险费等级和源泉征收税等级必须按min_amount升序排列，第一行的min_amount为0，
+ * 各行的min_amount等于上一行的max_amount（边界金额属于min_amount较大的等级），最后一行的max_amount为999999999
+ */
+public final class RateTableCsv {
+
+    /**
+     * 表示无上限的max_amount
+     */
+    public static final int UNBOUNDED_MAX_AMOUNT = 999_999_999;
+
+    public static final String PREMIUM_BRACKET_HEADER =
+            "grade,std_rem,min_amount,max_amount,health_no_care,health_care,pension";
+
+    public static final String WITHHOLDING_TAX_BRACKET_HEADER =
+            "min_amount,max_amount,tax_amount_ko,tax_amount_otsu,tax_amount_ko_dependents,calculation_formula";
+
+    public static final String EMPLOYMENT_INSURANCE_RATE_HEADER =
+            "business_type,employee_rate,employer_unemployment_rate,employer_two_undertakings_rate,total_rate";
+
+    /**
+     * tax_amount_ko_dependents中扶养亲属1～7人的税额个数，以分号分隔
+     */
+    private static final int DEPENDENT_COLUMNS = 7;
+
+    private RateTableCsv() {
+    }
+
+    /**
+     * 读取保险费等级表
+     *
+     * @param lines CSV的各行（不含换行符）
+     * @return 校验通过的保险费等级记录流（不含生效期间）
+     */
+    public static Flux<PremiumBracket> premiumBrackets(Flux<String> lines) {
+        return Flux.defer(() -> {
+            Set<String> grades = new HashSet<>();
+            int[] previousStdRem = {-1};
+            return read(lines, PREMIUM_BRACKET_HEADER, true, (fields, line) -> {
+                String grade = requiredText(fields, 0, "grade", 20, line);
+                if (!grades.add(grade)) {
+                    throw error(line, "等级 " + grade + " 重复");
+                }
+                int stdRem = requiredInteger(fields, 1, "std_rem", line);
+                if (stdRem <= previousStdRem[0]) {
+                    throw error(line, "std_rem必须按升序排列");
+                }
+                previousStdRem[0] = stdRem;
+                BigDecimal healthNoCare = requiredDecimal(fields, 4, "health_no_care", 10, 2, line);
+                BigDecimal healthCare = requiredDecimal(fields, 5, "health_care", 10, 2, line);
+                if (healthCare.compareTo(healthNoCare) < 0) {
+                    throw error(line, "health_care不能小于health_no_care");
+                }
+                return new PremiumBracket(grade, stdRem,
+                        requiredInteger(fields, 2, "min_amount", line),
+                        requiredInteger(fields, 3, "max_amount", line),
+                        healthNoCare, healthCare,
+                        requiredDecimal(fields, 6, "pension", 10, 2, line));
+            }, PremiumBracket::getMinAmount, PremiumBracket::getMaxAmount);
+        });
+    }
+
+    /**
+     * 读取源泉征收税等级表
+     *
+     * @param lines CSV的各行（不含换行符）
+     * @return 校验通过的源泉征收税等级记录流（不含生效期间）
+     */
+    public static Flux<WithholdingTaxBracket> withholdingTaxBrackets(Flux<String> lines) {
+        return read(lines, WITHHOLDING_TAX_BRACKET_HEADER, true, (fields, line) -> {
+            WithholdingTaxBracket bracket = new WithholdingTaxBracket();
+            bracket.setMinAmount(requiredInteger(fields, 0, "min_amount", line));
+            bracket.setMaxAmount(requiredInteger(fields, 1, "max_amount", line));
+            bracket.setTaxAmountKo(optionalInteger(fields.get(2), "tax_amount_ko", line));
+            bracket.setTaxAmountOtsu(optionalInteger(fields.get(3), "tax_amount_otsu", line));
+            bracket.setTaxAmountKoDependents(dependents(fields.get(4), line));
+            String formula = fields.get(5);
+            bracket.setCalculationFormula(formula.isBlank() ? null : formula);
+            if (bracket.getTaxAmountKo() == null && bracket.getCalculationFormula() == null) {
+                throw error(line, "tax_amount_ko和calculation_formula不能同时为空");
+            }
+            return bracket;
+        }, WithholdingTaxBracket::getMinAmount, WithholdingTaxBracket::getMaxAmount);
+    }
+
+    /**
+     * 读取雇佣保险费率表
+     * 费率为千分比，total_rate必须等于其余三项之和
+     *
+     * @param lines CSV的各行（不含换行符）
+     * @return 校验通过的雇佣保险费率记录流（不含生效期间）
+     */
+    public static Flux<EmploymentInsuranceRate> employmentInsuranceRates(Flux<String> lines) {
+        return Flux.defer(() -> {
+            Set<String> businessTypes = new HashSet<>();
+            return read(lines, EMPLOYMENT_INSURANCE_RATE_HEADER, false, (fields, line) -> {
+                EmploymentInsuranceRate rate = new EmploymentInsuranceRate();
+                String businessType = requiredText(fields, 0, "business_type", 50, line);
+                if (!businessTypes.add(businessType)) {
+                    throw error(line, "事业类型 " + businessType + " 重复");
+                }
+                rate.setBusinessType(businessType);
+                rate.setEmployeeRate(requiredDecimal(fields, 1, "employee_rate", 5, 3, line));
+                rate.setEmployerUnemploymentRate(
+                        requiredDecimal(fields, 2, "employer_unemployment_rate", 5, 3, line));
+                rate.setEmployerTwoUndertakingsRate(
+                        requiredDecimal(fields, 3, "employer_two_undertakings_rate", 5, 3, line));
+                rate.setTotalRate(requiredDecimal(fields, 4, "total_rate", 5, 3, line));
+                BigDecimal sum = rate.getEmployeeRate()
+                        .add(rate.getEmployerUnemploymentRate())
+                        .add(rate.getEmployerTwoUndertakingsRate());
+                if (sum.compareTo(rate.getTotalRate()) != 0) {
+                    throw error(line, "total_rate " + rate.getTotalRate() + " 不等于各费率之和 " + sum);
+                }
+                return rate;
+            }, null, null);
+        });
+    }
+
+    /**
+     * 逐行解析CSV
+     *
+     * @param lines CSV的各行
+     * @param header 表头
+     * @param brackets 是否校验等级的连续性
+     * @param rowParser 把一行的字段转换为记录
+     * @param minAmount 取得等级的min_amount（brackets为false时不使用）
+     * @param maxAmount 取得等级的max_amount（brackets为false时不使用）
+     */
+    private static <T> Flux<T> read(Flux<String> lines, String header, boolean brackets, RowParser<T> rowParser,
+                                    ToIntFunction<T> minAmount, ToIntFunction<T> maxAmount) {
+        int columns = header.split(",").length;
+        return Flux.defer(() -> {
+            ReadState state = new ReadState();
+            return lines.<T>handle((text, sink) -> {
+                int line = ++state.line;
+                // 忽略Excel等保存的UTF-8 BOM
+                String content = line == 1 && text.startsWith("\uFEFF") ? text.substring(1) : text;
+                if (content.isBlank()) {
+                    return;
+                }
+                try {
+                    if (!state.headerRead) {
+                        if (!content.strip().equalsIgnoreCase(header)) {
+                            throw error(line, "第一行必须是表头 " + header);
+                        }
+                        state.headerRead = true;
+                        return;
+                    }
+                    List<String> fields = split(content, line);
+                    if (fields.size() != columns) {
+                        throw error(line, "列数应为 " + columns + "，实际为 " + fields.size());
+                    }
+                    T row = rowParser.parse(fields, line);
+                    if (brackets) {
+                        checkContiguous(minAmount.applyAsInt(row), maxAmount.applyAsInt(row), state, line);
+                    }
+                    state.rows++;
+                    sink.next(row);
+                } catch (IllegalArgumentException e) {
+                    sink.error(e);
+                }
+            }).concatWith(Mono.defer(() -> {
+                if (state.rows == 0) {
+                    return Mono.error(new IllegalArgumentException("CSV中没有数据行"));
+                }
+                if (brackets && state.previousMaxAmount != UNBOUNDED_MAX_AMOUNT) {
+                    return Mono.error(new IllegalArgumentException(
+                            "最后一个等级的max_amount必须为 " + UNBOUNDED_MAX_AMOUNT));
+                }
+                return Mono.empty();
+            }));
+        });
+    }
+
+    private static void checkContiguous(int minAmount, int maxAmount, ReadState state, int line) {
+        if (state.rows == 0 && minAmount != 0) {
+            throw error(line, "第一个等级的min_amount必须为0");
+        }
+        if (state.rows > 0 && minAmount != state.previousMaxAmount) {
+            throw error(line, "min_amount " + minAmount + " 与上一等级的max_amount " + state.previousMaxAmount
+                    + " 不相等（等级之间不能有间隙或重叠）");
+        }
+        if (maxAmount <= minAmount) {
+            throw error(line, "max_amount必须大于min_amount");
+        }
+        state.previousMaxAmount = maxAmount;
+    }
+
+    /**
+     * 把一行拆分为字段
+     */
+    static List<String> split(String line, int lineNumber) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                continue;
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+            fieldStart = false;
+        }
+        if (quoted) {
+            throw error(lineNumber, "双引号没有闭合");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String requiredText(List<String> fields, int index, String column, int maxLength,
+                                       int line) {
+        String value = fields.get(index).strip();
+        if (value.isEmpty()) {
+            throw error(line, column + "不能为空");
+        }
+        if (value.length() > maxLength) {
+            throw error(line, column + "不能超过" + maxLength + "个字符");
+        }
+        return value;
+    }
+
+    private static int requiredInteger(List<String> fields, int index, String column, int line) {
+        Integer value = optionalInteger(fields.get(index), column, line);
+        if (value == null) {
+            throw error(line, column + "不能为空");
+        }
+        return value;
+    }
+
+    private static Integer optionalInteger(String text, String column, int line) {
+        String value = text.strip();
+        if (value.isEmpty()) {
+            return null;
+        }
+        int result;
+        try {
+            result = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw error(line, column + "不是整数: " + value);
+        }
+        if (result < 0) {
+            throw error(line, column + "不能为负数");
+        }
+        return result;
+    }
+
+    /**
+     * 读取与NUMERIC(precision, scale)列对应的非负小数
+     */
+    private static BigDecimal requiredDecimal(List<String> fields, int index, String column, int precision,
+                                              int scale, int line) {
+        String value = fields.get(index).strip();
+        if (value.isEmpty()) {
+            throw error(line, column + "不能为空");
+        }
+        BigDecimal result;
+        try {
+            result = new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw error(line, column + "不是数值: " + value);
+        }
+        if (result.signum() < 0) {
+            throw error(line, column + "不能为负数");
+        }
+        if (result.stripTrailingZeros().scale() > scale
+                || result.setScale(0, RoundingMode.DOWN).precision() > precision - scale) {
+            throw error(line, column + " " + value + " 超出NUMERIC(" + precision + ", " + scale + ")的范围");
+        }
+        return result;
+    }
+
+    /**
+     * 读取扶养亲属1～7人的甲栏税额，以分号分隔，为空时表示未登录，各元素为空时按计算公式计算
+     */
+    private static Integer[] dependents(String text, int line) {
+        if (text.isBlank()) {
+            return null;
+        }
+        String[] values = text.split(";", -1);
+        if (values.length != DEPENDENT_COLUMNS) {
+            throw error(line, "tax_amount_ko_dependents应为以分号分隔的" + DEPENDENT_COLUMNS + "个税额");
+        }
+        Integer[] result = new Integer[DEPENDENT_COLUMNS];
+        for (int i = 0; i < DEPENDENT_COLUMNS; i++) {
+            result[i] = optionalInteger(values[i], "tax_amount_ko_dependents", line);
+        }
+        return result;
+    }
+
+    private static IllegalArgumentException error(int line, String message) {
+        return new IllegalArgumentException("CSV第" + line + "行: " + message);
+    }
+
+    /**
+     * 把一行的字段转换为记录，不合法时抛出IllegalArgumentException
+     */
+    @FunctionalInterface
+    private interface RowParser<T> {
+        T parse(List<String> fields, int line);
+    }
+
+    /**
+     * 一次读取的状态
+     */
+    private static final class ReadState {
+        private int line;
+        private boolean headerRead;
+        private int rows;
+        private int previousMaxAmount;
+    }
+}
@@ -0,0 +1,85 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.rate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 费率表流式浏览的keyset游标
+ * 记录所在的费率表、排序键（保险费等级为std_rem，源泉征收税等级为min_amount，雇佣保险费率不使用）和ID，
+ * 编码为URL安全的Base64字符串，对客户端不透明；从游标继续时返回排在该记录之后的记录
+ * 排序键和ID都来自记录本身，记录被删除后游标仍然有效
+ */
+public final class RateTableCursor {
+
+    private static final String VERSION = "1";
+
+    private final String table;
+    private final int key;
+    private final long id;
+
+    public RateTableCursor(String table, int key, long id) {
+        this.table = table;
+        this.key = key;
+        this.id = id;
+    }
+
+    /**
+     * 费率表的开头（第一条记录之前）
+     *
+     * @param table 费率表名
+     * @return 游标
+     */
+    public static RateTableCursor start(String table) {
+        return new RateTableCursor(table, Integer.MIN_VALUE, Long.MIN_VALUE);
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param table 请求的费率表名
+     * @param encoded 编码后的游标
+     * @return 游标
+     * @throws IllegalArgumentException 游标无效或属于其他费率表
+     */
+    public static RateTableCursor decode(String table, String encoded) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的游标: " + encoded);
+        }
+        if (parts.length != 4 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("无效的游标: " + encoded);
+        }
+        if (!table.equals(parts[1])) {
+            throw new IllegalArgumentException("游标属于费率表 " + parts[1] + "，不能用于 " + table);
+        }
+        try {
+            return new RateTableCursor(table, Integer.parseInt(parts[2]), Long.parseLong(parts[3]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无效的游标: " + encoded);
+        }
+    }
+
+    /**
+     * 编码游标
+     *
+     * @return URL安全的Base64字符串（无填充）
+     */
+    public String encode() {
+        String text = VERSION + ":" + table + ":" + key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public int getKey() {
+        return key;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,267 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.rate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.RateTableImportDomainService;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.RateTableDeltaDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.RateTablesChangeDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.EmploymentInsuranceRateRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.WithholdingTaxBracketRepository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * 费率表变更推送
+ * 收到RateTablesChangedEvent时重新读取一次三张费率表，与上一次的内容比较后得出新增、修改和删除的记录，
+ * 通过一个多播Sink推送给所有订阅者；无论有多少订阅者，每次变更只查询一次数据库
+ * 新订阅者首先收到当前全部记录（snapshot），之后收到每次的变更（change），两者之间不会遗漏或重复
+ * 第一个订阅者出现时才开始读取费率表，没有订阅者的部署不产生额外的数据库负载
+ */
+@Component
+public class RateTablesChangeFeed {
+
+    public static final String SNAPSHOT = "snapshot";
+    public static final String CHANGE = "change";
+
+    private static final Logger log = LoggerFactory.getLogger(RateTablesChangeFeed.class);
+
+    private final PremiumBracketRepository premiumBracketRepository;
+    private final WithholdingTaxBracketRepository withholdingTaxRepository;
+    private final EmploymentInsuranceRateRepository employmentInsuranceRepository;
+    private final RateSnapshotManager rateSnapshotManager;
+
+    /**
+     * 每个订阅者最多缓存的未发送事件数，超过时断开该订阅者（客户端重新连接后从snapshot开始），不影响其他订阅者
+     */
+    private final int subscriberBufferSize;
+
+    /**
+     * 重新读取费率表的请求（元素为触发时的费率表版本号），读取进行中收到的多个请求合并为一次
+     */
+    private final Sinks.Many<Long> reloads = Sinks.many().unicast().onBackpressureBuffer();
+
+    /**
+     * 最新的费率表状态，新订阅者立即收到最后一个状态，之后收到每个新状态
+     */
+    private final Sinks.Many<FeedState> states = Sinks.many().replay().latest();
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * 最后发布的状态，只在读取循环中访问
+     */
+    private FeedState last;
+
+    private volatile Disposable subscription;
+
+    public RateTablesChangeFeed(
+            PremiumBracketRepository premiumBracketRepository,
+            WithholdingTaxBracketRepository withholdingTaxRepository,
+            EmploymentInsuranceRateRepository employmentInsuranceRepository,
+            RateSnapshotManager rateSnapshotManager,
+            @Value("${social-insurance.rate-changes.subscriber-buffer-size:256}") int subscriberBufferSize) {
+        this.premiumBracketRepository = premiumBracketRepository;
+        this.withholdingTaxRepository = withholdingTaxRepository;
+        this.employmentInsuranceRepository = employmentInsuranceRepository;
+        this.rateSnapshotManager = rateSnapshotManager;
+        this.subscriberBufferSize = subscriberBufferSize;
+    }
+
+    /**
+     * 订阅费率表变更
+     * 第一个元素为snapshot（当前全部记录），之后每次费率表内容发生变化时发出一个change
+     *
+     * @return Flux包装的RateTablesChangeDomainDto对象流
+     */
+    public Flux<RateTablesChangeDomainDto> changes() {
+        return Flux.defer(() -> {
+            start();
+            return states.asFlux()
+                    .index((index, state) -> index == 0 ? state.snapshot : state.change)
+                    .onBackpressureBuffer(subscriberBufferSize);
+        });
+    }
+
+    /**
+     * 费率表变更时重新读取
+     *
+     * @param event 费率表变更事件
+     */
+    @EventListener
+    public void onRateTablesChanged(RateTablesChangedEvent event) {
+        if (started.get()) {
+            reloads.emitNext(event.getVersion(), Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+        }
+    }
+
+    /**
+     * 应用关闭时结束所有订阅，使SSE连接正常结束，不阻塞优雅停机
+     */
+    @PreDestroy
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+        states.tryEmitComplete();
+    }
+
+    private void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        subscription = reloads.asFlux()
+                .onBackpressureLatest()
+                .concatMap(this::reload, 1)
+                .subscribe();
+        reloads.emitNext(rateSnapshotManager.getVersion(),
+                Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    /**
+     * 读取三张费率表并发布新状态
+     * 读取失败时保留上一次的状态，下一次变更时与之比较，中间的变更不会丢失
+     *
+     * @param version 触发读取时的费率表版本号
+     * @return 读取完成时结束的Mono
+     */
+    private Mono<Void> reload(long version) {
+        return Mono.zip(
+                        premiumBracketRepository.findAllOrderByStdRemAsc().collectList(),
+                        withholdingTaxRepository.findAll()
+                                .sort(Comparator.comparing(WithholdingTaxBracket::getMinAmount)
+                                        .thenComparing(WithholdingTaxBracket::getId))
+                                .collectList(),
+                        employmentInsuranceRepository.findAll()
+                                .sort(Comparator.comparing(EmploymentInsuranceRate::getId))
+                                .collectList())
+                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
+                .doOnNext(tables -> publish(version, tables.getT1(), tables.getT2(), tables.getT3()))
+                .then()
+                .onErrorResume(error -> {
+                    log.warn("费率表变更推送读取费率表失败，等待下一次变更: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void publish(long version, List<PremiumBracket> premiumBrackets,
+                         List<WithholdingTaxBracket> withholdingTaxBrackets,
+                         List<EmploymentInsuranceRate> employmentInsuranceRates) {
+        List<RateTableDeltaDomainDto> deltas = new ArrayList<>();
+        addDelta(deltas, RateTableImportDomainService.PREMIUM_BRACKET,
+                last != null ? last.premiumBrackets : List.of(), premiumBrackets,
+                PremiumBracket::getId, RateTablesChangeFeed::content);
+        addDelta(deltas, RateTableImportDomainService.WITHHOLDING_TAX_BRACKET,
+                last != null ? last.withholdingTaxBrackets : List.of(), withholdingTaxBrackets,
+                WithholdingTaxBracket::getId, RateTablesChangeFeed::content);
+        addDelta(deltas, RateTableImportDomainService.EMPLOYMENT_INSURANCE_RATE,
+                last != null ? last.employmentInsuranceRates : List.of(), employmentInsuranceRates,
+                EmploymentInsuranceRate::getId, RateTablesChangeFeed::content);
+        if (last != null && deltas.isEmpty()) {
+            // 内容没有变化（例如本节点导入后的失效和随后收到的通知各触发一次读取）
+            return;
+        }
+
+        // 版本号来自RateSnapshotManager，合并读取时也保证严格递增
+        long published = last != null ? Math.max(version, last.snapshot.getVersion() + 1) : version;
+        RateTablesChangeDomainDto snapshot = new RateTablesChangeDomainDto(published, SNAPSHOT, List.of(
+                new RateTableDeltaDomainDto(RateTableImportDomainService.PREMIUM_BRACKET,
+                        List.copyOf(premiumBrackets), List.of()),
+                new RateTableDeltaDomainDto(RateTableImportDomainService.WITHHOLDING_TAX_BRACKET,
+                        List.copyOf(withholdingTaxBrackets), List.of()),
+                new RateTableDeltaDomainDto(RateTableImportDomainService.EMPLOYMENT_INSURANCE_RATE,
+                        List.copyOf(employmentInsuranceRates), List.of())));
+        RateTablesChangeDomainDto change = new RateTablesChangeDomainDto(published, CHANGE, List.copyOf(deltas));
+        last = new FeedState(premiumBrackets, withholdingTaxBrackets, employmentInsuranceRates, snapshot, change);
+        states.tryEmitNext(last);
+    }
+
+    /**
+     * 按ID比较变更前后的记录，有新增、修改或删除时追加该费率表的变更
+     */
+    private static <T> void addDelta(List<RateTableDeltaDomainDto> deltas, String table, List<T> before,
+                                     List<T> after, Function<T, Long> id, Function<T, List<Object>> content) {
+        Map<Long, List<Object>> previous = new HashMap<>();
+        for (T row : before) {
+            previous.put(id.apply(row), content.apply(row));
+        }
+        List<Object> upserted = new ArrayList<>();
+        for (T row : after) {
+            List<Object> old = previous.remove(id.apply(row));
+            if (!content.apply(row).equals(old)) {
+                upserted.add(row);
+            }
+        }
+        if (!upserted.isEmpty() || !previous.isEmpty()) {
+            List<Long> deletedIds = new ArrayList<>(previous.keySet());
+            Collections.sort(deletedIds);
+            deltas.add(new RateTableDeltaDomainDto(table, upserted, deletedIds));
+        }
+    }
+
+    /**
+     * 实体的equals只比较ID，变更检测比较客户端可见的全部列（不含created_at和updated_at）
+     */
+    private static List<Object> content(PremiumBracket row) {
+        return Arrays.asList(row.getGrade(), row.getStdRem(), row.getMinAmount(), row.getMaxAmount(),
+                row.getHealthNoCare(), row.getHealthCare(), row.getPension(),
+                row.getEffectiveFrom(), row.getEffectiveTo());
+    }
+
+    private static List<Object> content(WithholdingTaxBracket row) {
+        return Arrays.asList(row.getMinAmount(), row.getMaxAmount(), row.getTaxAmountKo(), row.getTaxAmountOtsu(),
+                row.getTaxAmountKoDependents() != null ? Arrays.asList(row.getTaxAmountKoDependents()) : null,
+                row.getCalculationFormula(), row.getEffectiveFrom(), row.getEffectiveTo());
+    }
+
+    private static List<Object> content(EmploymentInsuranceRate row) {
+        return Arrays.asList(row.getBusinessType(), row.getEmployeeRate(), row.getEmployerUnemploymentRate(),
+                row.getEmployerTwoUndertakingsRate(), row.getTotalRate(),
+                row.getEffectiveFrom(), row.getEffectiveTo());
+    }
+
+    /**
+     * 一次读取的结果，snapshot和change在发布时构建一次，所有订阅者共享
+     */
+    private static final class FeedState {
+
+        private final List<PremiumBracket> premiumBrackets;
+        private final List<WithholdingTaxBracket> withholdingTaxBrackets;
+        private final List<EmploymentInsuranceRate> employmentInsuranceRates;
+        private final RateTablesChangeDomainDto snapshot;
+        private final RateTablesChangeDomainDto change;
+
+        private FeedState(List<PremiumBracket> premiumBrackets, List<WithholdingTaxBracket> withholdingTaxBrackets,
+                          List<EmploymentInsuranceRate> employmentInsuranceRates,
+                          RateTablesChangeDomainDto snapshot, RateTablesChangeDomainDto change) {
+            this.premiumBrackets = premiumBrackets;
+            this.withholdingTaxBrackets = withholdingTaxBrackets;
+            this.employmentInsuranceRates = employmentInsuranceRates;
+            this.snapshot = snapshot;
+            this.change = change;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.rate;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.RateTablesNotificationRepository;
+import jp.asatex.matianchi.social_insurance_calculation.rate.RateSnapshotIndex;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * 费率表变更通知订阅者
+ * 应用启动完成后开始监听rate_tables_changed通知，收到通知时刷新费率快照（计算结果缓存随版本号一起切换）
+ * 多个副本部署时，任何节点上的费率表修改都会在提交后立即推送到所有节点，不依赖TTL过期
+ * 刷新进行中收到的多条通知合并为一次刷新；监听连接断开时按指数退避重新连接，
+ * 重新连接后先刷新一次，补上断开期间可能遗漏的变更；数据库不支持通知时监听流立即结束，不再重试
+ */
+@Component
+public class RateTablesChangeSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(RateTablesChangeSubscriber.class);
+
+    private final RateTablesNotificationRepository notificationRepository;
+    private final RateSnapshotManager rateSnapshotManager;
+    private final boolean enabled;
+
+    private volatile Disposable subscription;
+
+    public RateTablesChangeSubscriber(
+            RateTablesNotificationRepository notificationRepository,
+            RateSnapshotManager rateSnapshotManager,
+            @Value("${social-insurance.rate-snapshot.notifications.enabled:true}") boolean enabled) {
+        this.notificationRepository = notificationRepository;
+        this.rateSnapshotManager = rateSnapshotManager;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 应用启动完成后开始监听
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || subscription != null) {
+            return;
+        }
+        subscription = notificationRepository.listen()
+                .doOnNext(table -> log.debug("收到费率表变更通知: {}", table))
+                .onBackpressureLatest()
+                .concatMap(table -> refresh(), 1)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("费率表变更通知监听中断，准备重新连接: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+    }
+
+    /**
+     * 应用关闭时停止监听并关闭专用连接
+     */
+    @PreDestroy
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private Mono<RateSnapshotIndex> refresh() {
+        return rateSnapshotManager.refresh()
+                .doOnNext(index -> log.info("费率表已变更，费率快照已刷新: version={}, periods={}",
+                        index.getVersion(), index.periodCount()))
+                .onErrorResume(error -> {
+                    log.warn("费率快照刷新失败，之后的查询将直接访问数据库: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,28 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.rate;
+
+/**
+ * 费率表变更事件
+ * 费率快照失效时发布，依赖费率表的缓存据此清除旧数据
+ */
+public class RateTablesChangedEvent {
+
+    /**
+     * 变更后的费率表版本号
+     */
+    private final long version;
+
+    public RateTablesChangedEvent(long version) {
+        this.version = version;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "RateTablesChangedEvent{" +
+               "version=" + version +
+               '}';
+    }
+}
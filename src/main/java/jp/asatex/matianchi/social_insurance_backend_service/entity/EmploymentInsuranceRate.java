@@ -4,7 +4,10 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
+import jp.asatex.matianchi.social_insurance_calculation.table.EmploymentInsuranceRateRow;
+
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -12,9 +15,10 @@ import java.util.Objects;
  * 雇佣保险费率实体类
  * 对应数据库表：employment_insurance_rate
  * 用于存储令和7年（2025年）度雇佣保险费率表数据
+ * 每条记录带有生效期间 [effectiveFrom, effectiveTo)，同一张表可以保存多个年度的数据
  */
 @Table("employment_insurance_rate")
-public class EmploymentInsuranceRate {
+public class EmploymentInsuranceRate implements EmploymentInsuranceRateRow {
 
     @Id
     @Column("id")
@@ -35,6 +39,18 @@ public class EmploymentInsuranceRate {
     @Column("total_rate")
     private BigDecimal totalRate;
 
+    /**
+     * 生效开始日期（含）
+     */
+    @Column("effective_from")
+    private LocalDate effectiveFrom;
+
+    /**
+     * 生效结束日期（不含），null表示无期限
+     */
+    @Column("effective_to")
+    private LocalDate effectiveTo;
+
     @Column("created_at")
     private LocalDateTime createdAt;
 
@@ -94,6 +110,22 @@ public class EmploymentInsuranceRate {
         this.totalRate = totalRate;
     }
 
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public LocalDate getEffectiveTo() {
+        return effectiveTo;
+    }
+
+    public void setEffectiveTo(LocalDate effectiveTo) {
+        this.effectiveTo = effectiveTo;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -133,6 +165,8 @@ public class EmploymentInsuranceRate {
                ", employerUnemploymentRate=" + employerUnemploymentRate +
                ", employerTwoUndertakingsRate=" + employerTwoUndertakingsRate +
                ", totalRate=" + totalRate +
+               ", effectiveFrom=" + effectiveFrom +
+               ", effectiveTo=" + effectiveTo +
                ", createdAt=" + createdAt +
                ", updatedAt=" + updatedAt +
                '}';
@@ -4,7 +4,10 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
+import jp.asatex.matianchi.social_insurance_calculation.table.PremiumBracketRow;
+
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -12,9 +15,10 @@ import java.util.Objects;
  * 保险费等级实体类
  * 对应数据库表：premium_bracket
  * 用于存储2025年神奈川县社会保险费等级表数据
+ * 每条记录带有生效期间 [effectiveFrom, effectiveTo)，同一张表可以保存多个年度的数据
  */
 @Table("premium_bracket")
-public class PremiumBracket {
+public class PremiumBracket implements PremiumBracketRow {
 
     @Id
     @Column("id")
@@ -41,6 +45,18 @@ public class PremiumBracket {
     @Column("pension")
     private BigDecimal pension;
 
+    /**
+     * 生效开始日期（含）
+     */
+    @Column("effective_from")
+    private LocalDate effectiveFrom;
+
+    /**
+     * 生效结束日期（不含），null表示无期限
+     */
+    @Column("effective_to")
+    private LocalDate effectiveTo;
+
     @Column("created_at")
     private LocalDateTime createdAt;
 
@@ -144,6 +160,22 @@ public class PremiumBracket {
         this.pension = pension;
     }
 
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public LocalDate getEffectiveTo() {
+        return effectiveTo;
+    }
+
+    public void setEffectiveTo(LocalDate effectiveTo) {
+        this.effectiveTo = effectiveTo;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -185,6 +217,8 @@ public class PremiumBracket {
                ", healthNoCare=" + healthNoCare +
                ", healthCare=" + healthCare +
                ", pension=" + pension +
+               ", effectiveFrom=" + effectiveFrom +
+               ", effectiveTo=" + effectiveTo +
                ", createdAt=" + createdAt +
                ", updatedAt=" + updatedAt +
                '}';
@@ -4,16 +4,21 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
+import jp.asatex.matianchi.social_insurance_calculation.table.WithholdingTaxBracketRow;
+
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * 源泉征收税等级实体类
  * 对应数据库表：withholding_tax_bracket
  * 用于存储令和7年（2025年）度源泉征收税等级表数据
+ * 每条记录带有生效期间 [effectiveFrom, effectiveTo)，同一张表可以保存多个年度的数据
  */
 @Table("withholding_tax_bracket")
-public class WithholdingTaxBracket {
+public class WithholdingTaxBracket implements WithholdingTaxBracketRow {
 
     @Id
     @Column("id")
@@ -31,9 +36,27 @@ public class WithholdingTaxBracket {
     @Column("tax_amount_otsu")
     private Integer taxAmountOtsu;
 
+    /**
+     * 扶养亲属1～7人的甲栏税额（数组下标0～6对应1～7人），未登录时为null
+     */
+    @Column("tax_amount_ko_dependents")
+    private Integer[] taxAmountKoDependents;
+
     @Column("calculation_formula")
     private String calculationFormula;
 
+    /**
+     * 生效开始日期（含）
+     */
+    @Column("effective_from")
+    private LocalDate effectiveFrom;
+
+    /**
+     * 生效结束日期（不含），null表示无期限
+     */
+    @Column("effective_to")
+    private LocalDate effectiveTo;
+
     @Column("created_at")
     private LocalDateTime createdAt;
 
@@ -85,6 +108,14 @@ public class WithholdingTaxBracket {
         this.taxAmountOtsu = taxAmountOtsu;
     }
 
+    public Integer[] getTaxAmountKoDependents() {
+        return taxAmountKoDependents;
+    }
+
+    public void setTaxAmountKoDependents(Integer[] taxAmountKoDependents) {
+        this.taxAmountKoDependents = taxAmountKoDependents;
+    }
+
     public String getCalculationFormula() {
         return calculationFormula;
     }
@@ -93,6 +124,22 @@ public class WithholdingTaxBracket {
         this.calculationFormula = calculationFormula;
     }
 
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public LocalDate getEffectiveTo() {
+        return effectiveTo;
+    }
+
+    public void setEffectiveTo(LocalDate effectiveTo) {
+        this.effectiveTo = effectiveTo;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -130,7 +177,10 @@ public class WithholdingTaxBracket {
                ", maxAmount=" + maxAmount +
                ", taxAmountKo=" + taxAmountKo +
                ", taxAmountOtsu=" + taxAmountOtsu +
+               ", taxAmountKoDependents=" + Arrays.toString(taxAmountKoDependents) +
                ", calculationFormula='" + calculationFormula + '\'' +
+               ", effectiveFrom=" + effectiveFrom +
+               ", effectiveTo=" + effectiveTo +
                ", createdAt=" + createdAt +
                ", updatedAt=" + updatedAt +
                '}';
@@ -1,6 +1,9 @@
 package jp.asatex.matianchi.social_insurance_backend_service.repository;
 
+import java.time.LocalDate;
+
 import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
@@ -13,10 +16,14 @@ import reactor.core.publisher.Mono;
 public interface EmploymentInsuranceRateRepository extends ReactiveCrudRepository<EmploymentInsuranceRate, Long> {
 
     /**
-     * 根据事业类型查找雇佣保险费率记录
+     * 根据事业类型查找在生效日期有效的雇佣保险费率记录
      * @param businessType 事业类型
+     * @param effectiveDate 生效日期
      * @return Mono包装的EmploymentInsuranceRate对象
      */
-    Mono<EmploymentInsuranceRate> findByBusinessType(String businessType);
+    @Query("SELECT * FROM employment_insurance_rate WHERE business_type = :businessType "
+            + "AND effective_from <= :effectiveDate AND (effective_to IS NULL OR effective_to > :effectiveDate) "
+            + "LIMIT 1")
+    Mono<EmploymentInsuranceRate> findByBusinessType(String businessType, LocalDate effectiveDate);
 }
 
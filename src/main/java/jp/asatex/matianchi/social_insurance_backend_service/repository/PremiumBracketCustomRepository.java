@@ -1,6 +1,9 @@
 package jp.asatex.matianchi.social_insurance_backend_service.repository;
 
+import java.time.LocalDate;
+
 import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.dto.RateLookupResult;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -34,6 +37,7 @@ public interface PremiumBracketCustomRepository {
 
     /**
      * 批量保存保险费等级记录
+     * 在一个事务中逐条插入，任何一条失败时全部回滚；导入整个年度的费率表时使用RateTableImportRepository
      * @param brackets 保险费等级记录集合
      * @return Flux包装的已保存的PremiumBracket对象流
      */
@@ -51,5 +55,18 @@ public interface PremiumBracketCustomRepository {
      * @return Mono包装的Long值
      */
     Mono<Long> countApplicablePensionBrackets();
-}
 
+    /**
+     * 用一条SQL同时查询保险费等级、雇佣保险费率和源泉征收税等级
+     * 扣除雇员承担的社会保险费和雇佣保险后的工资金额在SQL中计算，再据此查找源泉征收税等级
+     * 各部分的匹配规则与findByAmount、findByBusinessType、WithholdingTaxBracketRepository.findByAmount一致，
+     * 三张表都只匹配在生效日期有效的记录
+     * @param amount 月薪
+     * @param age 年龄
+     * @param businessType 事业类型
+     * @param effectiveDate 生效日期
+     * @return Mono包装的RateLookupResult对象，未匹配到的部分为null
+     */
+    Mono<RateLookupResult> findRatesForSalary(Integer amount, Integer age, String businessType,
+                                              LocalDate effectiveDate);
+}
@@ -1,5 +1,7 @@
 package jp.asatex.matianchi.social_insurance_backend_service.repository;
 
+import java.time.LocalDate;
+
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
@@ -19,27 +21,52 @@ import reactor.core.publisher.Mono;
 public interface PremiumBracketRepository extends ReactiveCrudRepository<PremiumBracket, Long>, PremiumBracketCustomRepository {
 
     /**
-     * 根据等级查找保险费等级记录
+     * 查找和列表查询返回的列
+     * 只包含计算和列表使用的列，不读取created_at和updated_at（对应属性为null）
+     */
+    String LISTING_COLUMNS = "id, grade, std_rem, min_amount, max_amount, health_no_care, health_care, pension, "
+            + "effective_from, effective_to";
+
+    /**
+     * 根据等级查找生效开始日期最新的保险费等级记录
+     * 同一等级在每个生效期间各有一条记录
      * @param grade 等级
      * @return Mono包装的PremiumBracket对象
      */
-    Mono<PremiumBracket> findByGrade(String grade);
+    Mono<PremiumBracket> findFirstByGradeOrderByEffectiveFromDesc(String grade);
 
     /**
-     * 根据金额查找对应的保险费等级记录
-     * 查找minAmount <= amount <= maxAmount的记录
+     * 根据金额查找在生效日期有效的保险费等级记录
+     * 查找minAmount <= amount <= maxAmount且effectiveFrom <= effectiveDate < effectiveTo的记录
      * 当边界值匹配多个区间时，返回min_amount最大的区间（即更高的等级）
      * @param amount 金额
+     * @param effectiveDate 生效日期
      * @return Mono包装的PremiumBracket对象（应该只有一条记录）
      */
-    @Query("SELECT * FROM premium_bracket WHERE min_amount <= :amount AND max_amount >= :amount ORDER BY min_amount DESC LIMIT 1")
-    Mono<PremiumBracket> findByAmount(@Param("amount") Integer amount);
+    @Query("SELECT " + LISTING_COLUMNS + " FROM premium_bracket WHERE min_amount <= :amount AND max_amount >= :amount "
+            + "AND effective_from <= :effectiveDate AND (effective_to IS NULL OR effective_to > :effectiveDate) "
+            + "ORDER BY min_amount DESC LIMIT 1")
+    Mono<PremiumBracket> findByAmount(@Param("amount") Integer amount, @Param("effectiveDate") LocalDate effectiveDate);
 
     /**
-     * 查找所有保险费等级记录（按标准报酬升序排序）
+     * 查找所有生效期间的保险费等级记录（按标准报酬升序排序）
      * @return Flux包装的PremiumBracket对象流
      */
-    @Query("SELECT * FROM premium_bracket ORDER BY std_rem ASC")
+    @Query("SELECT " + LISTING_COLUMNS + " FROM premium_bracket ORDER BY std_rem ASC")
     Flux<PremiumBracket> findAllOrderByStdRemAsc();
+
+    /**
+     * 按(标准报酬, ID)的keyset分页查找保险费等级记录
+     * 返回排在(afterStdRem, afterId)之后的最多limit条记录，由(std_rem, id)索引直接定位起点，
+     * 翻页的开销与页码无关
+     * @param afterStdRem 上一页最后一条记录的标准报酬（第一页为Integer.MIN_VALUE）
+     * @param afterId 上一页最后一条记录的ID（第一页为Long.MIN_VALUE）
+     * @param limit 最大记录数
+     * @return Flux包装的PremiumBracket对象流（按标准报酬、ID升序排序）
+     */
+    @Query("SELECT " + LISTING_COLUMNS + " FROM premium_bracket WHERE (std_rem, id) > (:afterStdRem, :afterId) "
+            + "ORDER BY std_rem ASC, id ASC LIMIT :limit")
+    Flux<PremiumBracket> findPageAfter(@Param("afterStdRem") Integer afterStdRem, @Param("afterId") Long afterId,
+                                       @Param("limit") Integer limit);
 }
 
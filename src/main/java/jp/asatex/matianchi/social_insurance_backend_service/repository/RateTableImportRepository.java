@@ -0,0 +1,49 @@
+package jp.asatex.matianchi.social_insurance_backend_service.repository;
+
+import java.time.LocalDate;
+
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 费率表批量导入Repository接口
+ * 各方法把记录流通过COPY协议写入临时表，再在同一个事务中替换一个生效期间的全部记录：
+ * 删除生效开始日期相同的旧记录，新的生效期间无期限时把无期限的前一个生效期间截止到新的生效开始日期，
+ * 最后插入临时表中的记录
+ * 记录流以错误结束、新的生效期间与其他生效期间重叠或数据库报错时整个事务回滚，费率表保持导入前的状态
+ */
+public interface RateTableImportRepository {
+
+    /**
+     * 替换一个生效期间的保险费等级记录
+     * @param brackets 保险费等级记录流（忽略其中的ID和生效期间）
+     * @param effectiveFrom 生效开始日期（含）
+     * @param effectiveTo 生效结束日期（不含），null表示无期限
+     * @return Mono包装的导入记录数
+     */
+    Mono<Long> replacePremiumBrackets(Flux<PremiumBracket> brackets, LocalDate effectiveFrom,
+                                      LocalDate effectiveTo);
+
+    /**
+     * 替换一个生效期间的源泉征收税等级记录
+     * @param brackets 源泉征收税等级记录流（忽略其中的ID和生效期间）
+     * @param effectiveFrom 生效开始日期（含）
+     * @param effectiveTo 生效结束日期（不含），null表示无期限
+     * @return Mono包装的导入记录数
+     */
+    Mono<Long> replaceWithholdingTaxBrackets(Flux<WithholdingTaxBracket> brackets, LocalDate effectiveFrom,
+                                             LocalDate effectiveTo);
+
+    /**
+     * 替换一个生效期间的雇佣保险费率记录
+     * @param rates 雇佣保险费率记录流（忽略其中的ID和生效期间）
+     * @param effectiveFrom 生效开始日期（含）
+     * @param effectiveTo 生效结束日期（不含），null表示无期限
+     * @return Mono包装的导入记录数
+     */
+    Mono<Long> replaceEmploymentInsuranceRates(Flux<EmploymentInsuranceRate> rates, LocalDate effectiveFrom,
+                                               LocalDate effectiveTo);
+}
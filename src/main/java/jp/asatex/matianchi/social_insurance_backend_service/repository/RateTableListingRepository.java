@@ -0,0 +1,40 @@
+package jp.asatex.matianchi.social_insurance_backend_service.repository;
+
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import reactor.core.publisher.Flux;
+
+/**
+ * 费率表流式浏览Repository接口
+ * 各方法按固定的keyset顺序返回某个位置之后的记录，记录直接来自R2DBC的行流，
+ * 按下游的请求量分批从数据库读取，不在内存中收集整张表
+ */
+public interface RateTableListingRepository {
+
+    /**
+     * 按(std_rem, id)升序流式读取保险费等级记录
+     * @param afterStdRem 从该标准报酬之后开始（不含），从头开始时为Integer.MIN_VALUE
+     * @param afterId 标准报酬相同时从该ID之后开始（不含），从头开始时为Long.MIN_VALUE
+     * @param limit 最大记录数，为null时读取到最后
+     * @return Flux包装的PremiumBracket对象流
+     */
+    Flux<PremiumBracket> streamPremiumBrackets(int afterStdRem, long afterId, Integer limit);
+
+    /**
+     * 按(min_amount, id)升序流式读取源泉征收税等级记录
+     * @param afterMinAmount 从该最小值之后开始（不含），从头开始时为Integer.MIN_VALUE
+     * @param afterId 最小值相同时从该ID之后开始（不含），从头开始时为Long.MIN_VALUE
+     * @param limit 最大记录数，为null时读取到最后
+     * @return Flux包装的WithholdingTaxBracket对象流
+     */
+    Flux<WithholdingTaxBracket> streamWithholdingTaxBrackets(int afterMinAmount, long afterId, Integer limit);
+
+    /**
+     * 按id升序流式读取雇佣保险费率记录
+     * @param afterId 从该ID之后开始（不含），从头开始时为Long.MIN_VALUE
+     * @param limit 最大记录数，为null时读取到最后
+     * @return Flux包装的EmploymentInsuranceRate对象流
+     */
+    Flux<EmploymentInsuranceRate> streamEmploymentInsuranceRates(long afterId, Integer limit);
+}
@@ -0,0 +1,30 @@
+package jp.asatex.matianchi.social_insurance_backend_service.repository;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * 费率表变更通知Repository接口
+ * 通过PostgreSQL的LISTEN/NOTIFY接收rate_tables_changed通知（由V5迁移脚本中的触发器发送）
+ */
+public interface RateTablesNotificationRepository {
+
+    /**
+     * 通知频道名称
+     */
+    String CHANNEL = "rate_tables_changed";
+
+    /**
+     * LISTEN开始生效时发出的标记
+     * 建立（或重新建立）监听之前的变更无法通过通知得知，订阅方收到该标记时应按全部费率表已变更处理
+     */
+    String LISTEN_STARTED = "*";
+
+    /**
+     * 监听费率表变更通知
+     * 先发出LISTEN_STARTED，之后每收到一条通知发出一次变更的表名
+     * 连接断开时流以错误结束，由订阅方决定是否重新监听；取消订阅时关闭专用连接
+     * 数据库不支持通知时返回立即完成的空流
+     * @return Flux包装的变更表名流
+     */
+    Flux<String> listen();
+}
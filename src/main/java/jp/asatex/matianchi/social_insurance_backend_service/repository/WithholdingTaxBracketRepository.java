@@ -1,5 +1,7 @@
 package jp.asatex.matianchi.social_insurance_backend_service.repository;
 
+import java.time.LocalDate;
+
 import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
@@ -14,12 +16,16 @@ import reactor.core.publisher.Mono;
 public interface WithholdingTaxBracketRepository extends ReactiveCrudRepository<WithholdingTaxBracket, Long> {
 
     /**
-     * 根据扣除社会保险费后的工资金额查找对应的源泉征收税等级记录
-     * 查找minAmount <= amount <= maxAmount的记录
+     * 根据扣除社会保险费后的工资金额查找在生效日期有效的源泉征收税等级记录
+     * 查找minAmount <= amount <= maxAmount且effectiveFrom <= effectiveDate < effectiveTo的记录
+     * 当边界值匹配多个区间时，返回min_amount最小的区间
      * @param amount 扣除社会保险费后的工资金额
+     * @param effectiveDate 生效日期
      * @return Mono包装的WithholdingTaxBracket对象
      */
-    @Query("SELECT * FROM withholding_tax_bracket WHERE min_amount <= :amount AND max_amount >= :amount LIMIT 1")
-    Mono<WithholdingTaxBracket> findByAmount(Integer amount);
+    @Query("SELECT * FROM withholding_tax_bracket WHERE min_amount <= :amount AND max_amount >= :amount "
+            + "AND effective_from <= :effectiveDate AND (effective_to IS NULL OR effective_to > :effectiveDate) "
+            + "ORDER BY min_amount ASC LIMIT 1")
+    Mono<WithholdingTaxBracket> findByAmount(Integer amount, LocalDate effectiveDate);
 }
 
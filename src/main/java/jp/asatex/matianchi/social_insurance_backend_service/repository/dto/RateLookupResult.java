@@ -0,0 +1,107 @@
+package jp.asatex.matianchi.social_insurance_backend_service.repository.dto;
+
+import java.util.Objects;
+
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+
+/**
+ * 费率一次性查询结果DTO
+ * 一条SQL同时解析出的保险费等级、雇佣保险费率和源泉征收税等级
+ * 未匹配到的部分为null，由调用方决定如何报错
+ */
+public class RateLookupResult {
+
+    /**
+     * 保险费等级
+     */
+    private PremiumBracket premiumBracket;
+
+    /**
+     * 雇佣保险费率
+     */
+    private EmploymentInsuranceRate employmentInsuranceRate;
+
+    /**
+     * 扣除雇员承担的社会保险费和雇佣保险后的工资金额（在SQL中计算）
+     */
+    private Integer salaryAfterSocialInsurance;
+
+    /**
+     * 源泉征收税等级
+     */
+    private WithholdingTaxBracket withholdingTaxBracket;
+
+    // 默认构造函数
+    public RateLookupResult() {
+    }
+
+    // 全参构造函数
+    public RateLookupResult(PremiumBracket premiumBracket, EmploymentInsuranceRate employmentInsuranceRate,
+                            Integer salaryAfterSocialInsurance, WithholdingTaxBracket withholdingTaxBracket) {
+        this.premiumBracket = premiumBracket;
+        this.employmentInsuranceRate = employmentInsuranceRate;
+        this.salaryAfterSocialInsurance = salaryAfterSocialInsurance;
+        this.withholdingTaxBracket = withholdingTaxBracket;
+    }
+
+    // Getter和Setter方法
+    public PremiumBracket getPremiumBracket() {
+        return premiumBracket;
+    }
+
+    public void setPremiumBracket(PremiumBracket premiumBracket) {
+        this.premiumBracket = premiumBracket;
+    }
+
+    public EmploymentInsuranceRate getEmploymentInsuranceRate() {
+        return employmentInsuranceRate;
+    }
+
+    public void setEmploymentInsuranceRate(EmploymentInsuranceRate employmentInsuranceRate) {
+        this.employmentInsuranceRate = employmentInsuranceRate;
+    }
+
+    public Integer getSalaryAfterSocialInsurance() {
+        return salaryAfterSocialInsurance;
+    }
+
+    public void setSalaryAfterSocialInsurance(Integer salaryAfterSocialInsurance) {
+        this.salaryAfterSocialInsurance = salaryAfterSocialInsurance;
+    }
+
+    public WithholdingTaxBracket getWithholdingTaxBracket() {
+        return withholdingTaxBracket;
+    }
+
+    public void setWithholdingTaxBracket(WithholdingTaxBracket withholdingTaxBracket) {
+        this.withholdingTaxBracket = withholdingTaxBracket;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RateLookupResult that = (RateLookupResult) o;
+        return Objects.equals(premiumBracket, that.premiumBracket) &&
+               Objects.equals(employmentInsuranceRate, that.employmentInsuranceRate) &&
+               Objects.equals(salaryAfterSocialInsurance, that.salaryAfterSocialInsurance) &&
+               Objects.equals(withholdingTaxBracket, that.withholdingTaxBracket);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(premiumBracket, employmentInsuranceRate, salaryAfterSocialInsurance, withholdingTaxBracket);
+    }
+
+    @Override
+    public String toString() {
+        return "RateLookupResult{" +
+               "premiumBracket=" + premiumBracket +
+               ", employmentInsuranceRate=" + employmentInsuranceRate +
+               ", salaryAfterSocialInsurance=" + salaryAfterSocialInsurance +
+               ", withholdingTaxBracket=" + withholdingTaxBracket +
+               '}';
+    }
+}
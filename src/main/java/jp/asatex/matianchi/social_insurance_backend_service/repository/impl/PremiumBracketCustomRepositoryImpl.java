@@ -1,28 +1,109 @@
 package jp.asatex.matianchi.social_insurance_backend_service.repository.impl;
 
+import io.r2dbc.spi.Row;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
 import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
 import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketCustomRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.dto.RateLookupResult;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.relational.core.query.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 
 import static org.springframework.data.relational.core.query.Criteria.where;
 
 /**
  * 保险费等级自定义Repository实现类
  * 使用R2dbcEntityTemplate实现流式编程风格的复杂查询
+ * 排序、计数和存在检查都在SQL中执行，不把整张表读到客户端；列表查询只选择需要的列
  */
 @Repository
 public class PremiumBracketCustomRepositoryImpl implements PremiumBracketCustomRepository {
 
+    /**
+     * 一次性查询三张费率表的SQL
+     * 以单行参数表为起点LEFT JOIN LATERAL各子查询，某一部分未匹配时对应列为NULL而不是整行缺失
+     * 各子查询只匹配生效期间 [effective_from, effective_to) 包含生效日期的记录
+     * salary_after的计算与SocialInsuranceCalculator.salaryAfterSocialInsurance一致：
+     * 雇佣保险按2位小数四舍五入，扣除总额向零截断为整数
+     */
+    private static final String FIND_RATES_FOR_SALARY_SQL = """
+            SELECT
+                pb.id AS pb_id, pb.grade AS pb_grade, pb.std_rem AS pb_std_rem,
+                pb.min_amount AS pb_min_amount, pb.max_amount AS pb_max_amount,
+                pb.health_no_care AS pb_health_no_care, pb.health_care AS pb_health_care, pb.pension AS pb_pension,
+                pb.effective_from AS pb_effective_from, pb.effective_to AS pb_effective_to,
+                eir.id AS eir_id, eir.business_type AS eir_business_type, eir.employee_rate AS eir_employee_rate,
+                eir.employer_unemployment_rate AS eir_employer_unemployment_rate,
+                eir.employer_two_undertakings_rate AS eir_employer_two_undertakings_rate,
+                eir.total_rate AS eir_total_rate,
+                eir.effective_from AS eir_effective_from, eir.effective_to AS eir_effective_to,
+                calc.salary_after AS salary_after,
+                wtb.id AS wtb_id, wtb.min_amount AS wtb_min_amount, wtb.max_amount AS wtb_max_amount,
+                wtb.tax_amount_ko AS wtb_tax_amount_ko, wtb.tax_amount_otsu AS wtb_tax_amount_otsu,
+                wtb.tax_amount_ko_dependents AS wtb_tax_amount_ko_dependents,
+                wtb.calculation_formula AS wtb_calculation_formula,
+                wtb.effective_from AS wtb_effective_from, wtb.effective_to AS wtb_effective_to
+            FROM (SELECT 1) AS params
+            LEFT JOIN LATERAL (
+                SELECT * FROM premium_bracket
+                WHERE min_amount <= :amount AND max_amount >= :amount
+                  AND effective_from <= :effectiveDate
+                  AND (effective_to IS NULL OR effective_to > :effectiveDate)
+                ORDER BY min_amount DESC
+                LIMIT 1
+            ) pb ON TRUE
+            LEFT JOIN LATERAL (
+                SELECT * FROM employment_insurance_rate
+                WHERE business_type = :businessType
+                  AND effective_from <= :effectiveDate
+                  AND (effective_to IS NULL OR effective_to > :effectiveDate)
+                LIMIT 1
+            ) eir ON TRUE
+            LEFT JOIN LATERAL (
+                SELECT :amount - TRUNC(
+                        pb.health_no_care * 0.5
+                        + CASE WHEN :age < 40 THEN 0 ELSE (pb.health_care - pb.health_no_care) * 0.5 END
+                        + pb.pension * 0.5
+                        + ROUND(:amount * eir.employee_rate / 1000, 2)
+                    )::INTEGER AS salary_after
+            ) calc ON TRUE
+            LEFT JOIN LATERAL (
+                SELECT * FROM withholding_tax_bracket
+                WHERE min_amount <= calc.salary_after AND max_amount >= calc.salary_after
+                  AND effective_from <= :effectiveDate
+                  AND (effective_to IS NULL OR effective_to > :effectiveDate)
+                ORDER BY min_amount ASC
+                LIMIT 1
+            ) wtb ON TRUE
+            """;
+
+    /**
+     * 按标准报酬排序，多个生效期间中标准报酬相同的记录按ID排序，与keyset分页的顺序一致
+     */
+    private static final Sort STD_REM_ORDER = Sort.by("stdRem", "id");
+
+    /**
+     * 列表查询只选择PremiumBracketRepository.LISTING_COLUMNS中的列
+     */
+    private static final List<String> LISTING_COLUMNS = List.of(PremiumBracketRepository.LISTING_COLUMNS.split(", "));
+
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final TransactionalOperator transactionalOperator;
 
-    public PremiumBracketCustomRepositoryImpl(R2dbcEntityTemplate r2dbcEntityTemplate) {
+    public PremiumBracketCustomRepositoryImpl(R2dbcEntityTemplate r2dbcEntityTemplate,
+                                              TransactionalOperator transactionalOperator) {
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
+        this.transactionalOperator = transactionalOperator;
     }
 
     @Override
@@ -32,9 +113,8 @@ public class PremiumBracketCustomRepositoryImpl implements PremiumBracketCustomR
                 .matching(Query.query(
                         where("min_amount").lessThanOrEquals(maxAmount)
                                 .and("max_amount").greaterThanOrEquals(minAmount)
-                ))
-                .all()
-                .sort((b1, b2) -> Integer.compare(b1.getStdRem(), b2.getStdRem()));
+                ).columns(LISTING_COLUMNS).sort(STD_REM_ORDER))
+                .all();
     }
 
     @Override
@@ -43,9 +123,8 @@ public class PremiumBracketCustomRepositoryImpl implements PremiumBracketCustomR
                 .select(PremiumBracket.class)
                 .matching(Query.query(
                         where("pension").greaterThan(BigDecimal.ZERO)
-                ))
-                .all()
-                .sort((b1, b2) -> Integer.compare(b1.getStdRem(), b2.getStdRem()));
+                ).columns(LISTING_COLUMNS).sort(STD_REM_ORDER))
+                .all();
     }
 
     @Override
@@ -55,9 +134,8 @@ public class PremiumBracketCustomRepositoryImpl implements PremiumBracketCustomR
                 .matching(Query.query(
                         where("std_rem").greaterThanOrEquals(minStdRem)
                                 .and("std_rem").lessThanOrEquals(maxStdRem)
-                ))
-                .all()
-                .sort((b1, b2) -> Integer.compare(b1.getStdRem(), b2.getStdRem()));
+                ).columns(LISTING_COLUMNS).sort(STD_REM_ORDER))
+                .all();
     }
 
     @Override
@@ -74,35 +152,111 @@ public class PremiumBracketCustomRepositoryImpl implements PremiumBracketCustomR
                             bracket.getHealthCare(),
                             bracket.getPension()
                     );
+                    newBracket.setEffectiveFrom(bracket.getEffectiveFrom());
+                    newBracket.setEffectiveTo(bracket.getEffectiveTo());
                     return newBracket;
                 })
-                .flatMap(bracket -> r2dbcEntityTemplate.insert(PremiumBracket.class)
-                        .using(bracket)
-                        .cast(PremiumBracket.class))
-                .onErrorContinue((throwable, obj) -> {
-                    // 错误处理：记录日志并继续处理下一个
-                    System.err.println("保存保险费等级记录时发生错误: " + throwable.getMessage());
-                });
+                // 逐条插入，同时只占用一条连接；任何一条失败时整个事务回滚，错误传给调用方
+                .concatMap(bracket -> r2dbcEntityTemplate.insert(PremiumBracket.class)
+                        .using(bracket))
+                .as(transactionalOperator::transactional);
     }
 
     @Override
     public Mono<Boolean> existsByGrade(String grade) {
-        return r2dbcEntityTemplate
-                .select(PremiumBracket.class)
-                .matching(Query.query(where("grade").is(grade)))
-                .first()
-                .hasElement();
+        // SELECT ... LIMIT 1，只返回是否存在
+        return r2dbcEntityTemplate.exists(Query.query(where("grade").is(grade)), PremiumBracket.class);
     }
 
     @Override
     public Mono<Long> countApplicablePensionBrackets() {
-        return r2dbcEntityTemplate
-                .select(PremiumBracket.class)
-                .matching(Query.query(
-                        where("pension").greaterThan(BigDecimal.ZERO)
+        // SELECT COUNT(*)，不读取各行
+        return r2dbcEntityTemplate.count(Query.query(
+                        where("pension").greaterThan(BigDecimal.ZERO)),
+                PremiumBracket.class);
+    }
+
+    @Override
+    public Mono<RateLookupResult> findRatesForSalary(Integer amount, Integer age, String businessType,
+                                                     LocalDate effectiveDate) {
+        return r2dbcEntityTemplate.getDatabaseClient()
+                .sql(FIND_RATES_FOR_SALARY_SQL)
+                .bind("amount", amount)
+                .bind("age", age)
+                .bind("businessType", businessType)
+                .bind("effectiveDate", effectiveDate)
+                .map((row, metadata) -> new RateLookupResult(
+                        mapPremiumBracket(row),
+                        mapEmploymentInsuranceRate(row),
+                        row.get("salary_after", Integer.class),
+                        mapWithholdingTaxBracket(row)
                 ))
-                .all()
-                .count();
+                .one();
     }
-}
 
+    /**
+     * 从一次性查询结果行中读取保险费等级，未匹配时返回null
+     */
+    private PremiumBracket mapPremiumBracket(Row row) {
+        Long id = row.get("pb_id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        PremiumBracket bracket = new PremiumBracket(
+                id,
+                row.get("pb_grade", String.class),
+                row.get("pb_std_rem", Integer.class),
+                row.get("pb_min_amount", Integer.class),
+                row.get("pb_max_amount", Integer.class),
+                row.get("pb_health_no_care", BigDecimal.class),
+                row.get("pb_health_care", BigDecimal.class),
+                row.get("pb_pension", BigDecimal.class),
+                null,
+                null
+        );
+        bracket.setEffectiveFrom(row.get("pb_effective_from", LocalDate.class));
+        bracket.setEffectiveTo(row.get("pb_effective_to", LocalDate.class));
+        return bracket;
+    }
+
+    /**
+     * 从一次性查询结果行中读取雇佣保险费率，未匹配时返回null
+     */
+    private EmploymentInsuranceRate mapEmploymentInsuranceRate(Row row) {
+        Long id = row.get("eir_id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        EmploymentInsuranceRate rate = new EmploymentInsuranceRate();
+        rate.setId(id);
+        rate.setBusinessType(row.get("eir_business_type", String.class));
+        rate.setEmployeeRate(row.get("eir_employee_rate", BigDecimal.class));
+        rate.setEmployerUnemploymentRate(row.get("eir_employer_unemployment_rate", BigDecimal.class));
+        rate.setEmployerTwoUndertakingsRate(row.get("eir_employer_two_undertakings_rate", BigDecimal.class));
+        rate.setTotalRate(row.get("eir_total_rate", BigDecimal.class));
+        rate.setEffectiveFrom(row.get("eir_effective_from", LocalDate.class));
+        rate.setEffectiveTo(row.get("eir_effective_to", LocalDate.class));
+        return rate;
+    }
+
+    /**
+     * 从一次性查询结果行中读取源泉征收税等级，未匹配时返回null
+     */
+    private WithholdingTaxBracket mapWithholdingTaxBracket(Row row) {
+        Long id = row.get("wtb_id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        WithholdingTaxBracket bracket = new WithholdingTaxBracket();
+        bracket.setId(id);
+        bracket.setMinAmount(row.get("wtb_min_amount", Integer.class));
+        bracket.setMaxAmount(row.get("wtb_max_amount", Integer.class));
+        bracket.setTaxAmountKo(row.get("wtb_tax_amount_ko", Integer.class));
+        bracket.setTaxAmountOtsu(row.get("wtb_tax_amount_otsu", Integer.class));
+        bracket.setTaxAmountKoDependents(row.get("wtb_tax_amount_ko_dependents", Integer[].class));
+        bracket.setCalculationFormula(row.get("wtb_calculation_formula", String.class));
+        bracket.setEffectiveFrom(row.get("wtb_effective_from", LocalDate.class));
+        bracket.setEffectiveTo(row.get("wtb_effective_to", LocalDate.class));
+        return bracket;
+    }
+}
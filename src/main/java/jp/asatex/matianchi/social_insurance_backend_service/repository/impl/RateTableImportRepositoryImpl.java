@@ -0,0 +1,260 @@
+package jp.asatex.matianchi.social_insurance_backend_service.repository.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.Wrapped;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.RateTableImportRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * 费率表批量导入Repository实现类
+ * 使用r2dbc-postgresql的COPY FROM STDIN把记录流写入ON COMMIT DROP的临时表，临时表和替换都在同一条连接的同一个事务中，
+ * 事务提交前其他连接看不到任何变化；提交时三张费率表的语句级触发器各发送一次NOTIFY rate_tables_changed
+ */
+@Repository
+public class RateTableImportRepositoryImpl implements RateTableImportRepository {
+
+    /**
+     * 每个COPY数据块包含的行数
+     */
+    private static final int ROWS_PER_CHUNK = 256;
+
+    private static final String PREMIUM_BRACKET_COLUMNS =
+            "grade, std_rem, min_amount, max_amount, health_no_care, health_care, pension";
+
+    private static final String WITHHOLDING_TAX_BRACKET_COLUMNS =
+            "min_amount, max_amount, tax_amount_ko, tax_amount_otsu, tax_amount_ko_dependents, calculation_formula";
+
+    private static final String EMPLOYMENT_INSURANCE_RATE_COLUMNS =
+            "business_type, employee_rate, employer_unemployment_rate, employer_two_undertakings_rate, total_rate";
+
+    private final ConnectionFactory connectionFactory;
+
+    public RateTableImportRepositoryImpl(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public Mono<Long> replacePremiumBrackets(Flux<PremiumBracket> brackets, LocalDate effectiveFrom,
+                                             LocalDate effectiveTo) {
+        return replacePeriod("premium_bracket", PREMIUM_BRACKET_COLUMNS, brackets,
+                bracket -> copyRow(bracket.getGrade(), bracket.getStdRem(), bracket.getMinAmount(),
+                        bracket.getMaxAmount(), bracket.getHealthNoCare(), bracket.getHealthCare(),
+                        bracket.getPension()),
+                effectiveFrom, effectiveTo);
+    }
+
+    @Override
+    public Mono<Long> replaceWithholdingTaxBrackets(Flux<WithholdingTaxBracket> brackets, LocalDate effectiveFrom,
+                                                    LocalDate effectiveTo) {
+        return replacePeriod("withholding_tax_bracket", WITHHOLDING_TAX_BRACKET_COLUMNS, brackets,
+                bracket -> copyRow(bracket.getMinAmount(), bracket.getMaxAmount(), bracket.getTaxAmountKo(),
+                        bracket.getTaxAmountOtsu(), arrayLiteral(bracket.getTaxAmountKoDependents()),
+                        bracket.getCalculationFormula()),
+                effectiveFrom, effectiveTo);
+    }
+
+    @Override
+    public Mono<Long> replaceEmploymentInsuranceRates(Flux<EmploymentInsuranceRate> rates, LocalDate effectiveFrom,
+                                                      LocalDate effectiveTo) {
+        return replacePeriod("employment_insurance_rate", EMPLOYMENT_INSURANCE_RATE_COLUMNS, rates,
+                rate -> copyRow(rate.getBusinessType(), rate.getEmployeeRate(), rate.getEmployerUnemploymentRate(),
+                        rate.getEmployerTwoUndertakingsRate(), rate.getTotalRate()),
+                effectiveFrom, effectiveTo);
+    }
+
+    /**
+     * 在一个事务中用记录流替换一个生效期间
+     *
+     * @param table 费率表名
+     * @param columns 导入的列（不含ID、生效期间和时间戳）
+     * @param rows 记录流
+     * @param copyRow 把一条记录转换为COPY文本格式的一行
+     * @param effectiveFrom 生效开始日期（含）
+     * @param effectiveTo 生效结束日期（不含），null表示无期限
+     * @return Mono包装的导入记录数
+     */
+    private <T> Mono<Long> replacePeriod(String table, String columns, Flux<T> rows, Function<T, String> copyRow,
+                                         LocalDate effectiveFrom, LocalDate effectiveTo) {
+        String staging = table + "_import";
+        // COPY在读取记录流失败时以自身的错误结束，保留记录流的原始错误（例如CSV校验错误）
+        AtomicReference<Throwable> sourceError = new AtomicReference<>();
+        Flux<ByteBuf> chunks = rows
+                .doOnError(sourceError::set)
+                .map(copyRow)
+                .buffer(ROWS_PER_CHUNK)
+                .map(RateTableImportRepositoryImpl::chunk)
+                .doOnDiscard(ByteBuf.class, ReferenceCountUtil::release);
+
+        return Mono.usingWhen(
+                        connectionFactory.create(),
+                        connection -> {
+                            PostgresqlConnection postgresqlConnection = unwrap(connection);
+                            return Mono.from(connection.beginTransaction())
+                                    .then(execute(connection.createStatement(
+                                            "CREATE TEMPORARY TABLE " + staging + " ON COMMIT DROP AS SELECT "
+                                                    + columns + " FROM " + table + " WITH NO DATA")))
+                                    .then(Mono.defer(() -> postgresqlConnection.copyIn(
+                                            "COPY " + staging + " (" + columns + ") FROM STDIN", chunks)))
+                                    .flatMap(count -> swap(connection, table, staging, columns,
+                                            effectiveFrom, effectiveTo)
+                                            .then(Mono.from(connection.commitTransaction()))
+                                            .thenReturn(count))
+                                    .onErrorResume(e -> Mono.from(connection.rollbackTransaction())
+                                            .onErrorComplete()
+                                            .then(Mono.error(e)));
+                        },
+                        Connection::close,
+                        (connection, e) -> connection.close(),
+                        connection -> Mono.from(connection.rollbackTransaction())
+                                .onErrorComplete()
+                                .then(Mono.from(connection.close())))
+                .onErrorMap(e -> sourceError.get() != null ? sourceError.get() : e);
+    }
+
+    /**
+     * 用临时表中的记录替换生效期间
+     * 先锁定费率表，阻止并发的导入和修改（不阻止查询），使重叠检查和替换之间不会插入其他变更
+     * 只有新的生效期间无期限时才截止无期限的前一个生效期间；新的生效期间有结束日期时截止前一个期间
+     * 会使结束日期之后没有任何有效的记录，此时交给重叠检查拒绝
+     */
+    private Mono<Void> swap(Connection connection, String table, String staging, String columns,
+                            LocalDate effectiveFrom, LocalDate effectiveTo) {
+        Mono<Void> closePrevious = effectiveTo != null
+                ? Mono.empty()
+                : execute(connection.createStatement(
+                                "UPDATE " + table + " SET effective_to = $1"
+                                        + " WHERE effective_to IS NULL AND effective_from < $1")
+                        .bind("$1", effectiveFrom));
+        return execute(connection.createStatement("LOCK TABLE " + table + " IN SHARE ROW EXCLUSIVE MODE"))
+                .then(execute(connection.createStatement(
+                                "DELETE FROM " + table + " WHERE effective_from = $1")
+                        .bind("$1", effectiveFrom)))
+                .then(closePrevious)
+                .then(Flux.defer(() -> Flux.from(bindPeriod(connection.createStatement(
+                                "SELECT EXISTS (SELECT 1 FROM " + table
+                                        + " WHERE effective_from < COALESCE($2::date, DATE 'infinity')"
+                                        + " AND (effective_to IS NULL OR effective_to > $1))"),
+                                effectiveFrom, effectiveTo).execute()))
+                        .flatMap(result -> result.map((row, metadata) -> row.get(0, Boolean.class)))
+                        .next())
+                .flatMap(overlapping -> overlapping
+                        ? Mono.error(new IllegalArgumentException("生效期间 [" + effectiveFrom + ", "
+                                + (effectiveTo != null ? effectiveTo : "无期限") + ") 与 " + table
+                                + " 中已有的生效期间重叠"))
+                        : execute(bindPeriod(connection.createStatement(
+                                "INSERT INTO " + table + " (" + columns + ", effective_from, effective_to)"
+                                        + " SELECT " + columns + ", $1, $2::date FROM " + staging),
+                                effectiveFrom, effectiveTo)));
+    }
+
+    /**
+     * 绑定生效期间参数$1和$2
+     */
+    private static Statement bindPeriod(Statement statement, LocalDate effectiveFrom, LocalDate effectiveTo) {
+        statement.bind("$1", effectiveFrom);
+        if (effectiveTo != null) {
+            statement.bind("$2", effectiveTo);
+        } else {
+            statement.bindNull("$2", LocalDate.class);
+        }
+        return statement;
+    }
+
+    private static Mono<Void> execute(Statement statement) {
+        // 语句在订阅时才执行，保证按then的顺序依次执行
+        return Flux.defer(() -> Flux.from(statement.execute()))
+                .flatMap(Result::getRowsUpdated)
+                .then();
+    }
+
+    /**
+     * 转换为COPY文本格式的一行：制表符分隔，NULL写成\N，反斜杠、制表符和换行转义
+     */
+    private static String copyRow(Object... values) {
+        StringBuilder row = new StringBuilder(128);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                row.append('\t');
+            }
+            Object value = values[i];
+            if (value == null) {
+                row.append("\\N");
+                continue;
+            }
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            for (int j = 0; j < text.length(); j++) {
+                char c = text.charAt(j);
+                switch (c) {
+                    case '\\' -> row.append("\\\\");
+                    case '\t' -> row.append("\\t");
+                    case '\n' -> row.append("\\n");
+                    case '\r' -> row.append("\\r");
+                    default -> row.append(c);
+                }
+            }
+        }
+        return row.append('\n').toString();
+    }
+
+    /**
+     * 转换为PostgreSQL的数组字面量，例如{1,2,NULL}
+     */
+    private static String arrayLiteral(Integer[] values) {
+        if (values == null) {
+            return null;
+        }
+        StringBuilder literal = new StringBuilder("{");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append(values[i] != null ? values[i].toString() : "NULL");
+        }
+        return literal.append('}').toString();
+    }
+
+    private static ByteBuf chunk(List<String> rows) {
+        ByteBuf buffer = ByteBufAllocator.DEFAULT.buffer(rows.size() * 96);
+        for (String row : rows) {
+            buffer.writeCharSequence(row, StandardCharsets.UTF_8);
+        }
+        return buffer;
+    }
+
+    /**
+     * 取得连接池包装的PostgreSQL连接
+     *
+     * @param connection 可能被连接池包装的连接
+     * @return PostgreSQL连接
+     * @throws IllegalStateException 数据库不是PostgreSQL
+     */
+    private static PostgresqlConnection unwrap(Connection connection) {
+        Object current = connection;
+        while (!(current instanceof PostgresqlConnection) && current instanceof Wrapped<?> wrapped) {
+            current = wrapped.unwrap();
+        }
+        if (current instanceof PostgresqlConnection postgresqlConnection) {
+            return postgresqlConnection;
+        }
+        throw new IllegalStateException("费率表批量导入需要PostgreSQL的COPY协议: " + connection.getClass().getName());
+    }
+}
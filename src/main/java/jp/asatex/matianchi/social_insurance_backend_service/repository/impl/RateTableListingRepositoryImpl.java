@@ -0,0 +1,74 @@
+package jp.asatex.matianchi.social_insurance_backend_service.repository.impl;
+
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.RateTableListingRepository;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * 费率表流式浏览Repository实现类
+ * 设置fetchSize后r2dbc-postgresql通过门户（portal）每次只取FETCH_SIZE行，下游消费后再取下一批，
+ * 客户端读取慢时数据库端的读取也随之暂停
+ * 各查询的WHERE (key, id) > (...) ORDER BY key, id由(key, id)索引直接定位起点
+ */
+@Repository
+public class RateTableListingRepositoryImpl implements RateTableListingRepository {
+
+    /**
+     * 每次从数据库读取的行数
+     */
+    private static final int FETCH_SIZE = 256;
+
+    /**
+     * LIMIT子句，未指定最大记录数时绑定NULL（PostgreSQL中LIMIT NULL表示不限制）
+     */
+    private static final String LIMIT = " LIMIT :limit";
+
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    public RateTableListingRepositoryImpl(R2dbcEntityTemplate r2dbcEntityTemplate) {
+        this.r2dbcEntityTemplate = r2dbcEntityTemplate;
+    }
+
+    @Override
+    public Flux<PremiumBracket> streamPremiumBrackets(int afterStdRem, long afterId, Integer limit) {
+        return stream(PremiumBracket.class,
+                "SELECT * FROM premium_bracket WHERE (std_rem, id) > (:afterKey, :afterId)"
+                        + " ORDER BY std_rem ASC, id ASC" + LIMIT,
+                afterStdRem, afterId, limit);
+    }
+
+    @Override
+    public Flux<WithholdingTaxBracket> streamWithholdingTaxBrackets(int afterMinAmount, long afterId,
+                                                                    Integer limit) {
+        return stream(WithholdingTaxBracket.class,
+                "SELECT * FROM withholding_tax_bracket WHERE (min_amount, id) > (:afterKey, :afterId)"
+                        + " ORDER BY min_amount ASC, id ASC" + LIMIT,
+                afterMinAmount, afterId, limit);
+    }
+
+    @Override
+    public Flux<EmploymentInsuranceRate> streamEmploymentInsuranceRates(long afterId, Integer limit) {
+        return stream(EmploymentInsuranceRate.class,
+                "SELECT * FROM employment_insurance_rate WHERE id > :afterId ORDER BY id ASC" + LIMIT,
+                null, afterId, limit);
+    }
+
+    private <T> Flux<T> stream(Class<T> type, String sql, Integer afterKey, long afterId, Integer limit) {
+        DatabaseClient.GenericExecuteSpec spec = r2dbcEntityTemplate.getDatabaseClient()
+                .sql(sql)
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .bind("afterId", afterId);
+        if (afterKey != null) {
+            spec = spec.bind("afterKey", afterKey);
+        }
+        spec = limit != null ? spec.bind("limit", limit) : spec.bindNull("limit", Integer.class);
+        return spec
+                .map((row, metadata) -> r2dbcEntityTemplate.getConverter().read(type, row, metadata))
+                .all();
+    }
+}
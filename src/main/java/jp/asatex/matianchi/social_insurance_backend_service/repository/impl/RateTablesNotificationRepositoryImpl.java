@@ -0,0 +1,74 @@
+package jp.asatex.matianchi.social_insurance_backend_service.repository.impl;
+
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.RateTablesNotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 费率表变更通知Repository实现类
+ * 使用r2dbc-postgresql的通知API执行LISTEN并接收通知
+ * LISTEN是会话级状态，并且需要一直占用连接，因此绕过连接池使用一条专用连接
+ */
+@Repository
+public class RateTablesNotificationRepositoryImpl implements RateTablesNotificationRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(RateTablesNotificationRepositoryImpl.class);
+
+    private final ConnectionFactory connectionFactory;
+
+    public RateTablesNotificationRepositoryImpl(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public Flux<String> listen() {
+        ConnectionFactory unpooled = unwrap(connectionFactory);
+        return Flux.usingWhen(
+                Mono.from(unpooled.create()),
+                this::listen,
+                Connection::close);
+    }
+
+    private Flux<String> listen(Connection connection) {
+        if (!(connection instanceof PostgresqlConnection postgresqlConnection)) {
+            log.info("数据库不支持LISTEN/NOTIFY，不监听费率表变更通知: {}", connection.getClass().getName());
+            return Flux.empty();
+        }
+        return postgresqlConnection.createStatement("LISTEN " + CHANNEL)
+                .execute()
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .thenMany(Flux.just(LISTEN_STARTED)
+                        .concatWith(postgresqlConnection.getNotifications()
+                                .map(this::tableName))
+                        // 连接关闭时通知流正常结束，转换为错误以便与不支持通知的情况区分
+                        .concatWith(Mono.error(new IllegalStateException("费率表变更通知连接已关闭"))));
+    }
+
+    private String tableName(Notification notification) {
+        String parameter = notification.getParameter();
+        return parameter != null ? parameter : LISTEN_STARTED;
+    }
+
+    /**
+     * 取得连接池包装的底层ConnectionFactory
+     *
+     * @param connectionFactory 可能被连接池包装的ConnectionFactory
+     * @return 不经过连接池的ConnectionFactory
+     */
+    private static ConnectionFactory unwrap(ConnectionFactory connectionFactory) {
+        ConnectionFactory current = connectionFactory;
+        while (current instanceof Wrapped<?> wrapped && wrapped.unwrap() instanceof ConnectionFactory inner) {
+            current = inner;
+        }
+        return current;
+    }
+}
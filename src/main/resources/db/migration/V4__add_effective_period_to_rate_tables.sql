@@ -0,0 +1,50 @@
+-- ===========================================
+-- 为三张费率表添加生效期间
+-- 同一张表可以同时保存多个年度的费率，按生效日期选择适用的记录
+-- 生效期间为左闭右开区间 [effective_from, effective_to)，effective_to为NULL表示无期限
+-- ===========================================
+
+-- 保险费等级表：2025年神奈川县协会健保费率自2025年3月分起适用
+ALTER TABLE premium_bracket ADD COLUMN effective_from DATE NOT NULL DEFAULT DATE '2025-03-01';
+ALTER TABLE premium_bracket ADD COLUMN effective_to DATE;
+ALTER TABLE premium_bracket ALTER COLUMN effective_from DROP DEFAULT;
+ALTER TABLE premium_bracket ADD CONSTRAINT ck_premium_bracket_effective_period
+    CHECK (effective_to IS NULL OR effective_to > effective_from);
+
+-- 等级在每个生效期间内唯一
+ALTER TABLE premium_bracket DROP CONSTRAINT premium_bracket_grade_key;
+ALTER TABLE premium_bracket ADD CONSTRAINT uq_premium_bracket_grade_effective_from UNIQUE (grade, effective_from);
+
+COMMENT ON COLUMN premium_bracket.effective_from IS '生效开始日期（含）';
+COMMENT ON COLUMN premium_bracket.effective_to IS '生效结束日期（不含），NULL表示无期限';
+
+CREATE INDEX idx_premium_bracket_effective_period ON premium_bracket(effective_from, effective_to);
+
+-- 源泉征收税等级表：令和7年分源泉征收税额表自2025年1月1日起适用
+ALTER TABLE withholding_tax_bracket ADD COLUMN effective_from DATE NOT NULL DEFAULT DATE '2025-01-01';
+ALTER TABLE withholding_tax_bracket ADD COLUMN effective_to DATE;
+ALTER TABLE withholding_tax_bracket ALTER COLUMN effective_from DROP DEFAULT;
+ALTER TABLE withholding_tax_bracket ADD CONSTRAINT ck_withholding_tax_bracket_effective_period
+    CHECK (effective_to IS NULL OR effective_to > effective_from);
+
+COMMENT ON COLUMN withholding_tax_bracket.effective_from IS '生效开始日期（含）';
+COMMENT ON COLUMN withholding_tax_bracket.effective_to IS '生效结束日期（不含），NULL表示无期限';
+
+CREATE INDEX idx_withholding_tax_bracket_effective_period ON withholding_tax_bracket(effective_from, effective_to);
+
+-- 雇佣保险费率表：令和7年度雇佣保险费率自2025年4月1日起适用
+ALTER TABLE employment_insurance_rate ADD COLUMN effective_from DATE NOT NULL DEFAULT DATE '2025-04-01';
+ALTER TABLE employment_insurance_rate ADD COLUMN effective_to DATE;
+ALTER TABLE employment_insurance_rate ALTER COLUMN effective_from DROP DEFAULT;
+ALTER TABLE employment_insurance_rate ADD CONSTRAINT ck_employment_insurance_rate_effective_period
+    CHECK (effective_to IS NULL OR effective_to > effective_from);
+
+-- 事业类型在每个生效期间内唯一
+ALTER TABLE employment_insurance_rate DROP CONSTRAINT employment_insurance_rate_business_type_key;
+ALTER TABLE employment_insurance_rate ADD CONSTRAINT uq_employment_insurance_rate_business_type_effective_from
+    UNIQUE (business_type, effective_from);
+
+COMMENT ON COLUMN employment_insurance_rate.effective_from IS '生效开始日期（含）';
+COMMENT ON COLUMN employment_insurance_rate.effective_to IS '生效结束日期（不含），NULL表示无期限';
+
+CREATE INDEX idx_employment_insurance_rate_effective_period ON employment_insurance_rate(effective_from, effective_to);
@@ -0,0 +1,34 @@
+-- ===========================================
+-- 费率表变更通知
+-- 三张费率表的任何INSERT/UPDATE/DELETE/TRUNCATE都会发送 NOTIFY rate_tables_changed，
+-- 各节点收到通知后重建内存中的费率快照和计算结果缓存
+-- 通知在事务提交时才送达，同一事务内相同内容的通知只送达一次
+-- ===========================================
+
+CREATE OR REPLACE FUNCTION notify_rate_tables_changed()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- 通知内容为变更的表名
+    PERFORM pg_notify('rate_tables_changed', TG_TABLE_NAME);
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+-- 使用语句级触发器，批量修改时每条语句只发送一次通知
+DROP TRIGGER IF EXISTS notify_premium_bracket_changed ON premium_bracket;
+CREATE TRIGGER notify_premium_bracket_changed
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON premium_bracket
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION notify_rate_tables_changed();
+
+DROP TRIGGER IF EXISTS notify_withholding_tax_bracket_changed ON withholding_tax_bracket;
+CREATE TRIGGER notify_withholding_tax_bracket_changed
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON withholding_tax_bracket
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION notify_rate_tables_changed();
+
+DROP TRIGGER IF EXISTS notify_employment_insurance_rate_changed ON employment_insurance_rate;
+CREATE TRIGGER notify_employment_insurance_rate_changed
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON employment_insurance_rate
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION notify_rate_tables_changed();
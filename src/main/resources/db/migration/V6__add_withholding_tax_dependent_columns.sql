@@ -0,0 +1,13 @@
+-- ===========================================
+-- 为源泉征收税等级表添加扶养亲属人数1～7人的甲栏税额
+-- tax_amount_ko为扶养亲属0人的甲栏税额，tax_amount_ko_dependents[n]为扶养亲属n人（n = 1～7）的甲栏税额
+-- 未登录时为NULL；数组中的元素为NULL时，该栏按calculation_formula计算
+-- 扶养亲属超过7人时，按7人的税额每多1人减去1,610日元（由应用程序计算）
+-- ===========================================
+
+ALTER TABLE withholding_tax_bracket ADD COLUMN tax_amount_ko_dependents INTEGER[];
+ALTER TABLE withholding_tax_bracket ADD CONSTRAINT ck_withholding_tax_bracket_ko_dependents
+    CHECK (tax_amount_ko_dependents IS NULL OR cardinality(tax_amount_ko_dependents) = 7);
+
+COMMENT ON COLUMN withholding_tax_bracket.tax_amount_ko_dependents IS '扶养亲属1～7人的甲栏税额（下标1～7），NULL表示未登录';
+COMMENT ON COLUMN withholding_tax_bracket.calculation_formula IS '计算公式（当税额需要计算时使用），适用于该行中为NULL的税额栏';
@@ -0,0 +1,7 @@
+-- ===========================================
+-- 保险费等级表的keyset分页索引
+-- 管理接口按 (std_rem, id) 升序分页，WHERE (std_rem, id) > (...) ORDER BY std_rem, id LIMIT n
+-- 由该索引直接定位每一页的起点，不需要排序整张表
+-- ===========================================
+
+CREATE INDEX idx_premium_bracket_std_rem_id ON premium_bracket(std_rem, id);
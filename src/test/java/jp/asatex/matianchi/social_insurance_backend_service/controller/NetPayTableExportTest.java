@@ -0,0 +1,334 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import jp.asatex.matianchi.social_insurance_backend_service.application.PremiumBracketApplicationService;
+import jp.asatex.matianchi.social_insurance_backend_service.application.WithholdingTaxMethodPolicy;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.PremiumBracketDomainService;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceQueryCoalescer;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceResultCache;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateSnapshotManager;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.EmploymentInsuranceRateRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.WithholdingTaxBracketRepository;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * 实发工资表导出的测试
+ * 费率表中故意留有空缺，使导出结果包含三种错误行：
+ * 月薪250,000～299,999没有保险费等级；扣除后金额200,000～219,999没有源泉征收税等级；
+ * 扣除后金额220,000～259,999的等级没有登记甲栏税额
+ * 导出的每一行都应当与同一月薪的GET /socialInsuranceQuery一致，错误行的消息与该查询的400响应一致
+ */
+class NetPayTableExportTest {
+
+	private static final int COLUMN_COUNT = 13;
+	private static final int TO = 400_000;
+	private static final int STEP = 2_500;
+
+	private static final JsonMapper JSON = JsonMapper.builder()
+			.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+			.build();
+
+	/**
+	 * 响应使用的DataBufferFactory，记录分配的每一个缓冲区
+	 */
+	private final List<NettyDataBuffer> allocated = new CopyOnWriteArrayList<>();
+
+	private WebTestClient client;
+
+	@BeforeEach
+	void setUp() {
+		PremiumBracketRepository premiumBracketRepository = mock(PremiumBracketRepository.class);
+		WithholdingTaxBracketRepository withholdingTaxBracketRepository = mock(WithholdingTaxBracketRepository.class);
+		EmploymentInsuranceRateRepository employmentInsuranceRateRepository = mock(EmploymentInsuranceRateRepository.class);
+		when(premiumBracketRepository.findAllOrderByStdRemAsc()).thenReturn(Flux.just(
+				premiumBracket("1", 100_000, 0, 149_999, "9910.00", "11500.00", "18300.00"),
+				premiumBracket("2", 200_000, 150_000, 249_999, "20000.00", "23600.00", "36600.00"),
+				premiumBracket("3", 300_000, 300_000, 999_999, "30000.00", "35400.00", "54900.00")));
+		when(withholdingTaxBracketRepository.findAll()).thenReturn(Flux.just(
+				withholdingTaxBracket(0, 99_999, 0),
+				withholdingTaxBracket(100_000, 199_999, 1_230),
+				withholdingTaxBracket(220_000, 259_999, null),
+				withholdingTaxBracket(260_000, 999_999, 5_480)));
+		EmploymentInsuranceRate employmentInsuranceRate = new EmploymentInsuranceRate();
+		employmentInsuranceRate.setBusinessType("一般の事業");
+		employmentInsuranceRate.setEmployeeRate(new BigDecimal("5.500"));
+		employmentInsuranceRate.setEmployerUnemploymentRate(new BigDecimal("5.500"));
+		employmentInsuranceRate.setEmployerTwoUndertakingsRate(new BigDecimal("3.500"));
+		when(employmentInsuranceRateRepository.findAll()).thenReturn(Flux.just(employmentInsuranceRate));
+
+		RateSnapshotManager rateSnapshotManager = new RateSnapshotManager(premiumBracketRepository,
+				withholdingTaxBracketRepository, employmentInsuranceRateRepository, event -> { });
+		PremiumBracketDomainService domainService = new PremiumBracketDomainService(premiumBracketRepository,
+				rateSnapshotManager, new SocialInsuranceResultCache(new SimpleMeterRegistry(), false, 100),
+				new SocialInsuranceQueryCoalescer(new SimpleMeterRegistry(), true),
+				new CalculationStageMetrics(new SimpleMeterRegistry(), false), true);
+		PremiumBracketController controller = new PremiumBracketController(
+				new PremiumBracketApplicationService(domainService, new WithholdingTaxMethodPolicy("table", "")),
+				Duration.ofMinutes(1));
+
+		// 与Netty运行时相同，响应体写入引用计数的ByteBuf，以便检查缓冲区是否被释放
+		DataBufferFactory bufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT) {
+			@Override
+			public NettyDataBuffer allocateBuffer(int initialCapacity) {
+				NettyDataBuffer buffer = super.allocateBuffer(initialCapacity);
+				allocated.add(buffer);
+				return buffer;
+			}
+		};
+		client = WebTestClient.bindToController(controller)
+				.controllerAdvice(new GlobalExceptionHandler())
+				.webFilter((exchange, chain) -> chain.filter(exchange.mutate()
+						.response(new ServerHttpResponseDecorator(exchange.getResponse()) {
+							@Override
+							public DataBufferFactory bufferFactory() {
+								return bufferFactory;
+							}
+						})
+						.build()))
+				.configureClient()
+				.codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(4 * 1024 * 1024))
+				.build();
+	}
+
+	@Test
+	void csvRowsMatchSingleQuery() {
+		for (int age : new int[] {39, 45}) {
+			EntityExchangeResult<String> result = export(age, "csv");
+			assertEquals(new MediaType("text", "csv", StandardCharsets.UTF_8),
+					result.getResponseHeaders().getContentType());
+			assertEquals("net-pay-table.csv", result.getResponseHeaders().getContentDisposition().getFilename());
+
+			String body = result.getResponseBody();
+			assertTrue(body.endsWith("\n"));
+			String[] lines = body.split("\n");
+			assertEquals("monthlySalary,"
+					+ "employeeHealthCostWithNoCare,employeeCareCost,employeePension,employeeWithholdingTax,"
+					+ "employeeEmploymentInsurance,"
+					+ "employerHealthCostWithNoCare,employerCareCost,employerPension,employerWithholdingTax,"
+					+ "employerEmploymentInsurance,"
+					+ "netPay,error", lines[0]);
+			List<String[]> rows = new ArrayList<>();
+			for (int i = 1; i < lines.length; i++) {
+				rows.add(parseCsvLine(lines[i]));
+			}
+			assertRowsMatchSingleQuery(rows, age);
+		}
+	}
+
+	@Test
+	void ndjsonRowsMatchSingleQuery() {
+		for (int age : new int[] {39, 45}) {
+			EntityExchangeResult<String> result = export(age, "ndjson");
+			assertEquals(MediaType.APPLICATION_NDJSON, result.getResponseHeaders().getContentType());
+
+			List<String[]> rows = new ArrayList<>();
+			for (String line : result.getResponseBody().split("\n")) {
+				rows.add(columns(JSON.readTree(line)));
+			}
+			assertRowsMatchSingleQuery(rows, age);
+		}
+	}
+
+	@Test
+	void quotesAndEscapesErrorMessages() {
+		String message = "等级 \"[1, 2]\" 未登记\\\n";
+
+		assertEquals("\"等级 \"\"[1, 2]\"\" 未登记\\ \"", quoted(message, (byte) '"'));
+		assertEquals("\"等级 \\\"[1, 2]\\\" 未登记\\\\ \"", quoted(message, (byte) '\\'));
+		assertEquals("等级 \"[1, 2]\" 未登记\\ ", parseCsvLine(quoted(message, (byte) '"'))[0]);
+		assertEquals("等级 \"[1, 2]\" 未登记\\ ", JSON.readTree(quoted(message, (byte) '\\')).asString());
+	}
+
+	@Test
+	void cancellingExportReleasesBuffers() {
+		Flux<DataBuffer> body = client.get()
+				.uri("/socialInsuranceQuery/export?from=0&to=999999&age=45")
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(DataBuffer.class)
+				.getResponseBody();
+
+		List<DataBuffer> received = body.take(2).collectList().block();
+		received.forEach(DataBufferUtils::release);
+
+		assertEquals(2, received.size());
+		// 扫描随下游请求推进，取消后不再分配新的缓冲区
+		assertFalse(allocated.isEmpty());
+		assertTrue(allocated.size() < 10, "分配了 " + allocated.size() + " 个缓冲区");
+		for (NettyDataBuffer buffer : allocated) {
+			assertEquals(0, buffer.getNativeBuffer().refCnt());
+		}
+	}
+
+	private EntityExchangeResult<String> export(int age, String format) {
+		return client.get()
+				.uri("/socialInsuranceQuery/export?from=0&to={to}&step={step}&age={age}&format={format}",
+						TO, STEP, age, format)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(String.class)
+				.returnResult();
+	}
+
+	/**
+	 * 逐行与GET /socialInsuranceQuery的结果比较
+	 * 每一行为13列：月薪、雇员5项、雇主5项、实发工资、错误消息
+	 */
+	private void assertRowsMatchSingleQuery(List<String[]> rows, int age) {
+		assertEquals(TO / STEP + 1, rows.size());
+		List<String> errors = new ArrayList<>();
+		for (int i = 0; i < rows.size(); i++) {
+			String[] row = rows.get(i);
+			int salary = i * STEP;
+			assertEquals(COLUMN_COUNT, row.length, String.join(",", row));
+			assertEquals(String.valueOf(salary), row[0]);
+
+			EntityExchangeResult<String> result = client.get()
+					.uri("/socialInsuranceQuery?monthlySalary={salary}&age={age}", salary, age)
+					.exchange()
+					.expectBody(String.class)
+					.returnResult();
+			JsonNode expected = JSON.readTree(result.getResponseBody());
+			if (!row[12].isEmpty()) {
+				assertEquals(HttpStatus.BAD_REQUEST, result.getStatus(), "salary=" + salary);
+				assertEquals(expected.get("message").asString(), row[12], "salary=" + salary);
+				for (int column = 1; column < 12; column++) {
+					assertEquals("", row[column], "salary=" + salary);
+				}
+				errors.add(row[12]);
+				continue;
+			}
+			assertEquals(HttpStatus.OK, result.getStatus(), "salary=" + salary);
+			String[] expectedColumns = columns(expected);
+			BigDecimal netPay = BigDecimal.valueOf(salary);
+			for (int column = 1; column <= 10; column++) {
+				assertAmount(expectedColumns[column], row[column], salary);
+			}
+			for (int column = 1; column <= 5; column++) {
+				netPay = netPay.subtract(new BigDecimal(row[column]));
+			}
+			assertAmount(netPay.toPlainString(), row[11], salary);
+		}
+		assertTrue(errors.contains("未找到月薪 250000 对应的保险费等级记录"), errors.toString());
+		assertTrue(errors.stream().anyMatch(error -> error.startsWith("未找到扣除社会保险费和雇佣保险后工资金额 ")),
+				errors.toString());
+		assertTrue(errors.contains("源泉征收税等级 [220000, 259999] 未登记甲栏扶养亲属0人的税额"), errors.toString());
+	}
+
+	/**
+	 * 把查询结果或NDJSON的一行转换为与CSV相同的13列，缺少的项为空字符串
+	 */
+	private static String[] columns(JsonNode node) {
+		String[] columns = new String[COLUMN_COUNT];
+		columns[0] = text(node.get("monthlySalary"));
+		String[] fields = {"healthCostWithNoCare", "careCost", "pension", "withholdingTax", "employmentInsurance"};
+		for (int i = 0; i < fields.length; i++) {
+			columns[1 + i] = text(node.path("employeeCost").get(fields[i]));
+			columns[6 + i] = text(node.path("employerCost").get(fields[i]));
+		}
+		columns[11] = text(node.get("netPay"));
+		columns[12] = text(node.get("error"));
+		return columns;
+	}
+
+	private static String text(JsonNode node) {
+		if (node == null) {
+			return "";
+		}
+		return node.isNumber() ? node.decimalValue().toPlainString() : node.asString();
+	}
+
+	/**
+	 * 按RFC 4180解析CSV的一行，引号内的""表示一个引号
+	 */
+	private static String[] parseCsvLine(String line) {
+		List<String> columns = new ArrayList<>();
+		StringBuilder column = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					column.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					column.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				columns.add(column.toString());
+				column.setLength(0);
+			} else {
+				column.append(c);
+			}
+		}
+		assertFalse(quoted, line);
+		columns.add(column.toString());
+		return columns.toArray(new String[0]);
+	}
+
+	private static String quoted(String value, byte escape) {
+		DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.allocateBuffer(256);
+		NetPayTableEncoder.writeQuoted(buffer, value, escape, (byte) '"');
+		return buffer.toString(StandardCharsets.UTF_8);
+	}
+
+	private static void assertAmount(String expected, String actual, int salary) {
+		assertEquals(0, new BigDecimal(expected).compareTo(new BigDecimal(actual)),
+				"salary=" + salary + ": " + expected + " != " + actual);
+	}
+
+	private static PremiumBracket premiumBracket(String grade, int stdRem, int minAmount, int maxAmount,
+												 String healthNoCare, String healthCare, String pension) {
+		return new PremiumBracket(grade, stdRem, minAmount, maxAmount, new BigDecimal(healthNoCare),
+				new BigDecimal(healthCare), new BigDecimal(pension));
+	}
+
+	private static WithholdingTaxBracket withholdingTaxBracket(int minAmount, int maxAmount, Integer taxAmountKo) {
+		WithholdingTaxBracket bracket = new WithholdingTaxBracket();
+		bracket.setMinAmount(minAmount);
+		bracket.setMaxAmount(maxAmount);
+		bracket.setTaxAmountKo(taxAmountKo);
+		bracket.setTaxAmountOtsu(taxAmountKo != null ? taxAmountKo * 3 : null);
+		return bracket;
+	}
+}
@@ -0,0 +1,92 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.asatex.matianchi.social_insurance_backend_service.application.PremiumBracketApplicationService;
+import jp.asatex.matianchi.social_insurance_backend_service.application.WithholdingTaxMethodPolicy;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.PremiumBracketPageDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.PremiumBracketDomainService;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceQueryCoalescer;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceResultCache;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateSnapshotManager;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.EmploymentInsuranceRateRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.WithholdingTaxBracketRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * 保险费等级keyset分页的测试
+ * 第一页从(Integer.MIN_VALUE, Long.MIN_VALUE)之后开始，本页已满时以最后一条记录作为下一页的起点
+ */
+class PremiumBracketAdminControllerTest {
+
+	private PremiumBracketRepository premiumBracketRepository;
+	private PremiumBracketAdminController controller;
+
+	@BeforeEach
+	void setUp() {
+		premiumBracketRepository = mock(PremiumBracketRepository.class);
+		RateSnapshotManager rateSnapshotManager = new RateSnapshotManager(premiumBracketRepository,
+				mock(WithholdingTaxBracketRepository.class), mock(EmploymentInsuranceRateRepository.class),
+				event -> { });
+		PremiumBracketDomainService domainService = new PremiumBracketDomainService(premiumBracketRepository,
+				rateSnapshotManager, new SocialInsuranceResultCache(new SimpleMeterRegistry(), false, 100),
+				new SocialInsuranceQueryCoalescer(new SimpleMeterRegistry(), true),
+				new CalculationStageMetrics(new SimpleMeterRegistry(), false), false);
+		controller = new PremiumBracketAdminController(new PremiumBracketApplicationService(domainService,
+				new WithholdingTaxMethodPolicy("table", "")));
+	}
+
+	@Test
+	void returnsCursorOfLastRowWhenPageIsFull() {
+		when(premiumBracketRepository.findPageAfter(Integer.MIN_VALUE, Long.MIN_VALUE, 2))
+				.thenReturn(Flux.just(bracket(1L, "1", 58_000), bracket(51L, "1", 58_000)));
+
+		PremiumBracketPageDto page = controller.findPage(null, null, 2).block().getBody();
+
+		assertEquals(2, page.getItems().size());
+		assertEquals(58_000, page.getNextAfterStdRem());
+		assertEquals(51L, page.getNextAfterId());
+	}
+
+	@Test
+	void returnsNoCursorOnLastPage() {
+		when(premiumBracketRepository.findPageAfter(58_000, 51L, 2))
+				.thenReturn(Flux.just(bracket(2L, "2", 68_000)));
+
+		PremiumBracketPageDto page = controller.findPage(58_000, 51L, 2).block().getBody();
+
+		assertEquals("2", page.getItems().get(0).getGrade());
+		assertNull(page.getNextAfterStdRem());
+		assertNull(page.getNextAfterId());
+	}
+
+	@Test
+	void rejectsIncompleteCursorAndOversizedPage() {
+		assertThrows(IllegalArgumentException.class, () -> controller.findPage(58_000, null, 10).block());
+		assertThrows(IllegalArgumentException.class,
+				() -> controller.findPage(null, null, PremiumBracketDomainService.MAX_PAGE_SIZE + 1).block());
+		verify(premiumBracketRepository, never()).findPageAfter(anyInt(), anyLong(), anyInt());
+	}
+
+	private static PremiumBracket bracket(Long id, String grade, int stdRem) {
+		return new PremiumBracket(id, grade, stdRem, 0, 63_000, new BigDecimal("5753.60"),
+				new BigDecimal("6675.80"), BigDecimal.ZERO, null, null);
+	}
+}
@@ -0,0 +1,105 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+
+import jp.asatex.matianchi.social_insurance_backend_service.application.RateTableListingApplicationService;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.EmploymentInsuranceRateDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.RateTableRowDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.RateTableListingDomainService;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.RateTableListingRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * 费率表流式浏览的测试
+ * 每条记录的游标指向该记录本身，把游标传回时从该记录之后继续
+ */
+class RateTableListingControllerTest {
+
+	private RateTableListingRepository repository;
+	private RateTableListingController controller;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(RateTableListingRepository.class);
+		controller = new RateTableListingController(
+				new RateTableListingApplicationService(new RateTableListingDomainService(repository)));
+	}
+
+	@Test
+	void resumesFromCursorOfLastRow() {
+		when(repository.streamPremiumBrackets(Integer.MIN_VALUE, Long.MIN_VALUE, 2))
+				.thenReturn(Flux.just(bracket(1L, 58_000), bracket(51L, 58_000)));
+		when(repository.streamPremiumBrackets(58_000, 51L, null))
+				.thenReturn(Flux.just(bracket(2L, 68_000)));
+
+		List<RateTableRowDto> first = controller.streamNdjson("premium_bracket", null, 2).collectList().block();
+		String cursor = first.get(1).getCursor();
+		List<RateTableRowDto> rest = controller.streamNdjson("premium_bracket", cursor, null).collectList().block();
+
+		assertEquals(2, first.size());
+		assertEquals(1, rest.size());
+		assertEquals("premium_bracket", rest.get(0).getTable());
+	}
+
+	@Test
+	void resumesEventStreamFromLastEventId() {
+		when(repository.streamEmploymentInsuranceRates(Long.MIN_VALUE, null))
+				.thenReturn(Flux.just(rate(1L, "一般の事業")));
+		ServerSentEvent<Object> event = controller.streamEvents("employment_insurance_rate", null, null, null)
+				.blockFirst();
+		when(repository.streamEmploymentInsuranceRates(1L, null))
+				.thenReturn(Flux.just(rate(2L, "建設の事業")));
+
+		ServerSentEvent<Object> next = controller.streamEvents("employment_insurance_rate", null, event.id(), null)
+				.blockFirst();
+
+		assertEquals("employment_insurance_rate", next.event());
+		assertEquals("建設の事業", ((EmploymentInsuranceRateDto) next.data()).getBusinessType());
+	}
+
+	@Test
+	void rejectsCursorOfAnotherTableAndUnknownTable() {
+		when(repository.streamEmploymentInsuranceRates(Long.MIN_VALUE, 1))
+				.thenReturn(Flux.just(rate(7L, "一般の事業")));
+		String cursor = controller.streamNdjson("employment_insurance_rate", null, 1).blockFirst().getCursor();
+
+		assertThrows(IllegalArgumentException.class,
+				() -> controller.streamNdjson("premium_bracket", cursor, null).blockLast());
+		assertThrows(IllegalArgumentException.class,
+				() -> controller.streamNdjson("premium_bracket", "not-a-cursor", null).blockLast());
+		assertThrows(IllegalArgumentException.class,
+				() -> controller.streamNdjson("flyway_schema_history", null, null).blockLast());
+		assertThrows(IllegalArgumentException.class,
+				() -> controller.streamNdjson("premium_bracket", null, 0).blockLast());
+		verify(repository, never()).streamPremiumBrackets(anyInt(), anyLong(), any());
+	}
+
+	private static PremiumBracket bracket(Long id, int stdRem) {
+		return new PremiumBracket(id, "1", stdRem, 0, 63_000, new BigDecimal("5753.60"),
+				new BigDecimal("6675.80"), BigDecimal.ZERO, null, null);
+	}
+
+	private static EmploymentInsuranceRate rate(Long id, String businessType) {
+		EmploymentInsuranceRate rate = new EmploymentInsuranceRate();
+		rate.setId(id);
+		rate.setBusinessType(businessType);
+		return rate;
+	}
+}
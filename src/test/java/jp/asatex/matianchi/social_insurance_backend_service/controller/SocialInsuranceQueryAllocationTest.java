@@ -0,0 +1,140 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.asatex.matianchi.social_insurance_backend_service.application.PremiumBracketApplicationService;
+import jp.asatex.matianchi.social_insurance_backend_service.application.WithholdingTaxMethodPolicy;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.PremiumBracketDomainService;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceQueryCoalescer;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceResultCache;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateSnapshotManager;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.EmploymentInsuranceRateRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.WithholdingTaxBracketRepository;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+import reactor.core.publisher.Flux;
+
+/**
+ * 社会保险金额查询每次请求的内存分配量的回归测试
+ * 命中计算结果缓存时，Domain层缓存中的不可变结果应当不经复制直接成为Controller的响应体；
+ * 用ThreadMXBean的线程分配字节数计数器测量各层的分配量，防止重新引入逐层复制DTO
+ */
+class SocialInsuranceQueryAllocationTest {
+
+	private static final int WARMUP_REQUESTS = 20_000;
+	private static final int MEASURED_REQUESTS = 20_000;
+
+	/**
+	 * Application层在Domain层之上每次请求允许增加的分配量（字节）
+	 * 只有Mono.defer及其闭包；逐字段复制结果（2个CostDetail和外层对象）及map操作符会超过此值
+	 */
+	private static final long APPLICATION_LAYER_BUDGET = 128;
+
+	/**
+	 * 包括ETag、ResponseEntity和响应头在内，Controller调用每次请求允许的总分配量（字节）
+	 */
+	private static final long CONTROLLER_BUDGET = 4_096;
+
+	private PremiumBracketDomainService domainService;
+	private PremiumBracketApplicationService applicationService;
+	private PremiumBracketController controller;
+
+	@BeforeEach
+	void setUp() {
+		PremiumBracket premiumBracket = new PremiumBracket(1L, "22(19)", 300_000, 290_000, 310_000,
+				new BigDecimal("29760.00"), new BigDecimal("34530.00"), new BigDecimal("54900.00"), null, null);
+		WithholdingTaxBracket withholdingTaxBracket = new WithholdingTaxBracket();
+		withholdingTaxBracket.setMinAmount(0);
+		withholdingTaxBracket.setMaxAmount(1_000_000);
+		withholdingTaxBracket.setTaxAmountKo(6_640);
+		withholdingTaxBracket.setTaxAmountOtsu(38_500);
+		EmploymentInsuranceRate employmentInsuranceRate = new EmploymentInsuranceRate();
+		employmentInsuranceRate.setBusinessType("一般の事業");
+		employmentInsuranceRate.setEmployeeRate(new BigDecimal("5.500"));
+		employmentInsuranceRate.setEmployerUnemploymentRate(new BigDecimal("5.500"));
+		employmentInsuranceRate.setEmployerTwoUndertakingsRate(new BigDecimal("3.500"));
+
+		PremiumBracketRepository premiumBracketRepository = mock(PremiumBracketRepository.class);
+		WithholdingTaxBracketRepository withholdingTaxBracketRepository = mock(WithholdingTaxBracketRepository.class);
+		EmploymentInsuranceRateRepository employmentInsuranceRateRepository = mock(EmploymentInsuranceRateRepository.class);
+		when(premiumBracketRepository.findAllOrderByStdRemAsc()).thenReturn(Flux.just(premiumBracket));
+		when(withholdingTaxBracketRepository.findAll()).thenReturn(Flux.just(withholdingTaxBracket));
+		when(employmentInsuranceRateRepository.findAll()).thenReturn(Flux.just(employmentInsuranceRate));
+
+		RateSnapshotManager rateSnapshotManager = new RateSnapshotManager(premiumBracketRepository,
+				withholdingTaxBracketRepository, employmentInsuranceRateRepository, event -> { });
+		rateSnapshotManager.current().block();
+		domainService = new PremiumBracketDomainService(premiumBracketRepository, rateSnapshotManager,
+				new SocialInsuranceResultCache(new SimpleMeterRegistry(), true, 100),
+				new SocialInsuranceQueryCoalescer(new SimpleMeterRegistry(), true),
+				new CalculationStageMetrics(new SimpleMeterRegistry(), false), true);
+		applicationService = new PremiumBracketApplicationService(domainService,
+				new WithholdingTaxMethodPolicy("table", ""));
+		controller = new PremiumBracketController(applicationService, Duration.ofMinutes(1));
+	}
+
+	@Test
+	void returnsCachedDomainResultWithoutCopying() {
+		SocialInsuranceDomainDto cached = domainService.socialInsuranceQuery(300_000, 45, null).block();
+
+		assertSame(cached, applicationService.socialInsuranceQuery(300_000, 45, null, null, null, null, null).block());
+		assertSame(cached, controller.socialInsuranceQuery(300_000, 45, null, null, null, null, null, null)
+				.block().getBody());
+	}
+
+	@Test
+	void staysWithinAllocationBudget() {
+		com.sun.management.ThreadMXBean threadMXBean = threadMXBean();
+		long domainBytes = bytesPerRequest(threadMXBean,
+				() -> domainService.socialInsuranceQuery(300_000, 45, null).block());
+		long applicationBytes = bytesPerRequest(threadMXBean,
+				() -> applicationService.socialInsuranceQuery(300_000, 45, null, null, null, null, null).block());
+		long controllerBytes = bytesPerRequest(threadMXBean,
+				() -> controller.socialInsuranceQuery(300_000, 45, null, null, null, null, null, null).block());
+
+		assertTrue(applicationBytes - domainBytes <= APPLICATION_LAYER_BUDGET,
+				"Application层每次请求分配了 " + (applicationBytes - domainBytes) + " 字节");
+		assertTrue(controllerBytes <= CONTROLLER_BUDGET, "Controller每次请求分配了 " + controllerBytes + " 字节");
+	}
+
+	private static com.sun.management.ThreadMXBean threadMXBean() {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threadMXBean =
+				(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+		threadMXBean.setThreadAllocatedMemoryEnabled(true);
+		return threadMXBean;
+	}
+
+	/**
+	 * 预热后测量当前线程每次调用平均分配的字节数
+	 */
+	private static long bytesPerRequest(com.sun.management.ThreadMXBean threadMXBean, Supplier<?> request) {
+		for (int i = 0; i < WARMUP_REQUESTS; i++) {
+			request.get();
+		}
+		long threadId = Thread.currentThread().threadId();
+		long before = threadMXBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < MEASURED_REQUESTS; i++) {
+			request.get();
+		}
+		return (threadMXBean.getThreadAllocatedBytes(threadId) - before) / MEASURED_REQUESTS;
+	}
+}
@@ -0,0 +1,166 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.asatex.matianchi.social_insurance_backend_service.application.PremiumBracketApplicationService;
+import jp.asatex.matianchi.social_insurance_backend_service.application.WithholdingTaxMethodPolicy;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.PremiumBracketDomainService;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceQueryCoalescer;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceResultCache;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateSnapshotManager;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.EmploymentInsuranceRateRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.WithholdingTaxBracketRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * 社会保险金额查询的HTTP缓存的测试
+ * 响应带有ETag、Cache-Control和Vary: X-Tenant-Id；If-None-Match与当前ETag一致（弱比较，含*）时返回304且不执行计算；
+ * ETag包含费率快照的指纹，费率刷新后旧ETag不再匹配
+ */
+class SocialInsuranceQueryHttpCacheTest {
+
+	private static final String QUERY = "/socialInsuranceQuery?monthlySalary=300000&age=45";
+
+	private PremiumBracketRepository premiumBracketRepository;
+	private RateSnapshotManager rateSnapshotManager;
+	private PremiumBracketApplicationService applicationService;
+	private WebTestClient client;
+
+	@BeforeEach
+	void setUp() {
+		premiumBracketRepository = mock(PremiumBracketRepository.class);
+		WithholdingTaxBracketRepository withholdingTaxBracketRepository = mock(WithholdingTaxBracketRepository.class);
+		EmploymentInsuranceRateRepository employmentInsuranceRateRepository = mock(EmploymentInsuranceRateRepository.class);
+		when(premiumBracketRepository.findAllOrderByStdRemAsc()).thenReturn(Flux.just(premiumBracket("54900.00")));
+		WithholdingTaxBracket withholdingTaxBracket = new WithholdingTaxBracket();
+		withholdingTaxBracket.setMinAmount(0);
+		withholdingTaxBracket.setMaxAmount(1_000_000);
+		withholdingTaxBracket.setTaxAmountKo(6_640);
+		withholdingTaxBracket.setTaxAmountOtsu(38_500);
+		when(withholdingTaxBracketRepository.findAll()).thenReturn(Flux.just(withholdingTaxBracket));
+		EmploymentInsuranceRate employmentInsuranceRate = new EmploymentInsuranceRate();
+		employmentInsuranceRate.setBusinessType("一般の事業");
+		employmentInsuranceRate.setEmployeeRate(new BigDecimal("5.500"));
+		employmentInsuranceRate.setEmployerUnemploymentRate(new BigDecimal("5.500"));
+		employmentInsuranceRate.setEmployerTwoUndertakingsRate(new BigDecimal("3.500"));
+		when(employmentInsuranceRateRepository.findAll()).thenReturn(Flux.just(employmentInsuranceRate));
+
+		rateSnapshotManager = new RateSnapshotManager(premiumBracketRepository,
+				withholdingTaxBracketRepository, employmentInsuranceRateRepository, event -> { });
+		PremiumBracketDomainService domainService = new PremiumBracketDomainService(premiumBracketRepository,
+				rateSnapshotManager, new SocialInsuranceResultCache(new SimpleMeterRegistry(), true, 100),
+				new SocialInsuranceQueryCoalescer(new SimpleMeterRegistry(), true),
+				new CalculationStageMetrics(new SimpleMeterRegistry(), false), true);
+		applicationService = spy(new PremiumBracketApplicationService(domainService,
+				new WithholdingTaxMethodPolicy("table", "")));
+		client = WebTestClient.bindToController(new PremiumBracketController(applicationService, Duration.ofMinutes(1)))
+				.controllerAdvice(new GlobalExceptionHandler())
+				.build();
+	}
+
+	@Test
+	void firstResponseCarriesEtagAndCacheHeaders() {
+		rateSnapshotManager.current().block();
+
+		HttpHeaders headers = client.get().uri(QUERY)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=60, public")
+				.expectHeader().valueEquals(HttpHeaders.VARY, "X-Tenant-Id")
+				.expectBody().jsonPath("$.employeeCost.pension").isEqualTo(27450.0)
+				.returnResult()
+				.getResponseHeaders();
+
+		String eTag = headers.getETag();
+		assertNotNull(eTag);
+		assertEquals('"', eTag.charAt(0));
+	}
+
+	@Test
+	void matchingIfNoneMatchReturnsNotModifiedWithoutCalculation() {
+		rateSnapshotManager.current().block();
+		String eTag = eTag(null);
+		clearInvocations(applicationService);
+
+		for (String ifNoneMatch : new String[] {eTag, "W/" + eTag, "*", "\"other\", " + eTag}) {
+			client.get().uri(QUERY)
+					.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch)
+					.exchange()
+					.expectStatus().isNotModified()
+					.expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+					.expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=60, public")
+					.expectHeader().valueEquals(HttpHeaders.VARY, "X-Tenant-Id")
+					.expectBody().isEmpty();
+		}
+		verify(applicationService, never()).socialInsuranceQuery(any(), any(), any(), any(), any(), any(), any());
+
+		// 不同的查询条件有不同的ETag
+		client.get().uri("/socialInsuranceQuery?monthlySalary=300000&age=39")
+				.header(HttpHeaders.IF_NONE_MATCH, eTag)
+				.exchange()
+				.expectStatus().isOk();
+		verify(applicationService, times(1)).socialInsuranceQuery(any(), any(), any(), any(), any(), any(), any());
+	}
+
+	@Test
+	void tagChangesAfterRateSnapshotRefresh() {
+		rateSnapshotManager.current().block();
+		String before = eTag(null);
+
+		when(premiumBracketRepository.findAllOrderByStdRemAsc()).thenReturn(Flux.just(premiumBracket("55800.00")));
+		rateSnapshotManager.refresh().block();
+
+		String after = eTag(before);
+		assertNotEquals(before, after);
+		client.get().uri(QUERY)
+				.header(HttpHeaders.IF_NONE_MATCH, after)
+				.exchange()
+				.expectStatus().isNotModified();
+	}
+
+	/**
+	 * 发送查询并断言返回200，返回响应的ETag
+	 */
+	private String eTag(String ifNoneMatch) {
+		WebTestClient.RequestHeadersSpec<?> request = client.get().uri(QUERY);
+		if (ifNoneMatch != null) {
+			request = request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		String eTag = request.exchange()
+				.expectStatus().isOk()
+				.expectBody().returnResult()
+				.getResponseHeaders()
+				.getETag();
+		assertNotNull(eTag);
+		return eTag;
+	}
+
+	private static PremiumBracket premiumBracket(String pension) {
+		return new PremiumBracket(1L, "22(19)", 300_000, 290_000, 310_000,
+				new BigDecimal("29760.00"), new BigDecimal("34530.00"), new BigDecimal(pension), null, null);
+	}
+}
@@ -0,0 +1,206 @@
+package jp.asatex.matianchi.social_insurance_backend_service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.rsocket.server.RSocketServerCustomizer;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.JacksonCborDecoder;
+import org.springframework.http.codec.cbor.JacksonCborEncoder;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.messaging.rsocket.RSocketStrategies;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.rsocket.core.RSocketServer;
+import io.rsocket.exceptions.ApplicationErrorException;
+import io.rsocket.transport.netty.server.CloseableChannel;
+import io.rsocket.transport.netty.server.TcpServerTransport;
+import jp.asatex.matianchi.social_insurance_backend_service.application.PremiumBracketApplicationService;
+import jp.asatex.matianchi.social_insurance_backend_service.application.WithholdingTaxMethodPolicy;
+import jp.asatex.matianchi.social_insurance_backend_service.config.RSocketConfig;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.SocialInsuranceBatchRequestDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.SocialInsuranceQueryRequestDto;
+import jp.asatex.matianchi.social_insurance_backend_service.controller.dto.SocialInsuranceSweepRequestDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.PremiumBracketDomainService;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceQueryCoalescer;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceResultCache;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateSnapshotManager;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.EmploymentInsuranceRateRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.WithholdingTaxBracketRepository;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * RSocket端点的测试
+ * 通过真实的TCP和WebSocket连接，以CBOR编码调用请求-响应、请求流和请求通道三种交互
+ */
+class SocialInsuranceRSocketControllerTest {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+	private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+			new ParameterizedTypeReference<>() { };
+
+	private static final RSocketStrategies STRATEGIES = RSocketStrategies.builder()
+			.encoder(new JacksonCborEncoder())
+			.decoder(new JacksonCborDecoder())
+			.build();
+
+	private CloseableChannel tcpServer;
+	private DisposableServer httpServer;
+	private RSocketRequester tcpRequester;
+	private RSocketRequester webSocketRequester;
+
+	@BeforeEach
+	void setUp() {
+		PremiumBracket premiumBracket = new PremiumBracket(1L, "22(19)", 300_000, 290_000, 310_000,
+				new BigDecimal("29760.00"), new BigDecimal("34530.00"), new BigDecimal("54900.00"), null, null);
+		WithholdingTaxBracket withholdingTaxBracket = new WithholdingTaxBracket();
+		withholdingTaxBracket.setMinAmount(0);
+		withholdingTaxBracket.setMaxAmount(1_000_000);
+		withholdingTaxBracket.setTaxAmountKo(6_640);
+		withholdingTaxBracket.setTaxAmountOtsu(38_500);
+		EmploymentInsuranceRate employmentInsuranceRate = new EmploymentInsuranceRate();
+		employmentInsuranceRate.setBusinessType("一般の事業");
+		employmentInsuranceRate.setEmployeeRate(new BigDecimal("5.500"));
+		employmentInsuranceRate.setEmployerUnemploymentRate(new BigDecimal("5.500"));
+		employmentInsuranceRate.setEmployerTwoUndertakingsRate(new BigDecimal("3.500"));
+
+		PremiumBracketRepository premiumBracketRepository = mock(PremiumBracketRepository.class);
+		WithholdingTaxBracketRepository withholdingTaxBracketRepository = mock(WithholdingTaxBracketRepository.class);
+		EmploymentInsuranceRateRepository employmentInsuranceRateRepository = mock(EmploymentInsuranceRateRepository.class);
+		when(premiumBracketRepository.findAllOrderByStdRemAsc()).thenReturn(Flux.just(premiumBracket));
+		when(withholdingTaxBracketRepository.findAll()).thenReturn(Flux.just(withholdingTaxBracket));
+		when(employmentInsuranceRateRepository.findAll()).thenReturn(Flux.just(employmentInsuranceRate));
+
+		RateSnapshotManager rateSnapshotManager = new RateSnapshotManager(premiumBracketRepository,
+				withholdingTaxBracketRepository, employmentInsuranceRateRepository, event -> { });
+		rateSnapshotManager.current().block();
+		PremiumBracketDomainService domainService = new PremiumBracketDomainService(premiumBracketRepository,
+				rateSnapshotManager, new SocialInsuranceResultCache(new SimpleMeterRegistry(), true, 100),
+				new SocialInsuranceQueryCoalescer(new SimpleMeterRegistry(), true),
+				new CalculationStageMetrics(new SimpleMeterRegistry(), false), true);
+		SocialInsuranceRSocketController controller = new SocialInsuranceRSocketController(
+				new PremiumBracketApplicationService(domainService, new WithholdingTaxMethodPolicy("table", "")));
+
+		RSocketMessageHandler messageHandler = new RSocketMessageHandler();
+		messageHandler.setRSocketStrategies(STRATEGIES);
+		messageHandler.setHandlers(List.of(controller));
+		messageHandler.afterPropertiesSet();
+
+		tcpServer = RSocketServer.create(messageHandler.responder())
+				.bind(TcpServerTransport.create("localhost", 0))
+				.block(TIMEOUT);
+		httpServer = HttpServer.create()
+				.host("localhost")
+				.port(0)
+				.route(routes -> new RSocketConfig().rSocketWebSocketRouteProvider("/rsocket", messageHandler,
+						new DefaultListableBeanFactory().getBeanProvider(RSocketServerCustomizer.class)).apply(routes))
+				.bindNow(TIMEOUT);
+
+		tcpRequester = requester().tcp("localhost", tcpServer.address().getPort());
+		webSocketRequester = requester().websocket(URI.create("ws://localhost:" + httpServer.port() + "/rsocket"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		tcpRequester.dispose();
+		webSocketRequester.dispose();
+		tcpServer.dispose();
+		httpServer.disposeNow(TIMEOUT);
+	}
+
+	@Test
+	void answersSingleQueryOverTcpAndWebSocket() {
+		SocialInsuranceQueryRequestDto request = new SocialInsuranceQueryRequestDto(300_000, 45, null, null, null,
+				null, null);
+
+		Map<String, Object> overTcp = tcpRequester.route("socialInsuranceQuery").data(request)
+				.retrieveMono(JSON_OBJECT).block(TIMEOUT);
+		Map<String, Object> overWebSocket = webSocketRequester.route("socialInsuranceQuery").data(request)
+				.retrieveMono(JSON_OBJECT).block(TIMEOUT);
+
+		assertEquals(overTcp, overWebSocket);
+		assertDecimal("14880.00", ((Map<?, ?>) overTcp.get("employeeCost")).get("healthCostWithNoCare"));
+		assertDecimal("6640", ((Map<?, ?>) overTcp.get("employeeCost")).get("withholdingTax"));
+
+		ApplicationErrorException error = assertThrows(ApplicationErrorException.class,
+				() -> tcpRequester.route("socialInsuranceQuery")
+						.data(new SocialInsuranceQueryRequestDto(null, 45, null, null, null, null, null))
+						.retrieveMono(JSON_OBJECT).block(TIMEOUT));
+		assertEquals("月薪和年龄不能为空", error.getMessage());
+	}
+
+	@Test
+	void streamsSalarySweepOnDemand() {
+		List<Map<String, Object>> items = tcpRequester.route("socialInsuranceQuery.sweep")
+				.data(new SocialInsuranceSweepRequestDto(290_000, 320_000, 10_000, 45, null, null))
+				.retrieveFlux(JSON_OBJECT)
+				.collectList().block(TIMEOUT);
+
+		assertEquals(4, items.size());
+		assertEquals(290_000, items.get(0).get("monthlySalary"));
+		assertNull(items.get(0).get("error"));
+		assertEquals("未找到月薪 320000 对应的保险费等级记录", items.get(3).get("error"));
+		assertNull(items.get(3).get("result"));
+
+		// 一千万行的扫描按请求数逐个计算，取消后不再继续
+		List<Map<String, Object>> first = webSocketRequester.route("socialInsuranceQuery.sweep")
+				.data(new SocialInsuranceSweepRequestDto(0, 9_999_999, 1, 45, null, null))
+				.retrieveFlux(JSON_OBJECT)
+				.limitRate(2)
+				.take(3)
+				.collectList().block(TIMEOUT);
+		assertEquals(List.of(0, 1, 2), first.stream().map(item -> item.get("monthlySalary")).toList());
+	}
+
+	@Test
+	void answersRosterOverChannelInOrder() {
+		Flux<SocialInsuranceBatchRequestDto> roster = Flux.just(
+				new SocialInsuranceBatchRequestDto("E001", 300_000, 45, null, null),
+				new SocialInsuranceBatchRequestDto("E002", 300_000, null, null, null),
+				new SocialInsuranceBatchRequestDto("E003", 295_000, 30, "一般の事業", null));
+
+		List<Map<String, Object>> results = tcpRequester.route("socialInsuranceQuery.batch").data(roster)
+				.retrieveFlux(JSON_OBJECT)
+				.collectList().block(TIMEOUT);
+
+		assertEquals(List.of("E001", "E002", "E003"), results.stream().map(result -> result.get("employeeId")).toList());
+		assertInstanceOf(Map.class, results.get(0).get("result"));
+		assertEquals("月薪和年龄不能为空", results.get(1).get("error"));
+		assertInstanceOf(Map.class, results.get(2).get("result"));
+	}
+
+	private static RSocketRequester.Builder requester() {
+		return RSocketRequester.builder()
+				.rsocketStrategies(STRATEGIES)
+				.dataMimeType(MediaType.APPLICATION_CBOR);
+	}
+
+	private static void assertDecimal(String expected, Object actual) {
+		assertEquals(0, new BigDecimal(expected).compareTo(new BigDecimal(String.valueOf(actual))),
+				expected + " != " + actual);
+	}
+}
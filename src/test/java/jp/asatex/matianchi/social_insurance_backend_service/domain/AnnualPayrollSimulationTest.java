@@ -0,0 +1,189 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceQueryCoalescer;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceResultCache;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.AnnualPayrollLineDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.AnnualPayrollSimulationQueryDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.AnnualPayrollSimulationQueryDomainDto.Bonus;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.AnnualPayrollSimulationQueryDomainDto.SalaryChange;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateSnapshotManager;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.EmploymentInsuranceRateRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.WithholdingTaxBracketRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Signal;
+
+/**
+ * 年度工资模拟的测试
+ * 费率表只有一个等级：标准报酬1,000,000日元，健康保险（无介护）10%、介护保险2%、厚生年金15%，源泉征收税为0
+ * 介护保险：从40岁到达日（生日的前一天）所在的月份开始，到65岁到达日所在的月份起不再扣除
+ * 奖金：健康保险的标准奖金额按年度（4月～次年3月）累计不超过5,730,000日元，
+ * 厚生年金的标准奖金额按月（同月的奖金合计）不超过1,500,000日元
+ * 输入错误：在加载费率快照和输出第一行之前报告
+ */
+class AnnualPayrollSimulationTest {
+
+	private static final int MONTHLY_SALARY = 300_000;
+
+	private PremiumBracketRepository premiumBracketRepository;
+	private PremiumBracketDomainService domainService;
+
+	@BeforeEach
+	void setUp() {
+		premiumBracketRepository = mock(PremiumBracketRepository.class);
+		WithholdingTaxBracketRepository withholdingTaxBracketRepository = mock(WithholdingTaxBracketRepository.class);
+		EmploymentInsuranceRateRepository employmentInsuranceRateRepository = mock(EmploymentInsuranceRateRepository.class);
+		when(premiumBracketRepository.findAllOrderByStdRemAsc()).thenReturn(Flux.just(new PremiumBracket(
+				"1", 1_000_000, 0, 999_999_999, new BigDecimal("100000.00"), new BigDecimal("120000.00"),
+				new BigDecimal("150000.00"))));
+		WithholdingTaxBracket withholdingTaxBracket = new WithholdingTaxBracket();
+		withholdingTaxBracket.setMinAmount(0);
+		withholdingTaxBracket.setMaxAmount(999_999_999);
+		withholdingTaxBracket.setTaxAmountKo(0);
+		withholdingTaxBracket.setTaxAmountOtsu(0);
+		when(withholdingTaxBracketRepository.findAll()).thenReturn(Flux.just(withholdingTaxBracket));
+		EmploymentInsuranceRate employmentInsuranceRate = new EmploymentInsuranceRate();
+		employmentInsuranceRate.setBusinessType("一般の事業");
+		employmentInsuranceRate.setEmployeeRate(new BigDecimal("5.500"));
+		employmentInsuranceRate.setEmployerUnemploymentRate(new BigDecimal("5.500"));
+		employmentInsuranceRate.setEmployerTwoUndertakingsRate(new BigDecimal("3.500"));
+		employmentInsuranceRate.setTotalRate(new BigDecimal("14.500"));
+		when(employmentInsuranceRateRepository.findAll()).thenReturn(Flux.just(employmentInsuranceRate));
+
+		RateSnapshotManager rateSnapshotManager = new RateSnapshotManager(premiumBracketRepository,
+				withholdingTaxBracketRepository, employmentInsuranceRateRepository, event -> { });
+		domainService = new PremiumBracketDomainService(premiumBracketRepository, rateSnapshotManager,
+				new SocialInsuranceResultCache(new SimpleMeterRegistry(), false, 100),
+				new SocialInsuranceQueryCoalescer(new SimpleMeterRegistry(), true),
+				new CalculationStageMetrics(new SimpleMeterRegistry(), false), true);
+	}
+
+	@Test
+	void careStartsInMonthOfDayBeforeFortiethBirthday() {
+		// 生日为1日时，到达日在前一个月的最后一天
+		List<AnnualPayrollLineDomainDto> bornOnFirst = simulate(LocalDate.of(1986, 5, 1), YearMonth.of(2026, 1), null);
+		assertCareMonths(bornOnFirst, YearMonth.of(2026, 4), YearMonth.of(2027, 1));
+		assertYen("0", bornOnFirst.get(2).getResult().getEmployeeCost().getCareCost());
+		assertYen("10000", bornOnFirst.get(3).getResult().getEmployeeCost().getCareCost());
+
+		List<AnnualPayrollLineDomainDto> bornOnSecond = simulate(LocalDate.of(1986, 5, 2), YearMonth.of(2026, 1), null);
+		assertCareMonths(bornOnSecond, YearMonth.of(2026, 5), YearMonth.of(2027, 1));
+	}
+
+	@Test
+	void careEndsInMonthOfDayBeforeSixtyFifthBirthday() {
+		// 65岁生日为2026-08-01，到达日2026-07-31所在的7月起不再扣除
+		List<AnnualPayrollLineDomainDto> lines = simulate(LocalDate.of(1961, 8, 1), YearMonth.of(2026, 4), null);
+
+		assertCareMonths(lines, YearMonth.of(2026, 4), YearMonth.of(2026, 7));
+		assertYen("10000", lines.get(2).getResult().getEmployeeCost().getCareCost());
+		assertYen("0", lines.get(3).getResult().getEmployeeCost().getCareCost());
+		assertEquals(64, lines.get(3).getAge());
+		assertEquals(65, lines.get(4).getAge());
+		// 年度合计只包含扣除介护保险的3个月
+		assertYen("30000", lines.get(12).getResult().getEmployeeCost().getCareCost());
+	}
+
+	@Test
+	void bonusCapsResetInAprilAndApplyToSameMonthTotal() {
+		List<AnnualPayrollLineDomainDto> lines = simulate(LocalDate.of(1996, 6, 15), YearMonth.of(2026, 1), List.of(
+				new Bonus(YearMonth.of(2026, 1), 4_000_000),
+				new Bonus(YearMonth.of(2026, 3), 3_000_000),
+				new Bonus(YearMonth.of(2026, 6), 1_000_000),
+				new Bonus(YearMonth.of(2026, 6), 2_000_499)));
+
+		// 1月：健康保险4,000,000日元；厚生年金按月上限1,500,000日元
+		assertBonus(lines.get(0), 4_000_000L, "200000", "112500");
+		// 3月：同一年度的剩余额度5,730,000 - 4,000,000 = 1,730,000日元
+		assertBonus(lines.get(2), 3_000_000L, "86500", "112500");
+		// 6月：4月开始新的年度，同月两笔奖金合计3,000,499日元，标准奖金额3,000,000日元
+		assertBonus(lines.get(5), 3_000_499L, "150000", "112500");
+		assertNull(lines.get(1).getBonusResult());
+		assertEquals(10_000_499L, lines.get(12).getBonus());
+		assertYen("436500", lines.get(12).getBonusResult().getEmployeeCost().getHealthCostWithNoCare());
+	}
+
+	@Test
+	void rejectsInvalidQueriesBeforeFirstLine() {
+		LocalDate birthDate = LocalDate.of(1986, 5, 1);
+		List<SalaryChange> schedule = List.of(new SalaryChange(YearMonth.of(2026, 1), MONTHLY_SALARY));
+		assertRejected(new AnnualPayrollSimulationQueryDomainDto(birthDate, YearMonth.of(2026, 1), null,
+						schedule, List.of(new Bonus(YearMonth.of(2027, 1), 1_000_000))),
+				"奖金支付月份 2027-01 不在模拟期间 2026-01～2026-12 内");
+		assertRejected(new AnnualPayrollSimulationQueryDomainDto(birthDate, YearMonth.of(2025, 12), null,
+						schedule, null),
+				"月薪表必须包含模拟开始月份 2025-12 的月薪");
+		assertRejected(new AnnualPayrollSimulationQueryDomainDto(birthDate, YearMonth.of(2026, 1), null,
+						List.of(new SalaryChange(YearMonth.of(2026, 1), -1)), null),
+				"月薪不能为负数: -1");
+		assertRejected(new AnnualPayrollSimulationQueryDomainDto(null, YearMonth.of(2026, 1), null, schedule, null),
+				"出生日期和模拟开始月份不能为空");
+		// 校验在加载费率快照之前完成
+		verify(premiumBracketRepository, never()).findAllOrderByStdRemAsc();
+	}
+
+	private List<AnnualPayrollLineDomainDto> simulate(LocalDate birthDate, YearMonth startMonth, List<Bonus> bonuses) {
+		List<AnnualPayrollLineDomainDto> lines = domainService.simulateAnnualPayroll(
+				new AnnualPayrollSimulationQueryDomainDto(birthDate, startMonth, null,
+						List.of(new SalaryChange(startMonth, MONTHLY_SALARY)), bonuses))
+				.collectList()
+				.block();
+		assertEquals(13, lines.size());
+		return lines;
+	}
+
+	/**
+	 * 断言只有[from, to)的月份扣除介护保险
+	 */
+	private static void assertCareMonths(List<AnnualPayrollLineDomainDto> lines, YearMonth from, YearMonth to) {
+		for (AnnualPayrollLineDomainDto line : lines.subList(0, 12)) {
+			boolean expected = !line.getMonth().isBefore(from) && line.getMonth().isBefore(to);
+			assertEquals(expected, line.getCareApplicable(), line.getMonth().toString());
+		}
+	}
+
+	private static void assertBonus(AnnualPayrollLineDomainDto line, long bonus, String healthCost,
+									String pension) {
+		assertEquals(bonus, line.getBonus());
+		assertYen(healthCost, line.getBonusResult().getEmployeeCost().getHealthCostWithNoCare());
+		assertYen(pension, line.getBonusResult().getEmployeeCost().getPension());
+	}
+
+	private void assertRejected(AnnualPayrollSimulationQueryDomainDto query, String message) {
+		List<Signal<AnnualPayrollLineDomainDto>> signals = domainService.simulateAnnualPayroll(query)
+				.materialize()
+				.collectList()
+				.block();
+		assertEquals(1, signals.size(), signals.toString());
+		assertTrue(signals.get(0).isOnError());
+		IllegalArgumentException error = assertInstanceOf(IllegalArgumentException.class,
+				signals.get(0).getThrowable());
+		assertEquals(message, error.getMessage());
+	}
+
+	private static void assertYen(String expected, BigDecimal actual) {
+		assertEquals(0, new BigDecimal(expected).compareTo(actual), expected + " != " + actual);
+	}
+}
@@ -0,0 +1,128 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceQueryCoalescer;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceResultCache;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateSnapshotManager;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.EmploymentInsuranceRateRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.WithholdingTaxBracketRepository;
+import jp.asatex.matianchi.social_insurance_calculation.rate.RateSnapshotIndex;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 保险费等级领域服务的测试
+ * 按ID删除：记录存在时删除并使费率快照失效；不存在时报错，不删除，快照保持不变
+ * 实体标签：哈希值相同的不同事业类型也得到不同的标签
+ * 费率表未登记甲栏扶养亲属的税额时，甲栏扶养亲属1人以上的查询在计算前被拒绝
+ */
+class PremiumBracketDomainServiceTest {
+
+	private PremiumBracketRepository premiumBracketRepository;
+	private RateSnapshotManager rateSnapshotManager;
+	private PremiumBracketDomainService domainService;
+
+	@BeforeEach
+	void setUp() {
+		premiumBracketRepository = mock(PremiumBracketRepository.class);
+		WithholdingTaxBracketRepository withholdingTaxBracketRepository = mock(WithholdingTaxBracketRepository.class);
+		EmploymentInsuranceRateRepository employmentInsuranceRateRepository = mock(EmploymentInsuranceRateRepository.class);
+		when(premiumBracketRepository.findAllOrderByStdRemAsc()).thenReturn(Flux.just(bracket(1L)));
+		when(withholdingTaxBracketRepository.findAll()).thenReturn(Flux.empty());
+		when(employmentInsuranceRateRepository.findAll()).thenReturn(Flux.empty());
+
+		rateSnapshotManager = new RateSnapshotManager(premiumBracketRepository, withholdingTaxBracketRepository,
+				employmentInsuranceRateRepository, event -> { });
+		domainService = new PremiumBracketDomainService(premiumBracketRepository, rateSnapshotManager,
+				new SocialInsuranceResultCache(new SimpleMeterRegistry(), false, 100),
+				new SocialInsuranceQueryCoalescer(new SimpleMeterRegistry(), true),
+				new CalculationStageMetrics(new SimpleMeterRegistry(), false), true);
+	}
+
+	@Test
+	void deletesExistingRecordAndInvalidatesSnapshot() {
+		rateSnapshotManager.current().block();
+		long version = rateSnapshotManager.getVersion();
+		when(premiumBracketRepository.findById(1L)).thenReturn(Mono.just(bracket(1L)));
+		when(premiumBracketRepository.deleteById(1L)).thenReturn(Mono.empty());
+
+		domainService.deleteById(1L).block();
+
+		verify(premiumBracketRepository).deleteById(1L);
+		assertNull(rateSnapshotManager.getIfLoaded());
+		assertEquals(version + 1, rateSnapshotManager.getVersion());
+	}
+
+	@Test
+	void rejectsMissingRecordWithoutDeletingOrInvalidating() {
+		RateSnapshotIndex loaded = rateSnapshotManager.current().block();
+		long version = rateSnapshotManager.getVersion();
+		when(premiumBracketRepository.findById(99L)).thenReturn(Mono.empty());
+
+		IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+				() -> domainService.deleteById(99L).block());
+
+		assertEquals("未找到ID为 99 的记录，无法删除", error.getMessage());
+		verify(premiumBracketRepository, never()).deleteById(anyLong());
+		assertSame(loaded, rateSnapshotManager.getIfLoaded());
+		assertEquals(version, rateSnapshotManager.getVersion());
+	}
+
+	@Test
+	void tagsBusinessTypesWithEqualHashCodesDifferently() {
+		rateSnapshotManager.current().block();
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+
+		String aa = domainService.socialInsuranceQueryTag(300_000, 45, "Aa", LocalDate.of(2025, 4, 1),
+				null, null, null).block();
+		String bb = domainService.socialInsuranceQueryTag(300_000, 45, "BB", LocalDate.of(2025, 4, 1),
+				null, null, null).block();
+
+		assertNotNull(aa);
+		assertNotEquals(aa, bb);
+		assertTrue(aa.chars().allMatch(c -> c > 0x20 && c < 0x7F && c != '"'), aa);
+	}
+
+	@Test
+	void rejectsKoDependentsUpFrontWhenTableHasNone() {
+		rateSnapshotManager.current().block();
+
+		IllegalArgumentException query = assertThrows(IllegalArgumentException.class,
+				() -> domainService.socialInsuranceQuery(300_000, 45, null, LocalDate.of(2025, 4, 1),
+						null, null, 2).block());
+		IllegalArgumentException differential = assertThrows(IllegalArgumentException.class,
+				() -> domainService.withholdingTaxDifferential(100_000, 200_000, 1_000, 1,
+						LocalDate.of(2025, 4, 1)).block());
+
+		assertTrue(query.getMessage().startsWith("源泉征收税额表未登记甲栏扶养亲属的税额"), query.getMessage());
+		assertTrue(differential.getMessage().startsWith("源泉征收税额表未登记甲栏扶养亲属的税额"),
+				differential.getMessage());
+	}
+
+	private static PremiumBracket bracket(Long id) {
+		return new PremiumBracket(id, "22(19)", 300_000, 290_000, 310_000,
+				new BigDecimal("29760.00"), new BigDecimal("34530.00"), new BigDecimal("54900.00"), null, null);
+	}
+}
@@ -0,0 +1,96 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceQueryCoalescer;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.cache.SocialInsuranceResultCache;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.SocialInsuranceSweepItemDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.metrics.CalculationStageMetrics;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateSnapshotManager;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.EmploymentInsuranceRateRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.WithholdingTaxBracketRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * 启动预热用月薪扫描的测试
+ * 扫描与查询的计算结果相同，但不写入计算结果缓存、不改变缓存统计，也不记录计算阶段的耗时
+ */
+class WarmupSweepTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private SocialInsuranceResultCache resultCache;
+	private PremiumBracketDomainService domainService;
+
+	@BeforeEach
+	void setUp() {
+		PremiumBracketRepository premiumBracketRepository = mock(PremiumBracketRepository.class);
+		WithholdingTaxBracketRepository withholdingTaxBracketRepository = mock(WithholdingTaxBracketRepository.class);
+		EmploymentInsuranceRateRepository employmentInsuranceRateRepository = mock(EmploymentInsuranceRateRepository.class);
+		when(premiumBracketRepository.findAllOrderByStdRemAsc()).thenReturn(Flux.just(new PremiumBracket(
+				"22(19)", 300_000, 290_000, 310_000, new BigDecimal("29760.00"), new BigDecimal("34530.00"),
+				new BigDecimal("54900.00"))));
+		WithholdingTaxBracket withholdingTaxBracket = new WithholdingTaxBracket();
+		withholdingTaxBracket.setMinAmount(0);
+		withholdingTaxBracket.setMaxAmount(1_000_000);
+		withholdingTaxBracket.setTaxAmountKo(6_640);
+		withholdingTaxBracket.setTaxAmountOtsu(38_500);
+		when(withholdingTaxBracketRepository.findAll()).thenReturn(Flux.just(withholdingTaxBracket));
+		EmploymentInsuranceRate employmentInsuranceRate = new EmploymentInsuranceRate();
+		employmentInsuranceRate.setBusinessType("一般の事業");
+		employmentInsuranceRate.setEmployeeRate(new BigDecimal("5.500"));
+		employmentInsuranceRate.setEmployerUnemploymentRate(new BigDecimal("5.500"));
+		employmentInsuranceRate.setEmployerTwoUndertakingsRate(new BigDecimal("3.500"));
+		when(employmentInsuranceRateRepository.findAll()).thenReturn(Flux.just(employmentInsuranceRate));
+
+		meterRegistry = new SimpleMeterRegistry();
+		resultCache = new SocialInsuranceResultCache(new SimpleMeterRegistry(), true, 100);
+		domainService = new PremiumBracketDomainService(premiumBracketRepository,
+				new RateSnapshotManager(premiumBracketRepository, withholdingTaxBracketRepository,
+						employmentInsuranceRateRepository, event -> { }),
+				resultCache, new SocialInsuranceQueryCoalescer(new SimpleMeterRegistry(), true),
+				new CalculationStageMetrics(meterRegistry, true), true);
+	}
+
+	@Test
+	void leavesResultCacheAndStageTimersUntouched() {
+		List<SocialInsuranceSweepItemDomainDto> items = domainService.warmupSweep(400_000, 100_000, 45)
+				.collectList()
+				.block();
+
+		assertEquals(5, items.size());
+		assertEquals("未找到月薪 0 对应的保险费等级记录", items.get(0).getError());
+		assertNull(items.get(3).getError());
+		assertEquals(0, resultCache.estimatedSize());
+		assertEquals(0, resultCache.stats().requestCount());
+		assertEquals(0, resultCache.stats().loadCount());
+		assertEquals(0, stageTimerCount());
+
+		// 相同月薪的查询得到相同的结果，并经过缓存和计时器
+		assertEquals(items.get(3).getResult(), domainService.socialInsuranceQuery(300_000, 45).block());
+		assertEquals(1, resultCache.estimatedSize());
+		assertEquals(1, resultCache.stats().loadCount());
+		assertTrue(stageTimerCount() > 0);
+	}
+
+	private long stageTimerCount() {
+		return meterRegistry.find(CalculationStageMetrics.TIMER_NAME).timers().stream()
+				.mapToLong(Timer::count)
+				.sum();
+	}
+}
@@ -0,0 +1,138 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxColumn;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxMethod;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * 相同计算合并的测试
+ * 共享的计算只订阅一次，任何请求取消都不中断共享的计算，计算结束后从进行中的表中移除
+ */
+class SocialInsuranceQueryCoalescerTest {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	private static final SocialInsuranceDomainDto RESULT = new SocialInsuranceDomainDto(
+			new SocialInsuranceDomainDto.CostDetail(BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.TEN,
+					BigDecimal.ZERO, BigDecimal.ONE),
+			new SocialInsuranceDomainDto.CostDetail(BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.TEN,
+					BigDecimal.ZERO, BigDecimal.ONE));
+
+	private SimpleMeterRegistry meterRegistry;
+	private SocialInsuranceQueryCoalescer coalescer;
+
+	private Sinks.One<SocialInsuranceDomainDto> source;
+	private AtomicInteger subscriptions;
+	private AtomicInteger cancellations;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		coalescer = new SocialInsuranceQueryCoalescer(meterRegistry, true);
+		source = Sinks.one();
+		subscriptions = new AtomicInteger();
+		cancellations = new AtomicInteger();
+	}
+
+	@Test
+	void sharesOneCalculationBetweenIdenticalRequests() {
+		Mono<SocialInsuranceDomainDto> first = coalesce(300_000, 39, this::calculation).cache();
+		Mono<SocialInsuranceDomainDto> second = coalesce(300_000, 39, this::calculation).cache();
+		// 40岁以上使用不同的键，单独计算
+		Mono<SocialInsuranceDomainDto> other = coalesce(300_000, 45, this::calculation).cache();
+		first.subscribe();
+		second.subscribe();
+		other.subscribe();
+
+		assertEquals(2, subscriptions.get());
+		assertEquals(2, coalescer.inFlightCount());
+		assertEquals(1.0, coalescedCount());
+
+		source.tryEmitValue(RESULT);
+		assertSame(RESULT, first.block(TIMEOUT));
+		assertSame(RESULT, second.block(TIMEOUT));
+		assertSame(RESULT, other.block(TIMEOUT));
+		assertEquals(0, coalescer.inFlightCount());
+	}
+
+	@Test
+	void cancellingOneRequestDoesNotCancelSharedCalculation() {
+		Disposable cancelled = coalesce(300_000, 39, this::calculation).subscribe();
+		Mono<SocialInsuranceDomainDto> waiting = coalesce(300_000, 39, this::calculation).cache();
+		waiting.subscribe();
+
+		cancelled.dispose();
+		assertEquals(0, cancellations.get());
+		assertEquals(1, coalescer.inFlightCount());
+
+		source.tryEmitValue(RESULT);
+		assertSame(RESULT, waiting.block(TIMEOUT));
+		assertEquals(1, subscriptions.get());
+	}
+
+	@Test
+	void removesFailedAndEmptyCalculations() {
+		Mono<SocialInsuranceDomainDto> failed = coalesce(300_000, 39, this::calculation).cache();
+		failed.subscribe(result -> { }, e -> { });
+		source.tryEmitError(new IllegalArgumentException("未找到月薪 300000 对应的保险费等级记录"));
+		IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> failed.block(TIMEOUT));
+		assertEquals("未找到月薪 300000 对应的保险费等级记录", error.getMessage());
+		assertEquals(0, coalescer.inFlightCount());
+
+		assertNull(coalesce(300_000, 39, Mono::empty).block(TIMEOUT));
+		assertEquals(0, coalescer.inFlightCount());
+
+		// 计算结束后相同的请求重新计算
+		source = Sinks.one();
+		Mono<SocialInsuranceDomainDto> retried = coalesce(300_000, 39, this::calculation).cache();
+		retried.subscribe();
+		source.tryEmitValue(RESULT);
+		assertSame(RESULT, retried.block(TIMEOUT));
+		assertEquals(2, subscriptions.get());
+		assertEquals(0.0, coalescedCount());
+	}
+
+	@Test
+	void disabledCoalescerCalculatesEveryRequest() {
+		coalescer = new SocialInsuranceQueryCoalescer(new SimpleMeterRegistry(), false);
+		coalesce(300_000, 39, this::calculation).subscribe();
+		coalesce(300_000, 39, this::calculation).subscribe();
+
+		assertEquals(2, subscriptions.get());
+		assertFalse(coalescer.inFlightCount() > 0);
+	}
+
+	private Mono<SocialInsuranceDomainDto> calculation() {
+		return source.asMono()
+				.doOnSubscribe(subscription -> subscriptions.incrementAndGet())
+				.doOnCancel(cancellations::incrementAndGet);
+	}
+
+	private Mono<SocialInsuranceDomainDto> coalesce(int monthlySalary, int age,
+			Supplier<Mono<SocialInsuranceDomainDto>> calculation) {
+		return coalescer.coalesce(monthlySalary, age, "一般の事業", WithholdingTaxMethod.TABLE,
+				WithholdingTaxColumn.KO, 0, 1L, 20_000L, calculation);
+	}
+
+	private double coalescedCount() {
+		return meterRegistry.get(SocialInsuranceQueryCoalescer.COALESCED_COUNTER_NAME).counter().count();
+	}
+}
@@ -0,0 +1,72 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxColumn;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.WithholdingTaxMethod;
+import jp.asatex.matianchi.social_insurance_calculation.dto.SocialInsuranceDomainDto;
+
+/**
+ * 计算结果缓存的指标测试
+ * 命中、未命中、淘汰次数和加载耗时以cache=social_insurance_result标签导出到MeterRegistry
+ */
+class SocialInsuranceResultCacheTest {
+
+	private static final SocialInsuranceDomainDto RESULT = new SocialInsuranceDomainDto(
+			new SocialInsuranceDomainDto.CostDetail(BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.TEN,
+					BigDecimal.ZERO, BigDecimal.ONE),
+			new SocialInsuranceDomainDto.CostDetail(BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.TEN,
+					BigDecimal.ZERO, BigDecimal.ONE));
+
+	private SimpleMeterRegistry meterRegistry;
+	private SocialInsuranceResultCache cache;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		cache = new SocialInsuranceResultCache(meterRegistry, true, 1);
+	}
+
+	@Test
+	void exportsHitsMissesEvictionsAndLoadsToMeterRegistry() {
+		assertNull(get(300_000));
+		put(300_000, 2_000_000L);
+		assertNotNull(get(300_000));
+		assertNotNull(get(300_000));
+		// 最大条目数为1，写入第二个条目后淘汰一个（淘汰在后台异步进行）
+		put(310_000, 1_000_000L);
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (cache.stats().evictionCount() == 0 && System.nanoTime() < deadline) {
+			Thread.onSpinWait();
+		}
+
+		assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", SocialInsuranceResultCache.CACHE_NAME)
+				.tag("result", "hit").functionCounter().count());
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", SocialInsuranceResultCache.CACHE_NAME)
+				.tag("result", "miss").functionCounter().count());
+		assertEquals(1.0, meterRegistry.get("cache.evictions").tag("cache", SocialInsuranceResultCache.CACHE_NAME)
+				.functionCounter().count());
+		assertEquals(2.0, meterRegistry.get("cache.load").tag("cache", SocialInsuranceResultCache.CACHE_NAME)
+				.tag("result", "success").functionCounter().count());
+		assertEquals(3.0, meterRegistry.get("cache.load.duration").tag("cache", SocialInsuranceResultCache.CACHE_NAME)
+				.timeGauge().value(TimeUnit.MILLISECONDS));
+	}
+
+	private SocialInsuranceDomainDto get(int monthlySalary) {
+		return cache.get(monthlySalary, 39, "一般の事業", WithholdingTaxMethod.TABLE, WithholdingTaxColumn.KO, 0, 1L, 0L);
+	}
+
+	private void put(int monthlySalary, long loadNanos) {
+		cache.put(monthlySalary, 39, "一般の事業", WithholdingTaxMethod.TABLE, WithholdingTaxColumn.KO, 0, 1L, 0L,
+				RESULT, loadNanos);
+	}
+}
@@ -0,0 +1,121 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.rate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import reactor.core.publisher.Flux;
+
+/**
+ * 费率表CSV读取和校验的测试
+ */
+class RateTableCsvTest {
+
+	@Test
+	void readsPremiumBrackets() {
+		List<PremiumBracket> brackets = RateTableCsv.premiumBrackets(Flux.just(
+				"\uFEFF" + RateTableCsv.PREMIUM_BRACKET_HEADER,
+				"1,58000,0,63000,5753.60,6675.80,0",
+				"",
+				"\"4(1)\",88000,63000,999999999,8729.60,10128.80,16104.00"))
+				.collectList().block();
+
+		assertEquals(2, brackets.size());
+		assertEquals("4(1)", brackets.get(1).getGrade());
+		assertEquals(63000, brackets.get(1).getMinAmount());
+		assertEquals(new BigDecimal("16104.00"), brackets.get(1).getPension());
+	}
+
+	@Test
+	void rejectsGapsOverlapsAndOpenEnd() {
+		assertError("CSV第3行: min_amount 63001 与上一等级的max_amount 63000 不相等（等级之间不能有间隙或重叠）",
+				RateTableCsv.premiumBrackets(Flux.just(RateTableCsv.PREMIUM_BRACKET_HEADER,
+						"1,58000,0,63000,5753.60,6675.80,0",
+						"2,68000,63001,999999999,6745.60,7826.80,0")));
+		assertError("CSV第2行: 第一个等级的min_amount必须为0",
+				RateTableCsv.premiumBrackets(Flux.just(RateTableCsv.PREMIUM_BRACKET_HEADER,
+						"1,58000,100,999999999,5753.60,6675.80,0")));
+		assertError("最后一个等级的max_amount必须为 999999999",
+				RateTableCsv.premiumBrackets(Flux.just(RateTableCsv.PREMIUM_BRACKET_HEADER,
+						"1,58000,0,63000,5753.60,6675.80,0")));
+		assertError("CSV第2行: health_no_care 5753.601 超出NUMERIC(10, 2)的范围",
+				RateTableCsv.premiumBrackets(Flux.just(RateTableCsv.PREMIUM_BRACKET_HEADER,
+						"1,58000,0,999999999,5753.601,6675.80,0")));
+		assertError("CSV第1行: 第一行必须是表头 " + RateTableCsv.PREMIUM_BRACKET_HEADER,
+				RateTableCsv.premiumBrackets(Flux.just("1,58000,0,999999999,5753.60,6675.80,0")));
+	}
+
+	@Test
+	void stopsReadingAtFirstInvalidRow() {
+		AtomicInteger requested = new AtomicInteger();
+		Flux<String> lines = Flux.just(RateTableCsv.WITHHOLDING_TAX_BRACKET_HEADER,
+						"0,88000,0,0,,",
+						"88000,89000,,3200,,",
+						"89000,999999999,180,3200,,")
+				.doOnNext(line -> requested.incrementAndGet());
+
+		assertError("CSV第3行: tax_amount_ko和calculation_formula不能同时为空",
+				RateTableCsv.withholdingTaxBrackets(lines));
+		assertEquals(3, requested.get());
+	}
+
+	@Test
+	void readsQuotedFormulaAndDependentColumns() {
+		List<WithholdingTaxBracket> brackets = RateTableCsv.withholdingTaxBrackets(Flux.just(
+				RateTableCsv.WITHHOLDING_TAX_BRACKET_HEADER,
+				"0,88000,0,0,0;0;0;0;0;0;0,",
+				"88000,999999999,,,;;;;;;1610,\"3,500,000円の場合の税額に、\"\"超える金額\"\"の45.945％\""))
+				.collectList().block();
+
+		assertArrayEquals(new Integer[] {0, 0, 0, 0, 0, 0, 0}, brackets.get(0).getTaxAmountKoDependents());
+		assertNull(brackets.get(0).getCalculationFormula());
+		assertNull(brackets.get(1).getTaxAmountKo());
+		assertArrayEquals(new Integer[] {null, null, null, null, null, null, 1610},
+				brackets.get(1).getTaxAmountKoDependents());
+		assertEquals("3,500,000円の場合の税額に、\"超える金額\"の45.945％", brackets.get(1).getCalculationFormula());
+	}
+
+	@Test
+	void validatesEmploymentInsuranceRates() {
+		List<EmploymentInsuranceRate> rates = RateTableCsv.employmentInsuranceRates(Flux.just(
+				RateTableCsv.EMPLOYMENT_INSURANCE_RATE_HEADER,
+				"一般の事業,5.5,5.5,3.5,14.5",
+				"建設の事業,6.5,6.5,4.5,17.5"))
+				.collectList().block();
+		assertEquals(2, rates.size());
+
+		assertError("CSV第2行: total_rate 15.5 不等于各费率之和 14.5",
+				RateTableCsv.employmentInsuranceRates(Flux.just(RateTableCsv.EMPLOYMENT_INSURANCE_RATE_HEADER,
+						"一般の事業,5.5,5.5,3.5,15.5")));
+		assertError("CSV第3行: 事业类型 一般の事業 重复",
+				RateTableCsv.employmentInsuranceRates(Flux.just(RateTableCsv.EMPLOYMENT_INSURANCE_RATE_HEADER,
+						"一般の事業,5.5,5.5,3.5,14.5",
+						"一般の事業,6.5,6.5,3.5,16.5")));
+		assertError("CSV中没有数据行",
+				RateTableCsv.employmentInsuranceRates(Flux.just(RateTableCsv.EMPLOYMENT_INSURANCE_RATE_HEADER)));
+	}
+
+	@Test
+	void splitsQuotedFields() {
+		assertEquals(List.of("a", "b,c", "", "d\"e"), RateTableCsv.split("a,\"b,c\",,\"d\"\"e\"", 1));
+		IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+				() -> RateTableCsv.split("a,\"b", 7));
+		assertTrue(error.getMessage().startsWith("CSV第7行"));
+	}
+
+	private static void assertError(String message, Flux<?> rows) {
+		IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> rows.blockLast());
+		assertEquals(message, error.getMessage());
+	}
+}
@@ -0,0 +1,99 @@
+package jp.asatex.matianchi.social_insurance_backend_service.domain.rate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.RateTableDeltaDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.domain.dto.RateTablesChangeDomainDto;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.EmploymentInsuranceRateRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.PremiumBracketRepository;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.WithholdingTaxBracketRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * 费率表变更推送的测试
+ * 新订阅者先收到snapshot，之后只收到有变化的记录；每次变更只读取一次数据库，与订阅者数量无关
+ */
+class RateTablesChangeFeedTest {
+
+	private PremiumBracketRepository premiumBracketRepository;
+	private RateTablesChangeFeed feed;
+	private volatile List<PremiumBracket> premiumBrackets;
+
+	@BeforeEach
+	void setUp() {
+		premiumBracketRepository = mock(PremiumBracketRepository.class);
+		WithholdingTaxBracketRepository withholdingTaxRepository = mock(WithholdingTaxBracketRepository.class);
+		EmploymentInsuranceRateRepository employmentInsuranceRepository = mock(EmploymentInsuranceRateRepository.class);
+		when(premiumBracketRepository.findAllOrderByStdRemAsc())
+				.thenAnswer(invocation -> Flux.fromIterable(premiumBrackets));
+		when(withholdingTaxRepository.findAll()).thenReturn(Flux.empty());
+		when(employmentInsuranceRepository.findAll()).thenReturn(Flux.empty());
+		RateSnapshotManager rateSnapshotManager = mock(RateSnapshotManager.class);
+		when(rateSnapshotManager.getVersion()).thenReturn(3L);
+		feed = new RateTablesChangeFeed(premiumBracketRepository, withholdingTaxRepository,
+				employmentInsuranceRepository, rateSnapshotManager, 16);
+	}
+
+	@Test
+	void sendsSnapshotThenOnlyChangedRows() {
+		premiumBrackets = List.of(bracket(1L, "1", "5753.60"), bracket(2L, "2", "6745.60"));
+		List<RateTablesChangeDomainDto> first = new CopyOnWriteArrayList<>();
+		feed.changes().subscribe(first::add);
+
+		premiumBrackets = List.of(bracket(2L, "2", "6800.00"), bracket(3L, "3", "7800.00"));
+		feed.onRateTablesChanged(new RateTablesChangedEvent(4));
+
+		assertEquals(2, first.size());
+		assertEquals(RateTablesChangeFeed.SNAPSHOT, first.get(0).getType());
+		assertEquals(3L, first.get(0).getVersion());
+		assertEquals(2, first.get(0).getTables().get(0).getUpserted().size());
+
+		RateTablesChangeDomainDto change = first.get(1);
+		assertEquals(RateTablesChangeFeed.CHANGE, change.getType());
+		assertEquals(4L, change.getVersion());
+		assertEquals(1, change.getTables().size());
+		RateTableDeltaDomainDto delta = change.getTables().get(0);
+		assertEquals("premium_bracket", delta.getTable());
+		assertEquals(List.of(2L, 3L), delta.getUpserted().stream().map(row -> ((PremiumBracket) row).getId()).toList());
+		assertEquals(List.of(1L), delta.getDeletedIds());
+	}
+
+	@Test
+	void sharesOneReadPerChangeAcrossSubscribers() {
+		premiumBrackets = List.of(bracket(1L, "1", "5753.60"));
+		List<RateTablesChangeDomainDto> first = new CopyOnWriteArrayList<>();
+		feed.changes().subscribe(first::add);
+		premiumBrackets = List.of(bracket(1L, "1", "5800.00"));
+		feed.onRateTablesChanged(new RateTablesChangedEvent(4));
+
+		List<RateTablesChangeDomainDto> second = new CopyOnWriteArrayList<>();
+		feed.changes().subscribe(second::add);
+		// 内容没有变化时不发送事件
+		feed.onRateTablesChanged(new RateTablesChangedEvent(5));
+
+		assertEquals(2, first.size());
+		assertEquals(1, second.size());
+		assertEquals(RateTablesChangeFeed.SNAPSHOT, second.get(0).getType());
+		assertEquals(4L, second.get(0).getVersion());
+		assertEquals(new BigDecimal("5800.00"),
+				((PremiumBracket) second.get(0).getTables().get(0).getUpserted().get(0)).getHealthNoCare());
+		verify(premiumBracketRepository, times(3)).findAllOrderByStdRemAsc();
+	}
+
+	private static PremiumBracket bracket(Long id, String grade, String healthNoCare) {
+		return new PremiumBracket(id, grade, 58_000, 0, 63_000, new BigDecimal(healthNoCare),
+				new BigDecimal("6675.80"), BigDecimal.ZERO, null, null);
+	}
+}
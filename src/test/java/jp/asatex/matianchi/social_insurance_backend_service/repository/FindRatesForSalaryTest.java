@@ -0,0 +1,146 @@
+package jp.asatex.matianchi.social_insurance_backend_service.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import jp.asatex.matianchi.social_insurance_backend_service.domain.rate.RateSnapshotManager;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.PremiumBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.entity.WithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_backend_service.repository.dto.RateLookupResult;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledEmploymentInsuranceRate;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledPremiumBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.CompiledWithholdingTaxBracket;
+import jp.asatex.matianchi.social_insurance_calculation.calculation.FixedPointKernel;
+import jp.asatex.matianchi.social_insurance_calculation.rate.RateSnapshot;
+
+/**
+ * 单条SQL查询费率（findRatesForSalary）与费率快照的差分测试
+ * 对迁移脚本中的费率数据，在保险费等级的边界，以及扣除社会保险费和雇佣保险后的金额恰好跨过源泉征收税等级边界的月薪上，
+ * 分别按39岁和40岁比较：两者选中相同的保险费等级，SQL计算的salary_after与FixedPointKernel.salaryAfterSocialInsurance一致，
+ * 因而选中相同的源泉征收税等级
+ */
+class FindRatesForSalaryTest extends PostgresIntegrationTest {
+
+	private static final LocalDate EFFECTIVE_DATE = LocalDate.of(2025, 6, 1);
+	private static final String BUSINESS_TYPE = "一般の事業";
+
+	@Autowired
+	private PremiumBracketRepository premiumBracketRepository;
+
+	@Autowired
+	private WithholdingTaxBracketRepository withholdingTaxBracketRepository;
+
+	@Autowired
+	private RateSnapshotManager rateSnapshotManager;
+
+	private RateSnapshot snapshot;
+	private CompiledEmploymentInsuranceRate employmentInsuranceRate;
+	private List<PremiumBracket> premiumBrackets;
+	private List<WithholdingTaxBracket> withholdingTaxBrackets;
+
+	@BeforeEach
+	void loadRates() {
+		snapshot = rateSnapshotManager.current().block().snapshotAt(EFFECTIVE_DATE);
+		employmentInsuranceRate = snapshot.findEmploymentInsuranceRate(BUSINESS_TYPE);
+		premiumBrackets = premiumBracketRepository.findAllOrderByStdRemAsc().collectList().block();
+		withholdingTaxBrackets = withholdingTaxBracketRepository.findAll().collectList().block();
+		assertNotNull(employmentInsuranceRate);
+		assertTrue(premiumBrackets.size() > 40);
+		assertTrue(withholdingTaxBrackets.size() > 200);
+	}
+
+	@Test
+	void matchesSnapshotAtPremiumBracketBoundaries() {
+		TreeSet<Integer> salaries = new TreeSet<>();
+		for (PremiumBracket bracket : premiumBrackets) {
+			for (int delta = -1; delta <= 1; delta++) {
+				salaries.add(Math.max(0, bracket.getMinAmount() + delta));
+				salaries.add(bracket.getMaxAmount() + delta);
+			}
+		}
+		for (int age : new int[] {39, 40}) {
+			for (int salary : salaries) {
+				assertMatchesSnapshot(salary, age);
+			}
+		}
+	}
+
+	@Test
+	void matchesSnapshotWhereSalaryAfterCrossesWithholdingTaxBoundaries() {
+		for (int age : new int[] {39, 40}) {
+			boolean careApplicable = age >= 40;
+			TreeSet<Integer> salaries = new TreeSet<>();
+			for (PremiumBracket premiumBracket : premiumBrackets) {
+				CompiledPremiumBracket compiled = snapshot.findPremiumBracket(premiumBracket.getMinAmount());
+				for (WithholdingTaxBracket withholdingTaxBracket : withholdingTaxBrackets) {
+					int salary = firstSalaryReaching(compiled, careApplicable, withholdingTaxBracket.getMinAmount());
+					if (salary > compiled.getMinAmount()) {
+						salaries.add(salary - 1);
+						salaries.add(salary);
+					}
+				}
+			}
+			assertTrue(salaries.size() > 500, "边界月薪只有 " + salaries.size() + " 个");
+			for (int salary : salaries) {
+				assertMatchesSnapshot(salary, age);
+			}
+		}
+	}
+
+	private void assertMatchesSnapshot(int salary, int age) {
+		RateLookupResult result = premiumBracketRepository
+				.findRatesForSalary(salary, age, BUSINESS_TYPE, EFFECTIVE_DATE)
+				.block();
+		String context = "salary=" + salary + ", age=" + age;
+		CompiledPremiumBracket premiumBracket = snapshot.findPremiumBracket(salary);
+		if (premiumBracket == null) {
+			assertEquals(null, result.getPremiumBracket(), context);
+			return;
+		}
+		assertEquals(((PremiumBracket) premiumBracket.getSource()).getId(), result.getPremiumBracket().getId(),
+				context);
+
+		int salaryAfter = salaryAfter(premiumBracket, age >= 40, salary);
+		assertEquals(salaryAfter, result.getSalaryAfterSocialInsurance(), context);
+		CompiledWithholdingTaxBracket withholdingTaxBracket = snapshot.findWithholdingTaxBracket(salaryAfter);
+		if (withholdingTaxBracket == null) {
+			assertEquals(null, result.getWithholdingTaxBracket(), context);
+			return;
+		}
+		assertEquals(((WithholdingTaxBracket) withholdingTaxBracket.getSource()).getId(),
+				result.getWithholdingTaxBracket().getId(), context);
+	}
+
+	/**
+	 * 在保险费等级的范围内二分查找扣除后金额不小于target的最小月薪，没有时返回等级上限 + 1
+	 * 同一等级内社会保险费不变，扣除后金额随月薪单调不减
+	 */
+	private int firstSalaryReaching(CompiledPremiumBracket premiumBracket, boolean careApplicable, int target) {
+		int low = premiumBracket.getMinAmount();
+		int high = premiumBracket.getMaxAmount() + 1;
+		while (low < high) {
+			int middle = (int) (((long) low + high) >>> 1);
+			if (salaryAfter(premiumBracket, careApplicable, middle) >= target) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
+	}
+
+	private int salaryAfter(CompiledPremiumBracket premiumBracket, boolean careApplicable, int salary) {
+		return FixedPointKernel.salaryAfterSocialInsurance(salary,
+				premiumBracket.employeeSocialInsuranceMilliYen(careApplicable),
+				FixedPointKernel.employmentInsuranceSen(salary, employmentInsuranceRate.getEmployeeRateMilliPermille()));
+	}
+}
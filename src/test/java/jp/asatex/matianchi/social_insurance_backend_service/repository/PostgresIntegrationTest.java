@@ -0,0 +1,35 @@
+package jp.asatex.matianchi.social_insurance_backend_service.repository;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * 依赖PostgreSQL的集成测试的基类
+ * 每个测试类启动一个PostgreSQL容器，由Flyway执行全部迁移脚本（含V1～V3的费率数据）后启动应用上下文；
+ * 没有Docker的环境中整个测试类被跳过
+ * 关闭启动预热，RSocket服务器使用随机端口
+ */
+@SpringBootTest(properties = {
+		"social-insurance.warmup.enabled=false",
+		"spring.rsocket.server.port=0"})
+@Testcontainers(disabledWithoutDocker = true)
+abstract class PostgresIntegrationTest {
+
+	@Container
+	static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine");
+
+	@DynamicPropertySource
+	static void databaseProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://" + POSTGRES.getHost() + ":"
+				+ POSTGRES.getFirstMappedPort() + "/" + POSTGRES.getDatabaseName());
+		registry.add("spring.r2dbc.username", POSTGRES::getUsername);
+		registry.add("spring.r2dbc.password", POSTGRES::getPassword);
+		registry.add("spring.flyway.url", POSTGRES::getJdbcUrl);
+		registry.add("spring.flyway.user", POSTGRES::getUsername);
+		registry.add("spring.flyway.password", POSTGRES::getPassword);
+	}
+}
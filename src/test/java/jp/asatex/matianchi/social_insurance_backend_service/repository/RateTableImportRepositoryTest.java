@@ -0,0 +1,109 @@
+package jp.asatex.matianchi.social_insurance_backend_service.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import jp.asatex.matianchi.social_insurance_backend_service.entity.EmploymentInsuranceRate;
+import reactor.core.publisher.Flux;
+
+/**
+ * 费率表批量导入的集成测试
+ * 迁移脚本中的雇佣保险费率自2025-04-01起无期限有效：
+ * 无期限的导入截止前一个生效期间；有结束日期的导入不截止无期限的生效期间，与其重叠时被拒绝且费率表保持不变
+ */
+class RateTableImportRepositoryTest extends PostgresIntegrationTest {
+
+	private static final LocalDate MIGRATED_FROM = LocalDate.of(2025, 4, 1);
+	private static final LocalDate IMPORTED_FROM = LocalDate.of(2026, 4, 1);
+
+	@Autowired
+	private RateTableImportRepository repository;
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	@AfterEach
+	void restoreMigratedRates() {
+		databaseClient.sql("DELETE FROM employment_insurance_rate WHERE effective_from <> :from")
+				.bind("from", MIGRATED_FROM)
+				.then()
+				.then(databaseClient.sql("UPDATE employment_insurance_rate SET effective_to = NULL").then())
+				.block();
+	}
+
+	@Test
+	void openEndedImportClosesPreviousPeriod() {
+		Long imported = repository.replaceEmploymentInsuranceRates(Flux.just(rate()), IMPORTED_FROM, null).block();
+
+		assertEquals(1L, imported);
+		assertEquals(List.of(
+				period(MIGRATED_FROM, IMPORTED_FROM),
+				period(MIGRATED_FROM, IMPORTED_FROM),
+				period(MIGRATED_FROM, IMPORTED_FROM),
+				period(IMPORTED_FROM, null)), periods());
+	}
+
+	@Test
+	void boundedImportOverlappingOpenPeriodIsRejected() {
+		IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+				() -> repository.replaceEmploymentInsuranceRates(Flux.just(rate()), IMPORTED_FROM,
+						LocalDate.of(2026, 10, 1)).block());
+
+		assertTrue(error.getMessage().contains("重叠"), error.getMessage());
+		// 无期限的生效期间没有被截止，2026-10-01以后仍有有效的费率
+		assertEquals(List.of(
+				period(MIGRATED_FROM, null),
+				period(MIGRATED_FROM, null),
+				period(MIGRATED_FROM, null)), periods());
+	}
+
+	@Test
+	void boundedImportBeforeOpenPeriodLeavesItOpen() {
+		LocalDate from = LocalDate.of(2024, 4, 1);
+		Long imported = repository.replaceEmploymentInsuranceRates(Flux.just(rate()), from, MIGRATED_FROM).block();
+
+		assertEquals(1L, imported);
+		assertEquals(List.of(
+				period(from, MIGRATED_FROM),
+				period(MIGRATED_FROM, null),
+				period(MIGRATED_FROM, null),
+				period(MIGRATED_FROM, null)), periods());
+	}
+
+	private List<Period> periods() {
+		return databaseClient.sql("SELECT effective_from, effective_to FROM employment_insurance_rate"
+						+ " ORDER BY effective_from, business_type")
+				.map((row, metadata) -> period(row.get("effective_from", LocalDate.class),
+						row.get("effective_to", LocalDate.class)))
+				.all()
+				.collectList()
+				.block();
+	}
+
+	private static Period period(LocalDate from, LocalDate to) {
+		return new Period(from, to);
+	}
+
+	private static EmploymentInsuranceRate rate() {
+		EmploymentInsuranceRate rate = new EmploymentInsuranceRate();
+		rate.setBusinessType("一般の事業");
+		rate.setEmployeeRate(new BigDecimal("5.000"));
+		rate.setEmployerUnemploymentRate(new BigDecimal("5.000"));
+		rate.setEmployerTwoUndertakingsRate(new BigDecimal("3.500"));
+		rate.setTotalRate(new BigDecimal("13.500"));
+		return rate;
+	}
+
+	private record Period(LocalDate from, LocalDate to) {
+	}
+}